@@ -55,7 +55,7 @@ public class DataFileCollectionBench extends BaseBench {
         final MerkleDbConfig dbConfig = getConfig(MerkleDbConfig.class);
         final BenchmarkRecordSerializer serializer = new BenchmarkRecordSerializer();
         final var store =
-                new DataFileCollection(dbConfig, getTestDir(), storeName, null, (dataLocation, dataValue) -> {}) {
+                new DataFileCollection(dbConfig, getTestDir(), storeName, null, (location, value, order) -> {}) {
                     BenchmarkRecord read(long dataLocation) throws IOException {
                         final BufferedData recordData = readDataItem(dataLocation);
                         return recordData != null ? serializer.deserialize(recordData) : null;
@@ -16,9 +16,13 @@
 
 package com.swirlds.benchmark;
 
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.config.extensions.sources.LegacyFileConfigSource;
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
+import java.nio.file.Path;
 import java.util.Arrays;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -100,4 +104,139 @@ public class HalfDiskMapBench extends BaseBench {
 
         afterTest(store::close);
     }
+
+    /**
+     * Measures key lookup latency as the map grows. The map is created for a small number of keys,
+     * and then {@code numFiles} batches of {@code numRecords} new keys are added. After every
+     * batch, the average number of entries per bucket (fill factor) and the average lookup time
+     * for random existing keys are printed. Buckets are split as the map grows, up to {@code
+     * merkleDb.halfDiskHashMapMaxBucketSplitsPerFlush} buckets per batch.
+     */
+    @Benchmark
+    public void lookupVsFillFactor() throws Exception {
+        lookupVsFillFactor("lookupVsFillFactorBench", getConfig(MerkleDbConfig.class));
+    }
+
+    /**
+     * Same as {@link #lookupVsFillFactor()}, but with bucket splitting disabled. The number of
+     * buckets is fixed for {@code numRecords} keys, so the fill factor grows with every batch.
+     */
+    @Benchmark
+    public void lookupVsFillFactorFixedBuckets() throws Exception {
+        final MerkleDbConfig dbConfig = ConfigurationBuilder.create()
+                .autoDiscoverExtensions()
+                .withSource(new LegacyFileConfigSource(Path.of(".", "settings.txt")))
+                .withSource(new SimpleConfigSource("merkleDb.halfDiskHashMapBucketSplittingEnabled", false)
+                        .withOrdinal(Integer.MAX_VALUE))
+                .withConfigDataType(MerkleDbConfig.class)
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        lookupVsFillFactor("lookupVsFillFactorFixedBucketsBench", dbConfig);
+    }
+
+    private void lookupVsFillFactor(final String storeName, final MerkleDbConfig dbConfig) throws Exception {
+        beforeTest(storeName);
+
+        final var store = new HalfDiskHashMap(dbConfig, numRecords, getTestDir(), storeName, null, false);
+        final BenchmarkKeySerializer keySerializer = new BenchmarkKeySerializer();
+        final int numLookups = Math.min(numRecords, 100_000);
+        System.out.println();
+
+        long nextKey = 0;
+        for (int i = 0; i < numFiles; i++) {
+            long start = System.currentTimeMillis();
+            store.startWriting();
+            for (int j = 0; j < numRecords; ++j) {
+                BenchmarkKey key = new BenchmarkKey(nextKey);
+                store.put(keySerializer.toBytes(key), key.hashCode(), nextKey);
+                nextKey++;
+            }
+            store.endWriting();
+            final long writeTime = System.currentTimeMillis() - start;
+
+            start = System.nanoTime();
+            for (int j = 0; j < numLookups; ++j) {
+                final long id = Utils.randomLong(nextKey);
+                final BenchmarkKey key = new BenchmarkKey(id);
+                final long value = store.get(keySerializer.toBytes(key), key.hashCode(), INVALID_PATH);
+                if (verify && value != id) {
+                    throw new RuntimeException("Bad value");
+                }
+            }
+            final long lookupTime = System.nanoTime() - start;
+            System.out.printf(
+                    "entries=%d buckets=%d fillFactor=%.2f write=%dms lookup=%.2fus%n",
+                    store.getNumOfEntries(),
+                    store.getNumOfBuckets(),
+                    (double) store.getNumOfEntries() / store.getNumOfBuckets(),
+                    writeTime,
+                    lookupTime / 1000.0 / numLookups);
+        }
+
+        afterTest(store::close);
+    }
+
+    /**
+     * Measures key lookup latency for a miss-heavy workload, e.g. alias resolution or checks if an
+     * account exists. The map is filled with {@code numFiles * numRecords} keys, then random keys
+     * are looked up, nine out of ten of them are not in the map. Bucket filter stats are printed
+     * along with the average lookup time. Filters are disabled by default, set
+     * merkleDb.halfDiskHashMapBucketFilterBits in settings.txt to compare runs with and without them.
+     */
+    @Benchmark
+    public void missHeavyLookup() throws Exception {
+        String storeName = "missHeavyLookupBench";
+        beforeTest(storeName);
+
+        final MerkleDbConfig dbConfig = getConfig(MerkleDbConfig.class);
+        final long numKeys = (long) numFiles * numRecords;
+        final var store = new HalfDiskHashMap(dbConfig, numKeys, getTestDir(), storeName, null, false);
+        final BenchmarkKeySerializer keySerializer = new BenchmarkKeySerializer();
+        System.out.println();
+
+        long start = System.currentTimeMillis();
+        long nextKey = 0;
+        for (int i = 0; i < numFiles; i++) {
+            store.startWriting();
+            for (int j = 0; j < numRecords; ++j) {
+                BenchmarkKey key = new BenchmarkKey(nextKey);
+                store.put(keySerializer.toBytes(key), key.hashCode(), nextKey);
+                nextKey++;
+            }
+            store.endWriting();
+        }
+        System.out.println("Created " + numFiles + " files in " + (System.currentTimeMillis() - start) + "ms");
+
+        final int numLookups = Math.min(numRecords, 1_000_000);
+        store.getAndResetFilterNegativeLookups();
+        store.getAndResetFilterFalsePositiveLookups();
+        int hits = 0;
+        start = System.nanoTime();
+        for (int j = 0; j < numLookups; ++j) {
+            final boolean miss = Utils.randomLong(10) != 0;
+            // missing keys are taken from the range right after the existing keys
+            final long id = miss ? numKeys + Utils.randomLong(numKeys) : Utils.randomLong(numKeys);
+            final BenchmarkKey key = new BenchmarkKey(id);
+            final long value = store.get(keySerializer.toBytes(key), key.hashCode(), INVALID_PATH);
+            if (value != INVALID_PATH) {
+                hits++;
+            }
+            if (verify && value != (miss ? INVALID_PATH : id)) {
+                throw new RuntimeException("Bad value");
+            }
+        }
+        final long lookupTime = System.nanoTime() - start;
+        final long negatives = store.getAndResetFilterNegativeLookups();
+        final long falsePositives = store.getAndResetFilterFalsePositiveLookups();
+        System.out.printf(
+                "lookups=%d hits=%d filterNegatives=%d filterFalsePositives=%d fpRate=%.4f lookup=%.2fus%n",
+                numLookups,
+                hits,
+                negatives,
+                falsePositives,
+                (negatives + falsePositives) > 0 ? (double) falsePositives / (negatives + falsePositives) : 0.0,
+                lookupTime / 1000.0 / numLookups);
+
+        afterTest(store::close);
+    }
 }
@@ -51,7 +51,7 @@ public class KeyValueStoreBench extends BaseBench {
         final MerkleDbConfig dbConfig = getConfig(MerkleDbConfig.class);
         final BenchmarkRecordSerializer serializer = new BenchmarkRecordSerializer();
         final var store = new MemoryIndexDiskKeyValueStore(
-                dbConfig, getTestDir(), storeName, null, (dataLocation, dataValue) -> {}, keyToDiskLocationIndex);
+                dbConfig, getTestDir(), storeName, null, (location, value, order) -> {}, keyToDiskLocationIndex);
         final DataFileCompactor compactor = new DataFileCompactor(
                 dbConfig, storeName, store.getFileCollection(), keyToDiskLocationIndex, null, null, null, null);
 
@@ -97,6 +97,17 @@ public class ReconnectBench extends VirtualMapBaseBench {
     @Param({"0.15"})
     public double delayNetworkFuzzRangePercent;
 
+    /**
+     * Emulated one-way network latency for all data sent between the teacher and the learner,
+     * or zero for no latency. Unlike delayNetworkMicroseconds, it doesn't limit network throughput,
+     * but makes every request-response round trip longer. The benchmark runs with no latency,
+     * LAN-like and WAN-like latencies to measure reconnect throughput vs round trip time.
+     * Pull reconnect batch size and the number of batches in flight are set in the benchmark
+     * configuration, reconnect.pullBatchSize and reconnect.pullMaxBatchesInFlight.
+     */
+    @Param({"0", "500", "5000"})
+    public long networkLatencyMicroseconds;
+
     private List<VirtualMap<BenchmarkKey, BenchmarkValue>> teacherMaps;
     private List<VirtualMap<BenchmarkKey, BenchmarkValue>> learnerMaps;
 
@@ -263,6 +274,7 @@ public class ReconnectBench extends VirtualMapBaseBench {
                 delayStorageFuzzRangePercent,
                 delayNetworkMicroseconds,
                 delayNetworkFuzzRangePercent,
+                networkLatencyMicroseconds,
                 configuration);
     }
 }
@@ -64,6 +64,7 @@ public class MerkleBenchmarkUtils {
             final double delayStorageFuzzRangePercent,
             final long delayNetworkMicroseconds,
             final double delayNetworkFuzzRangePercent,
+            final long networkLatencyMicroseconds,
             final Configuration configuration)
             throws Exception {
         System.out.println("------------");
@@ -86,6 +87,7 @@ public class MerkleBenchmarkUtils {
                 delayStorageFuzzRangePercent,
                 delayNetworkMicroseconds,
                 delayNetworkFuzzRangePercent,
+                networkLatencyMicroseconds,
                 configuration,
                 reconnectConfig);
     }
@@ -102,10 +104,12 @@ public class MerkleBenchmarkUtils {
             final double delayStorageFuzzRangePercent,
             final long delayNetworkMicroseconds,
             final double delayNetworkFuzzRangePercent,
+            final long networkLatencyMicroseconds,
             final Configuration configuration,
             final ReconnectConfig reconnectConfig)
             throws Exception {
-        try (PairedStreams streams = new PairedStreams(configuration.getConfigData(SocketConfig.class))) {
+        try (PairedStreams streams =
+                new PairedStreams(configuration.getConfigData(SocketConfig.class), networkLatencyMicroseconds)) {
             final LearningSynchronizer learner;
             final TeachingSynchronizer teacher;
 
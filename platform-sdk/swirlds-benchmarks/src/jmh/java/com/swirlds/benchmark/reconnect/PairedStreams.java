@@ -16,6 +16,7 @@
 
 package com.swirlds.benchmark.reconnect;
 
+import com.swirlds.benchmark.reconnect.lag.BenchmarkLatencyOutputStream;
 import com.swirlds.common.io.streams.MerkleDataInputStream;
 import com.swirlds.common.io.streams.MerkleDataOutputStream;
 import com.swirlds.platform.network.SocketConfig;
@@ -23,6 +24,7 @@ import com.swirlds.platform.network.connectivity.SocketFactory;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
 
@@ -47,6 +49,17 @@ public class PairedStreams implements AutoCloseable {
     protected ServerSocket server;
 
     public PairedStreams(final SocketConfig socketConfig) throws IOException {
+        this(socketConfig, 0);
+    }
+
+    /**
+     * Create paired streams with emulated network latency.
+     *
+     * @param socketConfig the socket configuration
+     * @param latencyMicroseconds one-way delay for all data sent in both directions, in microseconds,
+     *      or zero for no delay
+     */
+    public PairedStreams(final SocketConfig socketConfig, final long latencyMicroseconds) throws IOException {
 
         // open server socket
         server = new ServerSocket();
@@ -55,19 +68,25 @@ public class PairedStreams implements AutoCloseable {
         teacherSocket = new Socket("127.0.0.1", server.getLocalPort());
         learnerSocket = server.accept();
 
-        teacherOutputBuffer = new BufferedOutputStream(teacherSocket.getOutputStream());
+        teacherOutputBuffer =
+                new BufferedOutputStream(withLatency(teacherSocket.getOutputStream(), latencyMicroseconds));
         teacherOutput = new MerkleDataOutputStream(teacherOutputBuffer);
 
         teacherInputBuffer = new BufferedInputStream(teacherSocket.getInputStream());
         teacherInput = new MerkleDataInputStream(teacherInputBuffer);
 
-        learnerOutputBuffer = new BufferedOutputStream(learnerSocket.getOutputStream());
+        learnerOutputBuffer =
+                new BufferedOutputStream(withLatency(learnerSocket.getOutputStream(), latencyMicroseconds));
         learnerOutput = new MerkleDataOutputStream(learnerOutputBuffer);
 
         learnerInputBuffer = new BufferedInputStream(learnerSocket.getInputStream());
         learnerInput = new MerkleDataInputStream(learnerInputBuffer);
     }
 
+    private static OutputStream withLatency(final OutputStream out, final long latencyMicroseconds) {
+        return (latencyMicroseconds > 0) ? new BenchmarkLatencyOutputStream(out, latencyMicroseconds) : out;
+    }
+
     public MerkleDataOutputStream getTeacherOutput() {
         return teacherOutput;
     }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.benchmark.reconnect.lag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An output stream that emulates network latency. Bytes written to this stream are collected in
+ * chunks, and every chunk is written to the underlying stream in a background thread after the
+ * given one-way delay since the chunk was flushed. Unlike {@link BenchmarkSlowAsyncOutputStream},
+ * this stream doesn't limit throughput: many chunks may be in flight at the same time, so it's
+ * the number of messages in flight, which defines how fast a protocol runs on a high latency
+ * network.
+ */
+public class BenchmarkLatencyOutputStream extends OutputStream {
+
+    // Collected bytes are sent as a chunk, once this many bytes are collected, even without flush
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+    private record Chunk(long dueNanos, byte[] bytes) {}
+
+    private static final Chunk CLOSED = new Chunk(0, new byte[0]);
+
+    private final OutputStream out;
+
+    private final long latencyNanos;
+
+    private final ByteArrayOutputStream collected = new ByteArrayOutputStream();
+
+    private final BlockingQueue<Chunk> chunks = new LinkedBlockingQueue<>();
+
+    private final Thread writer;
+
+    private volatile IOException writeException;
+
+    /**
+     * Create a new latency stream.
+     *
+     * @param out the underlying stream
+     * @param latencyMicroseconds one-way delay, in microseconds
+     */
+    public BenchmarkLatencyOutputStream(final OutputStream out, final long latencyMicroseconds) {
+        this.out = out;
+        this.latencyNanos = latencyMicroseconds * 1000L;
+        writer = new Thread(this::writeChunks, "benchmark-latency-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        checkWriteException();
+        collected.write(b);
+        if (collected.size() >= MAX_CHUNK_SIZE) {
+            sendChunk();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        checkWriteException();
+        collected.write(b, off, len);
+        if (collected.size() >= MAX_CHUNK_SIZE) {
+            sendChunk();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() throws IOException {
+        checkWriteException();
+        sendChunk();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        sendChunk();
+        chunks.add(CLOSED);
+        try {
+            writer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+    }
+
+    private void sendChunk() {
+        if (collected.size() > 0) {
+            chunks.add(new Chunk(System.nanoTime() + latencyNanos, collected.toByteArray()));
+            collected.reset();
+        }
+    }
+
+    private void checkWriteException() throws IOException {
+        if (writeException != null) {
+            throw writeException;
+        }
+    }
+
+    private void writeChunks() {
+        try {
+            while (true) {
+                final Chunk chunk = chunks.take();
+                if (chunk == CLOSED) {
+                    break;
+                }
+                final long delay = chunk.dueNanos() - System.nanoTime();
+                if (delay > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                }
+                out.write(chunk.bytes());
+                out.flush();
+            }
+        } catch (final IOException e) {
+            writeException = e;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.swirlds.common.crypto;
 
 import com.swirlds.logging.legacy.LogMarker;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
@@ -174,6 +175,25 @@ public class HashBuilder {
         return this;
     }
 
+    /**
+     * hash the remaining bytes of the given buffer, not including their length. The bytes are
+     * hashed the same way as {@link #update(Hash)} hashes the bytes of a hash, so this method
+     * can be used to hash raw hash bytes without creating a {@link Hash} object
+     *
+     * @param data
+     * 		the buffer with the bytes to be hashed. Its position is advanced to its limit
+     * @return the HashBuilder object after digesting these bytes
+     */
+    public HashBuilder update(final ByteBuffer data) {
+        if (data == null) {
+            throw new IllegalArgumentException("data");
+        }
+
+        digest.update(data);
+
+        return this;
+    }
+
     /**
      * hash the given array of bytes, not including its length
      *
@@ -591,7 +591,20 @@ public class SerializableDataInputStream extends AugmentedDataInputStream {
      * @throws IOException if an IO error occurs
      */
     public @NonNull <T extends Record> T readPbjRecord(@NonNull final Codec<T> codec) throws IOException {
-        final int size = readInt();
+        return readPbjRecord(codec, readInt());
+    }
+
+    /**
+     * Reads a PBJ record from the stream, when the record size is already read from the stream.
+     *
+     * @param codec the codec to use to parse the record
+     * @param size  the size of the record, in bytes
+     * @param <T>   the type of the record
+     * @return the parsed record
+     * @throws IOException if an IO error occurs
+     */
+    public @NonNull <T extends Record> T readPbjRecord(@NonNull final Codec<T> codec, final int size)
+            throws IOException {
         readableSequentialData.limit(readableSequentialData.position() + size);
         try {
             final T parsed = codec.parse(readableSequentialData);
@@ -41,6 +41,7 @@ import com.swirlds.common.threading.pool.StandardWorkGroup;
 import com.swirlds.logging.legacy.payload.SynchronizationCompletePayload;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.Objects;
@@ -96,6 +97,11 @@ public class LearningSynchronizer implements ReconnectNodeCount {
 
     private final ReconnectMapStats mapStats;
 
+    /**
+     * Subtrees fully received in the previous failed reconnect attempt, or null if not used.
+     */
+    private ReconnectCheckpoint checkpoint;
+
     /**
      * Create a new learning synchronizer.
      *
@@ -133,6 +139,18 @@ public class LearningSynchronizer implements ReconnectNodeCount {
         this.mapStats = new ReconnectMapMetrics(metrics, null, null);
     }
 
+    /**
+     * Set the checkpoint with subtrees received in the previous failed reconnect attempt. Subtrees
+     * from the checkpoint, which match the teacher's subtrees, are used instead of receiving them
+     * from the teacher, and subtrees with custom reconnect views, which are fully received during
+     * this synchronization, are added to the checkpoint. Must be called before {@link #synchronize()}.
+     *
+     * @param checkpoint the checkpoint, or null to disable checkpointing
+     */
+    public void setCheckpoint(@Nullable final ReconnectCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
     /**
      * Perform synchronization in the role of the learner.
      */
@@ -282,7 +300,7 @@ public class LearningSynchronizer implements ReconnectNodeCount {
 
         final LearnerTreeView<T> view;
         if (root == null || !root.hasCustomReconnectView()) {
-            view = (LearnerTreeView<T>) new LearnerPushMerkleTreeView(reconnectConfig, root, mapStats);
+            view = (LearnerTreeView<T>) new LearnerPushMerkleTreeView(reconnectConfig, root, mapStats, checkpoint);
         } else {
             assert root instanceof CustomReconnectRoot;
             view = ((CustomReconnectRoot<?, T>) root).buildLearnerView(reconnectConfig, mapStats);
@@ -336,7 +354,12 @@ public class LearningSynchronizer implements ReconnectNodeCount {
 
         viewsToInitialize.addFirst(view);
 
-        return view.getMerkleRoot(reconstructedRoot.get());
+        final MerkleNode receivedRoot = view.getMerkleRoot(reconstructedRoot.get());
+        if ((checkpoint != null) && (root != null) && root.hasCustomReconnectView()) {
+            // The subtree is fully received and hashed, no need to receive it again if reconnect fails
+            checkpoint.add(receivedRoot);
+        }
+        return receivedRoot;
     }
 
     protected StandardWorkGroup createStandardWorkGroup(
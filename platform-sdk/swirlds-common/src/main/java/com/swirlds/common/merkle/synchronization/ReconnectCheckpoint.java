@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.merkle.synchronization;
+
+import static com.swirlds.logging.legacy.LogMarker.RECONNECT;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.merkle.MerkleNode;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Subtrees with custom reconnect views, for example, virtual maps, which were fully received and
+ * hashed by the learner in a failed reconnect attempt. When the teacher in the next attempt reports
+ * a node hash, which doesn't match the learner's original node, but matches a checkpointed subtree,
+ * the subtree is used in the new tree instead of receiving it again.
+ *
+ * <p>This is not a partial resume. A subtree, which wasn't fully received before an attempt failed,
+ * isn't stored, and is received from scratch in the next attempt.
+ *
+ * <p>Subtrees are looked up by their hashes, which are calculated by the learner from the received
+ * data, so a checkpointed subtree is only used when it matches the teacher's subtree exactly.
+ *
+ * <p>The checkpoint holds a reservation on every subtree in it. After every failed attempt, {@link
+ * #releaseUnused()} must be called to release subtrees, which were neither received nor reused in
+ * that attempt, so only subtrees from the latest attempt are kept. The checkpoint must be cleared,
+ * once reconnect is finished successfully.
+ */
+public class ReconnectCheckpoint {
+
+    private static final Logger logger = LogManager.getLogger(ReconnectCheckpoint.class);
+
+    private final Map<Hash, MerkleNode> subtrees = new HashMap<>();
+
+    /** Hashes of subtrees added or found since the last call to {@link #releaseUnused()} */
+    private final Set<Hash> used = new HashSet<>();
+
+    /**
+     * Add a fully received and hashed subtree to this checkpoint. Subtrees without hashes are
+     * ignored.
+     *
+     * @param subtree the root of the subtree
+     */
+    public synchronized void add(@NonNull final MerkleNode subtree) {
+        Objects.requireNonNull(subtree);
+        final Hash hash = subtree.getHash();
+        if (hash == null) {
+            return;
+        }
+        used.add(hash);
+        if (subtrees.containsKey(hash)) {
+            return;
+        }
+        subtree.reserve();
+        subtrees.put(hash, subtree);
+        logger.info(
+                RECONNECT.getMarker(),
+                "Reconnect checkpoint: subtree {} with route {} added",
+                subtree.getClass().getName(),
+                subtree.getRoute());
+    }
+
+    /**
+     * Find a subtree with the given hash.
+     *
+     * @param hash the hash
+     * @return the root of the subtree, or null if there is no subtree with the given hash
+     */
+    @Nullable
+    public synchronized MerkleNode find(@Nullable final Hash hash) {
+        if (hash == null) {
+            return null;
+        }
+        final MerkleNode subtree = subtrees.get(hash);
+        if (subtree != null) {
+            used.add(hash);
+        }
+        return subtree;
+    }
+
+    /**
+     * Get the number of subtrees in this checkpoint.
+     *
+     * @return the number of subtrees
+     */
+    public synchronized int size() {
+        return subtrees.size();
+    }
+
+    /**
+     * Release all subtrees, which were neither added nor found since the previous call to this
+     * method. Must be called after every failed reconnect attempt.
+     */
+    public synchronized void releaseUnused() {
+        final Iterator<Map.Entry<Hash, MerkleNode>> iterator = subtrees.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Hash, MerkleNode> entry = iterator.next();
+            if (!used.contains(entry.getKey())) {
+                entry.getValue().release();
+                iterator.remove();
+            }
+        }
+        used.clear();
+    }
+
+    /**
+     * Release all subtrees in this checkpoint.
+     */
+    public synchronized void clear() {
+        for (final MerkleNode subtree : subtrees.values()) {
+            subtree.release();
+        }
+        subtrees.clear();
+        used.clear();
+    }
+}
@@ -56,6 +56,19 @@ import java.time.Duration;
  * @param pullLearnerRootResponseTimeout         In pull-based reconnect implementations (virtual trees only), the
  *                                               timeout on the learner side to get a virtual root node response from
  *                                               teacher
+ * @param learnerCheckpointEnabled               If true, subtrees with custom reconnect views (virtual maps), which are
+ *                                               fully received by the learner, are kept when reconnect fails, and are
+ *                                               not requested from the teacher again in the next reconnect attempt, if
+ *                                               they match the teacher's subtrees. Partially received subtrees are not
+ *                                               kept. Kept subtrees hold their data in memory and on disk till the next
+ *                                               attempt finishes
+ * @param pullBatchSize                          In pull-based reconnect implementations (virtual trees only), the max
+ *                                               number of node requests sent by the learner in a single batch, and the
+ *                                               max number of node responses sent by the teacher in a single batch
+ * @param pullMaxBatchesInFlight                 In pull-based reconnect implementations (virtual trees only), the max
+ *                                               number of request batches sent by the learner to a teacher, which are
+ *                                               not responded yet. On high latency networks this limit, multiplied by
+ *                                               the batch size, should be large enough to cover the round trip time
  */
 @ConfigData("reconnect")
 public record ReconnectConfig(
@@ -70,4 +83,7 @@ public record ReconnectConfig(
         @ConfigProperty(defaultValue = "10m") Duration minimumTimeBetweenReconnects,
         @ConfigProperty(defaultValue = "0") int teacherMaxNodesPerSecond,
         @ConfigProperty(defaultValue = "1us") Duration teacherRateLimiterSleep,
-        @ConfigProperty(defaultValue = "60s") Duration pullLearnerRootResponseTimeout) {}
+        @ConfigProperty(defaultValue = "60s") Duration pullLearnerRootResponseTimeout,
+        @ConfigProperty(defaultValue = "false") boolean learnerCheckpointEnabled,
+        @ConfigProperty(defaultValue = "256") int pullBatchSize,
+        @ConfigProperty(defaultValue = "64") int pullMaxBatchesInFlight) {}
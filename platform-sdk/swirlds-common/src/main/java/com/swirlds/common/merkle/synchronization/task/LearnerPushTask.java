@@ -203,12 +203,21 @@ public class LearnerPushTask<T> {
                         (error) ->
                                 logger.warn(RECONNECT.getMarker(), "originalHash for node {} is null", originalChild));
             }
-            final boolean nodeAlreadyPresent = originalHash != null && originalHash.equals(teacherHash);
+            boolean nodeAlreadyPresent = originalHash != null && originalHash.equals(teacherHash);
+            T presentChild = originalChild;
+            if (!nodeAlreadyPresent) {
+                // The node may have been received in one of the previous reconnect attempts
+                final T checkpointedChild = view.getCheckpointedNode(teacherHash);
+                if (checkpointedChild != null) {
+                    presentChild = checkpointedChild;
+                    nodeAlreadyPresent = true;
+                }
+            }
             out.sendAsync(new QueryResponse(nodeAlreadyPresent));
             mapStats.incrementTransfersFromLearner();
             view.recordHashStats(mapStats, newParent, childIndex, nodeAlreadyPresent);
 
-            view.expectLessonFor(newParent, childIndex, originalChild, nodeAlreadyPresent);
+            view.expectLessonFor(newParent, childIndex, presentChild, nodeAlreadyPresent);
             in.anticipateMessage();
         }
     }
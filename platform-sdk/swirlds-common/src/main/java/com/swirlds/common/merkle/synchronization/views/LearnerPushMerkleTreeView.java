@@ -27,6 +27,7 @@ import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.merkle.MerkleInternal;
 import com.swirlds.common.merkle.MerkleNode;
 import com.swirlds.common.merkle.synchronization.LearningSynchronizer;
+import com.swirlds.common.merkle.synchronization.ReconnectCheckpoint;
 import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
 import com.swirlds.common.merkle.synchronization.stats.ReconnectMapStats;
 import com.swirlds.common.merkle.synchronization.streams.AsyncInputStream;
@@ -38,6 +39,7 @@ import com.swirlds.common.merkle.synchronization.task.QueryResponse;
 import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
 import com.swirlds.common.threading.pool.StandardWorkGroup;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -61,6 +63,8 @@ public class LearnerPushMerkleTreeView implements LearnerTreeView<MerkleNode> {
 
     private final ReconnectMapStats mapStats;
 
+    private final ReconnectCheckpoint checkpoint;
+
     /**
      * Create a new standard tree view out of an in-memory merkle tree (or subtree).
      *
@@ -71,9 +75,28 @@ public class LearnerPushMerkleTreeView implements LearnerTreeView<MerkleNode> {
      */
     public LearnerPushMerkleTreeView(
             final ReconnectConfig reconnectConfig, final MerkleNode root, @NonNull final ReconnectMapStats mapStats) {
+        this(reconnectConfig, root, mapStats, null);
+    }
+
+    /**
+     * Create a new standard tree view out of an in-memory merkle tree (or subtree).
+     *
+     * @param root
+     * 		the root of the tree (or subtree)
+     * @param mapStats
+     *      a ReconnectMapStats object to collect reconnect metrics
+     * @param checkpoint
+     *      subtrees received in earlier reconnect attempts, may be null
+     */
+    public LearnerPushMerkleTreeView(
+            final ReconnectConfig reconnectConfig,
+            final MerkleNode root,
+            @NonNull final ReconnectMapStats mapStats,
+            @Nullable final ReconnectCheckpoint checkpoint) {
         this.reconnectConfig = reconnectConfig;
         this.originalRoot = root;
         this.mapStats = mapStats;
+        this.checkpoint = checkpoint;
         expectedLessons = new LinkedList<>();
         nodesToInitialize = new LinkedList<>();
     }
@@ -151,6 +174,14 @@ public class LearnerPushMerkleTreeView implements LearnerTreeView<MerkleNode> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MerkleNode getCheckpointedNode(final Hash hash) {
+        return (checkpoint == null) ? null : checkpoint.find(hash);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -62,6 +62,17 @@ public interface LearnerTreeView<T> extends LearnerExpectedLessonQueue<T>, Learn
             final Queue<MerkleNode> rootsToReceive,
             final AtomicReference<T> reconstructedRoot);
 
+    /**
+     * Get a node, which was fully received in an earlier reconnect attempt and has the given hash. If
+     * such a node is found, it's used in the new tree instead of receiving it from the teacher again.
+     *
+     * @param hash the node hash reported by the teacher
+     * @return the node with the given hash, or null if not found
+     */
+    default T getCheckpointedNode(final Hash hash) {
+        return null;
+    }
+
     /**
      * Aborts the reconnect process on the learner side. It may be used to release resources, when
      * reconnect failed with an exception.
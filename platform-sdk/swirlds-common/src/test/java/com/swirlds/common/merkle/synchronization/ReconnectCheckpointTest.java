@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.common.merkle.synchronization;
+
+import static com.swirlds.common.test.fixtures.RandomUtils.randomHash;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.merkle.dummy.DummyMerkleLeaf;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ReconnectCheckpointTest {
+
+    @Test
+    @DisplayName("Subtrees are found by hash")
+    void findByHash() {
+        final ReconnectCheckpoint checkpoint = new ReconnectCheckpoint();
+        final DummyMerkleLeaf node = new DummyMerkleLeaf("a");
+        final Hash hash = randomHash();
+        node.setHash(hash);
+        checkpoint.add(node);
+        assertSame(node, checkpoint.find(hash), "Subtree should be found by its hash");
+        assertNull(checkpoint.find(randomHash()), "No subtree should be found by another hash");
+        assertNull(checkpoint.find(null), "No subtree should be found by null hash");
+    }
+
+    @Test
+    @DisplayName("Subtrees without hashes are ignored")
+    void noHash() {
+        final ReconnectCheckpoint checkpoint = new ReconnectCheckpoint();
+        checkpoint.add(new DummyMerkleLeaf("a"));
+        assertEquals(0, checkpoint.size(), "Subtree without hash should not be added");
+    }
+
+    @Test
+    @DisplayName("Subtrees are reserved till the checkpoint is cleared")
+    void reservations() {
+        final ReconnectCheckpoint checkpoint = new ReconnectCheckpoint();
+        final DummyMerkleLeaf node = new DummyMerkleLeaf("a");
+        node.setHash(randomHash());
+        node.reserve();
+        checkpoint.add(node);
+        // The same subtree added twice is only reserved once
+        checkpoint.add(node);
+        assertEquals(1, checkpoint.size(), "Subtree should be added once");
+        assertEquals(2, node.getReservationCount(), "Subtree should be reserved by the checkpoint");
+        checkpoint.clear();
+        assertEquals(0, checkpoint.size(), "Checkpoint should be empty");
+        assertEquals(1, node.getReservationCount(), "Subtree should be released by the checkpoint");
+        node.release();
+    }
+
+    @Test
+    @DisplayName("Subtrees not used in the last attempt are released")
+    void releaseUnused() {
+        final ReconnectCheckpoint checkpoint = new ReconnectCheckpoint();
+        final DummyMerkleLeaf reused = new DummyMerkleLeaf("a");
+        final Hash reusedHash = randomHash();
+        reused.setHash(reusedHash);
+        final DummyMerkleLeaf stale = new DummyMerkleLeaf("b");
+        stale.setHash(randomHash());
+        // First attempt receives both subtrees
+        checkpoint.add(reused);
+        checkpoint.add(stale);
+        checkpoint.releaseUnused();
+        assertEquals(2, checkpoint.size(), "Subtrees received in the last attempt should be kept");
+        // Second attempt only reuses one of them
+        assertSame(reused, checkpoint.find(reusedHash), "Subtree should be found by its hash");
+        checkpoint.releaseUnused();
+        assertEquals(1, checkpoint.size(), "Only the reused subtree should be kept");
+        assertEquals(1, reused.getReservationCount(), "Reused subtree should still be reserved");
+        assertTrue(stale.isDestroyed(), "Stale subtree should be released");
+        // Third attempt uses nothing
+        checkpoint.releaseUnused();
+        assertEquals(0, checkpoint.size(), "Checkpoint should be empty");
+        assertTrue(reused.isDestroyed(), "Subtree should be released");
+    }
+}
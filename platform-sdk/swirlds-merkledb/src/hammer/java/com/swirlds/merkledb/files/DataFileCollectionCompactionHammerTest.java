@@ -75,7 +75,7 @@ class DataFileCollectionCompactionHammerTest {
             String storeName = "benchmark";
             final MerkleDbConfig dbConfig = ConfigurationHolder.getConfigData(MerkleDbConfig.class);
             final var coll = new DataFileCollection(
-                    dbConfig, tempFileDir.resolve(storeName), storeName, (dataLocation, dataValue) -> {});
+                    dbConfig, tempFileDir.resolve(storeName), storeName, (location, value, order) -> {});
             final var compactor = new DataFileCompactor(dbConfig, storeName, coll, index, null, null, null, null);
 
             final Random rand = new Random(777);
@@ -139,7 +139,7 @@ class DataFileCollectionCompactionHammerTest {
         String storeName = "hammer";
         final MerkleDbConfig dbConfig = ConfigurationHolder.getConfigData(MerkleDbConfig.class);
         final var coll = new DataFileCollection(
-                dbConfig, tempFileDir.resolve(storeName), storeName, (dataLocation, dataValue) -> {});
+                dbConfig, tempFileDir.resolve(storeName), storeName, (location, value, order) -> {});
         final var compactor = new DataFileCompactor(dbConfig, storeName, coll, index, null, null, null, null);
 
         final Random rand = new Random(777);
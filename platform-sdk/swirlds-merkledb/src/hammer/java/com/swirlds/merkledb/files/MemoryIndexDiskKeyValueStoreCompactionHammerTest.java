@@ -103,7 +103,7 @@ class MemoryIndexDiskKeyValueStoreCompactionHammerTest {
                 testDirectory.resolve("megaMergeHammerTest"),
                 "megaMergeHammerTest",
                 null,
-                (dataLocation, dataValue) -> {},
+                (location, value, order) -> {},
                 storeIndex);
 
         // This is just a nice little output that you can copy and paste to watch the database
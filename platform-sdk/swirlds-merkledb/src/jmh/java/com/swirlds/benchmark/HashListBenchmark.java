@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.benchmark;
+
+import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.crypto.HashBuilder;
+import com.swirlds.merkledb.collections.HashListByteBuffer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading hashes from a {@link HashListByteBuffer} as {@link Hash} objects with copying
+ * hash bytes to a reusable buffer, the way virtual hasher reads clean node hashes. Each benchmark
+ * reads two hashes by random indices and digests them, similar to hashing an internal node.
+ *
+ * <p>Run with {@code -prof gc} to see allocation rates. Both benchmarks create a resulting node
+ * hash, the difference in {@code gc.alloc.rate.norm} between them is the garbage created by
+ * reading two hashes as objects.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HashListBenchmark {
+
+    public static final int INITIAL_DATA_SIZE = 1_000_000;
+
+    @Param({"true", "false"})
+    public boolean offHeap;
+
+    private Random random;
+    private HashListByteBuffer hashList;
+    private HashBuilder hashBuilder;
+    private ByteBuffer hashBytes;
+    private long leftIndex;
+    private long rightIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = new Random(1234);
+        hashList = new HashListByteBuffer(INITIAL_DATA_SIZE / 10, INITIAL_DATA_SIZE, offHeap);
+        final byte[] bytes = new byte[Cryptography.DEFAULT_DIGEST_TYPE.digestLength()];
+        for (int i = 0; i < INITIAL_DATA_SIZE; i++) {
+            random.nextBytes(bytes);
+            hashList.put(i, new Hash(bytes, Cryptography.DEFAULT_DIGEST_TYPE));
+        }
+        hashBuilder = new HashBuilder(Cryptography.DEFAULT_DIGEST_TYPE);
+        hashBytes = ByteBuffer.allocate(Cryptography.DEFAULT_DIGEST_TYPE.digestLength());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        hashList.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void randomIndex() {
+        leftIndex = random.nextInt(INITIAL_DATA_SIZE);
+        rightIndex = random.nextInt(INITIAL_DATA_SIZE);
+    }
+
+    @Benchmark
+    public Hash a_readHashObjects() throws IOException {
+        hashBuilder.reset();
+        hashBuilder.update(hashList.get(leftIndex));
+        hashBuilder.update(hashList.get(rightIndex));
+        return hashBuilder.build();
+    }
+
+    @Benchmark
+    public Hash b_readHashBytes() {
+        hashBuilder.reset();
+        hashBytes.clear();
+        hashList.get(leftIndex, hashBytes);
+        hashBuilder.update(hashBytes.flip());
+        hashBytes.clear();
+        hashList.get(rightIndex, hashBytes);
+        hashBuilder.update(hashBytes.flip());
+        return hashBuilder.build();
+    }
+}
@@ -28,4 +28,28 @@ public interface FileStatisticAware {
      * @return statistics for sizes of all fully written files, in bytes
      */
     LongSummaryStatistics getFilesSizeStatistics();
+
+    /**
+     * Get total size of data items in the files it uses, uncompressed. If files aren't compressed,
+     * it's the same as the total file size.
+     *
+     * @return uncompressed size of all fully written files, in bytes
+     */
+    long getFilesDataSize();
+
+    /**
+     * Get the number of data file blocks decompressed since the last call to this method, and
+     * reset the counter.
+     *
+     * @return number of decompressed blocks
+     */
+    long getAndResetDecompressedBlocks();
+
+    /**
+     * Get the time spent on data file block decompression since the last call to this method,
+     * and reset the counter.
+     *
+     * @return decompression time, in nanoseconds
+     */
+    long getAndResetDecompressionNanos();
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Virtual leaf records cache used by {@link MerkleDbDataSource} to avoid disk reads for
+ * frequently accessed keys.
+ *
+ * <p>The cache is split into a power of two number of segments, a segment is selected by
+ * key hash code. Every segment has its own max number of entries and, optionally, budget in
+ * bytes, and uses CLOCK (second chance) eviction: every cache hit sets a "referenced" flag on
+ * the entry, and when the segment is over either limit, the clock hand moves over entries in
+ * insertion order, clearing the flag on referenced entries and evicting the first entry that
+ * hasn't been referenced since the hand passed it last time. Hot keys are therefore retained,
+ * even if there are many cold keys with the same hash code bits.
+ *
+ * <p>Reads are lock free. Inserts, invalidations, and evictions are synchronized on the
+ * segment.
+ *
+ * <p>Cached records may have null values. Such records are used to cache key to path
+ * mappings only, including negative results, when the path is {@link
+ * com.swirlds.virtualmap.datasource.VirtualDataSource#INVALID_PATH}.
+ */
+final class LeafRecordCache {
+
+    /**
+     * Estimated heap overhead of a single cache entry in bytes, excluding key and value bytes
+     * content. It covers the entry object, the record, key and value Bytes wrappers and their
+     * arrays headers, the segment hash map node, and the clock queue slot.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    /** Max number of cache segments */
+    private static final int MAX_SEGMENTS = 64;
+
+    /** Min segment budget in bytes. Used to limit the number of segments for small caches */
+    private static final long MIN_SEGMENT_SIZE_BYTES = 64 * 1024;
+
+    /** Min number of entries in a segment. Used to limit the number of segments for small caches */
+    private static final int MIN_SEGMENT_ENTRIES = 256;
+
+    /**
+     * Listener to notify about cache evictions. Used to update statistics.
+     */
+    @FunctionalInterface
+    interface EvictionListener {
+        void evicted();
+    }
+
+    private final Segment[] segments;
+
+    private final int segmentMask;
+
+    private final int segmentMaxEntries;
+
+    private final long segmentSizeBytes;
+
+    private final EvictionListener evictionListener;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxEntries max number of records in the cache, must be positive
+     * @param maxSizeBytes max estimated cache size in bytes, or zero if the cache is limited by
+     *      the number of records only
+     * @param evictionListener listener to notify about evictions
+     */
+    LeafRecordCache(final int maxEntries, final long maxSizeBytes, @NonNull final EvictionListener evictionListener) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        }
+        if (maxSizeBytes < 0) {
+            throw new IllegalArgumentException("Cache size in bytes must not be negative: " + maxSizeBytes);
+        }
+        this.evictionListener = requireNonNull(evictionListener);
+        long maxSegments = Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_ENTRIES);
+        if (maxSizeBytes > 0) {
+            maxSegments = Math.min(maxSegments, maxSizeBytes / MIN_SEGMENT_SIZE_BYTES);
+        }
+        final int segmentCount = Integer.highestOneBit((int) Math.max(1, maxSegments));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+        segmentMask = segmentCount - 1;
+        segmentMaxEntries = maxEntries / segmentCount;
+        segmentSizeBytes = (maxSizeBytes > 0) ? maxSizeBytes / segmentCount : Long.MAX_VALUE;
+    }
+
+    /**
+     * Looks up a cached record for the given key.
+     *
+     * @param keyBytes the key
+     * @param keyHashCode the key hash code
+     * @return the cached record, or null if the key is not in the cache
+     */
+    @Nullable
+    VirtualLeafBytes get(@NonNull final Bytes keyBytes, final int keyHashCode) {
+        final Entry entry = segmentFor(keyHashCode).map.get(keyBytes);
+        if (entry == null) {
+            return null;
+        }
+        // Avoid a volatile write, if the flag is already set
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.record;
+    }
+
+    /**
+     * Puts a record to the cache. If the record is larger than a single cache segment, it
+     * isn't cached. If there is already a record for the same key in the cache, it's replaced.
+     *
+     * @param keyHashCode the key hash code. Note that record key hash code may not be set
+     * @param record the record to cache
+     */
+    void put(final int keyHashCode, @NonNull final VirtualLeafBytes record) {
+        final long weight = weight(record);
+        if (weight > segmentSizeBytes) {
+            return;
+        }
+        segmentFor(keyHashCode).put(new Entry(record, weight));
+    }
+
+    /**
+     * Removes a record with the given key from the cache, if present.
+     *
+     * @param keyBytes the key
+     * @param keyHashCode the key hash code
+     */
+    void invalidate(@NonNull final Bytes keyBytes, final int keyHashCode) {
+        final Segment segment = segmentFor(keyHashCode);
+        // Fast path, no need to lock if the key isn't cached
+        if (!segment.map.containsKey(keyBytes)) {
+            return;
+        }
+        segment.invalidate(keyBytes);
+    }
+
+    /**
+     * Total estimated size of all records in the cache, in bytes.
+     */
+    long getSizeInBytes() {
+        long result = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                result += segment.sizeBytes;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of records in the cache.
+     */
+    int size() {
+        int result = 0;
+        for (final Segment segment : segments) {
+            result += segment.map.size();
+        }
+        return result;
+    }
+
+    // Visible for testing
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    private Segment segmentFor(final int keyHashCode) {
+        // Spread the hash code bits, so keys with similar low bits don't end up in the same segment
+        final int h = keyHashCode ^ (keyHashCode >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    static long weight(final VirtualLeafBytes record) {
+        final Bytes valueBytes = record.valueBytes();
+        return ENTRY_OVERHEAD_BYTES + record.keyBytes().length() + (valueBytes != null ? valueBytes.length() : 0);
+    }
+
+    private static final class Entry {
+
+        private final VirtualLeafBytes record;
+
+        private final long weight;
+
+        /** Set on cache hits, cleared when the clock hand passes over the entry */
+        private volatile boolean referenced;
+
+        /** Set when the entry is replaced or invalidated. Guarded by the segment lock */
+        private boolean removed;
+
+        private Entry(final VirtualLeafBytes record, final long weight) {
+            this.record = record;
+            this.weight = weight;
+        }
+    }
+
+    private final class Segment {
+
+        private final ConcurrentHashMap<Bytes, Entry> map = new ConcurrentHashMap<>();
+
+        /** Clock queue. The head is where the clock hand is. Guarded by the segment lock */
+        private final ArrayDeque<Entry> clock = new ArrayDeque<>();
+
+        /** Total weight of live entries. Guarded by the segment lock */
+        private long sizeBytes = 0;
+
+        /** Number of removed entries still in the clock queue. Guarded by the segment lock */
+        private int removedInClock = 0;
+
+        synchronized void put(final Entry entry) {
+            final Entry old = map.put(entry.record.keyBytes(), entry);
+            if (old != null) {
+                markRemoved(old);
+            }
+            clock.addLast(entry);
+            sizeBytes += entry.weight;
+            while ((sizeBytes > segmentSizeBytes) || (map.size() > segmentMaxEntries)) {
+                evictOne();
+            }
+        }
+
+        synchronized void invalidate(final Bytes keyBytes) {
+            final Entry old = map.remove(keyBytes);
+            if (old != null) {
+                markRemoved(old);
+            }
+        }
+
+        private void evictOne() {
+            while (true) {
+                final Entry candidate = clock.pollFirst();
+                assert candidate != null : "Cache segment is over budget, but the clock is empty";
+                if (candidate.removed) {
+                    removedInClock--;
+                    continue;
+                }
+                if (candidate.referenced) {
+                    // Second chance
+                    candidate.referenced = false;
+                    clock.addLast(candidate);
+                    continue;
+                }
+                map.remove(candidate.record.keyBytes(), candidate);
+                sizeBytes -= candidate.weight;
+                evictionListener.evicted();
+                return;
+            }
+        }
+
+        private void markRemoved(final Entry entry) {
+            entry.removed = true;
+            sizeBytes -= entry.weight;
+            removedInClock++;
+            // Removed entries are skipped by the clock hand, but if there are too many of them,
+            // e.g. many keys are invalidated without new keys added, clean them up eagerly
+            if (removedInClock > map.size()) {
+                clock.removeIf(e -> e.removed);
+                removedInClock = 0;
+            }
+        }
+    }
+}
@@ -34,11 +34,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -50,6 +53,12 @@ import org.apache.logging.log4j.Logger;
  * The compaction tasks are executed in a background thread pool.
  * The number of threads in the pool is defined by {@link MerkleDbConfig#compactionThreads()} property.
  *
+ * <p>The thread pool is shared across all tables. When there are more pending tasks than threads, tasks
+ * are prioritized by their compaction debt (see {@link DataFileCompactor#getCompactionDebtBytes()}) and
+ * the number of disk reads from the store since its last compaction. Every data item read from MerkleDb
+ * is a single disk read regardless of the number of files in the store, since indices point to exact item
+ * locations. However, live items spread across files with lots of garbage make OS page cache less
+ * efficient, so stores that are actually hot in reads benefit from compaction the most.
  */
 @SuppressWarnings("rawtypes")
 class MerkleDbCompactionCoordinator {
@@ -64,6 +73,12 @@ class MerkleDbCompactionCoordinator {
      */
     private static ExecutorService compactionExecutor = null;
 
+    /**
+     * Sequence number of submitted compaction tasks. Used to run tasks with equal priorities in
+     * submission order.
+     */
+    private static final AtomicLong TASK_SEQUENCE = new AtomicLong(0);
+
     static synchronized ExecutorService getCompactionExecutor() {
         if (compactionExecutor == null) {
             final MerkleDbConfig config = ConfigurationHolder.getConfigData(MerkleDbConfig.class);
@@ -72,7 +87,8 @@ class MerkleDbCompactionCoordinator {
                     config.compactionThreads(),
                     50L,
                     TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>(),
+                    // Only PrioritizedCompaction tasks are submitted to this executor
+                    new PriorityBlockingQueue<>(),
                     new ThreadConfiguration(getStaticThreadManager())
                             .setThreadGroup(new ThreadGroup("Compaction"))
                             .setComponent(MERKLEDB_COMPONENT)
@@ -246,8 +262,9 @@ class MerkleDbCompactionCoordinator {
                     return;
                 }
             }
-            final ExecutorService executor = getCompactionExecutor();
-            compactionFuturesByName.put(task.id, executor.submit(task));
+            final PrioritizedCompaction future = new PrioritizedCompaction(task);
+            getCompactionExecutor().execute(future);
+            compactionFuturesByName.put(task.id, future);
         }
     }
 
@@ -255,6 +272,31 @@ class MerkleDbCompactionCoordinator {
         return compactionEnabled.get();
     }
 
+    /**
+     * Counts a disk read from the object key to path store. Used to prioritize compactions.
+     */
+    void countKeyToPathReads() {
+        if (objectKeyToPathTask != null) {
+            objectKeyToPathTask.reads.increment();
+        }
+    }
+
+    /**
+     * Counts a disk read from the hash store. Used to prioritize compactions.
+     */
+    void countHashStoreDiskReads() {
+        if (hashesStoreDiskTask != null) {
+            hashesStoreDiskTask.reads.increment();
+        }
+    }
+
+    /**
+     * Counts a disk read from the path to key-value store. Used to prioritize compactions.
+     */
+    void countPathToKeyValueReads() {
+        pathToKeyValueTask.reads.increment();
+    }
+
     /**
      * A helper class representing a task to run compaction for a specific storage type.
      */
@@ -266,14 +308,26 @@ class MerkleDbCompactionCoordinator {
         // Compactor to run
         private final DataFileCompactor compactor;
 
+        // Number of disk reads from the store since the last compaction
+        private final LongAdder reads = new LongAdder();
+
         public CompactionTask(@NonNull String id, @NonNull DataFileCompactor compactor) {
             this.id = id;
             this.compactor = compactor;
         }
 
+        /**
+         * Task priority, the higher the better. Compaction debt is a primary factor, but it's
+         * multiplied by a read activity factor, which grows logarithmically with the number of reads.
+         */
+        double priority() {
+            return (compactor.getCompactionDebtBytes() + 1) * (1 + Math.log1p(reads.sum()));
+        }
+
         @Override
         public Boolean call() {
             tasksRunning.incrementAndGet();
+            reads.reset();
             try {
                 return compactor.compact();
             } catch (final InterruptedException | ClosedByInterruptException e) {
@@ -288,4 +342,28 @@ class MerkleDbCompactionCoordinator {
             return false;
         }
     }
+
+    /**
+     * A future to run a compaction task in the compaction executor. Futures are ordered by task
+     * priorities, as calculated at submission time, and then by submission order.
+     */
+    private static class PrioritizedCompaction extends FutureTask<Boolean>
+            implements Comparable<PrioritizedCompaction> {
+
+        private final double priority;
+
+        private final long sequence;
+
+        PrioritizedCompaction(@NonNull final CompactionTask task) {
+            super(task);
+            this.priority = task.priority();
+            this.sequence = TASK_SEQUENCE.getAndIncrement();
+        }
+
+        @Override
+        public int compareTo(@NonNull final PrioritizedCompaction other) {
+            final int byPriority = Double.compare(other.priority, priority);
+            return (byPriority != 0) ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
 }
@@ -36,12 +36,15 @@ import com.swirlds.base.units.UnitConstants;
 import com.swirlds.base.utility.ToStringBuilder;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import com.swirlds.common.io.utility.IOSupplier;
 import com.swirlds.common.threading.framework.config.ThreadConfiguration;
 import com.swirlds.merkledb.collections.HashListByteBuffer;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.LongListDisk;
 import com.swirlds.merkledb.collections.LongListOffHeap;
+import com.swirlds.merkledb.collections.LongListSnapshotChain;
 import com.swirlds.merkledb.collections.OffHeapUser;
+import com.swirlds.merkledb.files.CompactionRateLimiter;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
 import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.files.DataFileReader;
@@ -58,16 +61,22 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.LongAdder;
@@ -111,6 +120,18 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /** In memory off-heap store for path to disk location, this is used by leave store. */
     private final LongList pathToDiskLocationLeafNodes;
 
+    /**
+     * Incremental snapshots of {@link #pathToDiskLocationInternalNodes}, or null if incremental
+     * snapshots are disabled.
+     */
+    private final LongListSnapshotChain internalNodesSnapshotChain;
+
+    /**
+     * Incremental snapshots of {@link #pathToDiskLocationLeafNodes}, or null if incremental
+     * snapshots are disabled.
+     */
+    private final LongListSnapshotChain leafNodesSnapshotChain;
+
     /**
      * In memory off-heap store for node hashes. This data is never stored on disk so on load from disk, this
      * will be empty. That should cause all internal node hashes to have to be computed on the first round
@@ -138,18 +159,11 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     private final MemoryIndexDiskKeyValueStore pathToKeyValue;
 
     /**
-     * Cache size for reading virtual leaf records. Initialized in data source creation time from
-     * MerkleDb settings. If the value is zero, leaf records cache isn't used.
-     */
-    private final int leafRecordCacheSize;
-
-    /**
-     * Virtual leaf records cache. It's a simple array indexed by leaf keys % cache size. Cache
-     * eviction is not needed, as array size is fixed and can be configured in MerkleDb settings.
-     * Index conflicts are resolved in a very straightforward way: whatever entry is read last, it's
-     * put to the cache.
+     * Virtual leaf records cache. Its size in bytes is initialized in data source creation time
+     * from MerkleDb settings. If the size is zero, leaf records cache isn't used, and this field
+     * is null. See {@link LeafRecordCache} for details about cache eviction.
      */
-    private final VirtualLeafBytes[] leafRecordCache;
+    private final LeafRecordCache leafRecordCache;
 
     /** Thread pool storing internal records */
     private final ExecutorService storeHashesExecutor;
@@ -157,9 +171,18 @@ public final class MerkleDbDataSource implements VirtualDataSource {
     /** Thread pool storing key-to-path mappings */
     private final ExecutorService storeLeavesExecutor;
 
+    /**
+     * Thread pool updating the key-to-path store during flushes, while leaves are written to the
+     * path-to-key/value store on the store leaves thread. Null, if parallel flushes are disabled
+     */
+    private final ExecutorService storeLeafKeysExecutor;
+
     /** Thread pool creating snapshots, it is unbounded in threads, but we use at most 7 */
     private final ExecutorService snapshotExecutor;
 
+    /** Thread pool serving asynchronous batch reads */
+    private final ExecutorService batchReadExecutor;
+
     /** Flag for if a snapshot is in progress */
     private final AtomicBoolean snapshotInProgress = new AtomicBoolean(false);
 
@@ -206,6 +229,19 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 .setExceptionHandler((t, ex) -> logger.error(
                         EXCEPTION.getMarker(), "[{}] Uncaught exception during storing leaves", tableName, ex))
                 .buildFactory());
+        // create thread pool storing virtual leaf keys, if enabled
+        storeLeafKeysExecutor = database.getConfig().parallelFlush()
+                ? Executors.newSingleThreadExecutor(new ThreadConfiguration(getStaticThreadManager())
+                        .setComponent(MERKLEDB_COMPONENT)
+                        .setThreadGroup(threadGroup)
+                        .setThreadName("Store leaf keys")
+                        .setExceptionHandler((t, ex) -> logger.error(
+                                EXCEPTION.getMarker(),
+                                "[{}] Uncaught exception during storing leaf keys",
+                                tableName,
+                                ex))
+                        .buildFactory())
+                : null;
         // thread pool creating snapshots, it is unbounded in threads, but we use at most 7
         snapshotExecutor = Executors.newCachedThreadPool(new ThreadConfiguration(getStaticThreadManager())
                 .setComponent(MERKLEDB_COMPONENT)
@@ -214,6 +250,16 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 .setExceptionHandler(
                         (t, ex) -> logger.error(EXCEPTION.getMarker(), "Uncaught exception during snapshots", ex))
                 .buildFactory());
+        // thread pool serving asynchronous batch reads. Every batch is read on a single thread
+        batchReadExecutor = Executors.newFixedThreadPool(
+                database.getConfig().batchReadThreads(),
+                new ThreadConfiguration(getStaticThreadManager())
+                        .setComponent(MERKLEDB_COMPONENT)
+                        .setThreadGroup(threadGroup)
+                        .setThreadName("Batch reads")
+                        .setExceptionHandler((t, ex) -> logger.error(
+                                EXCEPTION.getMarker(), "[{}] Uncaught exception during batch reads", tableName, ex))
+                        .buildFactory());
 
         final Path storageDir = database.getTableDir(tableName, tableId);
         dbPaths = new MerkleDbPaths(storageDir);
@@ -240,21 +286,41 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         final boolean forceIndexRebuilding = database.getConfig().indexRebuildingEnforced();
         if (tableConfig.isPreferDiskBasedIndices()) {
             pathToDiskLocationInternalNodes = new LongListDisk(dbPaths.pathToDiskLocationInternalNodesFile);
+            LongListSnapshotChain.load(pathToDiskLocationInternalNodes, dbPaths.pathToDiskLocationInternalNodesFile);
         } else if (Files.exists(dbPaths.pathToDiskLocationInternalNodesFile) && !forceIndexRebuilding) {
             pathToDiskLocationInternalNodes = new LongListOffHeap(dbPaths.pathToDiskLocationInternalNodesFile);
+            LongListSnapshotChain.load(pathToDiskLocationInternalNodes, dbPaths.pathToDiskLocationInternalNodesFile);
         } else {
             pathToDiskLocationInternalNodes = new LongListOffHeap();
         }
         // path to disk location index, leaf nodes
         if (tableConfig.isPreferDiskBasedIndices()) {
             pathToDiskLocationLeafNodes = new LongListDisk(dbPaths.pathToDiskLocationLeafNodesFile);
+            LongListSnapshotChain.load(pathToDiskLocationLeafNodes, dbPaths.pathToDiskLocationLeafNodesFile);
         } else if (Files.exists(dbPaths.pathToDiskLocationLeafNodesFile) && !forceIndexRebuilding) {
             pathToDiskLocationLeafNodes = new LongListOffHeap(dbPaths.pathToDiskLocationLeafNodesFile);
+            LongListSnapshotChain.load(pathToDiskLocationLeafNodes, dbPaths.pathToDiskLocationLeafNodesFile);
         } else {
             pathToDiskLocationLeafNodes =
                     new LongListOffHeap(database.getConfig().reservedBufferLengthForLeafList());
         }
 
+        // incremental snapshots of path to disk location indices
+        if (database.getConfig().incrementalSnapshotsEnabled()) {
+            final int maxDeltas = database.getConfig().maxSnapshotDeltaChainLength();
+            internalNodesSnapshotChain = new LongListSnapshotChain(
+                    dbPaths.snapshotChainDirectory,
+                    dbPaths.pathToDiskLocationInternalNodesFile.getFileName().toString(),
+                    maxDeltas);
+            leafNodesSnapshotChain = new LongListSnapshotChain(
+                    dbPaths.snapshotChainDirectory,
+                    dbPaths.pathToDiskLocationLeafNodesFile.getFileName().toString(),
+                    maxDeltas);
+        } else {
+            internalNodesSnapshotChain = null;
+            leafNodesSnapshotChain = null;
+        }
+
         // internal node hashes store, RAM
         if (tableConfig.getHashesRamToDiskThreshold() > 0) {
             if (Files.exists(dbPaths.hashStoreRamFile)) {
@@ -273,56 +339,97 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             statisticsUpdater.updateOffHeapStats(this);
         };
 
-        // internal node hashes store, on disk
+        // Callbacks to rebuild path to disk location indices from data files, if the indices
+        // haven't been loaded from snapshot files. Data files are processed in parallel, so the
+        // callbacks only replace index entries with entries from newer files
+        final LongAdder rebuiltIndexEntries = new LongAdder();
         hasDiskStoreForHashes = tableConfig.getHashesRamToDiskThreshold() < Long.MAX_VALUE;
+        final LoadedDataCallback hashRecordLoadedCallback;
+        if (hasDiskStoreForHashes && (pathToDiskLocationInternalNodes.size() == 0)) {
+            if (validLeafPathRange.getMaxValidKey() >= 0) {
+                pathToDiskLocationInternalNodes.updateValidRange(0, validLeafPathRange.getMaxValidKey());
+            }
+            hashRecordLoadedCallback = (dataLocation, hashData, dataLocationOrder) -> {
+                final VirtualHashRecord hashRecord = VirtualHashRecord.parseFrom(hashData);
+                pathToDiskLocationInternalNodes.putIfGreater(hashRecord.path(), dataLocation, dataLocationOrder);
+                rebuiltIndexEntries.increment();
+            };
+        } else {
+            hashRecordLoadedCallback = null;
+        }
+        final LoadedDataCallback leafRecordLoadedCallback;
+        final boolean needRestorePathToDiskLocationLeafNodes = pathToDiskLocationLeafNodes.size() == 0;
+        if (needRestorePathToDiskLocationLeafNodes) {
+            if (validLeafPathRange.getMaxValidKey() >= 0) {
+                pathToDiskLocationLeafNodes.updateValidRange(
+                        validLeafPathRange.getMinValidKey(), validLeafPathRange.getMaxValidKey());
+            }
+            leafRecordLoadedCallback = (dataLocation, leafData, dataLocationOrder) -> {
+                final VirtualLeafBytes leafBytes = VirtualLeafBytes.parseFrom(leafData);
+                pathToDiskLocationLeafNodes.putIfGreater(leafBytes.path(), dataLocation, dataLocationOrder);
+                rebuiltIndexEntries.increment();
+            };
+        } else {
+            leafRecordLoadedCallback = null;
+        }
+
+        // Load all stores concurrently. Snapshot executor isn't used yet, as the data source is
+        // still being created. Every store rebuilds its index, if needed, while it's loaded
+        final long storesLoadStart = System.currentTimeMillis();
+        final String hashStoreDiskName = tableName + "_internalhashes";
+        final Future<MemoryIndexDiskKeyValueStore> hashStoreDiskFuture = hasDiskStoreForHashes
+                ? snapshotExecutor.submit(() -> new MemoryIndexDiskKeyValueStore(
+                        database.getConfig(),
+                        dbPaths.hashStoreDiskDirectory,
+                        hashStoreDiskName,
+                        tableName + ":internalHashes",
+                        hashRecordLoadedCallback,
+                        pathToDiskLocationInternalNodes))
+                : null;
+        final String keyToPathStoreName = tableName + "_objectkeytopath";
+        final Future<HalfDiskHashMap> keyToPathFuture = snapshotExecutor.submit(() -> new HalfDiskHashMap(
+                database.getConfig(),
+                tableConfig.getMaxNumberOfKeys(),
+                dbPaths.keyToPathDirectory,
+                keyToPathStoreName,
+                tableName + ":objectKeyToPath",
+                tableConfig.isPreferDiskBasedIndices()));
+        // Create path to key/value store, this will create new or load if files exist
+        final String pathToKeyValueStoreName = tableName + "_pathtohashkeyvalue";
+        final Future<MemoryIndexDiskKeyValueStore> pathToKeyValueFuture =
+                snapshotExecutor.submit(() -> new MemoryIndexDiskKeyValueStore(
+                        database.getConfig(),
+                        dbPaths.pathToKeyValueDirectory,
+                        pathToKeyValueStoreName,
+                        tableName + ":pathToHashKeyValue",
+                        leafRecordLoadedCallback,
+                        pathToDiskLocationLeafNodes));
+        final Object[] stores = awaitStores(hashStoreDiskFuture, keyToPathFuture, pathToKeyValueFuture);
+        hashStoreDisk = (MemoryIndexDiskKeyValueStore) stores[0];
+        keyToPath = (HalfDiskHashMap) stores[1];
+        pathToKeyValue = (MemoryIndexDiskKeyValueStore) stores[2];
+        statisticsUpdater.setStoresLoadStats(System.currentTimeMillis() - storesLoadStart, rebuiltIndexEntries.sum());
+
+        // internal node hashes store, on disk
         final DataFileCompactor hashStoreDiskFileCompactor;
         if (hasDiskStoreForHashes) {
-            final boolean hashIndexEmpty = pathToDiskLocationInternalNodes.size() == 0;
-            final LoadedDataCallback hashRecordLoadedCallback;
-            if (hashIndexEmpty) {
-                if (validLeafPathRange.getMaxValidKey() >= 0) {
-                    pathToDiskLocationInternalNodes.updateValidRange(0, validLeafPathRange.getMaxValidKey());
-                }
-                hashRecordLoadedCallback = (dataLocation, hashData) -> {
-                    final VirtualHashRecord hashRecord = VirtualHashRecord.parseFrom(hashData);
-                    pathToDiskLocationInternalNodes.put(hashRecord.path(), dataLocation);
-                };
-            } else {
-                hashRecordLoadedCallback = null;
-            }
-            final String storeName = tableName + "_internalhashes";
-            hashStoreDisk = new MemoryIndexDiskKeyValueStore(
-                    database.getConfig(),
-                    dbPaths.hashStoreDiskDirectory,
-                    storeName,
-                    tableName + ":internalHashes",
-                    hashRecordLoadedCallback,
-                    pathToDiskLocationInternalNodes);
             hashStoreDiskFileCompactor = new DataFileCompactor(
                     database.getConfig(),
-                    storeName,
+                    hashStoreDiskName,
                     hashStoreDisk.getFileCollection(),
                     pathToDiskLocationInternalNodes,
                     statisticsUpdater::setHashesStoreCompactionTimeMs,
                     statisticsUpdater::setHashesStoreCompactionSavedSpaceMb,
                     statisticsUpdater::setHashesStoreFileSizeByLevelMb,
-                    updateTotalStatsFunction);
+                    updateTotalStatsFunction,
+                    statisticsUpdater::addHashesStoreCompactionRewrittenBytes,
+                    statisticsUpdater::setHashesStoreCompactionDebtBytes);
         } else {
-            hashStoreDisk = null;
             hashStoreDiskFileCompactor = null;
         }
 
-        final DataFileCompactor keyToPathFileCompactor;
         // key to path store
-        String keyToPathStoreName = tableName + "_objectkeytopath";
-        keyToPath = new HalfDiskHashMap(
-                database.getConfig(),
-                tableConfig.getMaxNumberOfKeys(),
-                dbPaths.keyToPathDirectory,
-                keyToPathStoreName,
-                tableName + ":objectKeyToPath",
-                tableConfig.isPreferDiskBasedIndices());
-        keyToPathFileCompactor = new DataFileCompactor(
+        final DataFileCompactor keyToPathFileCompactor = new DataFileCompactor(
                 database.getConfig(),
                 keyToPathStoreName,
                 keyToPath.getFileCollection(),
@@ -330,32 +437,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 statisticsUpdater::setLeafKeysStoreCompactionTimeMs,
                 statisticsUpdater::setLeafKeysStoreCompactionSavedSpaceMb,
                 statisticsUpdater::setLeafKeysStoreFileSizeByLevelMb,
-                updateTotalStatsFunction);
+                updateTotalStatsFunction,
+                statisticsUpdater::addLeafKeysStoreCompactionRewrittenBytes,
+                statisticsUpdater::setLeafKeysStoreCompactionDebtBytes);
         keyToPath.printStats();
 
-        final LoadedDataCallback leafRecordLoadedCallback;
-        final boolean needRestorePathToDiskLocationLeafNodes = pathToDiskLocationLeafNodes.size() == 0;
-        if (needRestorePathToDiskLocationLeafNodes) {
-            if (validLeafPathRange.getMaxValidKey() >= 0) {
-                pathToDiskLocationLeafNodes.updateValidRange(
-                        validLeafPathRange.getMinValidKey(), validLeafPathRange.getMaxValidKey());
-            }
-            leafRecordLoadedCallback = (dataLocation, leafData) -> {
-                final VirtualLeafBytes leafBytes = VirtualLeafBytes.parseFrom(leafData);
-                pathToDiskLocationLeafNodes.put(leafBytes.path(), dataLocation);
-            };
-        } else {
-            leafRecordLoadedCallback = null;
-        }
-        // Create path to key/value store, this will create new or load if files exist
-        final String pathToKeyValueStoreName = tableName + "_pathtohashkeyvalue";
-        pathToKeyValue = new MemoryIndexDiskKeyValueStore(
-                database.getConfig(),
-                dbPaths.pathToKeyValueDirectory,
-                pathToKeyValueStoreName,
-                tableName + ":pathToHashKeyValue",
-                leafRecordLoadedCallback,
-                pathToDiskLocationLeafNodes);
+        // path to key/value store
         final DataFileCompactor pathToKeyValueFileCompactor = new DataFileCompactor(
                 database.getConfig(),
                 pathToKeyValueStoreName,
@@ -364,11 +451,18 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 statisticsUpdater::setLeavesStoreCompactionTimeMs,
                 statisticsUpdater::setLeavesStoreCompactionSavedSpaceMb,
                 statisticsUpdater::setLeavesStoreFileSizeByLevelMb,
-                updateTotalStatsFunction);
+                updateTotalStatsFunction,
+                statisticsUpdater::addLeavesStoreCompactionRewrittenBytes,
+                statisticsUpdater::setLeavesStoreCompactionDebtBytes);
 
         // Leaf records cache
-        leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
-        leafRecordCache = (leafRecordCacheSize > 0) ? new VirtualLeafBytes[leafRecordCacheSize] : null;
+        final int leafRecordCacheSize = database.getConfig().leafRecordCacheSize();
+        leafRecordCache = (leafRecordCacheSize > 0)
+                ? new LeafRecordCache(
+                        leafRecordCacheSize,
+                        database.getConfig().leafRecordCacheSizeBytes(),
+                        () -> statisticsUpdater.countLeafCacheEvictions())
+                : null;
 
         // Update count of open databases
         COUNT_OF_OPEN_DATABASES.increment();
@@ -488,6 +582,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             @NonNull final Stream<VirtualLeafBytes> leafRecordsToDelete,
             final boolean isReconnectContext)
             throws IOException {
+        // Throttle compactions while flushing, so they don't compete for disk bandwidth
+        CompactionRateLimiter.flushStarted();
         try {
             validLeafPathRange = new KeyRange(firstLeafPath, lastLeafPath);
             final CountDownLatch countDownLatch = new CountDownLatch(lastLeafPath > 0 ? 2 : 1);
@@ -542,12 +638,17 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 Thread.currentThread().interrupt();
             }
         } finally {
+            CompactionRateLimiter.flushFinished();
             // Report total size on disk as sum of all store files. All metadata and other helper files
             // are considered small enough to be ignored. If/when we decide to use on-disk long lists
             // for indices, they should be added here
             statisticsUpdater.updateStoreFileStats(this);
             // update off-heap stats
             statisticsUpdater.updateOffHeapStats(this);
+            // update key to path bucket filter stats
+            statisticsUpdater.updateKeyToPathFilterStats(this);
+            // update data file compression stats
+            statisticsUpdater.updateCompressionStats(this);
         }
     }
 
@@ -564,18 +665,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         requireNonNull(keyBytes);
 
         final long path;
-        VirtualLeafBytes cached = null;
-        int cacheIndex = -1;
-        if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. Java guarantees (JLS 17.7) that reference writes
-            // are atomic, so we will never get corrupted objects from the array. The object may
-            // be overwritten in the cache in a different thread in parallel, but it isn't a
-            // problem as cached entry key is checked below anyway
-            cached = leafRecordCache[cacheIndex];
-        }
-        // If an entry is found in the cache, and entry key is the one requested
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
+        final VirtualLeafBytes cached = getFromLeafRecordCache(keyBytes, keyHashCode);
+        if (cached != null) {
             // Some cache entries contain just key and path, but no value. If the value is there,
             // just return the cached entry. If not, at least make use of the path
             if (cached.valueBytes() != null) {
@@ -584,9 +675,8 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             // Note that the path may be INVALID_PATH here, this is perfectly legal
             path = cached.path();
         } else {
-            // Cache miss
-            cached = null;
             statisticsUpdater.countLeafKeyReads();
+            compactionCoordinator.countKeyToPathReads();
             path = keyToPath.get(keyBytes, keyHashCode, INVALID_PATH);
         }
 
@@ -594,7 +684,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (path == INVALID_PATH) {
             // Cache the result if not already cached
             if (leafRecordCache != null && cached == null) {
-                leafRecordCache[cacheIndex] = new VirtualLeafBytes(path, keyBytes, 0, null);
+                leafRecordCache.put(keyHashCode, new VirtualLeafBytes(path, keyBytes, keyHashCode, null));
             }
             return null;
         }
@@ -607,13 +697,13 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         }
 
         statisticsUpdater.countLeafReads();
+        compactionCoordinator.countPathToKeyValueReads();
         // Go ahead and lookup the value.
         VirtualLeafBytes leafBytes = VirtualLeafBytes.parseFrom(pathToKeyValue.get(path));
         assert leafBytes != null && leafBytes.keyBytes().equals(keyBytes);
 
         if (leafRecordCache != null) {
-            // No synchronization is needed here, see the comment above
-            leafRecordCache[cacheIndex] = leafBytes;
+            leafRecordCache.put(keyHashCode, leafBytes);
         }
 
         return leafBytes;
@@ -638,6 +728,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             return null;
         }
         statisticsUpdater.countLeafReads();
+        compactionCoordinator.countPathToKeyValueReads();
         return VirtualLeafBytes.parseFrom(pathToKeyValue.get(path));
     }
 
@@ -653,23 +744,19 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         requireNonNull(keyBytes);
 
         // Check the cache first
-        int cacheIndex = -1;
-        if (leafRecordCache != null) {
-            cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-            // No synchronization is needed here. See the comment in loadLeafRecord(key) above
-            final VirtualLeafBytes cached = leafRecordCache[cacheIndex];
-            if (cached != null && keyBytes.equals(cached.keyBytes())) {
-                // Cached path may be a valid path or INVALID_PATH, both are legal here
-                return cached.path();
-            }
+        final VirtualLeafBytes cached = getFromLeafRecordCache(keyBytes, keyHashCode);
+        if (cached != null) {
+            // Cached path may be a valid path or INVALID_PATH, both are legal here
+            return cached.path();
         }
 
         statisticsUpdater.countLeafKeyReads();
+        compactionCoordinator.countKeyToPathReads();
         final long path = keyToPath.get(keyBytes, keyHashCode, INVALID_PATH);
 
         if (leafRecordCache != null) {
             // Path may be INVALID_PATH here. Still needs to be cached (negative result)
-            leafRecordCache[cacheIndex] = new VirtualLeafBytes(path, keyBytes, keyHashCode, null);
+            leafRecordCache.put(keyHashCode, new VirtualLeafBytes(path, keyBytes, keyHashCode, null));
         }
 
         return path;
@@ -702,6 +789,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             final VirtualHashRecord rec = VirtualHashRecord.parseFrom(hashStoreDisk.get(path));
             hash = (rec != null) ? rec.hash() : null;
             statisticsUpdater.countHashReads();
+            compactionCoordinator.countHashStoreDiskReads();
         }
 
         return hash;
@@ -740,6 +828,216 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean loadAndWriteHash(final long path, final ByteBuffer dst) throws IOException {
+        if (path < 0) {
+            throw new IllegalArgumentException("path is less than 0");
+        }
+        long lastLeaf = validLeafPathRange.getMaxValidKey();
+        if (path > lastLeaf) {
+            return false;
+        }
+        // Hash bytes are copied directly from hashStoreRam buffers or from data file bytes, no
+        // Hash objects are created
+        if (path < tableConfig.getHashesRamToDiskThreshold()) {
+            return hashStoreRam.get(path, dst);
+        } else {
+            final BufferedData hashBytes = hashStoreDisk.get(path);
+            statisticsUpdater.countHashReads();
+            compactionCoordinator.countHashStoreDiskReads();
+            return (hashBytes != null) && VirtualHashRecord.extractHashBytes(hashBytes, dst);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Leaves are read on a batch read thread. Reads are sorted by data file and offset, and
+     * adjacent reads are coalesced.
+     */
+    @NonNull
+    @Override
+    public CompletableFuture<List<VirtualLeafBytes>> loadLeafRecordsAsync(@NonNull final long[] paths) {
+        for (final long path : paths) {
+            if (path < 0) {
+                throw new IllegalArgumentException("Path (" + path + ") is not valid");
+            }
+        }
+        return supplyBatchRead(() -> loadLeafRecords(paths));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Key to path mappings are looked up first, then leaves are read the same way as in
+     * {@link #loadLeafRecordsAsync(long[])}. The leaf record cache is used, if enabled.
+     */
+    @NonNull
+    @Override
+    public CompletableFuture<List<VirtualLeafBytes>> loadLeafRecordsAsync(
+            @NonNull final List<Bytes> keys, @NonNull final int[] keyHashCodes) {
+        if (keys.size() != keyHashCodes.length) {
+            throw new IllegalArgumentException("Keys and key hash codes must be of the same size");
+        }
+        keys.forEach(Objects::requireNonNull);
+        return supplyBatchRead(() -> loadLeafRecords(keys, keyHashCodes));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Hashes are read on a batch read thread. Hashes stored on disk are read in data file
+     * and offset order, with adjacent reads coalesced.
+     */
+    @NonNull
+    @Override
+    public CompletableFuture<List<Hash>> loadHashesAsync(@NonNull final long[] paths) {
+        for (final long path : paths) {
+            if (path < 0) {
+                throw new IllegalArgumentException("Path (" + path + ") is not valid");
+            }
+        }
+        return supplyBatchRead(() -> loadHashes(paths));
+    }
+
+    /**
+     * Runs a batch read on the batch read thread pool.
+     *
+     * @param reader the batch read to run
+     * @return a future completed with the result of the read, or with the exception thrown
+     */
+    private <T> CompletableFuture<T> supplyBatchRead(final IOSupplier<T> reader) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            batchReadExecutor.execute(() -> {
+                try {
+                    future.complete(reader.get());
+                } catch (final Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            // The data source is closed
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private List<VirtualLeafBytes> loadLeafRecords(final long[] paths) throws IOException {
+        final VirtualLeafBytes[] leaves = new VirtualLeafBytes[paths.length];
+        final KeyRange leafPathRange = validLeafPathRange;
+        final long[] pathsToRead = new long[paths.length];
+        final int[] leafIndices = new int[paths.length];
+        int count = 0;
+        for (int i = 0; i < paths.length; i++) {
+            if (leafPathRange.withinRange(paths[i])) {
+                pathsToRead[count] = paths[i];
+                leafIndices[count] = i;
+                count++;
+            }
+        }
+        readLeaves(Arrays.copyOf(pathsToRead, count), leafIndices, leaves);
+        return Arrays.asList(leaves);
+    }
+
+    private List<VirtualLeafBytes> loadLeafRecords(final List<Bytes> keys, final int[] keyHashCodes)
+            throws IOException {
+        final VirtualLeafBytes[] leaves = new VirtualLeafBytes[keys.size()];
+        final KeyRange leafPathRange = validLeafPathRange;
+        final long[] pathsToRead = new long[keys.size()];
+        final int[] leafIndices = new int[keys.size()];
+        int count = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            final Bytes keyBytes = keys.get(i);
+            final int keyHashCode = keyHashCodes[i];
+            // The same logic as in loadLeafRecord(Bytes, int)
+            final long path;
+            final VirtualLeafBytes cached = getFromLeafRecordCache(keyBytes, keyHashCode);
+            if (cached != null) {
+                if (cached.valueBytes() != null) {
+                    leaves[i] = cached;
+                    continue;
+                }
+                path = cached.path();
+            } else {
+                statisticsUpdater.countLeafKeyReads();
+                compactionCoordinator.countKeyToPathReads();
+                path = keyToPath.get(keyBytes, keyHashCode, INVALID_PATH);
+            }
+            if (path == INVALID_PATH) {
+                if (leafRecordCache != null && cached == null) {
+                    leafRecordCache.put(keyHashCode, new VirtualLeafBytes(path, keyBytes, keyHashCode, null));
+                }
+                continue;
+            }
+            if (leafPathRange.withinRange(path)) {
+                pathsToRead[count] = path;
+                leafIndices[count] = i;
+                count++;
+            }
+        }
+        readLeaves(Arrays.copyOf(pathsToRead, count), leafIndices, leaves);
+        for (int i = 0; i < count; i++) {
+            final int leafIndex = leafIndices[i];
+            final VirtualLeafBytes leafBytes = leaves[leafIndex];
+            assert leafBytes != null && leafBytes.keyBytes().equals(keys.get(leafIndex));
+            if (leafRecordCache != null && leafBytes != null) {
+                leafRecordCache.put(keyHashCodes[leafIndex], leafBytes);
+            }
+        }
+        return Arrays.asList(leaves);
+    }
+
+    /**
+     * Reads leaves for the given paths in a batch.
+     *
+     * @param paths leaf paths to read, all within the valid leaf path range
+     * @param leafIndices indices in the leaves array to store leaves read for the paths
+     * @param leaves the array of leaves to store leaves read
+     */
+    private void readLeaves(final long[] paths, final int[] leafIndices, final VirtualLeafBytes[] leaves)
+            throws IOException {
+        for (int i = 0; i < paths.length; i++) {
+            statisticsUpdater.countLeafReads();
+            compactionCoordinator.countPathToKeyValueReads();
+        }
+        pathToKeyValue.get(paths, (i, leafBytes) -> leaves[leafIndices[i]] = VirtualLeafBytes.parseFrom(leafBytes));
+    }
+
+    private List<Hash> loadHashes(final long[] paths) throws IOException {
+        final Hash[] hashes = new Hash[paths.length];
+        final long lastLeaf = validLeafPathRange.getMaxValidKey();
+        final long ramToDiskThreshold = tableConfig.getHashesRamToDiskThreshold();
+        final long[] diskPaths = new long[paths.length];
+        final int[] hashIndices = new int[paths.length];
+        int count = 0;
+        for (int i = 0; i < paths.length; i++) {
+            final long path = paths[i];
+            if (path > lastLeaf) {
+                continue;
+            }
+            if (path < ramToDiskThreshold) {
+                hashes[i] = hashStoreRam.get(path);
+            } else {
+                statisticsUpdater.countHashReads();
+                compactionCoordinator.countHashStoreDiskReads();
+                diskPaths[count] = path;
+                hashIndices[count] = i;
+                count++;
+            }
+        }
+        if (count > 0) {
+            hashStoreDisk.get(Arrays.copyOf(diskPaths, count), (i, hashBytes) -> {
+                final VirtualHashRecord rec = VirtualHashRecord.parseFrom(hashBytes);
+                hashes[hashIndices[i]] = (rec != null) ? rec.hash() : null;
+            });
+        }
+        return Arrays.asList(hashes);
+    }
+
     /** Wait for any merges to finish, then close all data stores and free all resources. */
     @Override
     public void close() throws IOException {
@@ -750,7 +1048,12 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 // Shut down all executors. If a flush is currently in progress, it will be interrupted.
                 // It's critical to make sure there are no disk read/write operations before all indiced
                 // and file collections are closed below
-                shutdownThreadsAndWait(storeHashesExecutor, storeLeavesExecutor, snapshotExecutor);
+                shutdownThreadsAndWait(
+                        storeHashesExecutor,
+                        storeLeavesExecutor,
+                        storeLeafKeysExecutor,
+                        snapshotExecutor,
+                        batchReadExecutor);
             } finally {
                 try {
                     // close all closable data stores
@@ -821,11 +1124,17 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 final CountDownLatch countDownLatch = new CountDownLatch(7);
                 // write all data stores
                 runWithSnapshotExecutor(true, countDownLatch, "pathToDiskLocationInternalNodes", () -> {
-                    pathToDiskLocationInternalNodes.writeToFile(snapshotDbPaths.pathToDiskLocationInternalNodesFile);
+                    snapshotLongList(
+                            pathToDiskLocationInternalNodes,
+                            internalNodesSnapshotChain,
+                            snapshotDbPaths.pathToDiskLocationInternalNodesFile);
                     return true;
                 });
                 runWithSnapshotExecutor(true, countDownLatch, "pathToDiskLocationLeafNodes", () -> {
-                    pathToDiskLocationLeafNodes.writeToFile(snapshotDbPaths.pathToDiskLocationLeafNodesFile);
+                    snapshotLongList(
+                            pathToDiskLocationLeafNodes,
+                            leafNodesSnapshotChain,
+                            snapshotDbPaths.pathToDiskLocationLeafNodesFile);
                     return true;
                 });
                 runWithSnapshotExecutor(hashStoreRam != null, countDownLatch, "internalHashStoreRam", () -> {
@@ -1035,6 +1344,69 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         }
     }
 
+    /**
+     * Wait for all stores to be loaded. If any store fails to load, all other stores are closed,
+     * and the first exception is rethrown.
+     *
+     * @param futures store loading futures, some of them may be null
+     * @return loaded stores, in the same order as futures, or nulls for null futures
+     * @throws IOException if any store failed to load
+     */
+    private static Object[] awaitStores(final Future<?>... futures) throws IOException {
+        final Object[] stores = new Object[futures.length];
+        Throwable error = null;
+        for (int i = 0; i < futures.length; i++) {
+            if (futures[i] == null) {
+                continue;
+            }
+            try {
+                stores[i] = futures[i].get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = (error == null) ? e : error;
+            } catch (final ExecutionException e) {
+                error = (error == null) ? e.getCause() : error;
+            }
+        }
+        if (error == null) {
+            return stores;
+        }
+        for (final Object store : stores) {
+            if (store instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (final Exception e) {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        if (error instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new IOException("Failed to load data source stores", error);
+    }
+
+    /**
+     * Write a long list to a snapshot file. If incremental snapshots are enabled, only chunks
+     * modified since the previous snapshot are written, see {@link LongListSnapshotChain}.
+     *
+     * @param list the list to write
+     * @param chain the list snapshot chain, or null if incremental snapshots are disabled
+     * @param file the file to write to
+     * @throws IOException if an I/O error occurred
+     */
+    private static void snapshotLongList(final LongList list, final LongListSnapshotChain chain, final Path file)
+            throws IOException {
+        if (chain != null) {
+            chain.snapshot(list, file);
+        } else {
+            list.writeToFile(file);
+        }
+    }
+
     /**
      * Run a runnable on background thread using snapshot ExecutorService, counting down latch when
      * done.
@@ -1114,7 +1486,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         }
     }
 
-    /** Write all the given leaf records to pathToKeyValue */
+    /** Write all the given leaf records to pathToKeyValue and keyToPath */
     private void writeLeavesToPathToKeyValue(
             final long firstLeafPath,
             final long lastLeafPath,
@@ -1122,15 +1494,15 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             @NonNull final Stream<VirtualLeafBytes> deletedLeaves,
             boolean isReconnect)
             throws IOException {
-        // If both streams are empty, no new data files should be created. One simple way to
-        // check emptiness is to use iterators. The iterators are consumed on a single thread
-        // (the current thread), but it still makes sense to use parallel streams as supplying
-        // elements to the stream includes expensive operations like serialization to bytes
-        final Iterator<VirtualLeafBytes> dirtyIterator = dirtyLeaves
+        // Sorting requires all dirty leaves to be collected anyway, so materialize them to a list,
+        // which can then be consumed by two store writers. It still makes sense to use parallel
+        // streams as supplying elements to the stream includes expensive operations like
+        // serialization to bytes
+        final List<VirtualLeafBytes> dirtyList = dirtyLeaves
                 .parallel()
                 .sorted(Comparator.comparingLong(VirtualLeafBytes::path))
-                .iterator();
-        final Iterator<VirtualLeafBytes> deletedIterator = deletedLeaves.iterator();
+                .toList();
+        final List<VirtualLeafBytes> deletedList = deletedLeaves.toList();
 
         if (lastLeafPath < 0) {
             // Empty store
@@ -1139,38 +1511,66 @@ public final class MerkleDbDataSource implements VirtualDataSource {
             pathToKeyValue.updateValidKeyRange(firstLeafPath, lastLeafPath);
         }
 
-        if (!dirtyIterator.hasNext() && !deletedIterator.hasNext()) {
-            // Nothing to do
+        if (dirtyList.isEmpty() && deletedList.isEmpty()) {
+            // Nothing to do, no new data files should be created
             return;
         }
 
-        pathToKeyValue.startWriting();
+        if (storeLeafKeysExecutor == null) {
+            writeLeafKeys(dirtyList, deletedList, isReconnect);
+            writeLeafValues(dirtyList, deletedList);
+            return;
+        }
+
+        // The two stores don't share any state, update them in parallel. Key-to-path updates
+        // are usually more expensive, as they require random bucket reads on endWriting()
+        final Future<?> leafKeysFuture = storeLeafKeysExecutor.submit(() -> {
+            writeLeafKeys(dirtyList, deletedList, isReconnect);
+            return null;
+        });
+        Throwable error = null;
+        try {
+            writeLeafValues(dirtyList, deletedList);
+        } catch (final IOException | RuntimeException e) {
+            error = e;
+        }
+        // Wait for key-to-path updates even if leaves failed, so the store isn't left in
+        // a writing session when this method exits
+        try {
+            leafKeysFuture.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            leafKeysFuture.cancel(true);
+            error = (error == null) ? e : error;
+        } catch (final ExecutionException e) {
+            error = (error == null) ? e.getCause() : error;
+        }
+        if (error instanceof IOException ioe) {
+            throw ioe;
+        } else if (error instanceof RuntimeException re) {
+            throw re;
+        } else if (error != null) {
+            throw new IOException("Failed to store leaves", error);
+        }
+    }
+
+    /** Write all the given leaf keys to keyToPath */
+    private void writeLeafKeys(
+            @NonNull final List<VirtualLeafBytes> dirtyLeaves,
+            @NonNull final List<VirtualLeafBytes> deletedLeaves,
+            final boolean isReconnect)
+            throws IOException {
         keyToPath.startWriting();
 
         // Iterate over leaf records
-        while (dirtyIterator.hasNext()) {
-            final VirtualLeafBytes leafBytes = dirtyIterator.next();
-            final long path = leafBytes.path();
+        for (final VirtualLeafBytes leafBytes : dirtyLeaves) {
             // Update key to path index
-            keyToPath.put(leafBytes.keyBytes(), leafBytes.keyHashCode(), path);
+            keyToPath.put(leafBytes.keyBytes(), leafBytes.keyHashCode(), leafBytes.path());
             statisticsUpdater.countFlushLeafKeysWritten();
-
-            // Update path to K/V store
-            try {
-                pathToKeyValue.put(leafBytes.path(), leafBytes::writeTo, leafBytes.getSizeInBytes());
-            } catch (final IOException e) {
-                logger.error(EXCEPTION.getMarker(), "[{}] IOException writing to pathToKeyValue", tableName, e);
-                throw new UncheckedIOException(e);
-            }
-            statisticsUpdater.countFlushLeavesWritten();
-
-            // cache the record
-            invalidateReadCache(leafBytes.keyBytes(), leafBytes.keyHashCode());
         }
 
         // Iterate over leaf records to delete
-        while (deletedIterator.hasNext()) {
-            final VirtualLeafBytes leafBytes = deletedIterator.next();
+        for (final VirtualLeafBytes leafBytes : deletedLeaves) {
             final long path = leafBytes.path();
             // Update key to path index. In some cases (e.g. during reconnect), some leaves in the
             // deletedLeaves stream have been moved to different paths in the tree. This is good
@@ -1183,13 +1583,40 @@ public final class MerkleDbDataSource implements VirtualDataSource {
                 keyToPath.delete(leafBytes.keyBytes(), leafBytes.keyHashCode());
             }
             statisticsUpdater.countFlushLeavesDeleted();
+        }
+
+        // end writing
+        final DataFileReader keyToPathReader = keyToPath.endWriting();
+        statisticsUpdater.setFlushLeafKeysStoreFileSize(keyToPathReader);
+        compactionCoordinator.compactDiskStoreForKeyToPathAsync();
+    }
+
+    /** Write all the given leaf records to pathToKeyValue, the records must be sorted by path */
+    private void writeLeafValues(
+            @NonNull final List<VirtualLeafBytes> dirtyLeaves, @NonNull final List<VirtualLeafBytes> deletedLeaves)
+            throws IOException {
+        pathToKeyValue.startWriting();
 
-            // delete from pathToKeyValue, we don't need to explicitly delete leaves as
-            // they will be deleted on
-            // next merge based on range of valid leaf paths. If a leaf at path X is deleted
-            // then a new leaf is
-            // inserted at path X then the record is just updated to new leaf's data.
+        // Iterate over leaf records
+        for (final VirtualLeafBytes leafBytes : dirtyLeaves) {
+            // Update path to K/V store
+            try {
+                pathToKeyValue.put(leafBytes.path(), leafBytes::writeTo, leafBytes.getSizeInBytes());
+            } catch (final IOException e) {
+                logger.error(EXCEPTION.getMarker(), "[{}] IOException writing to pathToKeyValue", tableName, e);
+                throw new UncheckedIOException(e);
+            }
+            statisticsUpdater.countFlushLeavesWritten();
+
+            // cache the record
+            invalidateReadCache(leafBytes.keyBytes(), leafBytes.keyHashCode());
+        }
 
+        // Iterate over leaf records to delete. We don't need to explicitly delete leaves from
+        // pathToKeyValue as they will be deleted on next merge based on range of valid leaf
+        // paths. If a leaf at path X is deleted then a new leaf is inserted at path X then the
+        // record is just updated to new leaf's data.
+        for (final VirtualLeafBytes leafBytes : deletedLeaves) {
             // delete the record from the cache
             invalidateReadCache(leafBytes.keyBytes(), leafBytes.keyHashCode());
         }
@@ -1198,20 +1625,33 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         final DataFileReader pathToKeyValueReader = pathToKeyValue.endWriting();
         statisticsUpdater.setFlushLeavesStoreFileSize(pathToKeyValueReader);
         compactionCoordinator.compactPathToKeyValueAsync();
-        final DataFileReader keyToPathReader = keyToPath.endWriting();
-        statisticsUpdater.setFlushLeafKeysStoreFileSize(keyToPathReader);
-        compactionCoordinator.compactDiskStoreForKeyToPathAsync();
     }
 
     /**
-     * Invalidates the given key in virtual leaf record cache, if the cache is enabled.
-     * <p>
-     * If the key is deleted, it's still updated in the cache. It means no record with the given
-     * key exists in the data source, so further lookups for the key are skipped.
-     * <p>
-     * Cache index is calculated as the key's hash code % cache size. The cache is only updated,
-     * if the current record at this index has the given key. If the key is different, no update is
-     * performed.
+     * Looks up the given key in virtual leaf record cache, if the cache is enabled. Updates cache
+     * hit / miss statistics.
+     *
+     * @param keyBytes virtual key
+     * @param keyHashCode virtual key hash code
+     * @return the cached record, or null if the cache is disabled or the key isn't cached
+     */
+    @Nullable
+    private VirtualLeafBytes getFromLeafRecordCache(final Bytes keyBytes, final int keyHashCode) {
+        if (leafRecordCache == null) {
+            return null;
+        }
+        final VirtualLeafBytes cached = leafRecordCache.get(keyBytes, keyHashCode);
+        if (cached != null) {
+            statisticsUpdater.countLeafCacheHits();
+        } else {
+            statisticsUpdater.countLeafCacheMisses();
+        }
+        return cached;
+    }
+
+    /**
+     * Invalidates the given key in virtual leaf record cache, if the cache is enabled. If there is
+     * no record with the given key in the cache, this method is no-op.
      *
      * @param keyBytes virtual key
      * @param keyHashCode virtual key hash code
@@ -1220,11 +1660,7 @@ public final class MerkleDbDataSource implements VirtualDataSource {
         if (leafRecordCache == null) {
             return;
         }
-        final int cacheIndex = Math.abs(keyHashCode % leafRecordCacheSize);
-        final VirtualLeafBytes cached = leafRecordCache[cacheIndex];
-        if ((cached != null) && keyBytes.equals(cached.keyBytes())) {
-            leafRecordCache[cacheIndex] = null;
-        }
+        leafRecordCache.invalidate(keyBytes, keyHashCode);
     }
 
     FileStatisticAware getHashStoreDisk() {
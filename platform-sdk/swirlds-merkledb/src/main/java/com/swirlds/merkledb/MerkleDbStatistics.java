@@ -18,9 +18,11 @@ package com.swirlds.merkledb;
 
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.metrics.api.DoubleAccumulator;
+import com.swirlds.metrics.api.DoubleGauge;
 import com.swirlds.metrics.api.FloatFormats;
 import com.swirlds.metrics.api.IntegerGauge;
 import com.swirlds.metrics.api.LongAccumulator;
+import com.swirlds.metrics.api.LongGauge;
 import com.swirlds.metrics.api.Metrics;
 import java.util.ArrayList;
 import java.util.List;
@@ -43,6 +45,10 @@ public class MerkleDbStatistics {
     private static final String FLUSHES_PREFIX = "flushes_";
     /** Prefix for compaction related metrics */
     private static final String COMPACTIONS_PREFIX = "compactions_";
+    /** Prefix for all leaf records cache related metrics */
+    private static final String CACHE_PREFIX = "cache_";
+    /** Prefix for all metrics related to data source loading */
+    private static final String LOAD_PREFIX = "load_";
 
     private static final String LEVEL_PREFIX = "level_";
     /** Prefix for all off-heap related metrics */
@@ -59,6 +65,22 @@ public class MerkleDbStatistics {
     /** Leaf keys - reads / s */
     private LongAccumulator leafKeyReads;
 
+    /** Leaf keys - reads answered by key to path bucket filters without disk access */
+    private LongAccumulator leafKeyFilterNegativeReads;
+    /** Leaf keys - fraction of reads of missing keys, which bucket filters failed to answer */
+    private DoubleGauge leafKeyFilterFalsePositiveRate;
+    /** Compressed data files - blocks decompressed by reads and compactions */
+    private LongAccumulator decompressedBlocks;
+    /** Compressed data files - average time to decompress a single block, in microseconds */
+    private DoubleGauge decompressionTimeUs;
+
+    /** Leaf records cache - hits */
+    private LongAccumulator leafCacheHits;
+    /** Leaf records cache - misses */
+    private LongAccumulator leafCacheMisses;
+    /** Leaf records cache - evictions */
+    private LongAccumulator leafCacheEvictions;
+
     /** Hashes store - file count */
     private IntegerGauge hashesStoreFileCount;
     /** Hashes store - total file size in Mb */
@@ -74,6 +96,13 @@ public class MerkleDbStatistics {
     /** Total file size in Mb */
     // Should all file sizes be doubles?
     private IntegerGauge totalFileSizeMb;
+    /** Ratio of uncompressed data size to total file size, 1.0 if data files aren't compressed */
+    private DoubleGauge compressionRatio;
+
+    /** Time to load all data source stores on startup, including index rebuilding, in ms */
+    private IntegerGauge storesLoadTimeMs;
+    /** Number of path to disk location index entries rebuilt from data files on startup */
+    private LongGauge rebuiltIndexEntries;
 
     private LongAccumulator flushHashesWritten;
     private DoubleAccumulator flushHashesStoreFileSizeMb;
@@ -103,6 +132,18 @@ public class MerkleDbStatistics {
 
     /** Leaf keys store - cumulative file size by compaction level in Mb */
     private final List<DoubleAccumulator> leafKeysStoreFileSizeByLevelMbList;
+    /** Hashes store compactions - bytes written in Mb */
+    private DoubleAccumulator hashesStoreCompactionRewrittenMb;
+    /** Leaves store compactions - bytes written in Mb */
+    private DoubleAccumulator leavesStoreCompactionRewrittenMb;
+    /** Leaf keys store compactions - bytes written in Mb */
+    private DoubleAccumulator leafKeysStoreCompactionRewrittenMb;
+    /** Hashes store - compaction debt in Mb */
+    private IntegerGauge hashesStoreCompactionDebtMb;
+    /** Leaves store - compaction debt in Mb */
+    private IntegerGauge leavesStoreCompactionDebtMb;
+    /** Leaf keys store - compaction debt in Mb */
+    private IntegerGauge leafKeysStoreCompactionDebtMb;
     /** Off-heap usage in MB of hashes store index */
     private IntegerGauge offHeapHashesIndexMb;
     /** Off-heap usage in MB of leaves store index */
@@ -175,6 +216,32 @@ public class MerkleDbStatistics {
                 metrics, DS_PREFIX + READS_PREFIX + "leaves_" + label, "Number of leaf reads, " + label);
         leafKeyReads = buildLongAccumulator(
                 metrics, DS_PREFIX + READS_PREFIX + "leafKeys_" + label, "Number of leaf key reads, " + label);
+        leafKeyFilterNegativeReads = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "leafKeysFilterNegatives_" + label,
+                "Number of leaf key reads answered by bucket filters without disk access, " + label);
+        leafKeyFilterFalsePositiveRate = metrics.getOrCreate(new DoubleGauge.Config(
+                        STAT_CATEGORY, DS_PREFIX + READS_PREFIX + "leafKeysFilterFalsePositiveRate_" + label)
+                .withDescription("Bucket filter false positive rate for missing leaf keys, " + label)
+                .withFormat(FloatFormats.FORMAT_9_6));
+        decompressedBlocks = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + READS_PREFIX + "decompressedBlocks_" + label,
+                "Number of data file blocks decompressed, " + label);
+        decompressionTimeUs = metrics.getOrCreate(new DoubleGauge.Config(
+                        STAT_CATEGORY, DS_PREFIX + READS_PREFIX + "decompressionTimeUs_" + label)
+                .withDescription("Average time to decompress a data file block, " + label + ", us")
+                .withFormat(FloatFormats.FORMAT_9_6));
+
+        // Leaf records cache
+        leafCacheHits = buildLongAccumulator(
+                metrics, DS_PREFIX + CACHE_PREFIX + "leafHits_" + label, "Number of leaf cache hits, " + label);
+        leafCacheMisses = buildLongAccumulator(
+                metrics, DS_PREFIX + CACHE_PREFIX + "leafMisses_" + label, "Number of leaf cache misses, " + label);
+        leafCacheEvictions = buildLongAccumulator(
+                metrics,
+                DS_PREFIX + CACHE_PREFIX + "leafEvictions_" + label,
+                "Number of leaf cache evictions, " + label);
 
         // File counts and sizes
         hashesStoreFileCount = metrics.getOrCreate(
@@ -202,6 +269,19 @@ public class MerkleDbStatistics {
                 metrics,
                 DS_PREFIX + FILES_PREFIX + "totalSizeMb_" + label,
                 "Total file size, data source, " + label + ", Mb");
+        compressionRatio = metrics.getOrCreate(new DoubleGauge.Config(
+                        STAT_CATEGORY, DS_PREFIX + FILES_PREFIX + "compressionRatio_" + label)
+                .withDescription("Ratio of uncompressed data size to file size, data source, " + label)
+                .withFormat(FloatFormats.FORMAT_9_6));
+
+        // Loading
+        storesLoadTimeMs = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + LOAD_PREFIX + "storesLoadTimeMs_" + label,
+                "Time to load stores and rebuild indices on startup, " + label + ", ms");
+        rebuiltIndexEntries = metrics.getOrCreate(new LongGauge.Config(
+                        STAT_CATEGORY, DS_PREFIX + LOAD_PREFIX + "rebuiltIndexEntries_" + label)
+                .withDescription("Number of path index entries rebuilt from data files on startup, " + label));
 
         // Flushes
         flushHashesWritten = buildLongAccumulator(
@@ -234,6 +314,30 @@ public class MerkleDbStatistics {
                 "Size of the new leaf keys store file created during flush, " + label + ", Mb");
 
         // Compaction
+        hashesStoreCompactionRewrittenMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "hashesRewrittenMb_" + label,
+                "Size of files written during compactions, hashes store, " + label + ", Mb");
+        leavesStoreCompactionRewrittenMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leavesRewrittenMb_" + label,
+                "Size of files written during compactions, leaves store, " + label + ", Mb");
+        leafKeysStoreCompactionRewrittenMb = buildDoubleAccumulator(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leafKeysRewrittenMb_" + label,
+                "Size of files written during compactions, leaf keys store, " + label + ", Mb");
+        hashesStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "hashesDebtMb_" + label,
+                "Compaction debt, hashes store, " + label + ", Mb");
+        leavesStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leavesDebtMb_" + label,
+                "Compaction debt, leaves store, " + label + ", Mb");
+        leafKeysStoreCompactionDebtMb = buildIntegerGauge(
+                metrics,
+                DS_PREFIX + COMPACTIONS_PREFIX + "leafKeysDebtMb_" + label,
+                "Compaction debt, leaf keys store, " + label + ", Mb");
 
         for (int level = 0; level <= dbConfig.maxCompactionLevel(); level++) {
             // Hashes store
@@ -324,6 +428,77 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Increments {@link #leafKeyFilterNegativeReads} stat by the given value
+     *
+     * @param value the value to add
+     */
+    public void countLeafKeyFilterNegativeReads(final long value) {
+        if (leafKeyFilterNegativeReads != null) {
+            leafKeyFilterNegativeReads.update(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leafKeyFilterFalsePositiveRate} stat
+     *
+     * @param value the value to set
+     */
+    public void setLeafKeyFilterFalsePositiveRate(final double value) {
+        if (leafKeyFilterFalsePositiveRate != null) {
+            leafKeyFilterFalsePositiveRate.set(value);
+        }
+    }
+
+    /**
+     * Increments {@link #decompressedBlocks} stat by the given value
+     *
+     * @param value the value to add
+     */
+    public void countDecompressedBlocks(final long value) {
+        if (decompressedBlocks != null) {
+            decompressedBlocks.update(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #decompressionTimeUs} stat
+     *
+     * @param value the value to set
+     */
+    public void setDecompressionTimeUs(final double value) {
+        if (decompressionTimeUs != null) {
+            decompressionTimeUs.set(value);
+        }
+    }
+
+    /**
+     * Increment {@link #leafCacheHits} stat by 1
+     */
+    public void countLeafCacheHits() {
+        if (leafCacheHits != null) {
+            leafCacheHits.update(1);
+        }
+    }
+
+    /**
+     * Increment {@link #leafCacheMisses} stat by 1
+     */
+    public void countLeafCacheMisses() {
+        if (leafCacheMisses != null) {
+            leafCacheMisses.update(1);
+        }
+    }
+
+    /**
+     * Increment {@link #leafCacheEvictions} stat by 1
+     */
+    public void countLeafCacheEvictions() {
+        if (leafCacheEvictions != null) {
+            leafCacheEvictions.update(1);
+        }
+    }
+
     /**
      * Set the current value for the {@link #hashesStoreFileCount} stat
      *
@@ -408,6 +583,39 @@ public class MerkleDbStatistics {
         }
     }
 
+    /**
+     * Set the current value for the {@link #compressionRatio} stat
+     *
+     * @param value the value to set
+     */
+    public void setCompressionRatio(final double value) {
+        if (compressionRatio != null) {
+            compressionRatio.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #storesLoadTimeMs} stat
+     *
+     * @param value the value to set
+     */
+    public void setStoresLoadTimeMs(final int value) {
+        if (storesLoadTimeMs != null) {
+            storesLoadTimeMs.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #rebuiltIndexEntries} stat
+     *
+     * @param value the value to set
+     */
+    public void setRebuiltIndexEntries(final long value) {
+        if (rebuiltIndexEntries != null) {
+            rebuiltIndexEntries.set(value);
+        }
+    }
+
     public void countFlushHashesWritten(final long value) {
         if (flushHashesWritten != null) {
             flushHashesWritten.update(value);
@@ -583,6 +791,72 @@ public class MerkleDbStatistics {
         leafKeysStoreFileSizeByLevelMbList.get(compactionLevel).update(value);
     }
 
+    /**
+     * Add the given value to the {@link #hashesStoreCompactionRewrittenMb} stat
+     *
+     * @param value the value to add
+     */
+    public void addHashesStoreCompactionRewrittenMb(final double value) {
+        if (hashesStoreCompactionRewrittenMb != null) {
+            hashesStoreCompactionRewrittenMb.update(value);
+        }
+    }
+
+    /**
+     * Add the given value to the {@link #leavesStoreCompactionRewrittenMb} stat
+     *
+     * @param value the value to add
+     */
+    public void addLeavesStoreCompactionRewrittenMb(final double value) {
+        if (leavesStoreCompactionRewrittenMb != null) {
+            leavesStoreCompactionRewrittenMb.update(value);
+        }
+    }
+
+    /**
+     * Add the given value to the {@link #leafKeysStoreCompactionRewrittenMb} stat
+     *
+     * @param value the value to add
+     */
+    public void addLeafKeysStoreCompactionRewrittenMb(final double value) {
+        if (leafKeysStoreCompactionRewrittenMb != null) {
+            leafKeysStoreCompactionRewrittenMb.update(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #hashesStoreCompactionDebtMb} stat
+     *
+     * @param value the value to set
+     */
+    public void setHashesStoreCompactionDebtMb(final int value) {
+        if (hashesStoreCompactionDebtMb != null) {
+            hashesStoreCompactionDebtMb.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leavesStoreCompactionDebtMb} stat
+     *
+     * @param value the value to set
+     */
+    public void setLeavesStoreCompactionDebtMb(final int value) {
+        if (leavesStoreCompactionDebtMb != null) {
+            leavesStoreCompactionDebtMb.set(value);
+        }
+    }
+
+    /**
+     * Set the current value for the {@link #leafKeysStoreCompactionDebtMb} stat
+     *
+     * @param value the value to set
+     */
+    public void setLeafKeysStoreCompactionDebtMb(final int value) {
+        if (leafKeysStoreCompactionDebtMb != null) {
+            leafKeysStoreCompactionDebtMb.set(value);
+        }
+    }
+
     /**
      * Set the current value for the {@link #offHeapLeavesIndexMb} stat
      *
@@ -17,14 +17,17 @@
 package com.swirlds.merkledb;
 
 import static com.swirlds.base.units.UnitConstants.BYTES_TO_MEBIBYTES;
+import static com.swirlds.base.units.UnitConstants.NANOSECONDS_TO_MICROSECONDS;
 
 import com.swirlds.common.metrics.FunctionGauge;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileReader;
+import com.swirlds.merkledb.files.hashmap.HalfDiskHashMap;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Arrays;
 import java.util.LongSummaryStatistics;
 import java.util.function.IntConsumer;
 
@@ -43,6 +46,15 @@ public class MerkleDbStatisticsUpdater {
 
     private final MerkleDbStatistics statistics;
 
+    /**
+     * Stores load time, in ms. Data source stores are loaded before metrics are registered, so
+     * this value is kept here and reported in {@link #registerMetrics(Metrics)}
+     */
+    private volatile long storesLoadTimeMs = 0;
+
+    /** Number of index entries rebuilt while data source stores were loaded */
+    private volatile long rebuiltIndexEntries = 0;
+
     public MerkleDbStatisticsUpdater(@NonNull final MerkleDbConfig config, @NonNull final String tableName) {
         statistics = new MerkleDbStatistics(config, tableName);
     }
@@ -57,6 +69,21 @@ public class MerkleDbStatisticsUpdater {
 
         // register instance statistics
         statistics.registerMetrics(metrics);
+        statistics.setStoresLoadTimeMs((int) storesLoadTimeMs);
+        statistics.setRebuiltIndexEntries(rebuiltIndexEntries);
+    }
+
+    /**
+     * Updates statistics with data source loading stats.
+     *
+     * @param loadTimeMs time to load all data source stores, in ms
+     * @param rebuiltEntries number of index entries rebuilt from data files
+     */
+    void setStoresLoadStats(final long loadTimeMs, final long rebuiltEntries) {
+        storesLoadTimeMs = loadTimeMs;
+        rebuiltIndexEntries = rebuiltEntries;
+        statistics.setStoresLoadTimeMs((int) loadTimeMs);
+        statistics.setRebuiltIndexEntries(rebuiltEntries);
     }
 
     /** Updates statistics with leaf keys store file size. */
@@ -134,6 +161,48 @@ public class MerkleDbStatisticsUpdater {
                 + updateLeafKeysStoreFileStats(dataSource));
     }
 
+    /**
+     * Updates key to path bucket filter stats: number of lookups answered by filters, and filter
+     * false positive rate since the last update. No-op if keys aren't stored in a half disk hash map.
+     */
+    void updateKeyToPathFilterStats(final MerkleDbDataSource dataSource) {
+        if (dataSource.getKeyToPath() instanceof HalfDiskHashMap keyToPath) {
+            final long negatives = keyToPath.getAndResetFilterNegativeLookups();
+            final long falsePositives = keyToPath.getAndResetFilterFalsePositiveLookups();
+            statistics.countLeafKeyFilterNegativeReads(negatives);
+            if (negatives + falsePositives > 0) {
+                statistics.setLeafKeyFilterFalsePositiveRate((double) falsePositives / (negatives + falsePositives));
+            }
+        }
+    }
+
+    /**
+     * Updates data file compression stats: compression ratio for all stores combined, number of
+     * blocks decompressed since the last update, and average decompression time per block.
+     */
+    void updateCompressionStats(final MerkleDbDataSource dataSource) {
+        long fileSize = 0;
+        long dataSize = 0;
+        long decompressedBlocks = 0;
+        long decompressionNanos = 0;
+        // Hash store and key to path store may be null
+        for (final FileStatisticAware store : Arrays.asList(
+                dataSource.getHashStoreDisk(), dataSource.getPathToKeyValue(), dataSource.getKeyToPath())) {
+            if (store == null) {
+                continue;
+            }
+            fileSize += store.getFilesSizeStatistics().getSum();
+            dataSize += store.getFilesDataSize();
+            decompressedBlocks += store.getAndResetDecompressedBlocks();
+            decompressionNanos += store.getAndResetDecompressionNanos();
+        }
+        statistics.setCompressionRatio(fileSize == 0 ? 1.0 : (double) dataSize / fileSize);
+        statistics.countDecompressedBlocks(decompressedBlocks);
+        if (decompressedBlocks > 0) {
+            statistics.setDecompressionTimeUs(decompressionNanos * NANOSECONDS_TO_MICROSECONDS / decompressedBlocks);
+        }
+    }
+
     /**
      * Updates statistics with off-heap memory consumption.
      */
@@ -162,6 +231,21 @@ public class MerkleDbStatisticsUpdater {
         statistics.countLeafKeyReads();
     }
 
+    /** Updates statistics with number of leaf records cache hits. */
+    void countLeafCacheHits() {
+        statistics.countLeafCacheHits();
+    }
+
+    /** Updates statistics with number of leaf records cache misses. */
+    void countLeafCacheMisses() {
+        statistics.countLeafCacheMisses();
+    }
+
+    /** Updates statistics with number of leaf records cache evictions. */
+    void countLeafCacheEvictions() {
+        statistics.countLeafCacheEvictions();
+    }
+
     /** Updates statistics with number of hash reads. */
     void countHashReads() {
         statistics.countHashReads();
@@ -238,4 +322,28 @@ public class MerkleDbStatisticsUpdater {
     void setLeavesStoreFileSizeByLevelMb(Integer compactionType, Double savedSpace) {
         statistics.setLeavesStoreFileSizeByLevelMb(compactionType, savedSpace);
     }
+
+    void addHashesStoreCompactionRewrittenBytes(final long bytes) {
+        statistics.addHashesStoreCompactionRewrittenMb(bytes * BYTES_TO_MEBIBYTES);
+    }
+
+    void addLeavesStoreCompactionRewrittenBytes(final long bytes) {
+        statistics.addLeavesStoreCompactionRewrittenMb(bytes * BYTES_TO_MEBIBYTES);
+    }
+
+    void addLeafKeysStoreCompactionRewrittenBytes(final long bytes) {
+        statistics.addLeafKeysStoreCompactionRewrittenMb(bytes * BYTES_TO_MEBIBYTES);
+    }
+
+    void setHashesStoreCompactionDebtBytes(final long bytes) {
+        statistics.setHashesStoreCompactionDebtMb((int) (bytes * BYTES_TO_MEBIBYTES));
+    }
+
+    void setLeavesStoreCompactionDebtBytes(final long bytes) {
+        statistics.setLeavesStoreCompactionDebtMb((int) (bytes * BYTES_TO_MEBIBYTES));
+    }
+
+    void setLeafKeysStoreCompactionDebtBytes(final long bytes) {
+        statistics.setLeafKeysStoreCompactionDebtMb((int) (bytes * BYTES_TO_MEBIBYTES));
+    }
 }
@@ -27,11 +27,13 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.LongStream;
@@ -93,6 +95,15 @@ public abstract class AbstractLongList<C> implements LongList {
     /** File header size for the latest format */
     protected final int currentFileHeaderSize;
 
+    /** The version number for format of modified chunks (delta) files */
+    private static final int DELTA_FILE_FORMAT_VERSION = 1;
+    /**
+     * Modified chunks file header: version, number of longs per chunk, min valid index, max valid
+     * index, size, and number of chunks in the file
+     */
+    private static final int DELTA_FILE_HEADER_SIZE =
+            Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+
     /**
      * The number of longs to store in each allocated buffer. Must be a positive integer. If the
      * value is small, then we will end up allocating a very large number of buffers. If the value
@@ -120,6 +131,13 @@ public abstract class AbstractLongList<C> implements LongList {
     /** Atomic reference array of our memory chunks */
     protected final AtomicReferenceArray<C> chunkList;
 
+    /**
+     * Chunks modified since the last call to {@link #resetModifiedChunks()} or {@link
+     * #writeModifiedChunksToFile(Path)}. Non-zero values indicate modified chunks. Chunks
+     * released because of valid range updates are tracked as modified, too.
+     */
+    private final AtomicIntegerArray modifiedChunks;
+
     /**
      * A length of a buffer that is reserved to remain intact after memory optimization that is
      * happening in {@link LongList#updateValidRange}
@@ -150,6 +168,7 @@ public abstract class AbstractLongList<C> implements LongList {
         }
         currentFileHeaderSize = FILE_HEADER_SIZE_V2;
         chunkList = new AtomicReferenceArray<>(chunkNum);
+        modifiedChunks = new AtomicIntegerArray(chunkNum);
         // multiplyExact throws exception if we overflow and int
         memoryChunkSize = Math.multiplyExact(numLongsPerChunk, Long.BYTES);
         this.reservedBufferLength = reservedBufferLength;
@@ -175,6 +194,7 @@ public abstract class AbstractLongList<C> implements LongList {
             maxLongs = DEFAULT_MAX_LONGS_TO_STORE;
             currentFileHeaderSize = FILE_HEADER_SIZE_V2;
             chunkList = new AtomicReferenceArray<>(calculateNumberOfChunks(maxLongs));
+            modifiedChunks = new AtomicIntegerArray(chunkList.length());
             onEmptyOrAbsentSourceFile(path);
         } else {
             try (final FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
@@ -215,6 +235,7 @@ public abstract class AbstractLongList<C> implements LongList {
                 }
                 maxValidIndex.set(size.get() - 1);
                 chunkList = new AtomicReferenceArray<>(calculateNumberOfChunks(maxLongs));
+                modifiedChunks = new AtomicIntegerArray(chunkList.length());
                 readBodyFromFileChannelOnInit(file.getName(), fileChannel);
             }
         }
@@ -297,6 +318,39 @@ public abstract class AbstractLongList<C> implements LongList {
         final C chunk = createOrGetChunk(index);
         final int subIndex = toIntExact(index % numLongsPerChunk);
         putToChunk(chunk, subIndex, value);
+        markChunkModified(toIntExact(index / numLongsPerChunk));
+    }
+
+    /**
+     * Marks a chunk as modified since the last snapshot.
+     *
+     * @param chunkIndex the chunk index
+     */
+    private void markChunkModified(final int chunkIndex) {
+        // Check first to avoid contended writes to the same array element on every put
+        if (modifiedChunks.get(chunkIndex) == 0) {
+            modifiedChunks.set(chunkIndex, 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final boolean putIfGreater(final long index, final long value, @NonNull final LongComparator comparator) {
+        checkIndex(index);
+        checkValue(value);
+        final C chunk = createOrGetChunk(index);
+        final int subIndex = toIntExact(index % numLongsPerChunk);
+        long oldValue = lookupInChunk(chunk, subIndex);
+        while ((oldValue == IMPERMISSIBLE_VALUE) || (comparator.compare(oldValue, value) < 0)) {
+            if (putIfEqual(chunk, subIndex, oldValue, value)) {
+                markChunkModified(toIntExact(index / numLongsPerChunk));
+                return true;
+            }
+            oldValue = lookupInChunk(chunk, subIndex);
+        }
+        return false;
     }
 
     /**
@@ -332,6 +386,7 @@ public abstract class AbstractLongList<C> implements LongList {
         final int subIndex = toIntExact(index % numLongsPerChunk);
         boolean result = putIfEqual(chunk, subIndex, oldValue, newValue);
         if (result) {
+            markChunkModified(chunkIndex);
             // update the size if necessary
             size.getAndUpdate(oldSize -> index >= oldSize ? (index + 1) : oldSize);
         }
@@ -413,6 +468,142 @@ public abstract class AbstractLongList<C> implements LongList {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void resetModifiedChunks() {
+        for (int i = 0; i < modifiedChunks.length(); i++) {
+            modifiedChunks.set(i, 0);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>File format: a header with format version, number of longs per chunk, min and max valid
+     * indices, list size, and number of chunks in the file, followed by chunks. Every chunk is
+     * written as chunk index, a flag whether the chunk is present (1) or released (0), and, for
+     * present chunks, all chunk longs in native byte order.
+     */
+    @Override
+    public void writeModifiedChunksToFile(final Path file) throws IOException {
+        final long currentMinValidIndex = minValidIndex.get();
+        final long currentMaxValidIndex = maxValidIndex.get();
+        final long currentSize = size.get();
+        final ByteBuffer chunkBuffer = ByteBuffer.allocate(memoryChunkSize).order(ByteOrder.nativeOrder());
+        final ByteBuffer chunkHeaderBuffer = ByteBuffer.allocate(Integer.BYTES + 1);
+        int chunksWritten = 0;
+        try (final FileChannel fc = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            fc.position(DELTA_FILE_HEADER_SIZE);
+            for (int i = 0; i < modifiedChunks.length(); i++) {
+                // Reset the flag before the chunk is written. If the chunk is modified concurrently,
+                // it will be written again to the next file
+                if (modifiedChunks.getAndSet(i, 0) == 0) {
+                    continue;
+                }
+                final C chunk = chunkList.get(i);
+                chunkHeaderBuffer.clear();
+                chunkHeaderBuffer.putInt(i);
+                chunkHeaderBuffer.put((byte) (chunk != null ? 1 : 0));
+                chunkHeaderBuffer.flip();
+                MerkleDbFileUtils.completelyWrite(fc, chunkHeaderBuffer);
+                if (chunk != null) {
+                    chunkBuffer.clear();
+                    readChunkData(chunk, chunkBuffer);
+                    chunkBuffer.flip();
+                    MerkleDbFileUtils.completelyWrite(fc, chunkBuffer);
+                }
+                chunksWritten++;
+            }
+            final ByteBuffer headerBuffer = ByteBuffer.allocate(DELTA_FILE_HEADER_SIZE);
+            headerBuffer.putInt(DELTA_FILE_FORMAT_VERSION);
+            headerBuffer.putInt(numLongsPerChunk);
+            headerBuffer.putLong(currentMinValidIndex);
+            headerBuffer.putLong(currentMaxValidIndex);
+            headerBuffer.putLong(currentSize);
+            headerBuffer.putInt(chunksWritten);
+            headerBuffer.flip();
+            MerkleDbFileUtils.completelyWrite(fc, headerBuffer, 0);
+            fc.force(true);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void applyModifiedChunksFromFile(final Path file) throws IOException {
+        try (final FileChannel fc = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer headerBuffer = readFromFileChannel(fc, DELTA_FILE_HEADER_SIZE);
+            final int formatVersion = headerBuffer.getInt();
+            if (formatVersion != DELTA_FILE_FORMAT_VERSION) {
+                throw new IOException("Modified chunks file format version is not supported. File format version ["
+                        + formatVersion + "], the latest supported version is [" + DELTA_FILE_FORMAT_VERSION + "].");
+            }
+            final int fileLongsPerChunk = headerBuffer.getInt();
+            if (fileLongsPerChunk != numLongsPerChunk) {
+                throw new IOException("Modified chunks file " + file + " has " + fileLongsPerChunk
+                        + " longs per chunk, expected " + numLongsPerChunk);
+            }
+            final long newMinValidIndex = headerBuffer.getLong();
+            final long newMaxValidIndex = headerBuffer.getLong();
+            final long newSize = headerBuffer.getLong();
+            final int chunkCount = headerBuffer.getInt();
+            final ByteBuffer chunkBuffer = ByteBuffer.allocate(memoryChunkSize).order(ByteOrder.nativeOrder());
+            for (int n = 0; n < chunkCount; n++) {
+                final ByteBuffer chunkHeaderBuffer = readFromFileChannel(fc, Integer.BYTES + 1);
+                final int chunkIndex = chunkHeaderBuffer.getInt();
+                final boolean present = chunkHeaderBuffer.get() != 0;
+                if (present) {
+                    C chunk = chunkList.get(chunkIndex);
+                    if (chunk == null) {
+                        chunk = createChunk();
+                        chunkList.set(chunkIndex, chunk);
+                    }
+                    chunkBuffer.clear();
+                    MerkleDbFileUtils.completelyRead(fc, chunkBuffer);
+                    chunkBuffer.flip();
+                    writeChunkData(chunk, chunkBuffer);
+                } else {
+                    final C chunk = chunkList.getAndSet(chunkIndex, null);
+                    if (chunk != null) {
+                        closeChunk(chunk);
+                    }
+                }
+            }
+            minValidIndex.set(newMinValidIndex);
+            maxValidIndex.set(newMaxValidIndex);
+            size.set(newSize);
+        }
+    }
+
+    /**
+     * Copies all longs from the given chunk to the buffer, in native byte order. The buffer has
+     * enough space for a whole chunk. This default implementation reads longs one by one, sub
+     * classes may provide a more efficient implementation.
+     *
+     * @param chunk the chunk to read
+     * @param target the buffer to copy longs to
+     * @throws IOException if there was a problem reading the chunk
+     */
+    protected void readChunkData(@NonNull final C chunk, @NonNull final ByteBuffer target) throws IOException {
+        for (int i = 0; i < numLongsPerChunk; i++) {
+            target.putLong(lookupInChunk(chunk, i));
+        }
+    }
+
+    /**
+     * Copies all longs from the buffer to the given chunk. The buffer contains a whole chunk of
+     * longs in native byte order. This default implementation writes longs one by one, sub
+     * classes may provide a more efficient implementation.
+     *
+     * @param chunk the chunk to write to
+     * @param source the buffer to copy longs from
+     * @throws IOException if there was a problem writing the chunk
+     */
+    protected void writeChunkData(@NonNull final C chunk, @NonNull final ByteBuffer source) throws IOException {
+        for (int i = 0; i < numLongsPerChunk; i++) {
+            putToChunk(chunk, i, source.getLong());
+        }
+    }
+
     /**
      * Write or rewrite header in file
      *
@@ -516,6 +707,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkModified(i);
             }
         }
 
@@ -525,6 +717,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfElementsToCleanUp > 0) {
             partialChunkCleanup(chunk, true, numberOfElementsToCleanUp);
+            markChunkModified(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -532,6 +725,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, true, numLongsPerChunk);
+                markChunkModified(i);
             }
         }
     }
@@ -553,6 +747,7 @@ public abstract class AbstractLongList<C> implements LongList {
             final C chunk = chunkList.get(i);
             if (chunk != null && chunkList.compareAndSet(i, chunk, null)) {
                 closeChunk(chunk);
+                markChunkModified(i);
             }
         }
 
@@ -562,6 +757,7 @@ public abstract class AbstractLongList<C> implements LongList {
         C chunk = chunkList.get(firstChunkWithDataIndex);
         if (chunk != null && numberOfEntriesToCleanUp > 0) {
             partialChunkCleanup(chunk, false, numberOfEntriesToCleanUp);
+            markChunkModified(firstChunkWithDataIndex);
         }
 
         // clean up chunk(s) reserved for buffer
@@ -569,6 +765,7 @@ public abstract class AbstractLongList<C> implements LongList {
             chunk = chunkList.get(i);
             if (chunk != null) {
                 partialChunkCleanup(chunk, false, numLongsPerChunk);
+                markChunkModified(i);
             }
         }
     }
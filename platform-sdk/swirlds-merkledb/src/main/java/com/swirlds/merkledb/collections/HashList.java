@@ -19,6 +19,7 @@ package com.swirlds.merkledb.collections;
 import com.swirlds.common.crypto.Hash;
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 
 /**
@@ -53,6 +54,22 @@ public interface HashList extends Closeable {
      */
     Hash get(long index) throws IOException;
 
+    /**
+     * Copy the digest bytes of the {@link Hash} at the given index to the given buffer, starting at
+     * its current position. Unlike {@link #get(long)}, this method doesn't create any {@link Hash}
+     * objects, which makes it suitable for hot paths like virtual tree hashing.
+     *
+     * @param index
+     * 		the zero-based index to get hash for. Must be non-negative.
+     * @param dst
+     * 		the buffer to copy hash bytes to. Must have enough bytes remaining to fit the hash
+     * @return true if the hash bytes were copied, false if there is no hash stored at that index
+     * @throws IndexOutOfBoundsException
+     * 		if the index is less than 0, or if the index is greater than
+     * 		the {@link #capacity()}.
+     */
+    boolean get(long index, ByteBuffer dst);
+
     /**
      * Put a {@link Hash} at the given index.
      *
@@ -223,6 +223,27 @@ public final class HashListByteBuffer implements HashList, OffHeapUser {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean get(final long index, final ByteBuffer dst) {
+        // Range-check on the index
+        if (index < 0 || index >= maxHashes) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (index > maxIndexThatCanBeStored.get()) {
+            return false;
+        }
+        // Use an absolute bulk copy rather than getBuffer(), which creates a new slice per call
+        final ByteBuffer buffer = data.get((int) (index / numHashesPerBuffer));
+        final int offset = HASH_SIZE_BYTES * (int) (index % numHashesPerBuffer);
+        final int dstPos = dst.position();
+        dst.put(dstPos, buffer, offset, HASH_SIZE_BYTES);
+        dst.position(dstPos + HASH_SIZE_BYTES);
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
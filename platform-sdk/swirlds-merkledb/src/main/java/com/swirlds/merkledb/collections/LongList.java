@@ -17,6 +17,7 @@
 package com.swirlds.merkledb.collections;
 
 import com.swirlds.merkledb.files.DataFileCommon;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -82,6 +83,22 @@ public interface LongList extends CASableLongIndex, Closeable {
     @Override
     boolean putIfEqual(long index, long oldValue, long newValue);
 
+    /**
+     * Stores a long at the given index, on the condition that the current long therein is less
+     * than the new value according to the given comparator. Empty indices contain zeros, so any
+     * value can be stored to an empty index. This method is safe to call concurrently from
+     * multiple threads. It is used to rebuild indices from data files in parallel: if the same key
+     * is found in multiple data files, the comparator tells which data location is newer.
+     *
+     * @param index the index to use
+     * @param value the new value to store
+     * @param comparator the comparator for values, it's never called with zeros
+     * @return whether the value was set
+     * @throws IndexOutOfBoundsException if the index is negative or beyond the max capacity of the list
+     * @throws IllegalArgumentException  if the value is zero
+     */
+    boolean putIfGreater(long index, long value, @NonNull LongComparator comparator);
+
     /**
      * Get the maximum capacity of this LongList; that is, one greater than the maximum legal value
      * of an {@code index} parameter used in a {@code put()} call.
@@ -118,6 +135,35 @@ public interface LongList extends CASableLongIndex, Closeable {
      */
     void writeToFile(Path file) throws IOException;
 
+    /**
+     * Forget about all chunks modified so far. This method is called right before a full snapshot
+     * of this list is written using {@link #writeToFile(Path)}, so the next call to {@link
+     * #writeModifiedChunksToFile(Path)} only writes chunks modified after the full snapshot.
+     */
+    void resetModifiedChunks();
+
+    /**
+     * Write all chunks modified since the last call to this method or to {@link
+     * #resetModifiedChunks()} into a file. Together with a full snapshot written using {@link
+     * #writeToFile(Path)}, such files can be used to restore the list using {@link
+     * #applyModifiedChunksFromFile(Path)}.
+     *
+     * @param file The file to write into, it should not exist but its parent directory should exist
+     *             and be writable.
+     * @throws IOException If there was a problem creating or writing to the file.
+     */
+    void writeModifiedChunksToFile(Path file) throws IOException;
+
+    /**
+     * Apply modified chunks from a file written using {@link #writeModifiedChunksToFile(Path)}
+     * to this list. The list must have the same number of longs per chunk as the list, which
+     * wrote the file. Min and max valid indices and size are updated from the file, too.
+     *
+     * @param file The file to read modified chunks from
+     * @throws IOException If there was a problem reading the file
+     */
+    void applyModifiedChunksFromFile(Path file) throws IOException;
+
     /**
      * Updates min and max valid indexes in this list. If both values are -1, this indicates
      * the list is empty.
@@ -160,4 +206,21 @@ public interface LongList extends CASableLongIndex, Closeable {
     /** {@inheritDoc} */
     @Override
     void close();
+
+    /**
+     * Comparator for long values to use in {@link #putIfGreater(long, long, LongComparator)}.
+     * Unlike {@link java.util.Comparator}, values aren't boxed.
+     */
+    @FunctionalInterface
+    interface LongComparator {
+        /**
+         * Compares two values.
+         *
+         * @param value1 the first value
+         * @param value2 the second value
+         * @return a negative integer, zero, or a positive integer as the first value is less
+         *      than, equal to, or greater than the second value
+         */
+        int compare(long value1, long value2);
+    }
 }
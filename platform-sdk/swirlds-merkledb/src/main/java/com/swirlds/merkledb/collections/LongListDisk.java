@@ -234,6 +234,20 @@ public class LongListDisk extends AbstractLongList<Long> {
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void readChunkData(@NonNull final Long chunkOffset, @NonNull final ByteBuffer target)
+            throws IOException {
+        MerkleDbFileUtils.completelyRead(currentFileChannel, target, chunkOffset);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected synchronized void writeChunkData(@NonNull final Long chunkOffset, @NonNull final ByteBuffer source)
+            throws IOException {
+        MerkleDbFileUtils.completelyWrite(currentFileChannel, source, chunkOffset);
+    }
+
     /**
      * Calculate the offset in the chunk for the given index.
      * @param index the index to use
@@ -369,6 +383,17 @@ public class LongListDisk extends AbstractLongList<Long> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>New chunk offsets are calculated from offsets of existing chunks, so two chunks created
+     * concurrently could get the same offset. This method is synchronized to prevent that.
+     */
+    @Override
+    protected synchronized Long createOrGetChunk(final long newIndex) {
+        return super.createOrGetChunk(newIndex);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected Long createChunk() {
@@ -180,6 +180,18 @@ public final class LongListOffHeap extends AbstractLongList<ByteBuffer> implemen
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void readChunkData(@NonNull final ByteBuffer chunk, @NonNull final ByteBuffer target) {
+        target.put(chunk.slice(0, chunk.capacity()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeChunkData(@NonNull final ByteBuffer chunk, @NonNull final ByteBuffer source) {
+        chunk.slice(0, chunk.capacity()).put(source);
+    }
+
     /**
      * Lookup a long in a data chunk.
      *
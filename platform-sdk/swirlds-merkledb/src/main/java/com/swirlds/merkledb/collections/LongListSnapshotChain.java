@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.collections;
+
+import static com.swirlds.merkledb.utilities.MerkleDbFileUtils.readFromFileChannel;
+
+import com.swirlds.merkledb.utilities.MerkleDbFileUtils;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Incremental snapshots of a {@link LongList}. Instead of writing all longs from the list on
+ * every snapshot, this class writes a full copy of the list (base) only once in a while, and
+ * for other snapshots it only writes chunks modified since the previous snapshot (deltas).
+ *
+ * <p>Base and delta files are kept in a chain directory owned by the list owner, usually a
+ * data source or a store. Snapshots are directories, which are moved or deleted after they
+ * are created, so deltas can't reference files in previous snapshots. Instead, on every snapshot
+ * the base file and all deltas are hard-linked from the chain directory to the snapshot, and
+ * a small manifest file is written next to them, which lists the number of deltas to apply on
+ * top of the base file. Snapshots without a manifest only contain the base file and can be
+ * loaded as regular long list files, so snapshots written with incremental mode enabled can be
+ * loaded with the mode disabled, as long as {@link #load(LongList, Path)} is called.
+ *
+ * <p>When a chain gets long, or the list instance is changed, or a snapshot fails, a new chain
+ * is started with a new full copy of the list.
+ */
+public final class LongListSnapshotChain {
+
+    /** Manifest file suffix, manifest file name is the list file name plus this suffix */
+    private static final String MANIFEST_SUFFIX = ".manifest";
+
+    /** Delta file suffix, delta file name is the list file name plus this suffix plus delta number */
+    private static final String DELTA_SUFFIX = ".delta";
+
+    /** The version number for format of manifest files */
+    private static final int MANIFEST_FORMAT_VERSION = 1;
+
+    /** Manifest file size: version and number of deltas */
+    private static final int MANIFEST_SIZE = Integer.BYTES + Integer.BYTES;
+
+    /** Chain directory, where base and delta files are stored */
+    private final Path chainDir;
+
+    /** Name of the list file in the chain directory */
+    private final String fileName;
+
+    /** Max number of deltas in the chain before a new chain is started */
+    private final int maxDeltas;
+
+    /** The list, which the current chain was started for, or null if there is no current chain */
+    private LongList chainList = null;
+
+    /** Number of deltas in the current chain */
+    private int deltaCount = 0;
+
+    /**
+     * Create a new snapshot chain.
+     *
+     * @param chainDir directory to store base and delta files in
+     * @param fileName list file name
+     * @param maxDeltas max number of deltas in the chain
+     */
+    public LongListSnapshotChain(@NonNull final Path chainDir, @NonNull final String fileName, final int maxDeltas) {
+        this.chainDir = Objects.requireNonNull(chainDir);
+        this.fileName = Objects.requireNonNull(fileName);
+        if (maxDeltas < 0) {
+            throw new IllegalArgumentException("Max number of deltas must not be negative");
+        }
+        this.maxDeltas = maxDeltas;
+    }
+
+    /**
+     * Snapshot the list to the given file. If the list has a current chain, and the chain isn't
+     * too long, only chunks modified since the previous snapshot are written. Otherwise, a new
+     * chain is started with a full copy of the list.
+     *
+     * @param list the list to snapshot
+     * @param targetFile the file to snapshot to, it should not exist but its parent directory
+     *                   should exist and be writable
+     * @throws IOException if an I/O error occurred
+     */
+    public synchronized void snapshot(@NonNull final LongList list, @NonNull final Path targetFile)
+            throws IOException {
+        final Path baseFile = chainDir.resolve(fileName);
+        try {
+            if ((chainList != list) || (deltaCount >= maxDeltas)) {
+                deleteChainFiles();
+                Files.createDirectories(chainDir);
+                // Reset modified chunks before the list is written. Chunks modified concurrently
+                // will be written again to the first delta
+                list.resetModifiedChunks();
+                list.writeToFile(baseFile);
+                chainList = list;
+                deltaCount = 0;
+            } else {
+                list.writeModifiedChunksToFile(deltaFile(baseFile, deltaCount + 1));
+                deltaCount++;
+            }
+            Files.createLink(targetFile, baseFile);
+            for (int i = 1; i <= deltaCount; i++) {
+                Files.createLink(deltaFile(targetFile, i), deltaFile(baseFile, i));
+            }
+            if (deltaCount > 0) {
+                writeManifest(manifestFile(targetFile), deltaCount);
+            }
+        } catch (final IOException | RuntimeException e) {
+            // The chain may be in an inconsistent state, start a new one next time
+            chainList = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of deltas in the current chain. Used in tests only.
+     *
+     * @return number of deltas in the current chain
+     */
+    synchronized int getDeltaCount() {
+        return deltaCount;
+    }
+
+    /**
+     * Apply all deltas listed in the manifest of the given list file to the list. The list must
+     * be loaded from the same file before this method is called. If there is no manifest, this
+     * method does nothing.
+     *
+     * @param list the list loaded from the file
+     * @param file list file
+     * @throws IOException if an I/O error occurred
+     */
+    public static void load(@NonNull final LongList list, @NonNull final Path file) throws IOException {
+        final Path manifestFile = manifestFile(file);
+        if (!Files.exists(manifestFile)) {
+            return;
+        }
+        final int count;
+        try (final FileChannel fc = FileChannel.open(manifestFile, StandardOpenOption.READ)) {
+            final ByteBuffer buf = readFromFileChannel(fc, MANIFEST_SIZE);
+            final int formatVersion = buf.getInt();
+            if (formatVersion != MANIFEST_FORMAT_VERSION) {
+                throw new IOException("Long list manifest format version is not supported. File format version ["
+                        + formatVersion + "], the latest supported version is [" + MANIFEST_FORMAT_VERSION + "].");
+            }
+            count = buf.getInt();
+        }
+        for (int i = 1; i <= count; i++) {
+            list.applyModifiedChunksFromFile(deltaFile(file, i));
+        }
+    }
+
+    private void deleteChainFiles() throws IOException {
+        if (!Files.isDirectory(chainDir)) {
+            return;
+        }
+        // Delete the base file and all deltas, including stale deltas left after failed
+        // snapshots or by previous runs
+        try (final Stream<Path> files = Files.list(chainDir)) {
+            for (final Path file : files.toList()) {
+                if (file.getFileName().toString().startsWith(fileName)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static void writeManifest(final Path manifestFile, final int count) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(MANIFEST_SIZE);
+        buf.putInt(MANIFEST_FORMAT_VERSION);
+        buf.putInt(count);
+        buf.flip();
+        try (final FileChannel fc =
+                FileChannel.open(manifestFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            MerkleDbFileUtils.completelyWrite(fc, buf);
+            fc.force(true);
+        }
+    }
+
+    private static Path manifestFile(final Path file) {
+        return file.resolveSibling(file.getFileName() + MANIFEST_SUFFIX);
+    }
+
+    private static Path deltaFile(final Path file, final int number) {
+        return file.resolveSibling(file.getFileName() + DELTA_SUFFIX + number);
+    }
+}
@@ -62,12 +62,71 @@ import com.swirlds.config.extensions.validators.DefaultConfigViolation;
  * @param reservedBufferLengthForLeafList
  *      Length of a reserved buffer in a LongList used to store leafs. Value in bytes.
  * @param leafRecordCacheSize
- *      Cache size in bytes for reading virtual leaf records. Initialized in data source creation time from MerkleDb config.
- *      If the value is zero, leaf records cache isn't used.
+ *      Max number of virtual leaf records in the leaf records cache of a single data source (table). Every data
+ *      source has its own cache, so the total number of cached records is up to this value times the number of
+ *      tables. Initialized in data source creation time from MerkleDb config. If the value is zero, leaf records
+ *      cache isn't used.
+ * @param leafRecordCacheSizeBytes
+ *      Max estimated size in bytes of the leaf records cache of a single data source (table). Every data source has
+ *      its own cache, so the total memory used by leaf records caches is up to this value times the number of
+ *      tables. The size includes an estimated per-record heap overhead, not just key and value bytes. If the value
+ *      is zero, the cache is only limited by {@code leafRecordCacheSize}.
  * @param maxFileChannelsPerFileReader
  *     Maximum number of file channels per file reader.
  * @param maxThreadsPerFileChannel
  *    Maximum number of threads per file channel.
+ * @param memoryMappedReadsEnabled
+ *      If true, completed (read only) data files are memory mapped, and data items are read from the
+ *      mappings rather than using file channels. Files that are still being written are always read
+ *      using file channels.
+ * @param halfDiskHashMapBucketFilterBits
+ *      Number of bits in a Bloom filter kept in memory for every half disk hash map bucket. Filters let lookups for
+ *      missing keys skip bucket reads from disk. Must be zero, which disables filters, or a power of two not less than
+ *      64. Filters take {@code halfDiskHashMapBucketFilterBits / 8} bytes of off-heap memory per bucket. Disabled by
+ *      default. When enabled for a map saved without filters, filters are rebuilt on load by reading all buckets.
+ * @param halfDiskHashMapBucketSplittingEnabled
+ *      If true, new half disk hash maps start with a small number of buckets, and buckets are split at the end of
+ *      flushes as the number of entries grows. Otherwise, new maps get all buckets for their max size upfront, and
+ *      the number of buckets never changes. Maps that already have split buckets can be loaded either way.
+ * @param halfDiskHashMapMaxBucketSplitsPerFlush
+ *      Max number of half disk hash map buckets split at the end of a single flush. Every split reads a bucket and
+ *      writes two buckets on the flushing thread, so growth of large maps is spread across multiple flushes.
+ * @param compactionGarbageRatioThreshold
+ *      Garbage ratio, from 0.0 to 1.0, of a compacted data file to compact the file at its own compaction level, when
+ *      there is nothing to compact by levels. Garbage ratio is the share of data items in the file no longer referenced
+ *      from the index, as counted during the last compaction. If set to zero, files are selected for compaction by
+ *      compaction levels only.
+ * @param compactionMaxBytesPerSecond
+ *      Max number of bytes per second read and written by all compactions combined, when there are no flushes in
+ *      progress. Zero means no limit.
+ * @param compactionMaxBytesPerSecondDuringFlush
+ *      Max number of bytes per second read and written by all compactions combined, while at least one data source
+ *      is flushing. Zero means no limit.
+ * @param dataFileCompressionEnabled
+ *      If true, new data files are written in block-compressed format. Data items are grouped into blocks of
+ *      {@code dataFileCompressionBlockSize} bytes, and every block is compressed separately. Existing files,
+ *      compressed or not, can be read regardless of this setting.
+ * @param dataFileCompressionBlockSize
+ *      Size of uncompressed data blocks in compressed data files, in bytes. Larger blocks give better compression
+ *      ratios, but every random read has to decompress a whole block.
+ * @param incrementalSnapshotsEnabled
+ *      If true, snapshots of path to disk location indices and bucket indices only contain index chunks modified
+ *      since the previous snapshot, plus links to files with the previous full index and earlier modifications.
+ * @param maxSnapshotDeltaChainLength
+ *      Max number of incremental snapshots on top of a full index snapshot. When this number is reached, the next
+ *      snapshot writes the full index again. Longer chains make snapshots cheaper, but loading slower.
+ * @param indexRebuildingThreads
+ *      Number of threads used to rebuild indices from data files on startup, shared by all data file collections.
+ *      Data files are distributed across these threads. If set to 1, data files are processed sequentially.
+ * @param batchReadThreads
+ *      Number of threads per data source to serve asynchronous batch reads. Every batch is read on a single thread,
+ *      with reads sorted by data file and offset, so a few threads are enough to keep many reads in flight.
+ * @param batchReadMaxCoalescedBytes
+ *      Max number of bytes to read from a data file in a single read, when adjacent data items are read in a batch.
+ *      If less than or equal to 2048, every data item is read separately.
+ * @param parallelFlush
+ *      If true, leaves are written to the path-to-key/value store and the key-to-path store on separate threads
+ *      during flushes. Otherwise, both stores are updated one after another on a single thread.
  */
 @ConfigData("merkleDb")
 public record MerkleDbConfig(
@@ -84,9 +143,27 @@ public record MerkleDbConfig(
         @ConfigProperty(defaultValue = "75.0") double percentHalfDiskHashMapFlushThreads,
         @ConfigProperty(defaultValue = "-1") int numHalfDiskHashMapFlushThreads,
         @ConfigProperty(defaultValue = "262144") int reservedBufferLengthForLeafList,
-        @ConfigProperty(defaultValue = "1048576") int leafRecordCacheSize,
+        @Min(0) @ConfigProperty(defaultValue = "1048576") int leafRecordCacheSize,
+        @Min(0) @ConfigProperty(defaultValue = "134217728") long leafRecordCacheSizeBytes,
         @Min(1) @ConfigProperty(defaultValue = "8") int maxFileChannelsPerFileReader,
-        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel) {
+        @Min(1) @ConfigProperty(defaultValue = "8") int maxThreadsPerFileChannel,
+        @ConfigProperty(defaultValue = "false") boolean memoryMappedReadsEnabled,
+        @ConstraintMethod("halfDiskHashMapBucketFilterBitsValidation") @ConfigProperty(defaultValue = "0")
+                int halfDiskHashMapBucketFilterBits,
+        @ConfigProperty(defaultValue = "true") boolean halfDiskHashMapBucketSplittingEnabled,
+        @Min(1) @ConfigProperty(defaultValue = "1024") int halfDiskHashMapMaxBucketSplitsPerFlush,
+        @ConstraintMethod("compactionGarbageRatioThresholdValidation") @ConfigProperty(defaultValue = "0.5")
+                double compactionGarbageRatioThreshold,
+        @Min(0) @ConfigProperty(defaultValue = "0") long compactionMaxBytesPerSecond,
+        @Min(0) @ConfigProperty(defaultValue = "0") long compactionMaxBytesPerSecondDuringFlush,
+        @ConfigProperty(defaultValue = "false") boolean dataFileCompressionEnabled,
+        @Min(1024) @ConfigProperty(defaultValue = "32768") int dataFileCompressionBlockSize,
+        @ConfigProperty(defaultValue = "false") boolean incrementalSnapshotsEnabled,
+        @Min(1) @ConfigProperty(defaultValue = "10") int maxSnapshotDeltaChainLength,
+        @Min(1) @ConfigProperty(defaultValue = "8") int indexRebuildingThreads,
+        @Min(1) @ConfigProperty(defaultValue = "4") int batchReadThreads,
+        @Min(0) @ConfigProperty(defaultValue = "131072") int batchReadMaxCoalescedBytes,
+        @ConfigProperty(defaultValue = "true") boolean parallelFlush) {
 
     static double UNIT_FRACTION_PERCENT = 100.0;
 
@@ -104,6 +181,31 @@ public record MerkleDbConfig(
         return null;
     }
 
+    public ConfigViolation halfDiskHashMapBucketFilterBitsValidation(final Configuration configuration) {
+        final int filterBits = configuration.getConfigData(MerkleDbConfig.class).halfDiskHashMapBucketFilterBits();
+        if ((filterBits != 0) && ((filterBits < Long.SIZE) || (Integer.bitCount(filterBits) != 1))) {
+            return new DefaultConfigViolation(
+                    "halfDiskHashMapBucketFilterBits",
+                    "%d".formatted(filterBits),
+                    true,
+                    "Cannot configure halfDiskHashMapBucketFilterBits to " + filterBits
+                            + ", it must be 0 or a power of two >= 64");
+        }
+        return null;
+    }
+
+    public ConfigViolation compactionGarbageRatioThresholdValidation(final Configuration configuration) {
+        final double threshold = configuration.getConfigData(MerkleDbConfig.class).compactionGarbageRatioThreshold();
+        if ((threshold < 0) || (threshold > 1)) {
+            return new DefaultConfigViolation(
+                    "compactionGarbageRatioThreshold",
+                    "%f".formatted(threshold),
+                    true,
+                    "Cannot configure compactionGarbageRatioThreshold to " + threshold + ", it must be in [0, 1]");
+        }
+        return null;
+    }
+
     public int getNumHalfDiskHashMapFlushThreads() {
         final int numProcessors = Runtime.getRuntime().availableProcessors();
         final int threads = (numHalfDiskHashMapFlushThreads() == -1)
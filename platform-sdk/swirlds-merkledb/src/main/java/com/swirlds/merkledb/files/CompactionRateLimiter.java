@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the rate of compaction I/O across all MerkleDb data file compactors in the process, so
+ * compactions don't compete with flushes for disk bandwidth. Data sources notify this class when
+ * a flush is started and finished using {@link #flushStarted()} and {@link #flushFinished()}. While
+ * at least one flush is in progress, compactions are limited to {@link
+ * MerkleDbConfig#compactionMaxBytesPerSecondDuringFlush()}, otherwise to {@link
+ * MerkleDbConfig#compactionMaxBytesPerSecond()}. Zero limits mean no limit.
+ *
+ * <p>The limit is shared by all compaction threads. Every compaction thread reserves a time slot
+ * proportional to the number of bytes it has copied, and sleeps till the slot starts.
+ */
+public final class CompactionRateLimiter {
+
+    /** Number of flushes currently in progress, across all data sources */
+    private static final AtomicInteger FLUSHES_IN_PROGRESS = new AtomicInteger(0);
+
+    /** Max time to sleep at once, so changes in flush status are picked up quickly */
+    private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The time (in {@link System#nanoTime()} units) when the next compaction I/O may start. Guarded
+     * by the class lock.
+     */
+    private static long nextSlotNanos = 0;
+
+    private CompactionRateLimiter() {}
+
+    /** Notifies the limiter that a data source flush has started. */
+    public static void flushStarted() {
+        FLUSHES_IN_PROGRESS.incrementAndGet();
+    }
+
+    /** Notifies the limiter that a data source flush has finished. */
+    public static void flushFinished() {
+        FLUSHES_IN_PROGRESS.decrementAndGet();
+    }
+
+    /**
+     * Checks if any data source flush is currently in progress.
+     *
+     * @return true if at least one flush is in progress
+     */
+    public static boolean isFlushInProgress() {
+        return FLUSHES_IN_PROGRESS.get() > 0;
+    }
+
+    /**
+     * Accounts for the given number of compaction bytes and blocks the calling thread, if the
+     * current limit is exceeded. Must not be called while holding any locks needed by snapshots or
+     * flushes.
+     *
+     * @param dbConfig MerkleDb config with compaction limits
+     * @param bytes the number of bytes read and written by compaction
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    static void acquire(final MerkleDbConfig dbConfig, final long bytes) throws InterruptedException {
+        final long bytesPerSecond = isFlushInProgress()
+                ? dbConfig.compactionMaxBytesPerSecondDuringFlush()
+                : dbConfig.compactionMaxBytesPerSecond();
+        if ((bytesPerSecond <= 0) || (bytes <= 0)) {
+            return;
+        }
+        final long slotNanos = (long) (bytes * (double) TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+        final long waitUntil;
+        synchronized (CompactionRateLimiter.class) {
+            final long now = System.nanoTime();
+            // Don't let unused bandwidth accumulate, otherwise long idle periods would result in bursts
+            waitUntil = Math.max(nextSlotNanos, now);
+            nextSlotNanos = waitUntil + slotNanos;
+        }
+        long toSleep;
+        while ((toSleep = waitUntil - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(toSleep, MAX_SLEEP_NANOS));
+        }
+    }
+}
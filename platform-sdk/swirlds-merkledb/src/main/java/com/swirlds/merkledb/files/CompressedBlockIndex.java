@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
+
+import com.hedera.pbj.runtime.ProtoWriterTools;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Index of compressed blocks in a block-compressed data file. In such files, data items are
+ * grouped into blocks, and every block is compressed separately. Data locations of data items
+ * in these files don't point to file offsets, but to logical offsets in the uncompressed stream
+ * of data items. This index maps logical offsets to compressed blocks in the file.
+ *
+ * <p>While the file is being written, the index is updated by {@link DataFileWriter}, and data
+ * items can be read from it concurrently by {@link DataFileReader}. Data items, which are already
+ * written, but not yet compressed and flushed to disk, are available to readers via {@link
+ * #getPendingBlock()}. The writer first adds a compressed block to the index, and only then
+ * replaces the pending block with a new one, so every data item is always available to readers
+ * either in the pending block or in a compressed block.
+ *
+ * <p>Protobuf schema:
+ *
+ * <pre>
+ * message BlockIndex {
+ *
+ *     // Total size of all data items, uncompressed
+ *     uint64 dataSize = 1;
+ *
+ *     // Number of blocks
+ *     uint32 blockCount = 2;
+ *
+ *     // Pairs of (logical block start, block position in the file), delta-encoded
+ *     repeated uint64 blocks = 3 [packed = true];
+ * }
+ * </pre>
+ */
+final class CompressedBlockIndex {
+
+    /** Initial capacity of block arrays */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Logical (uncompressed) offsets of the first bytes of all blocks */
+    private volatile long[] blockStarts;
+
+    /** Logical (uncompressed) offsets of the block ends, exclusive */
+    private volatile long[] blockEnds;
+
+    /** Offsets of all blocks in the file. Every offset points to a block's protobuf tag */
+    private volatile long[] blockPositions;
+
+    /** Number of blocks in this index */
+    private volatile int count = 0;
+
+    /** The current block being written, not yet compressed. Null if the file is completed */
+    private volatile PendingBlock pendingBlock = null;
+
+    /**
+     * A block of data items, which are written, but not compressed and flushed to disk yet. Data
+     * arrays are never reused, so a reader holding a reference to a pending block can read data
+     * items from it even after the block is flushed.
+     *
+     * @param start logical offset of the block start
+     * @param data uncompressed block bytes
+     * @param out buffer to write data items to the block, only used by the writer
+     */
+    record PendingBlock(long start, byte[] data, BufferedData out) {
+
+        PendingBlock(final long start, final byte[] data) {
+            this(start, data, BufferedData.wrap(data));
+        }
+
+        /**
+         * Reads a data item with the given logical offset from this block.
+         *
+         * @param logicalOffset data item logical offset, must not be less than the block start
+         * @return data item bytes
+         */
+        BufferedData readDataItem(final long logicalOffset) {
+            return DataFileReader.sliceDataItem(BufferedData.wrap(data), Math.toIntExact(logicalOffset - start));
+        }
+    }
+
+    /** Creates an empty block index. */
+    CompressedBlockIndex() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private CompressedBlockIndex(final int capacity) {
+        blockStarts = new long[capacity];
+        blockEnds = new long[capacity];
+        blockPositions = new long[capacity];
+    }
+
+    /**
+     * Get the number of compressed blocks in this index.
+     *
+     * @return number of blocks
+     */
+    int getBlockCount() {
+        return count;
+    }
+
+    /**
+     * Get total uncompressed size of all data items, which are added to this index. While the file
+     * is being written, data items in the pending block are not included.
+     *
+     * @return data items size, in bytes
+     */
+    long getDataSize() {
+        final int blockCount = count;
+        return (blockCount == 0) ? 0 : blockEnds[blockCount - 1];
+    }
+
+    /**
+     * Get the current pending block, or null if the file is fully written.
+     *
+     * @return the pending block
+     */
+    PendingBlock getPendingBlock() {
+        return pendingBlock;
+    }
+
+    void setPendingBlock(final PendingBlock block) {
+        pendingBlock = block;
+    }
+
+    /**
+     * Adds a new compressed block to this index. Must be called from the writer thread only.
+     *
+     * @param blockStart logical offset of the block start
+     * @param blockEnd logical offset of the block end, exclusive
+     * @param blockPosition block offset in the file
+     */
+    void addBlock(final long blockStart, final long blockEnd, final long blockPosition) {
+        assert (count == 0) || (blockStart > blockStarts[count - 1]);
+        if (count == blockStarts.length) {
+            // Arrays are replaced before the count is incremented, so readers never see
+            // a count greater than the array sizes
+            final int newCapacity = blockStarts.length * 2;
+            blockStarts = Arrays.copyOf(blockStarts, newCapacity);
+            blockEnds = Arrays.copyOf(blockEnds, newCapacity);
+            blockPositions = Arrays.copyOf(blockPositions, newCapacity);
+        }
+        blockStarts[count] = blockStart;
+        blockEnds[count] = blockEnd;
+        blockPositions[count] = blockPosition;
+        // Volatile write, publishes the new block to readers
+        count = count + 1;
+    }
+
+    /**
+     * Finds the compressed block containing a data item at the given logical offset.
+     *
+     * @param logicalOffset data item logical offset
+     * @return block index, or -1 if there is no such block in this index
+     */
+    int findBlock(final long logicalOffset) {
+        // Read count first, block arrays are updated before count is
+        final int blockCount = count;
+        final long[] starts = blockStarts;
+        if ((blockCount == 0) || (logicalOffset < starts[0]) || (logicalOffset >= blockEnds[blockCount - 1])) {
+            return -1;
+        }
+        final int pos = Arrays.binarySearch(starts, 0, blockCount, logicalOffset);
+        return (pos >= 0) ? pos : -pos - 2;
+    }
+
+    /**
+     * Get logical offset of the block start.
+     *
+     * @param block block index
+     * @return logical block start
+     */
+    long getBlockStart(final int block) {
+        return blockStarts[block];
+    }
+
+    /**
+     * Get logical offset of the block end, exclusive.
+     *
+     * @param block block index
+     * @return logical block end
+     */
+    long getBlockEnd(final int block) {
+        return blockEnds[block];
+    }
+
+    /**
+     * Get block offset in the file.
+     *
+     * @param block block index
+     * @return block position in the file
+     */
+    long getBlockPosition(final int block) {
+        return blockPositions[block];
+    }
+
+    /**
+     * Get the size of this index fields, as written by {@link #writeTo(WritableSequentialData)}.
+     *
+     * @return serialized index size, in bytes
+     */
+    int sizeInBytes() {
+        int size = ProtoWriterTools.sizeOfVarInt64(getDataSize()) + ProtoWriterTools.sizeOfVarInt32(count);
+        long prevStart = 0;
+        long prevPosition = 0;
+        for (int i = 0; i < count; i++) {
+            size += ProtoWriterTools.sizeOfVarInt64(blockStarts[i] - prevStart);
+            size += ProtoWriterTools.sizeOfVarInt64(blockPositions[i] - prevPosition);
+            prevStart = blockStarts[i];
+            prevPosition = blockPositions[i];
+        }
+        return size;
+    }
+
+    /**
+     * Writes this index to the given output. Must only be called after all blocks are added.
+     *
+     * @param out the output to write to
+     */
+    void writeTo(final WritableSequentialData out) {
+        out.writeVarLong(getDataSize(), false);
+        out.writeVarInt(count, false);
+        long prevStart = 0;
+        long prevPosition = 0;
+        for (int i = 0; i < count; i++) {
+            out.writeVarLong(blockStarts[i] - prevStart, false);
+            out.writeVarLong(blockPositions[i] - prevPosition, false);
+            prevStart = blockStarts[i];
+            prevPosition = blockPositions[i];
+        }
+    }
+
+    /**
+     * Loads a block index from a data file.
+     *
+     * @param file the data file
+     * @param indexPosition offset of the block index field in the file
+     * @return loaded block index
+     * @throws IOException if an I/O error occurred
+     */
+    static CompressedBlockIndex readFrom(final Path file, final long indexPosition) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(channel.size() - indexPosition));
+            while (buf.hasRemaining()) {
+                if (channel.read(buf, indexPosition + buf.position()) < 0) {
+                    throw new IOException("Unexpected end of data file " + file);
+                }
+            }
+            buf.flip();
+            final BufferedData in = BufferedData.wrap(buf);
+            final int tag = in.readVarInt(false);
+            if ((tag >> TAG_FIELD_OFFSET) != FIELD_DATAFILE_BLOCK_INDEX.number()) {
+                throw new IOException("Block index not found in data file " + file);
+            }
+            in.readVarInt(false); // index size
+            final long dataSize = in.readVarLong(false);
+            final int blockCount = in.readVarInt(false);
+            final CompressedBlockIndex index = new CompressedBlockIndex(Math.max(1, blockCount));
+            long blockStart = 0;
+            long blockPosition = 0;
+            for (int i = 0; i < blockCount; i++) {
+                blockStart += in.readVarLong(false);
+                blockPosition += in.readVarLong(false);
+                index.blockStarts[i] = blockStart;
+                index.blockPositions[i] = blockPosition;
+                if (i > 0) {
+                    index.blockEnds[i - 1] = blockStart;
+                }
+            }
+            if (blockCount > 0) {
+                index.blockEnds[blockCount - 1] = dataSize;
+            }
+            index.count = blockCount;
+            return index;
+        }
+    }
+}
@@ -42,21 +42,29 @@ import com.swirlds.merkledb.collections.ImmutableIndexedObjectListUsingArray;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -110,6 +118,23 @@ public class DataFileCollection implements Snapshotable {
     private static final FieldDefinition FIELD_FILECOLLECTION_MAXVALIDKEY =
             new FieldDefinition("maxValidKey", FieldType.UINT64, false, true, false, 2);
 
+    /** Fork-join pool to rebuild indices from data files, shared by all file collections */
+    private static volatile ForkJoinPool indexRebuildingPool = null;
+
+    private static ForkJoinPool getIndexRebuildingPool(final MerkleDbConfig dbConfig) {
+        ForkJoinPool pool = indexRebuildingPool;
+        if (pool == null) {
+            synchronized (DataFileCollection.class) {
+                pool = indexRebuildingPool;
+                if (pool == null) {
+                    pool = new ForkJoinPool(dbConfig.indexRebuildingThreads());
+                    indexRebuildingPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
     private final MerkleDbConfig dbConfig;
 
     /** The directory to store data files */
@@ -327,6 +352,52 @@ public class DataFileCollection implements Snapshotable {
                         .summaryStatistics();
     }
 
+    /**
+     * Get total size of data items in all fully written files, uncompressed. For uncompressed
+     * files, data size is the same as file size.
+     *
+     * @return total uncompressed data size, in bytes
+     */
+    public long getAllCompletedFilesDataSize() {
+        final ImmutableIndexedObjectList<DataFileReader> activeIndexedFiles = dataFiles.get();
+        return activeIndexedFiles == null
+                ? 0
+                : activeIndexedFiles.stream()
+                        .filter(DataFileReader::isFileCompleted)
+                        .mapToLong(DataFileReader::getDataSize)
+                        .sum();
+    }
+
+    /**
+     * Get the number of blocks decompressed by all file readers in this collection since the last
+     * call to this method, and reset the counters.
+     *
+     * @return number of decompressed blocks
+     */
+    public long getAndResetDecompressedBlocks() {
+        final ImmutableIndexedObjectList<DataFileReader> activeIndexedFiles = dataFiles.get();
+        return activeIndexedFiles == null
+                ? 0
+                : activeIndexedFiles.stream()
+                        .mapToLong(DataFileReader::getAndResetDecompressedBlocks)
+                        .sum();
+    }
+
+    /**
+     * Get the time spent on block decompression by all file readers in this collection since the
+     * last call to this method, and reset the counters.
+     *
+     * @return decompression time, in nanoseconds
+     */
+    public long getAndResetDecompressionNanos() {
+        final ImmutableIndexedObjectList<DataFileReader> activeIndexedFiles = dataFiles.get();
+        return activeIndexedFiles == null
+                ? 0
+                : activeIndexedFiles.stream()
+                        .mapToLong(DataFileReader::getAndResetDecompressionNanos)
+                        .sum();
+    }
+
     /** Close all the data files */
     public void close() throws IOException {
         // finish writing if we still are
@@ -566,6 +637,75 @@ public class DataFileCollection implements Snapshotable {
         throw new IOException("Read failed after 5 retries");
     }
 
+    /**
+     * Read data items for multiple keys using a LongList that maps key-&gt;dataLocation. Data
+     * locations are sorted by file and by offset in the file, and data items from every file are
+     * read in this order, with adjacent data items coalesced into larger reads, see {@link
+     * DataFileReader#readDataItems}. Data items, which can't be read this way, for example,
+     * because their files are compacted in parallel, are read one by one using {@link
+     * #readDataItemUsingIndex(LongList, long)}.
+     *
+     * <p>The consumer is called exactly once for every key, in data location order rather than
+     * in key order. For keys not found in the index, it's called with a null data item.
+     *
+     * @param index key-&gt;dataLocation index
+     * @param keys The keys to lookup in index
+     * @param consumer called for every key with the key index in {@code keys} and the data item.
+     *      Data item bytes are only valid during the call
+     * @throws IOException If there was a problem reading data items
+     */
+    public void readDataItemsUsingIndex(
+            @NonNull final LongList index, @NonNull final long[] keys, @NonNull final DataItemConsumer consumer)
+            throws IOException {
+        final long[] dataLocations = new long[keys.length];
+        final List<Integer> order = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            dataLocations[i] = index.get(keys[i], LongList.IMPERMISSIBLE_VALUE);
+            if (dataLocations[i] == LongList.IMPERMISSIBLE_VALUE) {
+                consumer.accept(i, null);
+            } else {
+                order.add(i);
+            }
+        }
+        // Data locations combine file index (high bits) and offset (low bits), so sorting them
+        // sorts by file first, then by offset in the file
+        order.sort(Comparator.comparingLong(i -> dataLocations[i]));
+        int start = 0;
+        while (start < order.size()) {
+            final int fileIndex = fileIndexFromDataLocation(dataLocations[order.get(start)]);
+            int end = start + 1;
+            while ((end < order.size()) && (fileIndexFromDataLocation(dataLocations[order.get(end)]) == fileIndex)) {
+                end++;
+            }
+            final long[] fileDataLocations = new long[end - start];
+            for (int i = 0; i < fileDataLocations.length; i++) {
+                fileDataLocations[i] = dataLocations[order.get(start + i)];
+            }
+            // Items are consumed in order, track how many of them are consumed to know where
+            // to resume, if the file is closed or deleted by compaction in the middle
+            final int[] consumed = {0};
+            try {
+                final DataFileReader file = readerForDataLocation(fileDataLocations[0]);
+                if (file != null) {
+                    final int fileStart = start;
+                    file.readDataItems(fileDataLocations, (i, dataItem) -> {
+                        consumer.accept(order.get(fileStart + i), dataItem);
+                        consumed[0] = i + 1;
+                    });
+                }
+            } catch (final IOException e) {
+                // The remaining items are read below one by one with retries. If it's a real I/O
+                // error rather than a race with compaction, it will be thrown there
+                logger.debug(MERKLE_DB.getMarker(), "Store [{}] batch read failed, retrying", storeName, e);
+            }
+            for (int i = start + consumed[0]; i < end; i++) {
+                final int keyIndex = order.get(i);
+                consumer.accept(keyIndex, readDataItemUsingIndex(index, keys[keyIndex]));
+            }
+            start = end;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void snapshot(final Path snapshotDirectory) throws IOException {
@@ -596,11 +736,42 @@ public class DataFileCollection implements Snapshotable {
     /**
      * Simple callback class during reading an existing set of files during startup, so that indexes
      * can be built.
+     *
+     * <p>Data files are processed in parallel, so the callback may be called concurrently from
+     * multiple threads. Data items from a single file are processed in order on a single thread.
+     * If the same key is found in multiple files, the provided data location order tells which
+     * entry is the latest one, see {@link LongList#putIfGreater(long, long, LongList.LongComparator)}.
+     * Data locations can't be compared directly, since a compacted file has a greater index than
+     * files written after compaction started, but contains older data.
      */
     @FunctionalInterface
     public interface LoadedDataCallback {
-        /** Add an index entry for the given data location and value */
-        void newIndexEntry(long dataLocation, @NonNull BufferedData dataValue);
+        /**
+         * Add an index entry for the given data location and value.
+         *
+         * @param dataLocation the data location of the data item
+         * @param dataValue the data item
+         * @param dataLocationOrder orders data locations from the oldest to the newest
+         */
+        void newIndexEntry(
+                long dataLocation,
+                @NonNull BufferedData dataValue,
+                @NonNull LongList.LongComparator dataLocationOrder);
+    }
+
+    /**
+     * Callback for batch data item reads, see {@link #readDataItemsUsingIndex(LongList, long[],
+     * DataItemConsumer)}.
+     */
+    @FunctionalInterface
+    public interface DataItemConsumer {
+        /**
+         * Called for every data item read.
+         *
+         * @param index request index, for example, the index of the key in the array of keys
+         * @param dataItem data item bytes, or null if not found. Only valid during the call
+         */
+        void accept(int index, @Nullable BufferedData dataItem);
     }
 
     // =================================================================================================================
@@ -670,7 +841,10 @@ public class DataFileCollection implements Snapshotable {
         if (logger.isTraceEnabled()) {
             setOfNewFileIndexes.add(newFileIndex);
         }
-        return new DataFileWriter(storeName, storeDir, newFileIndex, creationTime, compactionLevel);
+        final int compressionBlockSize =
+                dbConfig.dataFileCompressionEnabled() ? dbConfig.dataFileCompressionBlockSize() : 0;
+        return new DataFileWriter(
+                storeName, storeDir, newFileIndex, creationTime, compactionLevel, compressionBlockSize);
     }
 
     /**
@@ -794,15 +968,7 @@ public class DataFileCollection implements Snapshotable {
         nextFileIndex.set(getMaxFileReaderIndex(dataFileReaders) + 1);
         // now call indexEntryCallback
         if (loadedDataCallback != null) {
-            // now iterate over every file and every key
-            for (final DataFileReader reader : dataFileReaders) {
-                try (final DataFileIterator iterator = reader.createIterator()) {
-                    while (iterator.next()) {
-                        loadedDataCallback.newIndexEntry(
-                                iterator.getDataItemDataLocation(), iterator.getDataItemData());
-                    }
-                }
-            }
+            loadIndexEntries(dataFileReaders, loadedDataCallback);
         }
         // Mark all files we loaded as being available for compactions
         for (final DataFileReader dataFileReader : dataFileReaders) {
@@ -812,7 +978,124 @@ public class DataFileCollection implements Snapshotable {
                 MERKLE_DB.getMarker(), "Finished loading existing data files for DataFileCollection [{}]", storeName);
     }
 
-    private int getMaxFileReaderIndex(final DataFileReader[] dataFileReaders) {
+    /**
+     * Iterate over all data items in the given files and call the callback for every item. If
+     * more than one index rebuilding thread is configured, files are processed in parallel using
+     * a fork-join pool shared by all file collections.
+     *
+     * @param dataFileReaders data files to load index entries from
+     * @param loadedDataCallback callback to call for every data item
+     * @throws IOException if an I/O error occurred
+     */
+    private void loadIndexEntries(
+            final DataFileReader[] dataFileReaders, final LoadedDataCallback loadedDataCallback) throws IOException {
+        final long start = System.currentTimeMillis();
+        final AtomicInteger filesLoaded = new AtomicInteger();
+        final AtomicLong itemsLoaded = new AtomicLong();
+        final LongList.LongComparator dataLocationOrder = buildDataLocationOrder(dataFileReaders);
+        final List<Callable<Void>> tasks = new ArrayList<>(dataFileReaders.length);
+        // Load the largest files first for better load balancing
+        final DataFileReader[] sortedReaders = dataFileReaders.clone();
+        Arrays.sort(sortedReaders, Comparator.comparingLong(DataFileReader::getSize).reversed());
+        for (final DataFileReader reader : sortedReaders) {
+            tasks.add(() -> {
+                final long items = loadIndexEntries(reader, loadedDataCallback, dataLocationOrder);
+                reportIndexLoadingProgress(
+                        filesLoaded.incrementAndGet(), sortedReaders.length, itemsLoaded.addAndGet(items));
+                return null;
+            });
+        }
+        if ((dbConfig.indexRebuildingThreads() == 1) || (tasks.size() == 1)) {
+            try {
+                for (final Callable<Void> task : tasks) {
+                    task.call();
+                }
+            } catch (final IOException | RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new IOException(e);
+            }
+        } else {
+            try {
+                for (final Future<Void> result : getIndexRebuildingPool(dbConfig).invokeAll(tasks)) {
+                    result.get();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading index entries for " + storeName, e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IOException("Failed to load index entries for " + storeName, e.getCause());
+            }
+        }
+        logger.info(
+                MERKLE_DB.getMarker(),
+                "Loaded [{}] index entries from [{}] data files for DataFileCollection [{}] in {} ms",
+                itemsLoaded.get(),
+                dataFileReaders.length,
+                storeName,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Build a comparator, which orders data locations in the given files from the oldest to the
+     * newest. Files are ordered the same way as readers are sorted, by creation date, then by
+     * index. Data locations in the same file are ordered by offset.
+     *
+     * @param dataFileReaders data files, sorted by creation date and index
+     * @return the data location comparator
+     */
+    private static LongList.LongComparator buildDataLocationOrder(final DataFileReader[] dataFileReaders) {
+        final int[] fileRanks = new int[getMaxFileReaderIndex(dataFileReaders) + 1];
+        for (int i = 0; i < dataFileReaders.length; i++) {
+            fileRanks[dataFileReaders[i].getIndex()] = i;
+        }
+        return (dataLocation1, dataLocation2) -> {
+            final int fileRank1 = fileRanks[fileIndexFromDataLocation(dataLocation1)];
+            final int fileRank2 = fileRanks[fileIndexFromDataLocation(dataLocation2)];
+            if (fileRank1 != fileRank2) {
+                return Integer.compare(fileRank1, fileRank2);
+            }
+            return Long.compare(byteOffsetFromDataLocation(dataLocation1), byteOffsetFromDataLocation(dataLocation2));
+        };
+    }
+
+    private static long loadIndexEntries(
+            final DataFileReader reader,
+            final LoadedDataCallback loadedDataCallback,
+            final LongList.LongComparator dataLocationOrder)
+            throws IOException {
+        long items = 0;
+        try (final DataFileIterator iterator = reader.createIterator()) {
+            while (iterator.next()) {
+                loadedDataCallback.newIndexEntry(
+                        iterator.getDataItemDataLocation(), iterator.getDataItemData(), dataLocationOrder);
+                items++;
+            }
+        }
+        return items;
+    }
+
+    private void reportIndexLoadingProgress(final int filesLoaded, final int totalFiles, final long itemsLoaded) {
+        // Report progress roughly every 10% of files
+        final int step = Math.max(1, totalFiles / 10);
+        if ((filesLoaded % step == 0) && (filesLoaded < totalFiles)) {
+            logger.info(
+                    MERKLE_DB.getMarker(),
+                    "Loading index entries for DataFileCollection [{}]: {} of {} files, {} entries",
+                    storeName,
+                    filesLoaded,
+                    totalFiles,
+                    itemsLoaded);
+        }
+    }
+
+    private static int getMaxFileReaderIndex(final DataFileReader[] dataFileReaders) {
         int maxIndex = -1;
         for (final DataFileReader reader : dataFileReaders) {
             maxIndex = Math.max(maxIndex, reader.getIndex());
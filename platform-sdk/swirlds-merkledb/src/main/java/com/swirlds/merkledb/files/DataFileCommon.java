@@ -96,6 +96,10 @@ public final class DataFileCommon {
             new FieldDefinition("metadata", FieldType.MESSAGE, false, false, false, 1);
     static final FieldDefinition FIELD_DATAFILE_ITEMS =
             new FieldDefinition("items", FieldType.MESSAGE, true, true, false, 11);
+    static final FieldDefinition FIELD_DATAFILE_BLOCKS =
+            new FieldDefinition("blocks", FieldType.BYTES, true, true, false, 12);
+    static final FieldDefinition FIELD_DATAFILE_BLOCK_INDEX =
+            new FieldDefinition("blockIndex", FieldType.MESSAGE, false, false, false, 13);
 
     // Data file metadata protobuf fields
     static final FieldDefinition FIELD_DATAFILEMETADATA_INDEX =
@@ -113,6 +117,15 @@ public final class DataFileCommon {
 
     static final FieldDefinition FIELD_DATAFILEMETADATA_COMPACTION_LEVEL =
             new FieldDefinition("compactionLevel", FieldType.UINT32, false, true, false, 6);
+    static final FieldDefinition FIELD_DATAFILEMETADATA_COMPRESSION =
+            new FieldDefinition("compression", FieldType.UINT32, false, true, false, 7);
+    static final FieldDefinition FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET =
+            new FieldDefinition("blockIndexOffset", FieldType.FIXED64, false, false, false, 8);
+
+    /** Data file compression: no compression, data items are written to files as is */
+    static final int COMPRESSION_NONE = 0;
+    /** Data file compression: data items are grouped into blocks, each block is deflated */
+    static final int COMPRESSION_DEFLATE = 1;
 
     static final String ERROR_DATAITEM_TOO_LARGE =
             "Data item is too large to write to a data file. Increase data file mapped byte buffer size";
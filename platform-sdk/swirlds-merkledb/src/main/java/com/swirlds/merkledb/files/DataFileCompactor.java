@@ -35,6 +35,7 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
@@ -42,6 +43,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -50,6 +52,15 @@ import org.apache.logging.log4j.Logger;
  * This class is responsible performing compaction of data files in a {@link DataFileCollection}.
  * The compaction is supposed to happen in the background and can be paused and resumed with {@link #pauseCompaction()}
  * and {@link #resumeCompaction()} to prevent compaction from interfering with snapshots.
+ *
+ * <p>Files to compact are selected in two ways. First, files are compacted in tiers by compaction
+ * levels, see {@link #compactionPlan(List, int, int)}. Second, if there is nothing to compact in
+ * tiers, files with garbage ratio (the share of data items no longer referenced from the index) at
+ * or above {@link MerkleDbConfig#compactionGarbageRatioThreshold()} are compacted at their own
+ * compaction level, see {@link #garbageCompactionPlan(List, Map, double)}. Garbage ratios aren't
+ * scanned for separately. Every compaction already iterates over the whole index, and while doing
+ * so it counts live data items in all other files, too. Compaction I/O is rate limited by {@link
+ * CompactionRateLimiter}.
  */
 public class DataFileCompactor {
 
@@ -60,6 +71,11 @@ public class DataFileCompactor {
      */
     public static final int INITIAL_COMPACTION_LEVEL = 0;
 
+    /**
+     * Compaction I/O is reported to {@link CompactionRateLimiter} in batches of this size.
+     */
+    private static final long RATE_LIMITER_BATCH_BYTES = 256 * 1024;
+
     private final MerkleDbConfig dbConfig;
 
     /**
@@ -94,6 +110,29 @@ public class DataFileCompactor {
     @Nullable
     private final Runnable updateTotalStatsFunction;
 
+    /**
+     * A function that will be called to report the number of bytes written by the compaction
+     */
+    @Nullable
+    private final LongConsumer reportBytesRewrittenMetricFunction;
+
+    /**
+     * A function that will be called to report compaction debt, in bytes
+     */
+    @Nullable
+    private final LongConsumer reportCompactionDebtMetricFunction;
+
+    /**
+     * Garbage ratio per data file, by file index, as known from the last compaction. Files only get
+     * more garbage over time, so these ratios are lower bounds. Only accessed on the compaction thread
+     */
+    private final Map<Integer, Double> garbageRatioByFile = new HashMap<>();
+
+    /**
+     * Current compaction debt, see {@link #getCompactionDebtBytes()}
+     */
+    private volatile long compactionDebtBytes = 0;
+
     /**
      * A lock used for synchronization between snapshots and compactions. While a compaction is in
      * progress, it runs on its own without any synchronization. However, a few critical sections
@@ -160,6 +199,42 @@ public class DataFileCompactor {
             @Nullable final BiConsumer<Integer, Double> reportSavedSpaceMetricFunction,
             @Nullable final BiConsumer<Integer, Double> reportFileSizeByLevelMetricFunction,
             @Nullable Runnable updateTotalStatsFunction) {
+        this(
+                dbConfig,
+                storeName,
+                dataFileCollection,
+                index,
+                reportDurationMetricFunction,
+                reportSavedSpaceMetricFunction,
+                reportFileSizeByLevelMetricFunction,
+                updateTotalStatsFunction,
+                null,
+                null);
+    }
+
+    /**
+     * @param dbConfig                       MerkleDb config
+     * @param storeName                      name of the store to compact
+     * @param dataFileCollection             data file collection to compact
+     * @param index                          index to update during compaction
+     * @param reportDurationMetricFunction   function to report how long compaction took, in ms
+     * @param reportSavedSpaceMetricFunction function to report how much space was compacted, in Mb
+     * @param reportFileSizeByLevelMetricFunction function to report how much spaсе is used by the store by compaction level, in Mb
+     * @param updateTotalStatsFunction       A function that updates statistics of total usage of disk space and off-heap space
+     * @param reportBytesRewrittenMetricFunction function to report how many bytes were written by compaction
+     * @param reportCompactionDebtMetricFunction function to report compaction debt, in bytes
+     */
+    public DataFileCompactor(
+            final MerkleDbConfig dbConfig,
+            final String storeName,
+            final DataFileCollection dataFileCollection,
+            CASableLongIndex index,
+            @Nullable final BiConsumer<Integer, Long> reportDurationMetricFunction,
+            @Nullable final BiConsumer<Integer, Double> reportSavedSpaceMetricFunction,
+            @Nullable final BiConsumer<Integer, Double> reportFileSizeByLevelMetricFunction,
+            @Nullable Runnable updateTotalStatsFunction,
+            @Nullable final LongConsumer reportBytesRewrittenMetricFunction,
+            @Nullable final LongConsumer reportCompactionDebtMetricFunction) {
         this.dbConfig = dbConfig;
         this.storeName = storeName;
         this.dataFileCollection = dataFileCollection;
@@ -168,6 +243,8 @@ public class DataFileCompactor {
         this.reportSavedSpaceMetricFunction = reportSavedSpaceMetricFunction;
         this.reportFileSizeByLevelMetricFunction = reportFileSizeByLevelMetricFunction;
         this.updateTotalStatsFunction = updateTotalStatsFunction;
+        this.reportBytesRewrittenMetricFunction = reportBytesRewrittenMetricFunction;
+        this.reportCompactionDebtMetricFunction = reportCompactionDebtMetricFunction;
     }
 
     /**
@@ -187,7 +264,21 @@ public class DataFileCompactor {
             final List<? extends DataFileReader> filesToCompact,
             final int targetCompactionLevel)
             throws IOException, InterruptedException {
-        if (filesToCompact.size() < getMinNumberOfFilesToCompact()) {
+        return compactFiles(index, filesToCompact, targetCompactionLevel, getMinNumberOfFilesToCompact());
+    }
+
+    /**
+     * Compacts all files in compactionPlan, if there are at least the given number of them. While
+     * iterating over the index, live data items in all other completed files are counted, and their
+     * garbage ratios are updated.
+     */
+    private synchronized List<Path> compactFiles(
+            final CASableLongIndex index,
+            final List<? extends DataFileReader> filesToCompact,
+            final int targetCompactionLevel,
+            final int minFilesToCompact)
+            throws IOException, InterruptedException {
+        if (filesToCompact.size() < minFilesToCompact) {
             // nothing to do we have merged since the last data update
             logger.debug(MERKLE_DB.getMarker(), "No files were available for merging [{}]", storeName);
             return Collections.emptyList();
@@ -225,6 +316,22 @@ public class DataFileCompactor {
             readers[r.getIndex() - firstIndexInc] = r;
         }
 
+        // Other files to count live items in. Files created after this point are ignored
+        final List<DataFileReader> otherFiles = new ArrayList<>(dataFileCollection.getAllCompletedFiles());
+        otherFiles.removeAll(filesToCompact);
+        final int firstOtherIndex = otherFiles.stream()
+                .mapToInt(DataFileReader::getIndex)
+                .min()
+                .orElse(0);
+        final int lastOtherIndex = otherFiles.stream()
+                .mapToInt(DataFileReader::getIndex)
+                .max()
+                .orElse(-1);
+        final long[] liveItems = new long[lastOtherIndex - firstOtherIndex + 1];
+
+        // Bytes copied since the rate limiter was called last time. The limiter is called in batches,
+        // as it's synchronized across all compaction threads
+        final long[] bytesToThrottle = new long[1];
         boolean allDataItemsProcessed = false;
         try {
             final KeyRange keyRange = dataFileCollection.getValidKeyRange();
@@ -233,6 +340,9 @@ public class DataFileCompactor {
                     return;
                 }
                 final int fileIndex = DataFileCommon.fileIndexFromDataLocation(dataLocation);
+                if ((fileIndex >= firstOtherIndex) && (fileIndex <= lastOtherIndex)) {
+                    liveItems[fileIndex - firstOtherIndex]++;
+                }
                 if ((fileIndex < firstIndexInc) || (fileIndex >= lastIndexExc)) {
                     return;
                 }
@@ -249,6 +359,8 @@ public class DataFileCompactor {
                     final DataFileWriter newFileWriter = currentWriter.get();
                     final BufferedData itemBytes = reader.readDataItem(fileOffset);
                     assert itemBytes != null;
+                    // Every item is read once and written once
+                    bytesToThrottle[0] += 2 * itemBytes.remaining();
                     long newLocation = newFileWriter.storeDataItem(itemBytes);
                     // update the index
                     index.putIfEqual(path, dataLocation, newLocation);
@@ -266,8 +378,17 @@ public class DataFileCompactor {
                 } finally {
                     snapshotCompactionLock.release();
                 }
+                // Must not be throttled under the lock, otherwise snapshots would be throttled, too
+                if (bytesToThrottle[0] >= RATE_LIMITER_BATCH_BYTES) {
+                    CompactionRateLimiter.acquire(dbConfig, bytesToThrottle[0]);
+                    bytesToThrottle[0] = 0;
+                }
             });
             allDataItemsProcessed = true;
+            for (final DataFileReader reader : otherFiles) {
+                final double garbageRatio = garbageRatio(reader, liveItems[reader.getIndex() - firstOtherIndex]);
+                garbageRatioByFile.put(reader.getIndex(), garbageRatio);
+            }
         } finally {
             // Even if the thread is interrupted, make sure the new compacted file is properly closed
             // and is included to future compactions
@@ -401,18 +522,39 @@ public class DataFileCompactor {
     public boolean compact() throws IOException, InterruptedException {
         final List<DataFileReader> completedFiles = dataFileCollection.getAllCompletedFiles();
         reportFileSizeByLevel(completedFiles);
-        final List<DataFileReader> filesToCompact =
+        final List<DataFileReader> tieredPlan =
                 compactionPlan(completedFiles, getMinNumberOfFilesToCompact(), dbConfig.maxCompactionLevel());
-        if (filesToCompact.isEmpty()) {
-            logger.debug(MERKLE_DB.getMarker(), "[{}] No need to compact, as the compaction plan is empty", storeName);
-            return false;
+        if (!tieredPlan.isEmpty()) {
+            final int targetCompactionLevel = getTargetCompactionLevel(tieredPlan, tieredPlan.size());
+            compact(tieredPlan, targetCompactionLevel, getMinNumberOfFilesToCompact());
+            return true;
         }
+        final List<DataFileReader> garbagePlan = garbageCompactionPlan(
+                completedFiles, garbageRatioByFile, dbConfig.compactionGarbageRatioThreshold());
+        if (!garbagePlan.isEmpty()) {
+            final int level = garbagePlan.get(0).getMetadata().getCompactionLevel();
+            logger.info(
+                    MERKLE_DB.getMarker(),
+                    "[{}] Compacting {} files with garbage ratio over {} at level {}",
+                    storeName,
+                    garbagePlan.size(),
+                    dbConfig.compactionGarbageRatioThreshold(),
+                    level);
+            // Garbage files are compacted at their own level, even if there is just one of them
+            compact(garbagePlan, level, 1);
+            return true;
+        }
+        logger.debug(MERKLE_DB.getMarker(), "[{}] No need to compact, as the compaction plan is empty", storeName);
+        updateCompactionDebt(completedFiles);
+        return false;
+    }
 
+    private void compact(
+            final List<DataFileReader> filesToCompact, final int targetCompactionLevel, final int minFilesToCompact)
+            throws IOException, InterruptedException {
         final int filesCount = filesToCompact.size();
         logger.info(MERKLE_DB.getMarker(), "[{}] Starting compaction", storeName);
 
-        final int targetCompactionLevel = getTargetCompactionLevel(filesToCompact, filesCount);
-
         final long start = System.currentTimeMillis();
 
         final long filesToCompactSize = getSizeOfFiles(filesToCompact);
@@ -423,7 +565,8 @@ public class DataFileCompactor {
                 filesCount,
                 formatSizeBytes(filesToCompactSize));
 
-        final List<Path> newFilesCreated = compactFiles(index, filesToCompact, targetCompactionLevel);
+        final List<Path> newFilesCreated =
+                compactFiles(index, filesToCompact, targetCompactionLevel, minFilesToCompact);
 
         final long end = System.currentTimeMillis();
         final long tookMillis = end - start;
@@ -432,13 +575,18 @@ public class DataFileCompactor {
         }
 
         final long compactedFilesSize = getSizeOfFilesByPath(newFilesCreated);
+        if (reportBytesRewrittenMetricFunction != null) {
+            reportBytesRewrittenMetricFunction.accept(compactedFilesSize);
+        }
         if (reportSavedSpaceMetricFunction != null) {
             reportSavedSpaceMetricFunction.accept(
                     targetCompactionLevel,
                     (filesToCompactSize - compactedFilesSize) * UnitConstants.BYTES_TO_MEBIBYTES);
         }
 
-        reportFileSizeByLevel(dataFileCollection.getAllCompletedFiles());
+        final List<DataFileReader> filesAfterCompaction = dataFileCollection.getAllCompletedFiles();
+        reportFileSizeByLevel(filesAfterCompaction);
+        updateCompactionDebt(filesAfterCompaction);
 
         logCompactStats(
                 storeName,
@@ -459,8 +607,80 @@ public class DataFileCompactor {
         if (updateTotalStatsFunction != null) {
             updateTotalStatsFunction.run();
         }
+    }
+
+    /**
+     * Compaction debt is an estimation of how many bytes should be compacted to get rid of all known
+     * garbage in the store. It includes sizes of all non-compacted files, and estimated garbage sizes
+     * of all compacted files, as known from the last compaction. Compaction debt is used to
+     * prioritize compactions across stores and tables.
+     *
+     * @return compaction debt, in bytes
+     */
+    public long getCompactionDebtBytes() {
+        return compactionDebtBytes;
+    }
+
+    private void updateCompactionDebt(final List<DataFileReader> allCompletedFiles) {
+        long debt = 0;
+        for (final DataFileReader reader : allCompletedFiles) {
+            if (reader.getMetadata().getCompactionLevel() == INITIAL_COMPACTION_LEVEL) {
+                debt += reader.getSize();
+            } else {
+                debt += (long) (reader.getSize() * garbageRatioByFile.getOrDefault(reader.getIndex(), 0.0));
+            }
+        }
+        // Forget about files that no longer exist
+        if (garbageRatioByFile.size() > allCompletedFiles.size()) {
+            final Map<Integer, Double> existing = new HashMap<>();
+            for (final DataFileReader reader : allCompletedFiles) {
+                final Double garbageRatio = garbageRatioByFile.get(reader.getIndex());
+                if (garbageRatio != null) {
+                    existing.put(reader.getIndex(), garbageRatio);
+                }
+            }
+            garbageRatioByFile.clear();
+            garbageRatioByFile.putAll(existing);
+        }
+        compactionDebtBytes = debt;
+        if (reportCompactionDebtMetricFunction != null) {
+            reportCompactionDebtMetricFunction.accept(debt);
+        }
+    }
 
-        return true;
+    /**
+     * Selects compacted files with garbage ratio at or over the threshold. All selected files are on
+     * the same compaction level, the lowest level that has such files. Level 0 files aren't selected,
+     * they are handled by tiered compactions.
+     *
+     * @param allCompletedFiles all completed files in the store
+     * @param garbageRatioByFile known garbage ratios, by data file index
+     * @param threshold garbage ratio threshold, zero or less to disable garbage compactions
+     * @return files to compact at their level, or an empty list if there are no such files
+     */
+    static List<DataFileReader> garbageCompactionPlan(
+            final List<DataFileReader> allCompletedFiles,
+            final Map<Integer, Double> garbageRatioByFile,
+            final double threshold) {
+        if (threshold <= 0) {
+            return Collections.emptyList();
+        }
+        final Map<Integer, List<DataFileReader>> garbageFilesByLevel = allCompletedFiles.stream()
+                .filter(r -> r.getMetadata().getCompactionLevel() != INITIAL_COMPACTION_LEVEL)
+                .filter(r -> garbageRatioByFile.getOrDefault(r.getIndex(), 0.0) >= threshold)
+                .collect(Collectors.groupingBy(r -> r.getMetadata().getCompactionLevel()));
+        return garbageFilesByLevel.entrySet().stream()
+                .min(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .orElse(Collections.emptyList());
+    }
+
+    private static double garbageRatio(final DataFileReader reader, final long liveItems) {
+        final long totalItems = reader.getMetadata().getDataItemCount();
+        if (totalItems <= 0) {
+            return 0;
+        }
+        return Math.max(0, 1.0 - (double) liveItems / totalItems);
     }
 
     private void reportFileSizeByLevel(List<DataFileReader> allCompletedFiles) {
@@ -17,6 +17,8 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
@@ -31,6 +33,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 /**
  * Iterator class for iterating over data items in a DataFile. It is designed to be used in a while(iter.next()){...}
@@ -61,6 +65,17 @@ public final class DataFileIterator implements AutoCloseable {
     /** True if this iterator has been closed */
     private boolean closed = false;
 
+    /** Decompressor for compressed files, created lazily */
+    private Inflater inflater;
+    /** Buffer for compressed block bytes */
+    private byte[] compressedBlock;
+    /** Buffer for uncompressed block bytes */
+    private byte[] uncompressedBlock;
+    /** Current decompressed block, for compressed files. Null if there is no current block */
+    private BufferedData blockData;
+    /** Index of the current block, for compressed files */
+    private int currentBlock = -1;
+
     /**
      * Create a new DataFileIterator on an existing file.
      *
@@ -108,6 +123,10 @@ public final class DataFileIterator implements AutoCloseable {
         if (!closed) {
             closed = true;
             dataItemBuffer = null;
+            blockData = null;
+            if (inflater != null) {
+                inflater.end();
+            }
             inputStream.close();
         }
     }
@@ -130,7 +149,22 @@ public final class DataFileIterator implements AutoCloseable {
             return false;
         }
 
-        while (in.hasRemaining()) {
+        while (true) {
+            if ((blockData != null) && blockData.hasRemaining()) {
+                // Data locations in compressed files are logical offsets, see CompressedBlockIndex
+                final CompressedBlockIndex blockIndex = metadata.getBlockIndex();
+                currentDataItemFilePosition = blockIndex.getBlockStart(currentBlock) + blockData.position();
+                final int tag = blockData.readVarInt(false);
+                assert (tag >> TAG_FIELD_OFFSET) == FIELD_DATAFILE_ITEMS.number();
+                final int currentDataItemSize = blockData.readVarInt(false);
+                dataItemBuffer = blockData.slice(blockData.position(), currentDataItemSize);
+                blockData.skip(currentDataItemSize);
+                currentDataItem++;
+                return true;
+            }
+            if (!in.hasRemaining()) {
+                break;
+            }
             currentDataItemFilePosition = in.position();
             final int tag = in.readVarInt(false);
             final int fieldNum = tag >> TAG_FIELD_OFFSET;
@@ -139,9 +173,13 @@ public final class DataFileIterator implements AutoCloseable {
                 dataItemBuffer = fillBuffer(currentDataItemSize);
                 currentDataItem++;
                 return true;
-            } else if (fieldNum == FIELD_DATAFILE_METADATA.number()) {
-                final int metadataSize = in.readVarInt(false);
-                in.skip(metadataSize);
+            } else if (fieldNum == FIELD_DATAFILE_BLOCKS.number()) {
+                final int compressedSize = in.readVarInt(false);
+                readBlock(compressedSize);
+            } else if ((fieldNum == FIELD_DATAFILE_METADATA.number())
+                    || (fieldNum == FIELD_DATAFILE_BLOCK_INDEX.number())) {
+                final int fieldSize = in.readVarInt(false);
+                in.skip(fieldSize);
             } else {
                 throw new IllegalArgumentException("Unknown data file field: " + fieldNum);
             }
@@ -237,6 +275,55 @@ public final class DataFileIterator implements AutoCloseable {
         return dataItemBuffer;
     }
 
+    /**
+     * Reads the next compressed block from the file and decompresses it into {@link #blockData}.
+     *
+     * @param compressedSize compressed block size, in bytes
+     * @throws IOException if the block can't be read or decompressed
+     */
+    private void readBlock(final int compressedSize) throws IOException {
+        final CompressedBlockIndex blockIndex = metadata.getBlockIndex();
+        currentBlock++;
+        if ((blockIndex == null) || (currentBlock >= blockIndex.getBlockCount())) {
+            throw new IOException("Malformed file [" + path + "], unexpected compressed block [" + currentBlock + "]");
+        }
+        if ((compressedBlock == null) || (compressedBlock.length < compressedSize)) {
+            compressedBlock = new byte[compressedSize];
+        }
+        if (in.readBytes(compressedBlock, 0, compressedSize) != compressedSize) {
+            throw new IOException("Couldn't read " + compressedSize + " bytes, block [" + currentBlock + "]");
+        }
+        final int uncompressedSize =
+                Math.toIntExact(blockIndex.getBlockEnd(currentBlock) - blockIndex.getBlockStart(currentBlock));
+        if ((uncompressedBlock == null) || (uncompressedBlock.length < uncompressedSize)) {
+            uncompressedBlock = new byte[uncompressedSize];
+        }
+        final byte[] uncompressed = uncompressedBlock;
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        inflater.reset();
+        inflater.setInput(compressedBlock, 0, compressedSize);
+        int uncompressedRead = 0;
+        try {
+            while (uncompressedRead < uncompressedSize) {
+                final int n = inflater.inflate(uncompressed, uncompressedRead, uncompressedSize - uncompressedRead);
+                if (n == 0) {
+                    break;
+                }
+                uncompressedRead += n;
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Failed to decompress block [" + currentBlock + "] in file [" + path + "]", e);
+        }
+        if (uncompressedRead != uncompressedSize) {
+            throw new IOException("Malformed file [" + path + "], block [" + currentBlock + "] size mismatch");
+        }
+        // Data item buffers are slices of the block. They are only valid till the next call
+        // to next(), same as data item buffers for uncompressed files
+        blockData = BufferedData.wrap(uncompressed, 0, uncompressedSize);
+    }
+
     /**
      * Resizes the dataItemBuffer, or creates it if necessary, such that it is large enough
      * to read the bytes provided.
@@ -17,12 +17,17 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.COMPRESSION_DEFLATE;
+import static com.swirlds.merkledb.files.DataFileCommon.COMPRESSION_NONE;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_COMPACTION_LEVEL;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_COMPRESSION;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_CREATION_NANOS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_CREATION_SECONDS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_ITEMS_COUNT;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILEMETADATA_ITEM_VERSION;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_METADATA;
 
@@ -65,8 +70,15 @@ public final class DataFileMetadata {
     /** The level of compaction this file has. See {@link DataFileCompactor}*/
     private final byte compactionLevel;
 
+    /** Data file compression, see {@link DataFileCommon#COMPRESSION_DEFLATE} */
+    private final int compression;
+
+    /** Compressed block index, if the file is compressed, or null otherwise */
+    private final CompressedBlockIndex blockIndex;
+
     // Set in writeTo()
     private long dataItemCountHeaderOffset = 0;
+    private long blockIndexOffsetHeaderOffset = 0;
 
     /**
      * Create a new DataFileMetadata with complete set of data
@@ -78,11 +90,32 @@ public final class DataFileMetadata {
      */
     public DataFileMetadata(
             final long itemsCount, final int index, final Instant creationDate, final int compactionLevel) {
+        this(itemsCount, index, creationDate, compactionLevel, false);
+    }
+
+    /**
+     * Create a new DataFileMetadata with complete set of data
+     *
+     * @param itemsCount The number of data items the file contains
+     * @param index The file index, in a data file collection
+     * @param creationDate The creation data of this file, this is critical as it is used when
+     *     merging two files to know which files data is newer.
+     * @param compactionLevel The level of compaction this file has
+     * @param compressed Whether data items in the file are stored in compressed blocks
+     */
+    public DataFileMetadata(
+            final long itemsCount,
+            final int index,
+            final Instant creationDate,
+            final int compactionLevel,
+            final boolean compressed) {
         this.itemsCount = itemsCount;
         this.index = index;
         this.creationDate = creationDate;
         assert compactionLevel >= 0 && compactionLevel < MAX_COMPACTION_LEVEL;
         this.compactionLevel = (byte) compactionLevel;
+        this.compression = compressed ? COMPRESSION_DEFLATE : COMPRESSION_NONE;
+        this.blockIndex = compressed ? new CompressedBlockIndex() : null;
     }
 
     /**
@@ -98,6 +131,8 @@ public final class DataFileMetadata {
         int creationNanos = 0;
         long itemsCount = 0;
         byte compactionLevel = 0;
+        int compression = COMPRESSION_NONE;
+        long blockIndexOffset = 0;
 
         // Read values from the file, skipping all data items
         try (final ReadableStreamingData in = new ReadableStreamingData(file)) {
@@ -126,6 +161,10 @@ public final class DataFileMetadata {
                                 final int compactionLevelInt = in.readVarInt(false);
                                 assert compactionLevelInt < MAX_COMPACTION_LEVEL;
                                 compactionLevel = (byte) compactionLevelInt;
+                            } else if (metadataFieldNum == FIELD_DATAFILEMETADATA_COMPRESSION.number()) {
+                                compression = in.readVarInt(false);
+                            } else if (metadataFieldNum == FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET.number()) {
+                                blockIndexOffset = in.readLong();
                             } else {
                                 throw new IllegalArgumentException(
                                         "Unknown data file metadata field: " + metadataFieldNum);
@@ -135,7 +174,8 @@ public final class DataFileMetadata {
                         in.limit(oldLimit);
                     }
                     break;
-                } else if (fieldNum == FIELD_DATAFILE_ITEMS.number()) {
+                } else if ((fieldNum == FIELD_DATAFILE_ITEMS.number())
+                        || (fieldNum == FIELD_DATAFILE_BLOCKS.number())) {
                     // Just skip it. By default, metadata is written to the very beginning of the file,
                     // so this code should never be executed. However, with other implementations data
                     // items may come first, this code must be ready to handle it
@@ -152,6 +192,17 @@ public final class DataFileMetadata {
         this.creationDate = Instant.ofEpochSecond(creationSeconds, creationNanos);
         this.itemsCount = itemsCount;
         this.compactionLevel = compactionLevel;
+        this.compression = compression;
+        if (compression == COMPRESSION_NONE) {
+            this.blockIndex = null;
+        } else if (compression == COMPRESSION_DEFLATE) {
+            if (blockIndexOffset == 0) {
+                throw new IOException("Compressed data file is not fully written: " + file);
+            }
+            this.blockIndex = CompressedBlockIndex.readFrom(file, blockIndexOffset);
+        } else {
+            throw new IllegalArgumentException("Unknown data file compression: " + compression);
+        }
     }
 
     void writeTo(final BufferedData out) {
@@ -175,6 +226,13 @@ public final class DataFileMetadata {
             ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_COMPACTION_LEVEL);
             out.writeVarInt(compactionLevel, false);
         }
+        if (compression != COMPRESSION_NONE) {
+            ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_COMPRESSION);
+            out.writeVarInt(compression, false);
+            blockIndexOffsetHeaderOffset = out.position();
+            ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET);
+            out.writeLong(0); // will be updated later
+        }
     }
 
     /**
@@ -199,6 +257,33 @@ public final class DataFileMetadata {
         out.writeLong(count);
     }
 
+    /**
+     * Updates the offset of the compressed block index in the file. This method must be called
+     * after metadata is written to a file using {@link #writeTo(BufferedData)}.
+     *
+     * <p>This method is called by {@link DataFileWriter} right before the file is finished writing.
+     */
+    void updateBlockIndexOffset(final BufferedData out, final long blockIndexOffset) {
+        assert blockIndexOffsetHeaderOffset != 0;
+        out.position(blockIndexOffsetHeaderOffset);
+        ProtoWriterTools.writeTag(out, FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET);
+        out.writeLong(blockIndexOffset);
+    }
+
+    /**
+     * Checks if data items in the file are stored in compressed blocks.
+     *
+     * @return true if the file is block-compressed
+     */
+    public boolean isCompressed() {
+        return compression != COMPRESSION_NONE;
+    }
+
+    /** Get the compressed block index, or null if the file is not compressed */
+    CompressedBlockIndex getBlockIndex() {
+        return blockIndex;
+    }
+
     /** Get the files index, out of a set of data files */
     public int getIndex() {
         return index;
@@ -235,6 +320,14 @@ public final class DataFileMetadata {
                     FIELD_DATAFILEMETADATA_COMPACTION_LEVEL, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
             size += ProtoWriterTools.sizeOfVarInt32(compactionLevel);
         }
+        if (compression != COMPRESSION_NONE) {
+            size += ProtoWriterTools.sizeOfTag(
+                    FIELD_DATAFILEMETADATA_COMPRESSION, ProtoConstants.WIRE_TYPE_VARINT_OR_ZIGZAG);
+            size += ProtoWriterTools.sizeOfVarInt32(compression);
+            size += ProtoWriterTools.sizeOfTag(
+                    FIELD_DATAFILEMETADATA_BLOCK_INDEX_OFFSET, ProtoConstants.WIRE_TYPE_FIXED_64_BIT);
+            size += Long.BYTES;
+        }
         return size;
     }
 
@@ -249,6 +342,7 @@ public final class DataFileMetadata {
                 .append("itemsCount", itemsCount)
                 .append("index", index)
                 .append("creationDate", creationDate)
+                .append("compression", compression)
                 .toString();
     }
 
@@ -267,6 +361,7 @@ public final class DataFileMetadata {
         return itemsCount == that.itemsCount
                 && index == that.index
                 && compactionLevel == that.compactionLevel
+                && compression == that.compression
                 && Objects.equals(this.creationDate, that.creationDate);
     }
 
@@ -275,6 +370,6 @@ public final class DataFileMetadata {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(itemsCount, index, creationDate, compactionLevel);
+        return Objects.hash(itemsCount, index, creationDate, compactionLevel, compression);
     }
 }
@@ -17,6 +17,7 @@
 package com.swirlds.merkledb.files;
 
 import static com.hedera.pbj.runtime.ProtoParserTools.TAG_FIELD_OFFSET;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 
 import com.hedera.pbj.runtime.ProtoConstants;
@@ -24,14 +25,18 @@ import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.merkledb.collections.IndexedObject;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.CompressedBlockIndex.PendingBlock;
+import com.swirlds.merkledb.files.DataFileCollection.DataItemConsumer;
 import com.swirlds.merkledb.utilities.MerkleDbFileUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -40,6 +45,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 /**
  * The aim for a DataFileReader is to facilitate fast highly concurrent random reading of items from
@@ -65,15 +73,60 @@ import java.util.concurrent.atomic.AtomicReferenceArray;
  *     // Data item version. May not be needed
  *     uint64 itemVersion = 5;
  *
- *     // Data items
+ *     // Compaction level
+ *     uint32 compactionLevel = 6;
+ *
+ *     // Compression. 0 - no compression, 1 - deflate
+ *     uint32 compression = 7;
+ *
+ *     // Offset of the block index in the file, for compressed files only
+ *     fixed64 blockIndexOffset = 8;
+ *
+ *     // Data items, for uncompressed files only
  *     repeated bytes items = 11;
+ *
+ *     // Compressed blocks, for compressed files only. Every block is a compressed
+ *     // sequence of data items, each encoded as field 11 above
+ *     repeated bytes blocks = 12;
+ *
+ *     // Block index, for compressed files only, see CompressedBlockIndex
+ *     BlockIndex blockIndex = 13;
  * }
  * </pre>
+ *
+ * <p>For compressed files, data locations contain logical offsets in the uncompressed stream
+ * of data items rather than file offsets. To read a data item, the corresponding block is read
+ * and decompressed. The last decompressed block is cached per thread, so sequential reads from
+ * the same block don't decompress it again.
  */
 public final class DataFileReader implements AutoCloseable, Comparable<DataFileReader>, IndexedObject {
 
     private static final ThreadLocal<ByteBuffer> BUFFER_CACHE = new ThreadLocal<>();
     private static final ThreadLocal<BufferedData> BUFFEREDDATA_CACHE = new ThreadLocal<>();
+    private static final ThreadLocal<DecompressedBlock> DECOMPRESSED_BLOCK_CACHE =
+            ThreadLocal.withInitial(DecompressedBlock::new);
+    private static final ThreadLocal<ByteBuffer> COALESCED_BUFFER_CACHE = new ThreadLocal<>();
+
+    /**
+     * Buffer size to read data item tag and size. If the whole item is small and fits into this
+     * buffer, there is no need to make an extra file read. The same number of bytes is read
+     * after the last data item in a coalesced read, see {@link #readDataItems}.
+     */
+    private static final int PRE_READ_BUF_SIZE = 2048;
+
+    /**
+     * Max size of a single file mapping, when memory mapped reads are enabled. Mapped byte buffers
+     * are limited to {@link Integer#MAX_VALUE} bytes, so large data files are mapped in multiple
+     * segments.
+     */
+    static final long MMAP_SEGMENT_SIZE = 1L << 30;
+
+    /**
+     * Every file mapping, except the last one, overlaps with the next mapping by this number of
+     * bytes. It allows data items that start close to the end of a segment to be read from that
+     * segment. If a data item doesn't fit into its segment, it's read using a file channel.
+     */
+    static final long MMAP_SEGMENT_OVERLAP = 1L << 20;
 
     private final MerkleDbConfig dbConfig;
 
@@ -119,6 +172,28 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     private final AtomicLong fileSizeBytes = new AtomicLong(0);
 
+    /** Indicates whether this file should be memory mapped for reading, once it is completed */
+    private final boolean memoryMappedReads;
+
+    /**
+     * Memory mapped segments of this file, each wrapped into a buffered data object. The
+     * segments are only created when memory mapped reads are enabled in MerkleDb config, and
+     * the file is completed (read only). Until then, this field is null, and all data items are
+     * read using file channels.
+     *
+     * <p>Mappings are never unmapped explicitly. Data items read from the mappings are returned
+     * to the callers as buffer slices, without copying, and the callers may still be using them,
+     * when the file is closed, e.g. after compaction. When the reader is closed, this field is
+     * set back to null, and the mappings are released by GC, once all slices are collected.
+     */
+    private volatile BufferedData[] mappedSegments = null;
+
+    /** Number of blocks decompressed by this reader, if the file is compressed */
+    private final LongAdder decompressedBlocks = new LongAdder();
+
+    /** Total time spent on block decompression, in nanoseconds, if the file is compressed */
+    private final LongAdder decompressionNanos = new LongAdder();
+
     /**
      * Open an existing data file, reading the metadata from the file
      *
@@ -141,6 +216,7 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         this.dbConfig = dbConfig;
         maxFileChannels = dbConfig.maxFileChannelsPerFileReader();
         threadsPerFileChannel = dbConfig.maxThreadsPerFileChannel();
+        memoryMappedReads = dbConfig.memoryMappedReadsEnabled();
         fileChannels = new AtomicReferenceArray<>(maxFileChannels);
         if (!Files.exists(path)) {
             throw new IllegalArgumentException(
@@ -165,10 +241,17 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      * is created for an existing file, it's usually marked as completed immediately. If the reader
      * is created for a new file, which is still being written in a different thread, it's marked as
      * completed right after the file is fully written and the writer is closed.
+     *
+     * <p>If memory mapped reads are enabled, the file is mapped here, since it's guaranteed
+     * not to change after this point.
      */
     public void setFileCompleted() {
         try {
-            fileSizeBytes.set(fileChannels.get(0).size());
+            final FileChannel fileChannel = fileChannels.get(0);
+            fileSizeBytes.set(fileChannel.size());
+            if (memoryMappedReads && open.get()) {
+                mappedSegments = mapFile(fileChannel, fileSizeBytes.get());
+            }
         } catch (final IOException e) {
             throw new UncheckedIOException("Failed to update data file reader size", e);
         } finally {
@@ -225,7 +308,97 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      */
     public BufferedData readDataItem(final long dataLocation) throws IOException {
         final long byteOffset = DataFileCommon.byteOffsetFromDataLocation(dataLocation);
-        return read(byteOffset);
+        final CompressedBlockIndex blockIndex = metadata.getBlockIndex();
+        if (blockIndex != null) {
+            return readCompressed(blockIndex, byteOffset);
+        }
+        return readField(byteOffset);
+    }
+
+    /**
+     * Read multiple data items from this file. Data locations must all belong to this file and
+     * be sorted in ascending order. Items from compressed or memory mapped files are read one
+     * by one, in order, so adjacent items share decompressed blocks. Otherwise, items close to
+     * each other in the file are read using a single file read of up to {@link
+     * MerkleDbConfig#batchReadMaxCoalescedBytes()} bytes.
+     *
+     * <p>If the file is closed while the items are read, this method stops and returns the number
+     * of items read so far. The caller is expected to read the remaining items again using
+     * up-to-date data locations.
+     *
+     * @param dataLocations sorted data item locations
+     * @param consumer called for every data item read, with the item index in {@code dataLocations}.
+     *      Data item bytes are only valid during the call
+     * @return number of data items read
+     * @throws IOException If there was a problem reading from data file
+     */
+    public int readDataItems(@NonNull final long[] dataLocations, @NonNull final DataItemConsumer consumer)
+            throws IOException {
+        final int count = dataLocations.length;
+        final int maxCoalescedBytes = dbConfig.batchReadMaxCoalescedBytes();
+        final boolean coalesce = (maxCoalescedBytes > PRE_READ_BUF_SIZE)
+                && (metadata.getBlockIndex() == null)
+                && (mappedSegments == null);
+        int i = 0;
+        while (i < count) {
+            final long start = DataFileCommon.byteOffsetFromDataLocation(dataLocations[i]);
+            int end = i + 1;
+            if (coalesce) {
+                while ((end < count)
+                        && (DataFileCommon.byteOffsetFromDataLocation(dataLocations[end]) - start + PRE_READ_BUF_SIZE
+                                <= maxCoalescedBytes)) {
+                    end++;
+                }
+            }
+            if (end == i + 1) {
+                final BufferedData dataItem = readDataItem(dataLocations[i]);
+                if (dataItem == null) {
+                    return i;
+                }
+                consumer.accept(i, dataItem);
+                i++;
+                continue;
+            }
+            // Read all items from i to end using a single read. The end of the last item is not
+            // known, so some bytes after it are read, too. Items that don't fit into the read
+            // buffer are then read separately
+            final long last = DataFileCommon.byteOffsetFromDataLocation(dataLocations[end - 1]);
+            final int bytesToRead = Math.toIntExact(last - start + PRE_READ_BUF_SIZE);
+            ByteBuffer readBB = COALESCED_BUFFER_CACHE.get();
+            if ((readBB == null) || (readBB.capacity() < bytesToRead)) {
+                readBB = ByteBuffer.allocate(maxCoalescedBytes);
+                COALESCED_BUFFER_CACHE.set(readBB);
+            }
+            readBB.clear();
+            readBB.limit(bytesToRead);
+            final int bytesRead = readBytes(readBB, start);
+            if (bytesRead < 0) {
+                return i;
+            }
+            final BufferedData readBuf = BufferedData.wrap(readBB.array(), 0, bytesRead);
+            for (; i < end; i++) {
+                final long offset = DataFileCommon.byteOffsetFromDataLocation(dataLocations[i]) - start;
+                BufferedData dataItem = null;
+                if (offset + PRE_READ_BUF_SIZE <= bytesRead) {
+                    final int tag = readBuf.getVarInt(offset, false);
+                    assert isDataFieldTag(tag);
+                    final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+                    final int size = readBuf.getVarInt(offset + sizeOfTag, false);
+                    final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+                    if (offset + sizeOfTag + sizeOfSize + size <= bytesRead) {
+                        dataItem = readBuf.slice(offset + sizeOfTag + sizeOfSize, size);
+                    }
+                }
+                if (dataItem == null) {
+                    dataItem = readDataItem(dataLocations[i]);
+                    if (dataItem == null) {
+                        return i;
+                    }
+                }
+                consumer.accept(i, dataItem);
+            }
+        }
+        return count;
     }
 
     /**
@@ -238,6 +411,38 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         return fileSizeBytes.get();
     }
 
+    /**
+     * Get the total size of all data items in this file, uncompressed. For uncompressed files,
+     * it's the same as {@link #getSize()}. This method should only be called for fully written
+     * files.
+     *
+     * @return uncompressed data size in bytes
+     */
+    public long getDataSize() {
+        final CompressedBlockIndex blockIndex = metadata.getBlockIndex();
+        return (blockIndex != null) ? blockIndex.getDataSize() : getSize();
+    }
+
+    /**
+     * Get the number of blocks decompressed by this reader since the last call to this method,
+     * and reset the counter.
+     *
+     * @return number of decompressed blocks
+     */
+    public long getAndResetDecompressedBlocks() {
+        return decompressedBlocks.sumThenReset();
+    }
+
+    /**
+     * Get the time spent on block decompression by this reader since the last call to this method,
+     * and reset the counter.
+     *
+     * @return decompression time, in nanoseconds
+     */
+    public long getAndResetDecompressionNanos() {
+        return decompressionNanos.sumThenReset();
+    }
+
     /** Equals for use when comparing in collections, based on matching file paths */
     @Override
     public boolean equals(final Object o) {
@@ -297,6 +502,8 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
     @Override
     public void close() throws IOException {
         open.set(false);
+        // See the comment to mappedSegments for why the mappings aren't closed explicitly
+        mappedSegments = null;
         for (int i = 0; i < maxFileChannels; i++) {
             final FileChannel fileChannel = fileChannels.getAndSet(i, null);
             if (fileChannel != null) {
@@ -308,6 +515,98 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
     // =================================================================================================================
     // Private methods
 
+    /**
+     * Reads a delimited field (a data item, or a compressed block) at the given offset in the file.
+     * Memory mapped segments are used, if available, otherwise the field is read using a file
+     * channel.
+     *
+     * @param byteOffsetInFile Offset of the field in the file
+     * @return Buffered data containing the field bytes
+     * @throws IOException If there was a problem reading from data file
+     */
+    private BufferedData readField(final long byteOffsetInFile) throws IOException {
+        final BufferedData[] segments = mappedSegments;
+        if (segments != null) {
+            final BufferedData mappedData = readMapped(segments, byteOffsetInFile);
+            if (mappedData != null) {
+                return mappedData;
+            }
+        }
+        return read(byteOffsetInFile);
+    }
+
+    /**
+     * Reads a data item from a compressed file. If the data item is not flushed to disk yet, it's
+     * read from the writer's pending block. Otherwise the corresponding compressed block is read
+     * and decompressed, unless it's the last block decompressed by the current thread.
+     *
+     * @param blockIndex Compressed block index
+     * @param logicalOffset Data item logical offset
+     * @return Buffered data containing the data item bytes. This may be a reused per thread
+     *      buffer, so you can use it till your thread calls read again
+     * @throws IOException If there was a problem reading from data file
+     */
+    private BufferedData readCompressed(final CompressedBlockIndex blockIndex, final long logicalOffset)
+            throws IOException {
+        // The pending block must be checked before the index. When a block is flushed, it's
+        // added to the index first, and only then a new pending block is started
+        final PendingBlock pendingBlock = blockIndex.getPendingBlock();
+        if ((pendingBlock != null) && (logicalOffset >= pendingBlock.start())) {
+            return pendingBlock.readDataItem(logicalOffset);
+        }
+        final int block = blockIndex.findBlock(logicalOffset);
+        if (block < 0) {
+            throw new IOException("No compressed block found in file " + path + " for offset " + logicalOffset);
+        }
+        final DecompressedBlock cache = DECOMPRESSED_BLOCK_CACHE.get();
+        if ((cache.blockIndex != blockIndex) || (cache.block != block)) {
+            final BufferedData compressed = readField(blockIndex.getBlockPosition(block));
+            if (compressed == null) {
+                // The file channel is closed, let the caller retry with a new reader
+                return null;
+            }
+            final int uncompressedSize =
+                    Math.toIntExact(blockIndex.getBlockEnd(block) - blockIndex.getBlockStart(block));
+            final long start = System.nanoTime();
+            cache.decompress(compressed, uncompressedSize, path);
+            decompressionNanos.add(System.nanoTime() - start);
+            decompressedBlocks.increment();
+            cache.blockIndex = blockIndex;
+            cache.block = block;
+        }
+        return sliceDataItem(cache.wrapped, logicalOffset - blockIndex.getBlockStart(block));
+    }
+
+    /**
+     * Reads a data item, which is stored as a delimited protobuf field at the given offset in
+     * the buffer. No data is copied, the returned buffer is a slice of the given buffer.
+     *
+     * @param data Buffer to read from
+     * @param offset Data item offset in the buffer
+     * @return Buffered data containing the data item bytes
+     */
+    static BufferedData sliceDataItem(final BufferedData data, final long offset) {
+        final int tag = data.getVarInt(offset, false);
+        assert tag
+                == ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET) | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal());
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = data.getVarInt(offset + sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        return data.slice(offset + sizeOfTag + sizeOfSize, size);
+    }
+
+    /**
+     * Checks if a field tag read from a data file is a data item or a compressed block tag.
+     *
+     * @param tag Protobuf tag
+     * @return true if the tag is valid
+     */
+    private static boolean isDataFieldTag(final int tag) {
+        final int wireType = ProtoConstants.WIRE_TYPE_DELIMITED.ordinal();
+        return (tag == ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET) | wireType))
+                || (tag == ((FIELD_DATAFILE_BLOCKS.number() << TAG_FIELD_OFFSET) | wireType));
+    }
+
     /**
      * Opens a new file channel for reading the file, if the total number of channels opened is
      * less than {@link #maxFileChannels}. This method is safe to call from multiple threads.
@@ -397,9 +696,6 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
      * @throws ClosedChannelException if the file was closed
      */
     private BufferedData read(final long byteOffsetInFile) throws IOException {
-        // Buffer size to read data item tag and size. If the whole item is small and
-        // fits into this buffer, there is no need to make an extra file read
-        final int PRE_READ_BUF_SIZE = 2048;
         ByteBuffer readBB = BUFFER_CACHE.get();
         BufferedData readBuf = BUFFEREDDATA_CACHE.get();
         if (readBuf == null) {
@@ -427,9 +723,7 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
                 // Then read the tag and size from the read buffer, since it's wrapped over the byte buffer
                 readBuf.reset();
                 final int tag = readBuf.getVarInt(0, false); // tag
-                assert tag
-                        == ((FIELD_DATAFILE_ITEMS.number() << TAG_FIELD_OFFSET)
-                                | ProtoConstants.WIRE_TYPE_DELIMITED.ordinal());
+                assert isDataFieldTag(tag);
                 final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
                 final int size = readBuf.getVarInt(sizeOfTag, false);
                 final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
@@ -470,9 +764,155 @@ public final class DataFileReader implements AutoCloseable, Comparable<DataFileR
         throw new IOException("Failed to read from file, file channel keeps getting closed");
     }
 
+    /**
+     * Read bytes from the file starting at the given offset into the buffer, until the buffer is
+     * full or the end of the file is reached.
+     *
+     * @param dst Buffer to read bytes to
+     * @param byteOffsetInFile Offset to start reading at
+     * @return Number of bytes read, or -1 if the file is closed
+     * @throws IOException if there was a problem reading
+     */
+    private int readBytes(final ByteBuffer dst, final long byteOffsetInFile) throws IOException {
+        // The same retry logic as in read(), see comments there
+        for (int retries = 3; retries > 0; retries--) {
+            final int fcIndex = leaseFileChannel();
+            final FileChannel fileChannel = fileChannels.get(fcIndex);
+            if (fileChannel == null) {
+                return -1;
+            }
+            try {
+                return MerkleDbFileUtils.completelyRead(fileChannel, dst, byteOffsetInFile);
+            } catch (final ClosedByInterruptException e) {
+                throw e;
+            } catch (final ClosedChannelException e) {
+                reopenFileChannel(fcIndex, fileChannel);
+                dst.position(0);
+            } finally {
+                releaseFileChannel();
+            }
+        }
+        throw new IOException("Failed to read from file, file channel keeps getting closed");
+    }
+
+    /**
+     * Maps the whole file into memory in read only mode. Files larger than {@link
+     * #MMAP_SEGMENT_SIZE} are mapped in multiple overlapping segments.
+     *
+     * @param fileChannel File channel to map the file
+     * @param fileSize File size, in bytes
+     * @return Array of mapped segments
+     * @throws IOException If an I/O error occurs
+     */
+    private static BufferedData[] mapFile(final FileChannel fileChannel, final long fileSize) throws IOException {
+        final int segmentsCount = (int) Math.max(1, (fileSize + MMAP_SEGMENT_SIZE - 1) / MMAP_SEGMENT_SIZE);
+        final BufferedData[] segments = new BufferedData[segmentsCount];
+        for (int i = 0; i < segmentsCount; i++) {
+            final long segmentStart = i * MMAP_SEGMENT_SIZE;
+            final long segmentSize = Math.min(fileSize - segmentStart, MMAP_SEGMENT_SIZE + MMAP_SEGMENT_OVERLAP);
+            final MappedByteBuffer mapping = fileChannel.map(MapMode.READ_ONLY, segmentStart, segmentSize);
+            segments[i] = BufferedData.wrap(mapping);
+        }
+        return segments;
+    }
+
+    /**
+     * Reads a data item at the given file offset from memory mapped file segments. No data is
+     * copied, the returned buffer is a slice of a file segment, which remains valid even after
+     * this reader is closed.
+     *
+     * @param segments Memory mapped file segments
+     * @param byteOffsetInFile Data item offset in the file
+     * @return Buffered data containing the data item bytes, or null if the data item crosses
+     *      a segment boundary and should be read using a file channel
+     */
+    private static BufferedData readMapped(final BufferedData[] segments, final long byteOffsetInFile) {
+        final int segmentIndex = (int) (byteOffsetInFile / MMAP_SEGMENT_SIZE);
+        final BufferedData segment = segments[segmentIndex];
+        final long offsetInSegment = byteOffsetInFile - segmentIndex * MMAP_SEGMENT_SIZE;
+        // Absolute reads don't change buffer position, so a single segment can be read
+        // from multiple threads in parallel
+        final int tag = segment.getVarInt(offsetInSegment, false);
+        assert isDataFieldTag(tag);
+        final int sizeOfTag = ProtoWriterTools.sizeOfUnsignedVarInt32(tag);
+        final int size = segment.getVarInt(offsetInSegment + sizeOfTag, false);
+        final int sizeOfSize = ProtoWriterTools.sizeOfUnsignedVarInt32(size);
+        final long dataOffset = offsetInSegment + sizeOfTag + sizeOfSize;
+        if (dataOffset + size > segment.length()) {
+            return null;
+        }
+        return segment.slice(dataOffset, size);
+    }
+
+    /**
+     * The last block decompressed by a thread, cached to avoid decompressing the same block
+     * multiple times, when data items are read sequentially, e.g. during compaction.
+     */
+    private static final class DecompressedBlock {
+
+        /** Block index of the file, which the cached block belongs to */
+        private CompressedBlockIndex blockIndex = null;
+        /** Cached block number in its file */
+        private int block = -1;
+        /** Reusable buffer for compressed bytes */
+        private byte[] input = new byte[0];
+        /** Uncompressed block bytes */
+        private byte[] data = new byte[0];
+        /** Buffered data wrapped over {@link #data} */
+        private BufferedData wrapped = BufferedData.wrap(data);
+
+        private final Inflater inflater = new Inflater();
+
+        /**
+         * Decompresses a block into this cache.
+         *
+         * @param compressed Compressed block bytes
+         * @param uncompressedSize Expected uncompressed block size, in bytes
+         * @param path Data file path, used in error messages
+         * @throws IOException If the block can't be decompressed
+         */
+        private void decompress(final BufferedData compressed, final int uncompressedSize, final Path path)
+                throws IOException {
+            // If anything goes wrong below, the cache must not be used
+            blockIndex = null;
+            block = -1;
+            final int compressedSize = Math.toIntExact(compressed.remaining());
+            if (input.length < compressedSize) {
+                input = new byte[compressedSize];
+            }
+            compressed.readBytes(input, 0, compressedSize);
+            if (data.length < uncompressedSize) {
+                data = new byte[uncompressedSize];
+                wrapped = BufferedData.wrap(data);
+            }
+            inflater.reset();
+            inflater.setInput(input, 0, compressedSize);
+            int uncompressed = 0;
+            try {
+                while (uncompressed < uncompressedSize) {
+                    final int n = inflater.inflate(data, uncompressed, uncompressedSize - uncompressed);
+                    if (n == 0) {
+                        break;
+                    }
+                    uncompressed += n;
+                }
+            } catch (final DataFormatException e) {
+                throw new IOException("Failed to decompress data block in file " + path, e);
+            }
+            if (uncompressed != uncompressedSize) {
+                throw new IOException("Malformed data block in file " + path + ", expected " + uncompressedSize
+                        + " bytes, decompressed " + uncompressed);
+            }
+        }
+    }
+
     // Testing support
 
     int getFileChannelsCount() {
         return fileChannelsCount.get();
     }
+
+    boolean isMemoryMapped() {
+        return mappedSegments != null;
+    }
 }
@@ -16,12 +16,16 @@
 
 package com.swirlds.merkledb.files;
 
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCKS;
+import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_BLOCK_INDEX;
 import static com.swirlds.merkledb.files.DataFileCommon.FIELD_DATAFILE_ITEMS;
 import static com.swirlds.merkledb.files.DataFileCommon.PAGE_SIZE;
 import static com.swirlds.merkledb.files.DataFileCommon.createDataFilePath;
 
+import com.hedera.pbj.runtime.FieldDefinition;
 import com.hedera.pbj.runtime.ProtoWriterTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.swirlds.merkledb.files.CompressedBlockIndex.PendingBlock;
 import com.swirlds.merkledb.utilities.MemoryUtils;
 import java.io.IOException;
 import java.nio.BufferOverflowException;
@@ -32,7 +36,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
 /**
  * Writer for creating a data file. A data file contains a number of data items. Each data item can
@@ -44,6 +50,13 @@ import java.util.function.Consumer;
  * <p>At the end of the file it is padded till a 4096 byte page boundary then a footer page is
  * written by DataFileMetadata.
  *
+ * <p>If a compression block size is provided, data items aren't written to the file directly.
+ * Instead, they are accumulated in memory in blocks of the given size. When a block is full, it's
+ * compressed and written to the file as a single field. Data locations returned by this writer
+ * for such files are logical offsets in the uncompressed stream of data items, see {@link
+ * CompressedBlockIndex}. When the file is finished, the block index is written at the end of
+ * the file.
+ *
  * <p>Protobuf schema: see {@link DataFileReader} for details.
  */
 public final class DataFileWriter {
@@ -77,6 +90,15 @@ public final class DataFileWriter {
      */
     private long dataItemCount = 0;
 
+    /** Compressed block index, or null if this writer doesn't compress data */
+    private final CompressedBlockIndex blockIndex;
+    /** Size of uncompressed blocks, in bytes. Zero if this writer doesn't compress data */
+    private final int compressionBlockSize;
+    /** Compressor for data blocks, null if this writer doesn't compress data */
+    private final Deflater deflater;
+    /** Reusable buffer for compressed blocks */
+    private byte[] compressedBuffer;
+
     /**
      * Create a new data file in the given directory, in append mode. Puts the object into "writing"
      * mode (i.e. creates a lock file. So you'd better start writing data and be sure to finish it
@@ -94,12 +116,48 @@ public final class DataFileWriter {
             final Instant creationTime,
             final int compactionLevel)
             throws IOException {
+        this(filePrefix, dataFileDir, index, creationTime, compactionLevel, 0);
+    }
+
+    /**
+     * Create a new data file in the given directory, in append mode. Puts the object into "writing"
+     * mode (i.e. creates a lock file. So you'd better start writing data and be sure to finish it
+     * off).
+     *
+     * @param filePrefix string prefix for all files, must not contain "_" chars
+     * @param dataFileDir the path to directory to create the data file in
+     * @param index the index number for this file
+     * @param creationTime the time stamp for the creation time for this file
+     * @param compactionLevel the compaction level for this file
+     * @param compressionBlockSize the size of uncompressed data blocks, in bytes, or zero to write
+     *     data items without compression
+     */
+    public DataFileWriter(
+            final String filePrefix,
+            final Path dataFileDir,
+            final int index,
+            final Instant creationTime,
+            final int compactionLevel,
+            final int compressionBlockSize)
+            throws IOException {
         this.path = createDataFilePath(filePrefix, dataFileDir, index, creationTime, DataFileCommon.FILE_EXTENSION);
+        this.compressionBlockSize = compressionBlockSize;
+        final boolean compressed = compressionBlockSize > 0;
         metadata = new DataFileMetadata(
                 0, // data item count will be updated later in finishWriting()
                 index,
                 creationTime,
-                compactionLevel);
+                compactionLevel,
+                compressed);
+        if (compressed) {
+            blockIndex = metadata.getBlockIndex();
+            blockIndex.setPendingBlock(new PendingBlock(0, new byte[compressionBlockSize]));
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            compressedBuffer = new byte[compressionBlockSize];
+        } else {
+            blockIndex = null;
+            deflater = null;
+        }
         Files.createFile(path);
         writeHeader();
     }
@@ -162,25 +220,8 @@ public final class DataFileWriter {
      * @throws IOException if there was a problem appending data to file
      */
     public synchronized long storeDataItem(final BufferedData dataItem) throws IOException {
-        // find offset for the start of this new data item, we assume we always write data in a
-        // whole number of blocks
-        final long currentWritingMmapPos = writingPbjData.position();
-        final long byteOffset = mmapPositionInFile + currentWritingMmapPos;
-        // write serialized data
         final int size = Math.toIntExact(dataItem.remaining());
-        if (writingPbjData.remaining() < ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, size)) {
-            moveWritingBuffer(byteOffset);
-        }
-        try {
-            ProtoWriterTools.writeDelimited(writingPbjData, FIELD_DATAFILE_ITEMS, size, o -> o.writeBytes(dataItem));
-        } catch (final BufferOverflowException e) {
-            // Buffer overflow here means the mapped buffer is smaller than even a single data item
-            throw new IOException(DataFileCommon.ERROR_DATAITEM_TOO_LARGE, e);
-        }
-        // increment data item counter
-        dataItemCount++;
-        // return the offset where we wrote the data
-        return DataFileCommon.dataLocation(metadata.getIndex(), byteOffset);
+        return storeDataItem(o -> o.writeBytes(dataItem), size);
     }
 
     /**
@@ -193,19 +234,11 @@ public final class DataFileWriter {
      */
     public synchronized long storeDataItem(final Consumer<BufferedData> dataItemWriter, final int dataItemSize)
             throws IOException {
-        // find offset for the start of this new data item, we assume we always write data in a
-        // whole number of blocks
-        final long currentWritingMmapPos = writingPbjData.position();
-        final long byteOffset = mmapPositionInFile + currentWritingMmapPos;
-        // write serialized data
-        if (writingPbjData.remaining() < ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, dataItemSize)) {
-            moveWritingBuffer(byteOffset);
-        }
-        try {
-            ProtoWriterTools.writeDelimited(writingPbjData, FIELD_DATAFILE_ITEMS, dataItemSize, dataItemWriter);
-        } catch (final BufferOverflowException e) {
-            // Buffer overflow here means the mapped buffer is smaller than even a single data item
-            throw new IOException(DataFileCommon.ERROR_DATAITEM_TOO_LARGE, e);
+        final long byteOffset;
+        if (blockIndex == null) {
+            byteOffset = writeField(FIELD_DATAFILE_ITEMS, dataItemSize, dataItemWriter);
+        } else {
+            byteOffset = storeToPendingBlock(dataItemWriter, dataItemSize);
         }
         // increment data item counter
         dataItemCount++;
@@ -220,6 +253,17 @@ public final class DataFileWriter {
      * @throws IOException if there was a problem sealing file or opening again as read only
      */
     public synchronized void finishWriting() throws IOException {
+        if (blockIndex != null) {
+            // The last block is added to the index before it's removed from the pending
+            // state, so it's available to readers at any moment
+            flushPendingBlock(blockIndex.getPendingBlock());
+            blockIndex.setPendingBlock(null);
+            final long blockIndexOffset =
+                    writeField(FIELD_DATAFILE_BLOCK_INDEX, blockIndex.sizeInBytes(), blockIndex::writeTo);
+            metadata.updateBlockIndexOffset(writingHeaderPbjData, blockIndexOffset);
+            deflater.end();
+            compressedBuffer = null;
+        }
         // total file size is where the current writing pos is
         final long totalFileSize = mmapPositionInFile + writingPbjData.position();
         // update data item count in the metadata and in the file
@@ -236,4 +280,85 @@ public final class DataFileWriter {
             mmapPositionInFile = totalFileSize;
         }
     }
+
+    /**
+     * Writes a delimited protobuf field to the file.
+     *
+     * @param field the field to write
+     * @param size the field size, in bytes
+     * @param writer the field writer
+     * @return the offset of the field in the file
+     * @throws IOException if there was a problem appending data to file
+     */
+    private long writeField(final FieldDefinition field, final int size, final Consumer<BufferedData> writer)
+            throws IOException {
+        // find offset for the start of this new field
+        final long currentWritingMmapPos = writingPbjData.position();
+        final long byteOffset = mmapPositionInFile + currentWritingMmapPos;
+        if (writingPbjData.remaining() < ProtoWriterTools.sizeOfDelimited(field, size)) {
+            moveWritingBuffer(byteOffset);
+        }
+        try {
+            ProtoWriterTools.writeDelimited(writingPbjData, field, size, writer);
+        } catch (final BufferOverflowException e) {
+            // Buffer overflow here means the mapped buffer is smaller than even a single data item
+            throw new IOException(DataFileCommon.ERROR_DATAITEM_TOO_LARGE, e);
+        }
+        return byteOffset;
+    }
+
+    /**
+     * Stores a data item to the current pending block. If the block doesn't have enough space
+     * for the data item, the block is compressed and written to the file, and a new pending
+     * block is started.
+     *
+     * @param dataItemWriter the data item to write
+     * @param dataItemSize the data item size, in bytes
+     * @return the logical offset of the data item
+     * @throws IOException if there was a problem appending data to file
+     */
+    private long storeToPendingBlock(final Consumer<BufferedData> dataItemWriter, final int dataItemSize)
+            throws IOException {
+        final int sizeInBlock = ProtoWriterTools.sizeOfDelimited(FIELD_DATAFILE_ITEMS, dataItemSize);
+        PendingBlock block = blockIndex.getPendingBlock();
+        if (block.out().remaining() < sizeInBlock) {
+            flushPendingBlock(block);
+            // Data items never cross block boundaries, so large items get larger blocks
+            final byte[] newBlockData = new byte[Math.max(compressionBlockSize, sizeInBlock)];
+            block = new PendingBlock(block.start() + block.out().position(), newBlockData);
+            blockIndex.setPendingBlock(block);
+        }
+        final long logicalOffset = block.start() + block.out().position();
+        ProtoWriterTools.writeDelimited(block.out(), FIELD_DATAFILE_ITEMS, dataItemSize, dataItemWriter);
+        return logicalOffset;
+    }
+
+    /**
+     * Compresses the given pending block, writes it to the file, and adds it to the block index.
+     * Empty blocks are ignored.
+     *
+     * @param block the block to flush
+     * @throws IOException if there was a problem appending data to file
+     */
+    private void flushPendingBlock(final PendingBlock block) throws IOException {
+        final int uncompressedSize = Math.toIntExact(block.out().position());
+        if (uncompressedSize == 0) {
+            return;
+        }
+        deflater.reset();
+        deflater.setInput(block.data(), 0, uncompressedSize);
+        deflater.finish();
+        int compressedSize = 0;
+        while (!deflater.finished()) {
+            if (compressedSize == compressedBuffer.length) {
+                compressedBuffer = Arrays.copyOf(compressedBuffer, compressedBuffer.length * 2);
+            }
+            compressedSize +=
+                    deflater.deflate(compressedBuffer, compressedSize, compressedBuffer.length - compressedSize);
+        }
+        final byte[] compressed = compressedBuffer;
+        final int size = compressedSize;
+        final long blockPosition = writeField(FIELD_DATAFILE_BLOCKS, size, o -> o.writeBytes(compressed, 0, size));
+        blockIndex.addBlock(block.start(), block.start() + uncompressedSize, blockPosition);
+    }
 }
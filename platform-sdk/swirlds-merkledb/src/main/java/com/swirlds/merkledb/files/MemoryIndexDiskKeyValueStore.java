@@ -24,11 +24,13 @@ import com.swirlds.merkledb.KeyRange;
 import com.swirlds.merkledb.Snapshotable;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.config.MerkleDbConfig;
+import com.swirlds.merkledb.files.DataFileCollection.DataItemConsumer;
 import com.swirlds.merkledb.files.DataFileCollection.LoadedDataCallback;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.LongSummaryStatistics;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
@@ -179,6 +181,33 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
         return fileCollection.readDataItemUsingIndex(index, key);
     }
 
+    /**
+     * Get values for multiple keys by reading them from disk in a batch. Reads are sorted by
+     * data file and offset, and adjacent reads are coalesced, see {@link
+     * DataFileCollection#readDataItemsUsingIndex(LongList, long[], DataItemConsumer)}.
+     *
+     * @param keys The keys to find and read values for
+     * @param consumer called exactly once for every key with the key index in {@code keys} and
+     *      the value, or null if not found. Values are only valid during the call
+     * @throws IOException If there was a problem reading values from files
+     */
+    public void get(final long[] keys, final DataItemConsumer consumer) throws IOException {
+        final long[] keysInRange = new long[keys.length];
+        final int[] keyIndices = new int[keys.length];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (checkKeyInRange(keys[i])) {
+                keysInRange[count] = keys[i];
+                keyIndices[count] = i;
+                count++;
+            } else {
+                consumer.accept(i, null);
+            }
+        }
+        fileCollection.readDataItemsUsingIndex(
+                index, Arrays.copyOf(keysInRange, count), (i, dataItem) -> consumer.accept(keyIndices[i], dataItem));
+    }
+
     /**
      * Close all files being used
      *
@@ -202,6 +231,24 @@ public class MemoryIndexDiskKeyValueStore implements AutoCloseable, Snapshotable
         return fileCollection.getAllCompletedFilesSizeStatistics();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public long getFilesDataSize() {
+        return fileCollection.getAllCompletedFilesDataSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getAndResetDecompressedBlocks() {
+        return fileCollection.getAndResetDecompressedBlocks();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getAndResetDecompressionNanos() {
+        return fileCollection.getAndResetDecompressionNanos();
+    }
+
     public DataFileCollection getFileCollection() {
         return fileCollection;
     }
@@ -337,6 +337,51 @@ public sealed class Bucket implements Closeable permits ParsedBucket {
         out.writeBytes(bucketData);
     }
 
+    /**
+     * Iterates over all entries in this bucket. Key bytes passed to the consumer are copies,
+     * they remain valid after this bucket is updated, cleared, or released to the pool.
+     *
+     * @param consumer the consumer to call for every bucket entry
+     */
+    public void forEachEntry(final BucketEntryConsumer consumer) {
+        bucketData.resetPosition();
+        while (bucketData.hasRemaining()) {
+            final int tag = bucketData.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_BUCKET_INDEX.number()) {
+                bucketData.skip(Integer.BYTES);
+            } else if (fieldNum == FIELD_BUCKET_ENTRIES.number()) {
+                final int entrySize = bucketData.readVarInt(false);
+                final long nextEntryOffset = bucketData.position() + entrySize;
+                int entryHashCode = 0;
+                long entryValue = 0;
+                Bytes entryKeyBytes = null;
+                while (bucketData.position() < nextEntryOffset) {
+                    final int entryTag = bucketData.readVarInt(false);
+                    final int entryFieldNum = entryTag >> TAG_FIELD_OFFSET;
+                    if (entryFieldNum == FIELD_BUCKETENTRY_HASHCODE.number()) {
+                        entryHashCode = bucketData.readInt();
+                    } else if (entryFieldNum == FIELD_BUCKETENTRY_VALUE.number()) {
+                        entryValue = bucketData.readLong();
+                    } else if (entryFieldNum == FIELD_BUCKETENTRY_KEYBYTES.number()) {
+                        final int entryKeyBytesSize = bucketData.readVarInt(false);
+                        entryKeyBytes = bucketData.getBytes(bucketData.position(), entryKeyBytesSize);
+                        bucketData.skip(entryKeyBytesSize);
+                    } else {
+                        throw new IllegalArgumentException("Unknown bucket entry field: " + entryFieldNum);
+                    }
+                }
+                if (entryKeyBytes == null) {
+                    logger.warn(MERKLE_DB.getMarker(), "Broken bucket entry");
+                } else {
+                    consumer.accept(entryHashCode, entryValue, entryKeyBytes);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown bucket field: " + fieldNum);
+            }
+        }
+    }
+
     // =================================================================================================================
     // Private API
 
@@ -420,6 +465,22 @@ public sealed class Bucket implements Closeable permits ParsedBucket {
         return "Bucket{bucketIndex=" + getBucketIndex() + ", entryCount=" + entryCount + ", size=" + size + "}";
     }
 
+    /**
+     * A consumer of bucket entries, used in {@link #forEachEntry(BucketEntryConsumer)}.
+     */
+    @FunctionalInterface
+    public interface BucketEntryConsumer {
+
+        /**
+         * Called for a single bucket entry.
+         *
+         * @param keyHashCode the entry key hash code
+         * @param value the entry value
+         * @param keyBytes the entry key bytes
+         */
+        void accept(int keyHashCode, long value, Bytes keyBytes);
+    }
+
     /**
      * Simple record for entry lookup results. If an entry is found, "found" is set to true,
      * "entryOffset" is the entry offset in bytes in the bucket buffer, entrySize is the size of entry in
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files.hashmap;
+
+import com.swirlds.merkledb.collections.LongListOffHeap;
+import com.swirlds.merkledb.collections.OffHeapUser;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A set of small Bloom filters, one per {@link HalfDiskHashMap} bucket, stored off-heap. Every
+ * filter has a fixed number of bits, which must be a power of two and a multiple of 64. Filters
+ * are built from key hash codes, so keys with equal hash codes are indistinguishable.
+ *
+ * <p>A filter is always rebuilt from scratch from the full bucket content, when the bucket is
+ * updated. This is why deleted keys don't pollute filters over time. Filter words are updated
+ * one by one, a concurrent reader may see a mix of old and new words. It's safe for keys present
+ * in both old and new bucket versions, as such keys have their bits set in both old and new words.
+ *
+ * <p>This class is not thread safe for writing, it's expected to be updated from a single thread
+ * at a time. Reads are thread safe.
+ */
+final class BucketBloomFilter implements AutoCloseable, OffHeapUser {
+
+    /** Number of bits in a single filter */
+    private final int bitsPerBucket;
+
+    /** Number of longs in a single filter */
+    private final int wordsPerBucket;
+
+    /** Number of bits to set per key */
+    private final int numHashFunctions;
+
+    /** Filter words, {@code wordsPerBucket} words per bucket, ordered by bucket index */
+    private final LongListOffHeap words;
+
+    /**
+     * Creates a new empty filter set.
+     *
+     * @param bitsPerBucket number of bits per bucket filter, must be a power of two and at least 64
+     * @param expectedEntriesPerBucket expected number of entries per bucket, used to calculate the
+     *                                 optimal number of hash functions
+     */
+    BucketBloomFilter(final int bitsPerBucket, final long expectedEntriesPerBucket) {
+        this(bitsPerBucket, expectedEntriesPerBucket, new LongListOffHeap());
+    }
+
+    /**
+     * Loads a filter set previously written with {@link #writeToFile(Path)}.
+     *
+     * @param bitsPerBucket number of bits per bucket filter, must be the same as the filter was
+     *                      created with
+     * @param expectedEntriesPerBucket expected number of entries per bucket
+     * @param file the file to load filters from
+     * @throws IOException if an I/O error occurred
+     */
+    BucketBloomFilter(final int bitsPerBucket, final long expectedEntriesPerBucket, final Path file)
+            throws IOException {
+        this(bitsPerBucket, expectedEntriesPerBucket, new LongListOffHeap(file));
+    }
+
+    private BucketBloomFilter(
+            final int bitsPerBucket, final long expectedEntriesPerBucket, final LongListOffHeap words) {
+        if ((bitsPerBucket < Long.SIZE) || (Integer.bitCount(bitsPerBucket) != 1)) {
+            throw new IllegalArgumentException("Bits per bucket must be a power of two >= 64: " + bitsPerBucket);
+        }
+        this.bitsPerBucket = bitsPerBucket;
+        this.wordsPerBucket = bitsPerBucket / Long.SIZE;
+        // k = m/n * ln(2) is the optimal number of hash functions
+        this.numHashFunctions =
+                (int) Math.max(1, Math.round((double) bitsPerBucket / expectedEntriesPerBucket * Math.log(2)));
+        this.words = words;
+    }
+
+    /**
+     * Updates the valid range of bucket indices. Must be called before filters for new buckets
+     * are updated.
+     *
+     * @param numOfBuckets the number of buckets
+     */
+    void updateValidRange(final int numOfBuckets) {
+        words.updateValidRange(0, (long) numOfBuckets * wordsPerBucket - 1);
+    }
+
+    /**
+     * Checks whether a key with the given hash code may be in the given bucket.
+     *
+     * @param bucketIndex the bucket index
+     * @param keyHashCode the key hash code
+     * @return false if the key is definitely not in the bucket, true otherwise
+     */
+    boolean mightContain(final int bucketIndex, final int keyHashCode) {
+        final long firstWord = (long) bucketIndex * wordsPerBucket;
+        final long hash = mix(keyHashCode);
+        final int h1 = (int) hash;
+        final int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < numHashFunctions; i++) {
+            final int bit = (h1 + i * h2) & (bitsPerBucket - 1);
+            final long word = words.get(firstWord + (bit >>> 6), 0);
+            if ((word & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rebuilds the filter for the given bucket from its content. If the bucket is empty, its
+     * filter is cleared.
+     *
+     * @param bucket the bucket
+     */
+    void update(final Bucket bucket) {
+        final long[] newWords = new long[wordsPerBucket];
+        if (!bucket.isEmpty()) {
+            bucket.forEachEntry((keyHashCode, value, keyBytes) -> {
+                final long hash = mix(keyHashCode);
+                final int h1 = (int) hash;
+                final int h2 = (int) (hash >>> 32) | 1;
+                for (int i = 0; i < numHashFunctions; i++) {
+                    final int bit = (h1 + i * h2) & (bitsPerBucket - 1);
+                    newWords[bit >>> 6] |= 1L << bit;
+                }
+            });
+        }
+        setWords(bucket.getBucketIndex(), newWords);
+    }
+
+    /**
+     * Clears the filter for the given bucket.
+     *
+     * @param bucketIndex the bucket index
+     */
+    void clear(final int bucketIndex) {
+        setWords(bucketIndex, new long[wordsPerBucket]);
+    }
+
+    private void setWords(final int bucketIndex, final long[] newWords) {
+        final long firstWord = (long) bucketIndex * wordsPerBucket;
+        for (int i = 0; i < wordsPerBucket; i++) {
+            // Zero is not a valid long list value, it's used for missing entries
+            if (newWords[i] == 0) {
+                if (words.get(firstWord + i, 0) != 0) {
+                    words.remove(firstWord + i);
+                }
+            } else {
+                words.put(firstWord + i, newWords[i]);
+            }
+        }
+    }
+
+    /**
+     * Writes all filters to the given file.
+     *
+     * @param file the file to write to
+     * @throws IOException if an I/O error occurred
+     */
+    void writeToFile(final Path file) throws IOException {
+        words.writeToFile(file);
+    }
+
+    int getBitsPerBucket() {
+        return bitsPerBucket;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getOffHeapConsumption() {
+        return words.getOffHeapConsumption();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        words.close();
+    }
+
+    /**
+     * Key hash codes in a single bucket share their lower bits, they can't be used as filter bit
+     * indices directly. This method spreads all hash code bits over a long (SplitMix64 finalizer).
+     */
+    private static long mix(final int keyHashCode) {
+        long z = keyHashCode * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -29,6 +29,7 @@ import com.swirlds.merkledb.collections.CASableLongIndex;
 import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.LongListDisk;
 import com.swirlds.merkledb.collections.LongListOffHeap;
+import com.swirlds.merkledb.collections.LongListSnapshotChain;
 import com.swirlds.merkledb.collections.OffHeapUser;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCollection;
@@ -44,7 +45,9 @@ import java.util.Iterator;
 import java.util.LongSummaryStatistics;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.collections.api.tuple.primitive.IntObjectPair;
@@ -59,6 +62,20 @@ import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
  * <p>This implementation depends on good hashCode() implementation on the keys, if there are too
  * many hash collisions the performance can get bad.
  *
+ * <p>The number of buckets grows with the number of entries in the map using linear hashing. New
+ * maps start with a small number of buckets. In the end of every writing session, if the average
+ * number of entries per bucket exceeds {@link #GOOD_AVERAGE_BUCKET_ENTRY_COUNT}, buckets are split
+ * one by one, in order, until the average is back to normal, or the max number of splits per
+ * session is reached. See {@link MerkleDbConfig#halfDiskHashMapBucketSplittingEnabled()} and {@link
+ * MerkleDbConfig#halfDiskHashMapMaxBucketSplitsPerFlush()}. When the number of buckets is {@code
+ * 2^L + s}, where {@code 0 <= s < 2^L}, buckets {@code [0, s)} are already split into {@code [0, s)}
+ * and {@code [2^L, 2^L + s)}, so a key with hash code {@code h} belongs to bucket {@code h mod 2^L},
+ * if it is not less than {@code s}, or to bucket {@code h mod 2^(L+1)} otherwise.
+ *
+ * <p>Every bucket may have a small in-memory Bloom filter built from key hash codes of all entries
+ * in the bucket. When enabled, lookups for keys that are not in the map are mostly answered without
+ * reading buckets from disk. See {@link MerkleDbConfig#halfDiskHashMapBucketFilterBits()}.
+ *
  * <p><b>IMPORTANT: This implementation assumes a single writing thread. There can be multiple
  * readers while writing is happening.</b>
  */
@@ -67,11 +84,25 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     private static final Logger logger = LogManager.getLogger(HalfDiskHashMap.class);
 
     /** The version number for format of current data files */
-    private static final int METADATA_FILE_FORMAT_VERSION = 1;
+    private static final int METADATA_FILE_FORMAT_VERSION = 3;
+    /**
+     * Metadata format version before bucket filters were introduced. Such metadata files don't
+     * contain the number of bits per bucket filter.
+     */
+    private static final int METADATA_FILE_FORMAT_VERSION_NO_FILTERS = 2;
+    /**
+     * Metadata format version before bucket splitting was introduced. Such metadata files don't
+     * contain the number of entries in the map.
+     */
+    private static final int METADATA_FILE_FORMAT_VERSION_FIXED_BUCKETS = 1;
     /** Metadata file name suffix with extension. */
     private static final String METADATA_FILENAME_SUFFIX = "_metadata.hdhm";
     /** Bucket index file name suffix with extension */
     private static final String BUCKET_INDEX_FILENAME_SUFFIX = "_bucket_index.ll";
+    /** Bucket filters file name suffix with extension */
+    private static final String BUCKET_FILTER_FILENAME_SUFFIX = "_bucket_filter.ll";
+    /** The name of the directory with incremental snapshots of the bucket index */
+    private static final String SNAPSHOT_CHAIN_DIRECTORY_NAME = "snapshotChain";
     /**
      * A marker to indicate that a value should be deleted from the map, or that there is
      * no old value to compare against in putIfEqual/deleteIfEqual
@@ -86,6 +117,15 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
      */
     private static final long GOOD_AVERAGE_BUCKET_ENTRY_COUNT = 32;
 
+    /**
+     * The max number of buckets a new map is created with. Maps sized for a large number of keys
+     * don't allocate all their buckets upfront, buckets are split as the map grows instead.
+     */
+    private static final int MAX_INITIAL_NUM_OF_BUCKETS = 1 << 12;
+
+    /** The max number of buckets a map can grow to. Bucket indices must fit into an int. */
+    private static final int MAX_NUM_OF_BUCKETS = 1 << 30;
+
     /** The limit on the number of concurrent read tasks in {@code endWriting()} */
     private static final int MAX_IN_FLIGHT = 1024;
 
@@ -94,14 +134,40 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
      * bucket
      */
     private final LongList bucketIndexToBucketLocation;
+    /** Incremental snapshots of the bucket index, or null if incremental snapshots are disabled */
+    private final LongListSnapshotChain bucketIndexSnapshotChain;
     /** DataFileCollection manages the files storing the buckets on disk */
     private final DataFileCollection fileCollection;
 
     /**
-     * This is the next power of 2 bigger than minimumBuckets. It needs to be a power of two, so
-     * that we can optimize and avoid the cost of doing a % to find the bucket index from hash code.
+     * The current number of buckets. It is only changed by the writing thread in the end of
+     * {@link #endWriting()}, when buckets are split. Readers may see the number of buckets changed
+     * while they are reading a bucket, see {@link #get(Bytes, int, long)} for details.
      */
-    private final int numOfBuckets;
+    private volatile int numOfBuckets;
+
+    /**
+     * The number of entries in this map. It's used to decide when buckets need to be split. For
+     * maps created before bucket splitting was introduced, this number is not known, and it's
+     * counted from zero, so it may be less than the actual number of entries. Such maps had all
+     * their buckets created upfront, and this is safe.
+     */
+    private final AtomicLong numOfEntries = new AtomicLong();
+
+    /** Bucket Bloom filters, or null if filters are disabled in MerkleDb config */
+    private final BucketBloomFilter bucketFilter;
+
+    /** If false, buckets are never split, see {@link MerkleDbConfig#halfDiskHashMapBucketSplittingEnabled()} */
+    private final boolean bucketSplittingEnabled;
+
+    /** Max number of buckets to split in a single {@link #endWriting()} call */
+    private final int maxBucketSplitsPerFlush;
+
+    /** Number of lookups answered by bucket filters without reading buckets from disk */
+    private final LongAdder filterNegativeLookups = new LongAdder();
+
+    /** Number of lookups when a bucket was read from disk because of its filter, but the key wasn't found */
+    private final LongAdder filterFalsePositiveLookups = new LongAdder();
     /**
      * The requested max size for the map, this is the maximum number of key/values expected to be
      * stored in this map.
@@ -204,7 +270,13 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             throws IOException {
         this.mapSize = mapSize;
         this.storeName = storeName;
+        this.bucketSplittingEnabled = config.halfDiskHashMapBucketSplittingEnabled();
+        this.maxBucketSplitsPerFlush = config.halfDiskHashMapMaxBucketSplitsPerFlush();
         Path indexFile = storeDir.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX);
+        final Path filterFile = storeDir.resolve(storeName + BUCKET_FILTER_FILENAME_SUFFIX);
+        final int filterBits = config.halfDiskHashMapBucketFilterBits();
+        // if true, bucket filters are rebuilt from all buckets on disk, once the files are loaded
+        boolean rebuildFilter = false;
         // create bucket pool
         this.bucketPool = new ReusableBucketPool(Bucket::new);
         // load or create new
@@ -213,6 +285,7 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             // load metadata
             Path metaDataFile = storeDir.resolve(storeName + METADATA_FILENAME_SUFFIX);
             boolean loadedLegacyMetadata = false;
+            int loadedFilterBits = 0;
             if (!Files.exists(metaDataFile)) {
                 metaDataFile = storeDir.resolve(legacyStoreName + METADATA_FILENAME_SUFFIX);
                 indexFile = storeDir.resolve(legacyStoreName + BUCKET_INDEX_FILENAME_SUFFIX);
@@ -221,7 +294,9 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             if (Files.exists(metaDataFile)) {
                 try (DataInputStream metaIn = new DataInputStream(Files.newInputStream(metaDataFile))) {
                     final int fileVersion = metaIn.readInt();
-                    if (fileVersion != METADATA_FILE_FORMAT_VERSION) {
+                    if ((fileVersion != METADATA_FILE_FORMAT_VERSION)
+                            && (fileVersion != METADATA_FILE_FORMAT_VERSION_NO_FILTERS)
+                            && (fileVersion != METADATA_FILE_FORMAT_VERSION_FIXED_BUCKETS)) {
                         throw new IOException("Tried to read a file with incompatible file format version ["
                                 + fileVersion
                                 + "], expected ["
@@ -230,6 +305,15 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                     }
                     metaIn.readInt(); // backwards compatibility, was: minimumBuckets
                     numOfBuckets = metaIn.readInt();
+                    // Maps with fixed number of buckets always have a power of two buckets. Their bucket
+                    // index files are valid linear hashing indices with no buckets split yet, so no
+                    // migration is needed other than the metadata format
+                    if (fileVersion != METADATA_FILE_FORMAT_VERSION_FIXED_BUCKETS) {
+                        numOfEntries.set(metaIn.readLong());
+                    }
+                    if (fileVersion == METADATA_FILE_FORMAT_VERSION) {
+                        loadedFilterBits = metaIn.readInt();
+                    }
                 }
                 if (loadedLegacyMetadata) {
                     Files.delete(metaDataFile);
@@ -248,28 +332,52 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             if (Files.exists(indexFile) && !forceIndexRebuilding) {
                 bucketIndexToBucketLocation =
                         preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap(indexFile);
+                LongListSnapshotChain.load(bucketIndexToBucketLocation, indexFile);
                 loadedDataCallback = null;
             } else {
                 // create new index and setup call back to rebuild
                 bucketIndexToBucketLocation =
                         preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap();
-                loadedDataCallback = (dataLocation, bucketData) -> {
+                // Data files are loaded in parallel, only replace index entries with entries from newer files
+                loadedDataCallback = (dataLocation, bucketData, dataLocationOrder) -> {
                     final Bucket bucket = bucketPool.getBucket();
                     bucket.readFrom(bucketData);
-                    bucketIndexToBucketLocation.put(bucket.getBucketIndex(), dataLocation);
+                    bucketIndexToBucketLocation.putIfGreater(bucket.getBucketIndex(), dataLocation, dataLocationOrder);
+                    bucketPool.releaseBucket(bucket);
                 };
             }
+            // load or rebuild bucket filters. Filters are rebuilt, if the index is rebuilt, too, so
+            // they are consistent with the index
+            if (filterBits > 0) {
+                if ((loadedFilterBits == filterBits)
+                        && !loadedLegacyMetadata
+                        && (loadedDataCallback == null)
+                        && Files.exists(filterFile)) {
+                    bucketFilter = new BucketBloomFilter(filterBits, GOOD_AVERAGE_BUCKET_ENTRY_COUNT, filterFile);
+                } else {
+                    bucketFilter = new BucketBloomFilter(filterBits, GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
+                    rebuildFilter = true;
+                }
+            } else {
+                bucketFilter = null;
+            }
         } else {
             // create store dir
             Files.createDirectories(storeDir);
             // create new index
             bucketIndexToBucketLocation = preferDiskBasedIndex ? new LongListDisk(indexFile) : new LongListOffHeap();
             // calculate number of entries we can store in a disk page
-            final int minimumBuckets = (int) (mapSize / GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
-            // numOfBuckets is the nearest power of two greater than minimumBuckets with a min of 2
+            final int minimumBuckets = (int) Math.min(mapSize / GOOD_AVERAGE_BUCKET_ENTRY_COUNT, MAX_NUM_OF_BUCKETS);
+            // numOfBuckets is the nearest power of two greater than minimumBuckets with a min of 2. If
+            // buckets can be split, it is capped, more buckets will be created as the map grows
             numOfBuckets = Math.max(Integer.highestOneBit(minimumBuckets) * 2, 2);
+            if (bucketSplittingEnabled) {
+                numOfBuckets = Math.min(numOfBuckets, MAX_INITIAL_NUM_OF_BUCKETS);
+            }
             // we are new so no need for a loadedDataCallback
             loadedDataCallback = null;
+            // all buckets are empty, so are their filters
+            bucketFilter = (filterBits > 0) ? new BucketBloomFilter(filterBits, GOOD_AVERAGE_BUCKET_ENTRY_COUNT) : null;
             // write metadata
             writeMetadata(storeDir);
             logger.info(
@@ -280,10 +388,45 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                     numOfBuckets);
         }
         bucketIndexToBucketLocation.updateValidRange(0, numOfBuckets - 1);
+        if (bucketFilter != null) {
+            bucketFilter.updateValidRange(numOfBuckets);
+        }
+        bucketIndexSnapshotChain = config.incrementalSnapshotsEnabled()
+                ? new LongListSnapshotChain(
+                        storeDir.resolve(SNAPSHOT_CHAIN_DIRECTORY_NAME),
+                        storeName + BUCKET_INDEX_FILENAME_SUFFIX,
+                        config.maxSnapshotDeltaChainLength())
+                : null;
         // create file collection
         fileCollection = new DataFileCollection(
                 // Need: propagate MerkleDb config from the database
                 config, storeDir, storeName, legacyStoreName, loadedDataCallback);
+        if (rebuildFilter) {
+            rebuildBucketFilter();
+        }
+    }
+
+    /**
+     * Rebuilds bucket filters from all buckets on disk. Called on startup, if filters can't be
+     * loaded from a file, e.g. when loading a map saved before filters were introduced.
+     *
+     * @throws IOException If there was a problem reading buckets
+     */
+    private void rebuildBucketFilter() throws IOException {
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < numOfBuckets; i++) {
+            try (final Bucket bucket = readBucket(i)) {
+                if (bucket != null) {
+                    bucketFilter.update(bucket);
+                }
+            }
+        }
+        logger.info(
+                MERKLE_DB.getMarker(),
+                "HalfDiskHashMap [{}] rebuilt bucket filters for {} buckets in {} ms",
+                storeName,
+                numOfBuckets,
+                System.currentTimeMillis() - start);
     }
 
     private void writeMetadata(final Path dir) throws IOException {
@@ -292,6 +435,8 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
             metaOut.writeInt(METADATA_FILE_FORMAT_VERSION);
             metaOut.writeInt(0); // backwards compatibility, was: minimumBuckets
             metaOut.writeInt(numOfBuckets);
+            metaOut.writeLong(numOfEntries.get());
+            metaOut.writeInt(bucketFilter != null ? bucketFilter.getBitsPerBucket() : 0);
             metaOut.flush();
         }
     }
@@ -301,7 +446,16 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         // create snapshot directory if needed
         Files.createDirectories(snapshotDirectory);
         // write index to file
-        bucketIndexToBucketLocation.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX));
+        final Path indexFile = snapshotDirectory.resolve(storeName + BUCKET_INDEX_FILENAME_SUFFIX);
+        if (bucketIndexSnapshotChain != null) {
+            bucketIndexSnapshotChain.snapshot(bucketIndexToBucketLocation, indexFile);
+        } else {
+            bucketIndexToBucketLocation.writeToFile(indexFile);
+        }
+        // write bucket filters to file
+        if (bucketFilter != null) {
+            bucketFilter.writeToFile(snapshotDirectory.resolve(storeName + BUCKET_FILTER_FILENAME_SUFFIX));
+        }
         // snapshot files
         fileCollection.snapshot(snapshotDirectory);
         // write metadata
@@ -313,10 +467,11 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
      */
     @Override
     public long getOffHeapConsumption() {
+        long result = (bucketFilter != null) ? bucketFilter.getOffHeapConsumption() : 0;
         if (bucketIndexToBucketLocation instanceof LongListOffHeap offheapIndex) {
-            return offheapIndex.getOffHeapConsumption();
+            result += offheapIndex.getOffHeapConsumption();
         }
-        return 0;
+        return result;
     }
 
     /**
@@ -326,6 +481,24 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         return fileCollection.getAllCompletedFilesSizeStatistics();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public long getFilesDataSize() {
+        return fileCollection.getAllCompletedFilesDataSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getAndResetDecompressedBlocks() {
+        return fileCollection.getAndResetDecompressedBlocks();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getAndResetDecompressionNanos() {
+        return fileCollection.getAndResetDecompressionNanos();
+    }
+
     /**
      * Close this HalfDiskHashMap's data files. Once closed this HalfDiskHashMap can not be reused.
      * You should make sure you call close before system exit otherwise any files being written
@@ -339,6 +512,9 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         // file operations still running, but the index is already closed
         fileCollection.close();
         bucketIndexToBucketLocation.close();
+        if (bucketFilter != null) {
+            bucketFilter.close();
+        }
     }
 
     // =================================================================================================================
@@ -486,6 +662,8 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                 if (exceptionOccurred.get() != null) {
                     throw exceptionOccurred.get();
                 }
+                // grow the map, if needed. Split buckets are written to the same data file
+                splitBuckets();
                 // close files session
                 dataFileReader = fileCollection.endWriting(0, numOfBuckets);
                 // we have updated all indexes so the data file can now be included in merges
@@ -610,7 +788,9 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                     }
                 }
                 // Apply all updates
+                final int entriesBefore = bucket.getBucketEntryCount();
                 keyUpdates.forEachKeyValue(bucket::putValue);
+                numOfEntries.addAndGet(bucket.getBucketEntryCount() - entriesBefore);
                 // Schedule a "store bucket" task for this bucket
                 createAndScheduleStoreTask(bucket);
                 return true;
@@ -654,6 +834,10 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         protected boolean exec() {
             try (bucket) {
                 final int bucketIndex = bucket.getBucketIndex();
+                // Update the filter before the index, so readers never see a new bucket with an old filter
+                if (bucketFilter != null) {
+                    bucketFilter.update(bucket);
+                }
                 if (bucket.isEmpty()) {
                     // bucket is missing or empty, remove it from the index
                     bucketIndexToBucketLocation.remove(bucketIndex);
@@ -721,13 +905,29 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
         if (keyBytes == null) {
             throw new IllegalArgumentException("Can not get a null key");
         }
-        final int bucketIndex = computeBucketIndex(keyHashCode);
-        try (final Bucket bucket = readBucket(bucketIndex)) {
-            if (bucket != null) {
-                return bucket.findValue(keyHashCode, keyBytes, notFoundValue);
+        while (true) {
+            final int bucketsCount = numOfBuckets;
+            final int bucketIndex = computeBucketIndex(bucketsCount, keyHashCode);
+            long value = notFoundValue;
+            if ((bucketFilter != null) && !bucketFilter.mightContain(bucketIndex, keyHashCode)) {
+                filterNegativeLookups.increment();
+            } else {
+                try (final Bucket bucket = readBucket(bucketIndex)) {
+                    if (bucket != null) {
+                        value = bucket.findValue(keyHashCode, keyBytes, notFoundValue);
+                    }
+                }
+                if ((bucketFilter != null) && (value == notFoundValue)) {
+                    filterFalsePositiveLookups.increment();
+                }
+            }
+            // If the key is not found, it may be because the bucket has just been split, and the
+            // key was moved to the new bucket. Buckets can only be split in one direction, so if
+            // the number of buckets is still the same, the key is not in the map
+            if ((value != notFoundValue) || (bucketsCount == numOfBuckets)) {
+                return value;
             }
         }
-        return notFoundValue;
     }
 
     private Bucket readBucket(final int bucketIndex) throws IOException {
@@ -751,13 +951,55 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
                         HalfDiskHashMap Stats {
                         	mapSize = {}
                         	numOfBuckets = {}
+                        	numOfEntries = {}
                         	GOOD_AVERAGE_BUCKET_ENTRY_COUNT = {}
                         }""",
                 mapSize,
                 numOfBuckets,
+                numOfEntries.get(),
                 GOOD_AVERAGE_BUCKET_ENTRY_COUNT);
     }
 
+    /**
+     * Get the current number of buckets in this map.
+     *
+     * @return the number of buckets
+     */
+    public int getNumOfBuckets() {
+        return numOfBuckets;
+    }
+
+    /**
+     * Get the number of entries in this map. For maps created before bucket splitting was
+     * introduced, this number only reflects the changes made since the map was loaded.
+     *
+     * @return the number of entries
+     */
+    public long getNumOfEntries() {
+        return numOfEntries.get();
+    }
+
+    /**
+     * Get the number of lookups answered by bucket filters without reading buckets from disk
+     * since the last call to this method, and reset the counter.
+     *
+     * @return the number of lookups
+     */
+    public long getAndResetFilterNegativeLookups() {
+        return filterNegativeLookups.sumThenReset();
+    }
+
+    /**
+     * Get the number of lookups, when a bucket was read from disk because its filter indicated
+     * the key might be there, but the key wasn't found, since the last call to this method, and
+     * reset the counter.
+     *
+     * @return the number of lookups
+     */
+    public long getAndResetFilterFalsePositiveLookups() {
+        return filterFalsePositiveLookups.sumThenReset();
+    }
+
     public DataFileCollection getFileCollection() {
         return fileCollection;
     }
@@ -770,14 +1012,127 @@ public class HalfDiskHashMap implements AutoCloseable, Snapshotable, FileStatist
     // Private API
 
     /**
-     * Computes which bucket a key with the given hash falls. Depends on the fact the numOfBuckets
-     * is a power of two. Based on same calculation that is used in java HashMap.
+     * Computes which bucket a key with the given hash falls using the current number of buckets.
      *
      * @param keyHash the int hash for key
      * @return the index of the bucket that key falls in
      */
     private int computeBucketIndex(final int keyHash) {
-        return (numOfBuckets - 1) & keyHash;
+        return computeBucketIndex(numOfBuckets, keyHash);
+    }
+
+    /**
+     * Computes which bucket a key with the given hash falls, given the number of buckets. See
+     * class javadoc for details about bucket splitting.
+     *
+     * @param bucketsCount the number of buckets
+     * @param keyHash the int hash for key
+     * @return the index of the bucket that key falls in
+     */
+    static int computeBucketIndex(final int bucketsCount, final int keyHash) {
+        final int base = Integer.highestOneBit(bucketsCount);
+        final int bucketIndex = (base - 1) & keyHash;
+        return (bucketIndex < bucketsCount - base) ? ((base << 1) - 1) & keyHash : bucketIndex;
+    }
+
+    /**
+     * Splits buckets until the average number of entries per bucket is not greater than {@link
+     * #GOOD_AVERAGE_BUCKET_ENTRY_COUNT}, but no more than {@link #maxBucketSplitsPerFlush} buckets.
+     * If more buckets are needed, they are split in the next writing sessions. Must be called on
+     * the writing thread, while the data file collection is open for writing.
+     *
+     * @throws IOException If there was a problem reading or writing buckets
+     */
+    private void splitBuckets() throws IOException {
+        if (!bucketSplittingEnabled) {
+            return;
+        }
+        final int bucketsCountBefore = numOfBuckets;
+        final long neededNumOfBuckets = Math.max(numOfEntries.get(), 0) / GOOD_AVERAGE_BUCKET_ENTRY_COUNT;
+        final long targetNumOfBuckets = Math.min(
+                Math.min(neededNumOfBuckets, (long) bucketsCountBefore + maxBucketSplitsPerFlush), MAX_NUM_OF_BUCKETS);
+        if (targetNumOfBuckets <= bucketsCountBefore) {
+            return;
+        }
+        bucketIndexToBucketLocation.updateValidRange(0, targetNumOfBuckets - 1);
+        if (bucketFilter != null) {
+            bucketFilter.updateValidRange((int) targetNumOfBuckets);
+        }
+        while (numOfBuckets < targetNumOfBuckets) {
+            splitBucket();
+        }
+        logger.info(
+                MERKLE_DB.getMarker(),
+                "HalfDiskHashMap [{}] split buckets, numOfBuckets {} -> {}, numOfEntries={}",
+                storeName,
+                bucketsCountBefore,
+                numOfBuckets,
+                numOfEntries.get());
+    }
+
+    /**
+     * Splits the next bucket and increments the number of buckets. Bucket {@code s} is split
+     * into buckets {@code s} and {@code 2^L + s}, where {@code 2^L + s} is the current number of
+     * buckets.
+     *
+     * <p>The order of operations is important, as there may be concurrent readers. First, the
+     * new bucket is stored, then the number of buckets is updated, and only then the bucket
+     * being split is rewritten without the moved entries. Readers that use the new number of
+     * buckets always find keys either in the new bucket or in the old one, which still contains
+     * all entries till it's rewritten. Readers that use the old number of buckets may miss keys
+     * moved to the new bucket, they retry, see {@link #get(Bytes, int, long)}.
+     *
+     * @throws IOException If there was a problem reading or writing buckets
+     */
+    private void splitBucket() throws IOException {
+        final int bucketsCount = numOfBuckets;
+        final int base = Integer.highestOneBit(bucketsCount);
+        final int splitBucketIndex = bucketsCount - base;
+        final int newBucketIndex = bucketsCount;
+        final int newMask = (base << 1) - 1;
+        try (final Bucket bucket = readBucket(splitBucketIndex)) {
+            if (bucket == null) {
+                // Nothing to move, the new bucket is empty
+                if (bucketFilter != null) {
+                    bucketFilter.clear(newBucketIndex);
+                }
+                numOfBuckets = bucketsCount + 1;
+                return;
+            }
+            try (final Bucket lowerBucket = bucketPool.getBucket();
+                    final Bucket upperBucket = bucketPool.getBucket()) {
+                lowerBucket.setBucketIndex(splitBucketIndex);
+                upperBucket.setBucketIndex(newBucketIndex);
+                bucket.forEachEntry((keyHashCode, value, keyBytes) -> {
+                    final Bucket target = ((keyHashCode & newMask) == splitBucketIndex) ? lowerBucket : upperBucket;
+                    target.putValue(keyBytes, keyHashCode, value);
+                });
+                // The new bucket filter must be set before the number of buckets is updated, and the
+                // split bucket filter must be updated after that, see get() for details
+                if (bucketFilter != null) {
+                    bucketFilter.update(upperBucket);
+                }
+                if (!upperBucket.isEmpty()) {
+                    final long upperLocation =
+                            fileCollection.storeDataItem(upperBucket::writeTo, upperBucket.sizeInBytes());
+                    bucketIndexToBucketLocation.put(newBucketIndex, upperLocation);
+                }
+                numOfBuckets = bucketsCount + 1;
+                if (upperBucket.isEmpty()) {
+                    // Nothing moved, no need to rewrite the split bucket
+                    return;
+                }
+                if (bucketFilter != null) {
+                    bucketFilter.update(lowerBucket);
+                }
+                // The split bucket is stored even if it's empty. If it was removed from the index
+                // instead, the index rebuilt from data files would point to the old bucket on disk,
+                // bringing back the moved entries
+                final long lowerLocation =
+                        fileCollection.storeDataItem(lowerBucket::writeTo, lowerBucket.sizeInBytes());
+                bucketIndexToBucketLocation.put(splitBucketIndex, lowerLocation);
+            }
+        }
     }
 
     private record ReadBucketResult(Bucket bucket, Throwable error) {
@@ -197,6 +197,16 @@ public final class ParsedBucket extends Bucket {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachEntry(final BucketEntryConsumer consumer) {
+        for (final BucketEntry entry : entries) {
+            consumer.accept(entry.getHashCode(), entry.getValue(), entry.getKeyBytes());
+        }
+    }
+
     // =================================================================================================================
     // Private API
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb;
+
+import static com.swirlds.virtualmap.datasource.VirtualDataSource.INVALID_PATH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class LeafRecordCacheTest {
+
+    private static Bytes key(final int i) {
+        return Bytes.wrap(new byte[] {(byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i});
+    }
+
+    private static VirtualLeafBytes record(final int i) {
+        final Bytes key = key(i);
+        return new VirtualLeafBytes(i, key, key.hashCode(), Bytes.wrap(new byte[16]));
+    }
+
+    @Test
+    void invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LeafRecordCache(0, 1024, () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new LeafRecordCache(-1, 1024, () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new LeafRecordCache(1024, -1, () -> {}));
+    }
+
+    @Test
+    void putGetInvalidate() {
+        final LeafRecordCache cache = new LeafRecordCache(Integer.MAX_VALUE, 1024 * 1024, () -> {});
+        final VirtualLeafBytes record = record(1);
+        assertNull(cache.get(record.keyBytes(), record.keyHashCode()), "Cache should be empty");
+        cache.put(record.keyHashCode(), record);
+        assertSame(record, cache.get(key(1), record.keyHashCode()), "Record should be cached");
+        assertEquals(LeafRecordCache.weight(record), cache.getSizeInBytes(), "Wrong cache size");
+
+        // Replace with a path-only record
+        final VirtualLeafBytes pathOnly = new VirtualLeafBytes(INVALID_PATH, key(1), record.keyHashCode(), null);
+        cache.put(pathOnly.keyHashCode(), pathOnly);
+        assertSame(pathOnly, cache.get(key(1), record.keyHashCode()), "Record should be replaced");
+        assertEquals(1, cache.size(), "Wrong number of cached records");
+        assertEquals(LeafRecordCache.weight(pathOnly), cache.getSizeInBytes(), "Wrong cache size");
+
+        cache.invalidate(key(1), record.keyHashCode());
+        assertNull(cache.get(key(1), record.keyHashCode()), "Record should be invalidated");
+        assertEquals(0, cache.getSizeInBytes(), "Cache should be empty");
+        // No-op
+        cache.invalidate(key(2), key(2).hashCode());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        final long maxSize = 256 * 1024;
+        final AtomicInteger evictions = new AtomicInteger();
+        final LeafRecordCache cache = new LeafRecordCache(Integer.MAX_VALUE, maxSize, evictions::incrementAndGet);
+        final int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            final VirtualLeafBytes record = record(i);
+            cache.put(record.keyHashCode(), record);
+            assertTrue(cache.getSizeInBytes() <= maxSize, "Cache is over budget");
+        }
+        final long weight = LeafRecordCache.weight(record(0));
+        assertTrue(cache.size() > maxSize / weight / 2, "Too few records in the cache");
+        assertEquals(count - cache.size(), evictions.get(), "Wrong number of evictions");
+    }
+
+    @Test
+    void entryCountIsBounded() {
+        final int maxEntries = 10_000;
+        final AtomicInteger evictions = new AtomicInteger();
+        // No limit in bytes
+        final LeafRecordCache cache = new LeafRecordCache(maxEntries, 0, evictions::incrementAndGet);
+        final int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            final VirtualLeafBytes record = record(i);
+            cache.put(record.keyHashCode(), record);
+            assertTrue(cache.size() <= maxEntries, "Too many records in the cache");
+        }
+        assertTrue(cache.size() > maxEntries / 2, "Too few records in the cache");
+        assertEquals(count - cache.size(), evictions.get(), "Wrong number of evictions");
+    }
+
+    @Test
+    void hotKeysAreRetained() {
+        final LeafRecordCache cache = new LeafRecordCache(Integer.MAX_VALUE, 256 * 1024, () -> {});
+        final int hotCount = 16;
+        for (int i = 0; i < hotCount; i++) {
+            final VirtualLeafBytes record = record(i);
+            cache.put(record.keyHashCode(), record);
+        }
+        // Scan through many cold keys, while hot keys are accessed
+        for (int i = hotCount; i < 100_000; i++) {
+            final VirtualLeafBytes record = record(i);
+            cache.put(record.keyHashCode(), record);
+            final Bytes hotKey = key(i % hotCount);
+            assertNotNull(cache.get(hotKey, hotKey.hashCode()), "Hot key must not be evicted");
+        }
+    }
+
+    @Test
+    void largeRecordsAreNotCached() {
+        final LeafRecordCache cache = new LeafRecordCache(Integer.MAX_VALUE, 1024, () -> {});
+        final Bytes key = key(1);
+        final VirtualLeafBytes record = new VirtualLeafBytes(1, key, key.hashCode(), Bytes.wrap(new byte[2048]));
+        cache.put(record.keyHashCode(), record);
+        assertNull(cache.get(key, key.hashCode()), "Record larger than the cache must not be cached");
+    }
+
+    @Test
+    void manyInvalidations() {
+        final LeafRecordCache cache = new LeafRecordCache(Integer.MAX_VALUE, 1024 * 1024, () -> {});
+        for (int i = 0; i < 100_000; i++) {
+            final VirtualLeafBytes record = record(i);
+            cache.put(record.keyHashCode(), record);
+            cache.invalidate(record.keyBytes(), record.keyHashCode());
+        }
+        assertEquals(0, cache.size(), "Cache should be empty");
+        assertEquals(0, cache.getSizeInBytes(), "Cache should be empty");
+    }
+}
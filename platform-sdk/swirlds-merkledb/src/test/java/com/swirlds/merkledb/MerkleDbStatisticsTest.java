@@ -84,6 +84,13 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(statistics::countHashReads);
         assertDoesNotThrow(statistics::countLeafReads);
         assertDoesNotThrow(statistics::countLeafKeyReads);
+        assertDoesNotThrow(() -> statistics.countLeafKeyFilterNegativeReads(42));
+        assertDoesNotThrow(() -> statistics.setLeafKeyFilterFalsePositiveRate(0.01));
+        assertDoesNotThrow(() -> statistics.countDecompressedBlocks(42));
+        assertDoesNotThrow(() -> statistics.setDecompressionTimeUs(Math.PI));
+        assertDoesNotThrow(statistics::countLeafCacheHits);
+        assertDoesNotThrow(statistics::countLeafCacheMisses);
+        assertDoesNotThrow(statistics::countLeafCacheEvictions);
         assertDoesNotThrow(() -> statistics.setHashesStoreFileCount(42));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileSizeMb(31415));
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreFileCount(42));
@@ -91,6 +98,9 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(() -> statistics.setLeavesStoreFileCount(42));
         assertDoesNotThrow(() -> statistics.setLeavesStoreFileSizeMb(31415));
         assertDoesNotThrow(() -> statistics.setTotalFileSizeMb(314159));
+        assertDoesNotThrow(() -> statistics.setCompressionRatio(Math.PI));
+        assertDoesNotThrow(() -> statistics.setStoresLoadTimeMs(42));
+        assertDoesNotThrow(() -> statistics.setRebuiltIndexEntries(314159));
         assertDoesNotThrow(() -> statistics.setHashesStoreCompactionTimeMs(compactionLevel, 314));
         assertDoesNotThrow(() -> statistics.setHashesStoreCompactionSavedSpaceMb(compactionLevel, Math.PI));
         assertDoesNotThrow(() -> statistics.setHashesStoreFileSizeByLevelMb(compactionLevel, Math.PI));
@@ -100,6 +110,12 @@ class MerkleDbStatisticsTest {
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreCompactionTimeMs(compactionLevel, 314));
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreCompactionSavedSpaceMb(compactionLevel, Math.PI));
         assertDoesNotThrow(() -> statistics.setLeafKeysStoreFileSizeByLevelMb(compactionLevel, Math.PI));
+        assertDoesNotThrow(() -> statistics.addHashesStoreCompactionRewrittenMb(Math.PI));
+        assertDoesNotThrow(() -> statistics.addLeavesStoreCompactionRewrittenMb(Math.PI));
+        assertDoesNotThrow(() -> statistics.addLeafKeysStoreCompactionRewrittenMb(Math.PI));
+        assertDoesNotThrow(() -> statistics.setHashesStoreCompactionDebtMb(42));
+        assertDoesNotThrow(() -> statistics.setLeavesStoreCompactionDebtMb(42));
+        assertDoesNotThrow(() -> statistics.setLeafKeysStoreCompactionDebtMb(42));
         assertDoesNotThrow(() -> statistics.setOffHeapHashesIndexMb(42));
         assertDoesNotThrow(() -> statistics.setOffHeapLeavesIndexMb(42));
         assertDoesNotThrow(() -> statistics.setOffHeapObjectKeyBucketsIndexMb(42));
@@ -166,6 +182,106 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testCountLeafKeyFilterNegativeReads() {
+        // given
+        final Metric metric = getMetric("reads_", "leafKeysFilterNegatives_" + LABEL);
+        // when
+        statistics.countLeafKeyFilterNegativeReads(42);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSetLeafKeyFilterFalsePositiveRate() {
+        // given
+        final Metric metric = getMetric("reads_", "leafKeysFilterFalsePositiveRate_" + LABEL);
+        // when
+        statistics.setLeafKeyFilterFalsePositiveRate(0.01);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCountDecompressedBlocks() {
+        // given
+        final Metric metric = getMetric("reads_", "decompressedBlocks_" + LABEL);
+        // when
+        statistics.countDecompressedBlocks(42);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSetDecompressionTimeUs() {
+        // given
+        final Metric metric = getMetric("reads_", "decompressionTimeUs_" + LABEL);
+        // when
+        statistics.setDecompressionTimeUs(Math.PI);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSetCompressionRatio() {
+        // given
+        final Metric metric = getMetric("files_", "compressionRatio_" + LABEL);
+        // when
+        statistics.setCompressionRatio(Math.PI);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSetStoresLoadTimeMs() {
+        // given
+        final Metric metric = getMetric("load_", "storesLoadTimeMs_" + LABEL);
+        // when
+        statistics.setStoresLoadTimeMs(42);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testSetRebuiltIndexEntries() {
+        // given
+        final Metric metric = getMetric("load_", "rebuiltIndexEntries_" + LABEL);
+        // when
+        statistics.setRebuiltIndexEntries(314159);
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCountLeafCacheHits() {
+        // given
+        final Metric metric = getMetric("cache_", "leafHits_" + LABEL);
+        // when
+        statistics.countLeafCacheHits();
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCountLeafCacheMisses() {
+        // given
+        final Metric metric = getMetric("cache_", "leafMisses_" + LABEL);
+        // when
+        statistics.countLeafCacheMisses();
+        // then
+        assertValueSet(metric);
+    }
+
+    @Test
+    void testCountLeafCacheEvictions() {
+        // given
+        final Metric metric = getMetric("cache_", "leafEvictions_" + LABEL);
+        // when
+        statistics.countLeafCacheEvictions();
+        // then
+        assertValueSet(metric);
+    }
+
     @Test
     void testSetHashesStoreFileCount() {
         // given
@@ -250,6 +366,38 @@ class MerkleDbStatisticsTest {
         assertValueSet(metric);
     }
 
+    @Test
+    void testAddCompactionRewrittenMb() {
+        // given
+        final Metric hashesMetric = getMetric("compactions_", "hashesRewrittenMb_" + LABEL);
+        final Metric leavesMetric = getMetric("compactions_", "leavesRewrittenMb_" + LABEL);
+        final Metric leafKeysMetric = getMetric("compactions_", "leafKeysRewrittenMb_" + LABEL);
+        // when
+        statistics.addHashesStoreCompactionRewrittenMb(Math.PI);
+        statistics.addLeavesStoreCompactionRewrittenMb(Math.PI);
+        statistics.addLeafKeysStoreCompactionRewrittenMb(Math.PI);
+        // then
+        assertValueSet(hashesMetric);
+        assertValueSet(leavesMetric);
+        assertValueSet(leafKeysMetric);
+    }
+
+    @Test
+    void testSetCompactionDebtMb() {
+        // given
+        final Metric hashesMetric = getMetric("compactions_", "hashesDebtMb_" + LABEL);
+        final Metric leavesMetric = getMetric("compactions_", "leavesDebtMb_" + LABEL);
+        final Metric leafKeysMetric = getMetric("compactions_", "leafKeysDebtMb_" + LABEL);
+        // when
+        statistics.setHashesStoreCompactionDebtMb(42);
+        statistics.setLeavesStoreCompactionDebtMb(42);
+        statistics.setLeafKeysStoreCompactionDebtMb(42);
+        // then
+        assertValueSet(hashesMetric);
+        assertValueSet(leavesMetric);
+        assertValueSet(leafKeysMetric);
+    }
+
     @Test
     void testSetHashesStoreFileSizeByLevel() {
         // given
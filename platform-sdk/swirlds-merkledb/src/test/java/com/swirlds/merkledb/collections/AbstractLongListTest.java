@@ -22,6 +22,7 @@ import static com.swirlds.merkledb.collections.AbstractLongList.FILE_HEADER_SIZE
 import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.checkDirectMemoryIsCleanedUpToLessThanBaseUsage;
 import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.getDirectMemoryUsedBytes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -198,6 +199,81 @@ abstract class AbstractLongListTest<T extends AbstractLongList<?>> {
         checkNumLongsPerChunk(subject2mbChunks, expectedNum);
     }
 
+    @Test
+    @Order(5)
+    void testPutIfGreater() throws InterruptedException {
+        final int count = 10_000;
+        final int threads = 4;
+        try (final T list = createFullyParameterizedLongListWith(100, count)) {
+            list.updateValidRange(0, count - 1);
+            // Every thread puts its own values to all indices, in different order. The greatest
+            // value must win regardless of the order
+            final Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < count; i++) {
+                        final int index = (thread % 2 == 0) ? i : count - 1 - i;
+                        list.putIfGreater(index, (long) index * threads + thread + 1, Long::compare);
+                    }
+                });
+                workers[t].start();
+            }
+            for (final Thread worker : workers) {
+                worker.join();
+            }
+            for (int i = 0; i < count; i++) {
+                assertEquals((long) i * threads + threads, list.get(i, 0), "Greatest value must be stored at " + i);
+            }
+            assertFalse(list.putIfGreater(0, 1, Long::compare), "Less value must not be stored");
+            assertEquals(threads, list.get(0, 0));
+        }
+    }
+
+    @Test
+    @Order(5)
+    void incrementalSnapshotsAndReadBack(@TempDir final Path tempDir) throws IOException {
+        final LongListSnapshotChain chain = new LongListSnapshotChain(tempDir.resolve("chain"), "list.ll", 2);
+        try (final T list = createFullyParameterizedLongListWith(100, 10_000)) {
+            list.updateValidRange(0, 999);
+            for (int i = 0; i < 1000; i++) {
+                list.put(i, i + 1);
+            }
+            // full snapshot
+            checkSnapshot(list, chain, tempDir.resolve("snapshot0"), 0);
+            // modify a single chunk
+            list.put(250, 7);
+            checkSnapshot(list, chain, tempDir.resolve("snapshot1"), 1);
+            // shrink on the left, expand on the right
+            list.updateValidRange(150, 1199);
+            for (int i = 1000; i < 1200; i++) {
+                list.put(i, i * 2);
+            }
+            checkSnapshot(list, chain, tempDir.resolve("snapshot2"), 2);
+            // max chain length is reached, the next snapshot must be full
+            list.put(500, 11);
+            checkSnapshot(list, chain, tempDir.resolve("snapshot3"), 0);
+            // no changes at all
+            checkSnapshot(list, chain, tempDir.resolve("snapshot4"), 1);
+        }
+    }
+
+    private void checkSnapshot(
+            final T list, final LongListSnapshotChain chain, final Path snapshotDir, final int expectedDeltaCount)
+            throws IOException {
+        Files.createDirectories(snapshotDir);
+        final Path file = snapshotDir.resolve("list.ll");
+        chain.snapshot(list, file);
+        assertEquals(expectedDeltaCount, chain.getDeltaCount(), "Unexpected number of deltas");
+        try (final LongList loaded = createLongListFromFile(file)) {
+            LongListSnapshotChain.load(loaded, file);
+            assertEquals(list.size(), loaded.size(), "Loaded list size doesn't match");
+            for (int i = 0; i < list.size(); i++) {
+                assertEquals(list.get(i, 0), loaded.get(i, 0), "Longs don't match for " + i);
+            }
+        }
+    }
+
     @SuppressWarnings("resource")
     @Test
     @Order(6)
@@ -21,14 +21,17 @@ import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.getDirectMemo
 import static com.swirlds.merkledb.test.fixtures.MerkleDbTestUtils.hash;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.base.units.UnitConstants;
 import com.swirlds.common.crypto.Hash;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.IntStream;
@@ -203,6 +206,28 @@ class HashListByteBufferTest {
         hashList.close();
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("Get hash bytes into a buffer without creating Hash objects")
+    void getHashBytes(final boolean offHeap) throws IOException {
+        final HashList hashList = createHashList(10, 100, offHeap);
+        final Hash hash = hash(93);
+        hashList.put(93, hash);
+        final ByteBuffer buffer = ByteBuffer.allocate(hash.getBytes().length() + 1);
+        // Hash bytes must be copied starting at the buffer position
+        buffer.put((byte) 1);
+        assertTrue(hashList.get(93, buffer), "Hash put at fixed index should be gettable from same index");
+        assertEquals(buffer.capacity(), buffer.position(), "Buffer position should be moved to the end of the hash");
+        assertEquals(hash.getBytes(), Bytes.wrap(buffer.array(), 1, buffer.capacity() - 1), "Wrong hash bytes");
+        assertFalse(hashList.get(95, buffer.clear()), "Hashes beyond the stored range should not be found");
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> hashList.get(-1, buffer.clear()),
+                "Negative indices should be illegal");
+        // close
+        hashList.close();
+    }
+
     // ------------------------------------------------------
     // Larger tests that hammer things more
     // ------------------------------------------------------
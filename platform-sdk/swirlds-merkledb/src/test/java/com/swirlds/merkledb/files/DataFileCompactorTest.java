@@ -18,6 +18,7 @@ package com.swirlds.merkledb.files;
 
 import static com.swirlds.common.test.fixtures.RandomUtils.nextInt;
 import static com.swirlds.merkledb.files.DataFileCompactor.compactionPlan;
+import static com.swirlds.merkledb.files.DataFileCompactor.garbageCompactionPlan;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -27,6 +28,7 @@ import static org.mockito.MockitoAnnotations.openMocks;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -72,6 +74,16 @@ class DataFileCompactorTest {
         when(metadata.getCompactionLevel()).thenReturn(level);
     }
 
+    private static DataFileReader garbageReader(final int index, final int level, final long dataItemCount) {
+        final DataFileReader reader = mock(DataFileReader.class);
+        final DataFileMetadata metadata = mock(DataFileMetadata.class);
+        when(reader.getIndex()).thenReturn(index);
+        when(reader.getMetadata()).thenReturn(metadata);
+        when(metadata.getCompactionLevel()).thenReturn(level);
+        when(metadata.getDataItemCount()).thenReturn(dataItemCount);
+        return reader;
+    }
+
     @Test
     void testEmptyCompactionPlan() {
         assertEquals(0, compactionPlan(emptyList(), nextInt(), nextInt()).size());
@@ -157,4 +169,21 @@ class DataFileCompactorTest {
                 compactionPlan(Arrays.asList(firstLevel1, secondLevel1, secondLevel2), 3, 5);
         assertEquals(0, result.size());
     }
+
+    @Test
+    void testGarbageCompactionPlan() {
+        final DataFileReader level0 = garbageReader(10, 0, 100);
+        final DataFileReader level2Clean = garbageReader(5, 2, 100);
+        final DataFileReader level2Garbage = garbageReader(6, 2, 100);
+        final DataFileReader level1Garbage = garbageReader(7, 1, 100);
+        final DataFileReader level1Unknown = garbageReader(8, 1, 100);
+        final List<DataFileReader> all = List.of(level2Clean, level2Garbage, level1Garbage, level1Unknown, level0);
+        final Map<Integer, Double> garbageRatios = Map.of(5, 0.1, 6, 0.7, 7, 0.5, 10, 0.9);
+
+        // The lowest level with garbage files is compacted first, level 0 files are never selected
+        assertEquals(List.of(level1Garbage), garbageCompactionPlan(all, garbageRatios, 0.5));
+        assertEquals(List.of(level2Garbage), garbageCompactionPlan(all, garbageRatios, 0.6));
+        assertEquals(emptyList(), garbageCompactionPlan(all, garbageRatios, 0.8));
+        assertEquals(emptyList(), garbageCompactionPlan(all, garbageRatios, 0));
+    }
 }
@@ -19,10 +19,16 @@ package com.swirlds.merkledb.files;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.swirlds.common.config.singleton.ConfigurationHolder;
+import com.swirlds.common.io.utility.LegacyTemporaryFileBuilder;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.merkledb.collections.LongList;
+import com.swirlds.merkledb.collections.LongListOffHeap;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -130,6 +136,171 @@ class DataFileReaderTest {
         assertEquals(2, dataFileReader.leaseFileChannel());
     }
 
+    @Test
+    void testMemoryMappedReads() throws IOException {
+        final MerkleDbConfig mmapConfig = new TestConfigBuilder()
+                .withValue("merkleDb.memoryMappedReadsEnabled", true)
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        final Path dir = LegacyTemporaryFileBuilder.buildTemporaryDirectory("testMemoryMappedReads");
+        final DataFileCollection collection = new DataFileCollection(mmapConfig, dir, "store", null);
+        final int count = 1000;
+        final LongList index = new LongListOffHeap();
+        index.updateValidRange(0, count - 1);
+        try {
+            collection.startWriting();
+            for (int i = 0; i < count; i++) {
+                final int fi = i;
+                final long location = collection.storeDataItem(
+                        o -> {
+                            o.writeLong(fi);
+                            o.writeLong(fi * 3L);
+                        },
+                        2 * Long.BYTES);
+                index.put(i, location);
+            }
+            final DataFileReader reader = collection.endWriting(0, count - 1);
+            // Not completed yet, file channels must be used
+            assertFalse(reader.isMemoryMapped(), "Incomplete files must not be mapped");
+            final BufferedData channelData = reader.readDataItem(index.get(count / 2));
+            assertEquals(count / 2, channelData.readLong());
+            reader.setFileCompleted();
+            assertTrue(reader.isMemoryMapped(), "Completed files must be mapped");
+            for (int i = 0; i < count; i++) {
+                final BufferedData itemData = collection.readDataItemUsingIndex(index, i);
+                assertEquals(2 * Long.BYTES, itemData.remaining());
+                assertEquals(i, itemData.readLong());
+                assertEquals(i * 3L, itemData.readLong());
+            }
+            // Slices must be usable after the reader is closed
+            final BufferedData lastItem = reader.readDataItem(index.get(count - 1));
+            reader.close();
+            assertFalse(reader.isMemoryMapped(), "Closed files must not be mapped");
+            assertEquals(count - 1, lastItem.readLong());
+        } finally {
+            index.close();
+            collection.close();
+        }
+    }
+
+    @Test
+    void testCompressedDataFile() throws IOException {
+        final MerkleDbConfig compressedConfig = new TestConfigBuilder()
+                .withValue("merkleDb.dataFileCompressionEnabled", true)
+                .withValue("merkleDb.dataFileCompressionBlockSize", 1024)
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        final Path dir = LegacyTemporaryFileBuilder.buildTemporaryDirectory("testCompressedDataFile");
+        final DataFileCollection collection = new DataFileCollection(compressedConfig, dir, "store", null);
+        final int count = 1000;
+        final LongList index = new LongListOffHeap();
+        index.updateValidRange(0, count - 1);
+        try {
+            collection.startWriting();
+            for (int i = 0; i < count; i++) {
+                final int fi = i;
+                final long location = collection.storeDataItem(
+                        o -> {
+                            o.writeLong(fi);
+                            o.writeLong(fi * 3L);
+                        },
+                        2 * Long.BYTES);
+                index.put(i, location);
+                // Items must be readable while the file is being written, from both
+                // compressed blocks and the pending block
+                final int check = i / 2;
+                assertEquals(check, collection.readDataItemUsingIndex(index, check).readLong());
+                assertEquals(i, collection.readDataItemUsingIndex(index, i).readLong());
+            }
+            final DataFileReader reader = collection.endWriting(0, count - 1);
+            reader.setFileCompleted();
+            assertTrue(reader.getMetadata().isCompressed(), "File must be compressed");
+            assertEquals(count, reader.getMetadata().getDataItemCount());
+            assertTrue(reader.getDataSize() > reader.getSize(), "Compressed file must be smaller than its data");
+            for (int i = count - 1; i >= 0; i--) {
+                final BufferedData itemData = collection.readDataItemUsingIndex(index, i);
+                assertEquals(2 * Long.BYTES, itemData.remaining());
+                assertEquals(i, itemData.readLong());
+                assertEquals(i * 3L, itemData.readLong());
+            }
+            assertTrue(reader.getAndResetDecompressedBlocks() > 0, "Blocks must be decompressed");
+            assertEquals(0, reader.getAndResetDecompressedBlocks(), "Counter must be reset");
+            // Iterator must report the same data locations as the writer
+            try (final DataFileIterator iterator = reader.createIterator()) {
+                int i = 0;
+                while (iterator.next()) {
+                    assertEquals(index.get(i), iterator.getDataItemDataLocation());
+                    assertEquals(i, iterator.getDataItemData().readLong());
+                    i++;
+                }
+                assertEquals(count, i);
+            }
+            // Metadata and block index must be loaded from the file
+            final DataFileMetadata loadedMetadata = new DataFileMetadata(reader.getPath());
+            assertEquals(reader.getMetadata(), loadedMetadata);
+            try (final DataFileReader loadedReader = new DataFileReader(compressedConfig, reader.getPath())) {
+                loadedReader.setFileCompleted();
+                assertEquals(reader.getDataSize(), loadedReader.getDataSize());
+                for (int i = 0; i < count; i++) {
+                    assertEquals(i * 3L, loadedReader.readDataItem(index.get(i)).getLong(Long.BYTES));
+                }
+            }
+        } finally {
+            index.close();
+            collection.close();
+        }
+    }
+
+    @Test
+    void testBatchReads() throws IOException {
+        final Path dir = LegacyTemporaryFileBuilder.buildTemporaryDirectory("testBatchReads");
+        final DataFileCollection collection = new DataFileCollection(dbConfig, dir, "store", null);
+        final int count = 1000;
+        final LongList index = new LongListOffHeap();
+        index.updateValidRange(0, count * 2 - 1);
+        try {
+            // Two files, so batch reads are split by file. Large items in the second file
+            // don't fit into the coalesced read buffer and must be read separately
+            for (int f = 0; f < 2; f++) {
+                final int itemSize = (f == 0) ? 2 : 1000;
+                collection.startWriting();
+                for (int i = f * count; i < (f + 1) * count; i++) {
+                    final int fi = i;
+                    final long location = collection.storeDataItem(
+                            o -> {
+                                for (int j = 0; j < itemSize; j++) {
+                                    o.writeLong(fi);
+                                }
+                            },
+                            itemSize * Long.BYTES);
+                    index.put(i, location);
+                }
+                collection.endWriting(f * count, (f + 1) * count - 1).setFileCompleted();
+            }
+            // Every 7th key is not in the index
+            final long[] keys = new long[count * 2];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (i * 7919L) % (count * 2);
+                if (i % 7 == 0) {
+                    keys[i] += count * 2;
+                }
+            }
+            final long[] values = new long[keys.length];
+            final int[] calls = new int[keys.length];
+            collection.readDataItemsUsingIndex(index, keys, (i, dataItem) -> {
+                calls[i]++;
+                values[i] = (dataItem != null) ? dataItem.readLong() : -1;
+            });
+            for (int i = 0; i < keys.length; i++) {
+                assertEquals(1, calls[i], "Consumer must be called exactly once per key");
+                assertEquals((i % 7 == 0) ? -1 : keys[i], values[i], "Wrong data item for key " + keys[i]);
+            }
+        } finally {
+            index.close();
+            collection.close();
+        }
+    }
+
     @AfterEach
     public void tearDown() {
         file.deleteOnExit();
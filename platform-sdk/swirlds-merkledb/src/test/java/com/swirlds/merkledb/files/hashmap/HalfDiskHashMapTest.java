@@ -18,15 +18,19 @@ package com.swirlds.merkledb.files.hashmap;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.files.DataFileCompactor;
 import com.swirlds.merkledb.test.fixtures.ExampleLongKeyFixedSize;
 import com.swirlds.merkledb.test.fixtures.files.FilesTestType;
 import com.swirlds.virtualmap.VirtualKey;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Random;
 import org.junit.jupiter.api.Test;
@@ -44,6 +48,11 @@ class HalfDiskHashMapTest {
 
     private MerkleDbConfig dbConfig = ConfigurationHolder.getConfigData(MerkleDbConfig.class);
 
+    private final MerkleDbConfig filtersConfig = new TestConfigBuilder()
+            .withValue("merkleDb.halfDiskHashMapBucketFilterBits", 256)
+            .getOrCreateConfig()
+            .getConfigData(MerkleDbConfig.class);
+
     // =================================================================================================================
     // Helper Methods
     private HalfDiskHashMap createNewTempMap(FilesTestType testType, int count) throws IOException {
@@ -196,6 +205,186 @@ class HalfDiskHashMapTest {
         }
     }
 
+    @Test
+    void computeBucketIndexIsWithinRange() {
+        final Random random = new Random(4321);
+        for (int bucketsCount = 2; bucketsCount < 5000; bucketsCount++) {
+            for (int j = 0; j < 100; j++) {
+                final int hashCode = random.nextInt();
+                final int bucketIndex = HalfDiskHashMap.computeBucketIndex(bucketsCount, hashCode);
+                assertTrue(bucketIndex >= 0 && bucketIndex < bucketsCount, "Bucket index out of range");
+                // A key must either stay in its bucket after a split, or move to the new bucket
+                final int nextBucketIndex = HalfDiskHashMap.computeBucketIndex(bucketsCount + 1, hashCode);
+                assertTrue(
+                        nextBucketIndex == bucketIndex || nextBucketIndex == bucketsCount,
+                        "Key moved to a wrong bucket after split");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void bucketsAreSplitAsMapGrows(FilesTestType testType) throws Exception {
+        final int count = 50_000;
+        final HalfDiskHashMap map = createNewTempMap(testType, 1000);
+        final int initialNumOfBuckets = map.getNumOfBuckets();
+        for (int i = 0; i < 10; i++) {
+            createSomeData(testType, map, i * count / 10, count / 10, 1);
+            checkData(testType, map, 0, (i + 1) * count / 10, 1);
+        }
+        assertEquals(count, map.getNumOfEntries(), "Wrong number of entries");
+        assertTrue(map.getNumOfBuckets() > initialNumOfBuckets, "Buckets must be split");
+        assertTrue(map.getNumOfBuckets() >= count / 32, "Not enough buckets");
+        // snapshot must preserve the number of buckets and entries
+        final Path snapshotDir = tempDirPath.resolve("bucketsAreSplitAsMapGrowsSnapshot_" + testType.name());
+        map.snapshot(snapshotDir);
+        try (final HalfDiskHashMap mapFromSnapshot =
+                new HalfDiskHashMap(dbConfig, 1000, snapshotDir, "HalfDiskHashMapTest", null, false)) {
+            assertEquals(map.getNumOfBuckets(), mapFromSnapshot.getNumOfBuckets(), "Wrong number of buckets");
+            assertEquals(count, mapFromSnapshot.getNumOfEntries(), "Wrong number of entries");
+            checkData(testType, mapFromSnapshot, 0, count, 1);
+        }
+        map.close();
+    }
+
+    @Test
+    void bucketSplitsPerFlushAreLimited() throws Exception {
+        final FilesTestType testType = FilesTestType.fixed;
+        final MerkleDbConfig limitedSplitsConfig = new TestConfigBuilder()
+                .withValue("merkleDb.halfDiskHashMapMaxBucketSplitsPerFlush", 16)
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        try (final HalfDiskHashMap map = new HalfDiskHashMap(
+                limitedSplitsConfig, 1000, tempDirPath.resolve("limitedSplits"), "HalfDiskHashMapTest", null, false)) {
+            final int initialNumOfBuckets = map.getNumOfBuckets();
+            // enough entries for many more buckets, but only a few buckets are split per flush
+            createSomeData(testType, map, 0, 10_000, 1);
+            assertEquals(initialNumOfBuckets + 16, map.getNumOfBuckets(), "Too many buckets split in one flush");
+            createSomeData(testType, map, 10_000, 10, 1);
+            assertEquals(initialNumOfBuckets + 32, map.getNumOfBuckets(), "Splits must continue in the next flush");
+            checkData(testType, map, 0, 10_010, 1);
+        }
+    }
+
+    @Test
+    void bucketSplittingDisabled() throws Exception {
+        final FilesTestType testType = FilesTestType.fixed;
+        final MerkleDbConfig noSplitsConfig = new TestConfigBuilder()
+                .withValue("merkleDb.halfDiskHashMapBucketSplittingEnabled", false)
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        // all buckets for the max map size are created upfront
+        try (final HalfDiskHashMap map = new HalfDiskHashMap(
+                noSplitsConfig, 1_000_000, tempDirPath.resolve("noSplitsLarge"), "HalfDiskHashMapTest", null, false)) {
+            assertEquals(32768, map.getNumOfBuckets(), "Wrong initial number of buckets");
+        }
+        try (final HalfDiskHashMap map = new HalfDiskHashMap(
+                noSplitsConfig, 1000, tempDirPath.resolve("noSplits"), "HalfDiskHashMapTest", null, false)) {
+            final int initialNumOfBuckets = map.getNumOfBuckets();
+            createSomeData(testType, map, 0, 10_000, 1);
+            assertEquals(initialNumOfBuckets, map.getNumOfBuckets(), "Buckets must not be split");
+            checkData(testType, map, 0, 10_000, 1);
+        }
+    }
+
+    @Test
+    void loadFixedBucketsMetadata() throws Exception {
+        final FilesTestType testType = FilesTestType.fixed;
+        final int count = 1000;
+        final Path snapshotDir = tempDirPath.resolve("loadFixedBucketsMetadata");
+        try (final HalfDiskHashMap map = createNewTempMap(testType, count)) {
+            createSomeData(testType, map, 0, count, 1);
+            map.snapshot(snapshotDir);
+            // overwrite the metadata file using the format before bucket splitting
+            try (final DataOutputStream metaOut = new DataOutputStream(
+                    Files.newOutputStream(snapshotDir.resolve("HalfDiskHashMapTest_metadata.hdhm")))) {
+                metaOut.writeInt(1);
+                metaOut.writeInt(0);
+                metaOut.writeInt(map.getNumOfBuckets());
+            }
+        }
+        try (final HalfDiskHashMap map =
+                new HalfDiskHashMap(dbConfig, count, snapshotDir, "HalfDiskHashMapTest", null, false)) {
+            assertEquals(0, map.getNumOfEntries(), "Number of entries is unknown in the old format");
+            checkData(testType, map, 0, count, 1);
+            createSomeData(testType, map, count, count, 1);
+            checkData(testType, map, 0, 2 * count, 1);
+        }
+    }
+
+    private static void checkMissing(FilesTestType testType, HalfDiskHashMap map, int start, int count)
+            throws IOException {
+        for (int i = start; i < (start + count); i++) {
+            final var key = testType.createVirtualLongKey(i);
+            assertEquals(-1, map.get(testType.keySerializer.toBytes(key), key.hashCode(), -1), "Key must be missing");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(FilesTestType.class)
+    void bucketFiltersAnswerMissingKeys(FilesTestType testType) throws Exception {
+        final int count = 10_000;
+        final HalfDiskHashMap map = new HalfDiskHashMap(
+                filtersConfig, count, tempDirPath.resolve(testType.name()), "HalfDiskHashMapTest", null, false);
+        createSomeData(testType, map, 0, count, 1);
+        map.getAndResetFilterNegativeLookups();
+        checkMissing(testType, map, count, count);
+        final long negatives = map.getAndResetFilterNegativeLookups();
+        final long falsePositives = map.getAndResetFilterFalsePositiveLookups();
+        assertEquals(count, negatives + falsePositives, "Every missing key lookup must be counted");
+        assertTrue(negatives > count * 0.9, "Too many false positives: " + falsePositives);
+        // filters must not produce false negatives
+        checkData(testType, map, 0, count, 1);
+
+        // delete half of the keys, their filter bits must be cleared
+        map.startWriting();
+        for (int i = 0; i < count / 2; i++) {
+            final VirtualKey key = testType.createVirtualLongKey(i);
+            map.delete(testType.keySerializer.toBytes(key), key.hashCode());
+        }
+        map.endWriting();
+        checkMissing(testType, map, 0, count / 2);
+        assertTrue(map.getAndResetFilterNegativeLookups() > count / 2 * 0.9, "Deleted keys must not pass filters");
+        checkData(testType, map, count / 2, count / 2, 1);
+
+        // filters must be restored from a snapshot
+        final Path snapshotDir = tempDirPath.resolve("bucketFiltersAnswerMissingKeys_" + testType.name());
+        map.snapshot(snapshotDir);
+        map.close();
+        try (final HalfDiskHashMap mapFromSnapshot =
+                new HalfDiskHashMap(filtersConfig, count, snapshotDir, "HalfDiskHashMapTest", null, false)) {
+            checkData(testType, mapFromSnapshot, count / 2, count / 2, 1);
+            checkMissing(testType, mapFromSnapshot, 0, count / 2);
+            assertTrue(mapFromSnapshot.getAndResetFilterNegativeLookups() > count / 2 * 0.9, "Filters not loaded");
+        }
+    }
+
+    @Test
+    void bucketFiltersDisabled() throws Exception {
+        final FilesTestType testType = FilesTestType.variable;
+        final int count = 1000;
+        final Path snapshotDir = tempDirPath.resolve("bucketFiltersDisabled");
+        final MerkleDbConfig noFiltersConfig = new TestConfigBuilder()
+                .withValue("merkleDb.halfDiskHashMapBucketFilterBits", 0)
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+        try (final HalfDiskHashMap map = new HalfDiskHashMap(
+                noFiltersConfig, count, tempDirPath.resolve("noFilters"), "HalfDiskHashMapTest", null, false)) {
+            createSomeData(testType, map, 0, count, 1);
+            checkData(testType, map, 0, count, 1);
+            checkMissing(testType, map, count, count);
+            assertEquals(0, map.getAndResetFilterNegativeLookups(), "Filters are disabled");
+            map.snapshot(snapshotDir);
+        }
+        // filters are rebuilt, when loaded with filters enabled
+        try (final HalfDiskHashMap map =
+                new HalfDiskHashMap(filtersConfig, count, snapshotDir, "HalfDiskHashMapTest", null, false)) {
+            checkData(testType, map, 0, count, 1);
+            checkMissing(testType, map, count, count);
+            assertTrue(map.getAndResetFilterNegativeLookups() > count * 0.9, "Filters must be rebuilt");
+        }
+    }
+
     private static void printTestUpdate(long start, long count, String msg) {
         long took = System.currentTimeMillis() - start;
         double timeSeconds = (double) took / 1000d;
@@ -29,14 +29,20 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.base.function.CheckedConsumer;
 import com.swirlds.base.units.UnitConstants;
 import com.swirlds.common.constructable.ConstructableRegistry;
+import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.utility.LegacyTemporaryFileBuilder;
+import com.swirlds.config.api.ConfigurationBuilder;
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
+import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.test.fixtures.ExampleByteArrayVirtualValue;
 import com.swirlds.merkledb.test.fixtures.TestType;
 import com.swirlds.metrics.api.IntegerGauge;
@@ -54,11 +60,14 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
 import org.junit.jupiter.api.AfterEach;
@@ -69,6 +78,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class MerkleDbDataSourceTest {
 
@@ -244,6 +254,64 @@ class MerkleDbDataSourceTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void batchReadLeavesAndHashes(final TestType testType) throws Exception {
+        final int count = 10_000;
+        final KeySerializer keySerializer = testType.dataType().getKeySerializer();
+        final ValueSerializer valueSerializer = testType.dataType().getValueSerializer();
+        // Half of the hashes are stored in RAM, the other half on disk
+        createAndApplyDataSource(testDirectory, "testBatch", testType, count, count * 3 / 2, dataSource -> {
+            dataSource.saveRecords(
+                    count,
+                    count * 2,
+                    IntStream.range(count, count * 2).mapToObj(MerkleDbDataSourceTest::createVirtualInternalRecord),
+                    IntStream.range(count, count * 2)
+                            .mapToObj(i -> testType.dataType().createVirtualLeafRecord(i))
+                            .map(r -> r.toBytes(keySerializer, valueSerializer)),
+                    Stream.empty());
+            // Shuffled paths, plus a path outside the leaf range
+            final List<Long> pathList =
+                    new ArrayList<>(LongStream.range(count, count * 2).boxed().toList());
+            Collections.shuffle(pathList, new Random(1));
+            pathList.add(count * 3L);
+            final long[] paths = pathList.stream().mapToLong(Long::longValue).toArray();
+
+            final List<VirtualLeafBytes> leaves =
+                    dataSource.loadLeafRecordsAsync(paths).get(30, TimeUnit.SECONDS);
+            final List<Hash> hashes = dataSource.loadHashesAsync(paths).get(30, TimeUnit.SECONDS);
+            final List<Bytes> keys = new ArrayList<>();
+            final int[] keyHashCodes = new int[paths.length];
+            for (int i = 0; i < paths.length; i++) {
+                final VirtualKey key = testType.dataType().createVirtualLongKey((int) paths[i]);
+                keys.add(keySerializer.toBytes(key));
+                keyHashCodes[i] = key.hashCode();
+            }
+            final List<VirtualLeafBytes> leavesByKey =
+                    dataSource.loadLeafRecordsAsync(keys, keyHashCodes).get(30, TimeUnit.SECONDS);
+
+            assertEquals(paths.length, leaves.size(), "Wrong number of leaves");
+            assertEquals(paths.length, hashes.size(), "Wrong number of hashes");
+            assertEquals(paths.length, leavesByKey.size(), "Wrong number of leaves");
+            for (int i = 0; i < paths.length - 1; i++) {
+                final int path = (int) paths[i];
+                final VirtualLeafBytes expected =
+                        testType.dataType().createVirtualLeafRecord(path).toBytes(keySerializer, valueSerializer);
+                assertEqualsAndPrint(expected, leaves.get(i));
+                assertEqualsAndPrint(expected, leavesByKey.get(i));
+                assertEquals(hash(path), hashes.get(i), "Wrong hash for path " + path);
+            }
+            assertNull(leaves.get(paths.length - 1), "Leaves outside the leaf range should not be found");
+            assertNull(hashes.get(paths.length - 1), "Hashes outside the leaf range should not be found");
+            assertNull(leavesByKey.get(paths.length - 1), "Unknown keys should not be found");
+
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> dataSource.loadLeafRecordsAsync(new long[] {count, -1}),
+                    "Loading leaves from negative paths should fail");
+        });
+    }
+
     @ParameterizedTest
     @EnumSource(TestType.class)
     void updateLeaves(final TestType testType) throws IOException, InterruptedException {
@@ -759,6 +827,109 @@ class MerkleDbDataSourceTest {
         });
     }
 
+    @ParameterizedTest
+    @EnumSource(TestType.class)
+    void parallelFlushSameContents(final TestType testType) throws IOException {
+        final int count = 1000;
+        final KeySerializer keySerializer = testType.dataType().getKeySerializer();
+        final ValueSerializer valueSerializer = testType.dataType().getValueSerializer();
+        final MerkleDbDataSource parallel = createDataSource(testType, "parallelFlushOn" + testType, count, true);
+        final MerkleDbDataSource sequential = createDataSource(testType, "parallelFlushOff" + testType, count, false);
+        try {
+            for (final MerkleDbDataSource dataSource : List.of(parallel, sequential)) {
+                // create leaves at paths count to 2 * count - 1
+                dataSource.saveRecords(
+                        count,
+                        2L * count - 1,
+                        IntStream.range(count, 2 * count).mapToObj(MerkleDbDataSourceTest::createVirtualInternalRecord),
+                        IntStream.range(0, count)
+                                .mapToObj(i -> testType.dataType().createVirtualLeafRecord(count + i, i, i))
+                                .map(r -> r.toBytes(keySerializer, valueSerializer)),
+                        Stream.empty());
+                // update every other leaf
+                dataSource.saveRecords(
+                        count,
+                        2L * count - 1,
+                        Stream.empty(),
+                        IntStream.range(0, count)
+                                .filter(i -> i % 2 == 1)
+                                .mapToObj(i -> testType.dataType().createVirtualLeafRecord(count + i, i, i + 10_000))
+                                .map(r -> r.toBytes(keySerializer, valueSerializer)),
+                        Stream.empty());
+                // delete the first ten leaves
+                dataSource.saveRecords(
+                        count + 10,
+                        2L * count - 1,
+                        Stream.empty(),
+                        Stream.empty(),
+                        IntStream.range(0, 10)
+                                .mapToObj(i -> testType.dataType().createVirtualLeafRecord(count + i, i, i))
+                                .map(r -> r.toBytes(keySerializer, valueSerializer)));
+            }
+            for (int i = 0; i < count; i++) {
+                final long path = count + i;
+                assertEquals(sequential.loadLeafRecord(path), parallel.loadLeafRecord(path), "Wrong leaf " + path);
+                assertEquals(
+                        sequential.getPathToDiskLocationLeafNodes().get(path, INVALID_PATH),
+                        parallel.getPathToDiskLocationLeafNodes().get(path, INVALID_PATH),
+                        "Wrong leaf index entry " + path);
+                final VirtualKey key = testType.dataType().createVirtualLongKey(i);
+                final long expectedPath = (i < 10) ? INVALID_PATH : path;
+                assertEquals(expectedPath, sequential.findKey(keySerializer.toBytes(key), key.hashCode()));
+                assertEquals(expectedPath, parallel.findKey(keySerializer.toBytes(key), key.hashCode()));
+                if (i >= 10) {
+                    final int valueIndex = (i % 2 == 1) ? i + 10_000 : i;
+                    assertLeaf(testType, keySerializer, valueSerializer, parallel, path, i, count + i, valueIndex);
+                }
+            }
+        } finally {
+            parallel.close();
+            sequential.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void parallelFlushKeysFailure(final boolean parallelFlush) throws IOException {
+        final int count = 100;
+        final TestType testType = TestType.variable_variable;
+        final KeySerializer keySerializer = testType.dataType().getKeySerializer();
+        final ValueSerializer valueSerializer = testType.dataType().getValueSerializer();
+        final MerkleDbDataSource dataSource =
+                createDataSource(testType, "parallelFlushKeysFailure" + parallelFlush, count, parallelFlush);
+        try {
+            dataSource.saveRecords(
+                    count,
+                    2L * count - 1,
+                    IntStream.range(count, 2 * count).mapToObj(MerkleDbDataSourceTest::createVirtualInternalRecord),
+                    IntStream.range(0, count)
+                            .mapToObj(i -> testType.dataType().createVirtualLeafRecord(count + i, i, i))
+                            .map(r -> r.toBytes(keySerializer, valueSerializer)),
+                    Stream.empty());
+            // A leaf without key bytes can't be deleted from the key-to-path store. With parallel flushes
+            // enabled, the failure is raised on the key store executor. The flush must still complete
+            final VirtualLeafBytes noKey = new VirtualLeafBytes(count, null, 0, null);
+            assertTimeoutPreemptively(
+                    Duration.ofSeconds(30),
+                    () -> dataSource.saveRecords(
+                            count, 2L * count - 1, Stream.empty(), Stream.empty(), Stream.of(noKey)));
+            // Both stores accept new flushes after the failure
+            dataSource.saveRecords(
+                    count,
+                    2L * count - 1,
+                    Stream.empty(),
+                    Stream.of(testType.dataType().createVirtualLeafRecord(count, 0, 10_000))
+                            .map(r -> r.toBytes(keySerializer, valueSerializer)),
+                    Stream.empty());
+            assertLeaf(testType, keySerializer, valueSerializer, dataSource, count, 0, count, 10_000);
+            for (int i = 1; i < count; i++) {
+                assertLeaf(testType, keySerializer, valueSerializer, dataSource, count + i, i, count + i, i);
+            }
+        } finally {
+            dataSource.close();
+        }
+    }
+
     // =================================================================================================================
     // Helper Methods
 
@@ -793,6 +964,27 @@ class MerkleDbDataSourceTest {
                 0L, MerkleDbDataSource::getCountOfOpenDatabases, Duration.ofSeconds(1), "Expected no open dbs");
     }
 
+    /**
+     * Creates a data source in its own database, with the given parallel flush setting. The leaf record
+     * cache is disabled, so leaves are always read from disk.
+     */
+    private static MerkleDbDataSource createDataSource(
+            final TestType testType, final String name, final int size, final boolean parallelFlush)
+            throws IOException {
+        final MerkleDbConfig config = ConfigurationBuilder.create()
+                .withSources(new SimpleConfigSource("merkleDb.parallelFlush", parallelFlush)
+                        .withValue("merkleDb.leafRecordCacheSize", 0))
+                .withConfigDataType(MerkleDbConfig.class)
+                .build()
+                .getConfigData(MerkleDbConfig.class);
+        final MerkleDb database = MerkleDb.getInstance(testDirectory.resolve(name), config);
+        final MerkleDbTableConfig tableConfig =
+                new MerkleDbTableConfig((short) 1, DigestType.SHA_384).maxNumberOfKeys(size * 10L);
+        final MerkleDbDataSource dataSource = database.createDataSource(name, tableConfig, false);
+        dataSource.registerMetrics(testType.getMetrics());
+        return dataSource;
+    }
+
     public static VirtualHashRecord createVirtualInternalRecord(final int i) {
         return createVirtualInternalRecord(i, i);
     }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.merkledb.files;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.merkledb.config.MerkleDbConfig;
+import org.junit.jupiter.api.Test;
+
+class CompactionRateLimiterTest {
+
+    private static final int MB = 1024 * 1024;
+
+    private static MerkleDbConfig config(final long bytesPerSecond, final long bytesPerSecondDuringFlush) {
+        return new TestConfigBuilder()
+                .withValue("merkleDb.compactionMaxBytesPerSecond", bytesPerSecond)
+                .withValue("merkleDb.compactionMaxBytesPerSecondDuringFlush", bytesPerSecondDuringFlush)
+                .getOrCreateConfig()
+                .getConfigData(MerkleDbConfig.class);
+    }
+
+    private static long acquireMillis(final MerkleDbConfig config, final int times, final long bytes)
+            throws InterruptedException {
+        final long start = System.nanoTime();
+        for (int i = 0; i < times; i++) {
+            CompactionRateLimiter.acquire(config, bytes);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @Test
+    void noLimit() throws InterruptedException {
+        final MerkleDbConfig config = config(0, 0);
+        assertTrue(acquireMillis(config, 1000, MB) < 500, "Compactions must not be throttled");
+    }
+
+    @Test
+    void limitWithoutFlushes() throws InterruptedException {
+        final MerkleDbConfig config = config(4 * MB, 0);
+        assertFalse(CompactionRateLimiter.isFlushInProgress());
+        // The first call doesn't wait, then every call waits for 250ms
+        final long took = acquireMillis(config, 5, MB);
+        assertTrue(took >= 900, "Compactions must be throttled, took " + took + " ms");
+    }
+
+    @Test
+    void limitDuringFlushes() throws InterruptedException {
+        final MerkleDbConfig config = config(0, 4 * MB);
+        assertTrue(acquireMillis(config, 5, MB) < 500, "Compactions must not be throttled without flushes");
+        CompactionRateLimiter.flushStarted();
+        try {
+            assertTrue(CompactionRateLimiter.isFlushInProgress());
+            final long took = acquireMillis(config, 5, MB);
+            assertTrue(took >= 900, "Compactions must be throttled during flushes, took " + took + " ms");
+        } finally {
+            CompactionRateLimiter.flushFinished();
+        }
+        assertFalse(CompactionRateLimiter.isFlushInProgress());
+    }
+}
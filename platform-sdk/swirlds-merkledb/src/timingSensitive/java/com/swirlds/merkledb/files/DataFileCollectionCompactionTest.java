@@ -16,6 +16,7 @@
 
 package com.swirlds.merkledb.files;
 
+import static com.swirlds.merkledb.files.DataFileCommon.fileIndexFromDataLocation;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -257,12 +258,19 @@ class DataFileCollectionCompactionTest {
 
         // Create a new data collection from the snapshot
         final String[] index2 = new String[MAXKEYS];
-        final DataFileCollection store2 = new DataFileCollection(
-                config,
-                snapshot,
-                storeName,
-                (dataLocation, data) ->
-                        index2[(int) data.readLong()] = DataFileCommon.dataLocationToString(dataLocation));
+        final AtomicLongArray locations2 = new AtomicLongArray(MAXKEYS);
+        final DataFileCollection store2 =
+                new DataFileCollection(config, snapshot, storeName, (dataLocation, data, dataLocationOrder) -> {
+                    final int key = (int) data.readLong();
+                    // Data files are loaded in parallel, keep entries from the newest files only
+                    synchronized (index2) {
+                        final long existing = locations2.get(key);
+                        if ((existing == 0) || (dataLocationOrder.compare(existing, dataLocation) < 0)) {
+                            locations2.set(key, dataLocation);
+                            index2[key] = DataFileCommon.dataLocationToString(dataLocation);
+                        }
+                    }
+                });
 
         // Merge all files with redundant records
         final List<DataFileReader> filesToMerge = getFilesToMerge(store2);
@@ -434,12 +442,14 @@ class DataFileCollectionCompactionTest {
             }
 
             // Restore from all files
-            final AtomicLongArray reindex = new AtomicLongArray(MAX_KEYS);
+            final LongList reindex = new LongListOffHeap();
+            reindex.updateValidRange(0, MAX_KEYS - 1);
             final DataFileCollection restore = new DataFileCollection(
                     config,
                     testDir,
                     storeName,
-                    (dataLocation, data) -> reindex.set((int) data.readLong(), dataLocation));
+                    (dataLocation, data, dataLocationOrder) ->
+                            reindex.putIfGreater(data.readLong(), dataLocation, dataLocationOrder));
 
             // Validate the result
             try {
@@ -451,6 +461,91 @@ class DataFileCollectionCompactionTest {
                 }
             } finally {
                 restore.close();
+                reindex.close();
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Rebuilt index prefers a newer file over a compacted file with a greater index")
+    void testRestoreCompactedAndNewerFile() throws Exception {
+        final int numKeys = 100;
+        final String storeName = "testRestoreCompactedAndNewerFile";
+        final Path testDir = tempFileDir.resolve(storeName);
+        final AtomicLongArray index = new AtomicLongArray(numKeys);
+        final CASableLongIndex indexUpdater = new CASableLongIndex() {
+            public long get(long key) {
+                return index.get((int) key);
+            }
+
+            public boolean putIfEqual(long key, long oldValue, long newValue) {
+                return index.compareAndSet((int) key, oldValue, newValue);
+            }
+
+            public <T extends Throwable> void forEach(final LongAction<T> action) throws InterruptedException, T {
+                for (int i = 0; i < index.length(); i++) {
+                    action.handle(i, index.get(i));
+                }
+            }
+        };
+
+        final DataFileCollection store = new DataFileCollection(config, testDir, storeName, null);
+        try {
+            // Two flushed files with all keys
+            for (long version = 1; version <= 2; version++) {
+                store.startWriting();
+                for (int key = 0; key < numKeys; key++) {
+                    index.set(key, storeDataItem(store, new long[] {key, version}));
+                }
+                store.endWriting(0, numKeys - 1).setFileCompleted();
+            }
+
+            // Start writing the newest copy of all keys, like a flush does. Its file index is
+            // assigned now, but the index isn't updated till the flush is finished
+            store.startWriting();
+            final long[] newestLocations = new long[numKeys];
+            for (int key = 0; key < numKeys; key++) {
+                newestLocations[key] = storeDataItem(store, new long[] {key, 3});
+            }
+            final int newestFileIndex = fileIndexFromDataLocation(newestLocations[0]);
+
+            // Compact the two flushed files in parallel with the flush. The compacted file gets
+            // a greater index than the newest file, but contains older copies of the same keys
+            final List<DataFileReader> filesToMerge = getFilesToMerge(store);
+            assertEquals(2, filesToMerge.size());
+            final List<Path> compactedFiles = new DataFileCompactor(
+                            config, storeName, store, indexUpdater, null, null, null, null)
+                    .compactFiles(indexUpdater, filesToMerge, 1);
+            assertEquals(1, compactedFiles.size());
+            assertTrue(fileIndexFromDataLocation(index.get(0)) > newestFileIndex);
+
+            // Finish the flush
+            for (int key = 0; key < numKeys; key++) {
+                index.set(key, newestLocations[key]);
+            }
+            store.endWriting(0, numKeys - 1).setFileCompleted();
+
+            // Rebuild the index from all files, as if the node was restarted before the
+            // compacted file was compacted again. Data files are loaded in parallel
+            try (final LongList reindex = new LongListOffHeap()) {
+                reindex.updateValidRange(0, numKeys - 1);
+                final DataFileCollection restore = new DataFileCollection(
+                        config,
+                        testDir,
+                        storeName,
+                        (dataLocation, data, dataLocationOrder) ->
+                                reindex.putIfGreater(data.readLong(), dataLocation, dataLocationOrder));
+                try {
+                    for (int key = 0; key < numKeys; key++) {
+                        final long location = reindex.get(key);
+                        assertEquals(newestFileIndex, fileIndexFromDataLocation(location));
+                        assertEquals(3, readDataItem(restore, location)[1], "Newest value must be restored");
+                    }
+                } finally {
+                    restore.close();
+                }
             }
         } finally {
             store.close();
@@ -41,6 +41,7 @@ import com.swirlds.merkledb.KeyRange;
 import com.swirlds.merkledb.collections.CASableLongIndex;
 import com.swirlds.merkledb.collections.ImmutableIndexedObjectListUsingArray;
 import com.swirlds.merkledb.collections.IndexedObject;
+import com.swirlds.merkledb.collections.LongList;
 import com.swirlds.merkledb.collections.LongListHeap;
 import com.swirlds.merkledb.config.MerkleDbConfig;
 import com.swirlds.merkledb.test.fixtures.files.FilesTestType;
@@ -270,7 +271,8 @@ class DataFileCollectionTest {
     @EnumSource(FilesTestType.class)
     void closeAndReopen(final FilesTestType testType) throws Exception {
         final AtomicInteger numKeysRead = new AtomicInteger();
-        final DataFileCollection.LoadedDataCallback testCallback = (dataLoc, data) -> numKeysRead.incrementAndGet();
+        final DataFileCollection.LoadedDataCallback testCallback =
+                (dataLoc, data, order) -> numKeysRead.incrementAndGet();
         final DataFileCollection fileCollection = fileCollectionMap.get(testType);
         assertEquals(new KeyRange(0, 1000), fileCollection.getValidKeyRange(), "Should still have the valid range");
         fileCollection.close();
@@ -321,7 +323,8 @@ class DataFileCollectionTest {
     @EnumSource(FilesTestType.class)
     void closeAndReopenInSlowModeForMerging(final FilesTestType testType) throws Exception {
         final AtomicInteger numKeysRead = new AtomicInteger();
-        final DataFileCollection.LoadedDataCallback testCallback = (dataLoc, data) -> numKeysRead.incrementAndGet();
+        final DataFileCollection.LoadedDataCallback testCallback =
+                (dataLoc, data, order) -> numKeysRead.incrementAndGet();
         final DataFileCollection fileCollection = fileCollectionMap.get(testType);
         fileCollection.close();
         assertDoesNotThrow(
@@ -807,10 +810,17 @@ class DataFileCollectionTest {
         public final Map<Long, BufferedData> dataValueMap = new HashMap<>();
 
         @Override
-        public void newIndexEntry(final long dataLocation, final BufferedData dataValue) {
+        public synchronized void newIndexEntry(
+                final long dataLocation,
+                final BufferedData dataValue,
+                final LongList.LongComparator dataLocationOrder) {
             final long key = dataValue.readLong();
-            dataLocationMap.put(key, dataLocation);
-            dataValueMap.put(key, dataValue);
+            // Data files are loaded in parallel, keep entries from the newest files only
+            final Long existingLocation = dataLocationMap.get(key);
+            if ((existingLocation == null) || (dataLocationOrder.compare(existingLocation, dataLocation) < 0)) {
+                dataLocationMap.put(key, dataLocation);
+                dataValueMap.put(key, dataValue);
+            }
         }
     }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.core.jmh;
+
+import static com.swirlds.platform.event.AncientMode.GENERATION_THRESHOLD;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.WeightGenerators;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.platform.consensus.EventWindow;
+import com.swirlds.platform.consensus.GraphGenerations;
+import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.gossip.NoOpIntakeEventCounter;
+import com.swirlds.platform.gossip.shadowgraph.ReservedEventWindow;
+import com.swirlds.platform.gossip.shadowgraph.Shadowgraph;
+import com.swirlds.platform.gossip.shadowgraph.ShadowgraphInsertionException;
+import com.swirlds.platform.internal.EventImpl;
+import com.swirlds.platform.system.address.AddressBook;
+import com.swirlds.platform.test.event.emitter.StandardEventEmitter;
+import com.swirlds.platform.test.event.source.EventSourceFactory;
+import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator;
+import com.swirlds.platform.test.fixtures.event.source.EventSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures shadowgraph contention between the intake thread, which adds events and expires old ones, and sync
+ * threads, one per peer, which read tips and look up events by hash. The number of sync threads can be changed
+ * with the JMH {@code -tg} option, e.g. {@code -tg 1,32}.
+ */
+@State(Scope.Group)
+@Fork(value = 1)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 10)
+public class ShadowgraphBenchmark {
+
+    @Param({"39"})
+    public int numNodes;
+
+    @Param({"100000"})
+    public int numEvents;
+
+    @Param({"0"})
+    public long seed;
+
+    /** Number of generations kept in the shadowgraph before events are expired. */
+    @Param({"100"})
+    public int generationsToKeep;
+
+    /** Number of event hashes looked up by a sync thread in a single operation. */
+    @Param({"40"})
+    public int hashesPerLookup;
+
+    private List<PlatformEvent> events;
+    private List<Hash> hashes;
+    private PlatformContext platformContext;
+    private AddressBook addressBook;
+    // Replaced, rather than cleared, when all events are added, so sync threads never see a graph without a window
+    private volatile Shadowgraph shadowgraph;
+    private int nextEvent;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        final List<EventSource<?>> eventSources =
+                EventSourceFactory.newStandardEventSources(WeightGenerators.balancedNodeWeights(numNodes));
+
+        platformContext = TestPlatformContextBuilder.create().build();
+        final StandardGraphGenerator generator = new StandardGraphGenerator(platformContext, seed, eventSources);
+        final StandardEventEmitter emitter = new StandardEventEmitter(generator);
+        events = new ArrayList<>(numEvents);
+        hashes = new ArrayList<>(numEvents);
+        for (final EventImpl event : emitter.emitEvents(numEvents)) {
+            events.add(event.getBaseEvent());
+            hashes.add(event.getBaseHash());
+        }
+
+        addressBook = emitter.getGraphGenerator().getAddressBook();
+        restart();
+    }
+
+    private void restart() {
+        final Shadowgraph newShadowgraph = new Shadowgraph(platformContext, addressBook, new NoOpIntakeEventCounter());
+        newShadowgraph.updateEventWindow(EventWindow.getGenesisEventWindow(GENERATION_THRESHOLD));
+        shadowgraph = newShadowgraph;
+        nextEvent = 0;
+    }
+
+    /**
+     * The intake thread: adds the next event to the shadowgraph, and periodically moves the event window forward,
+     * which expires old events. Once all events are added, a new shadowgraph is created, and events are added again.
+     */
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void intake(final Blackhole bh) throws ShadowgraphInsertionException {
+        if (nextEvent == events.size()) {
+            restart();
+        }
+        final Shadowgraph shadowgraph = this.shadowgraph;
+        final PlatformEvent event = events.get(nextEvent++);
+        bh.consume(shadowgraph.addEvent(event));
+        if (nextEvent % numNodes == 0) {
+            final long expiredThreshold =
+                    Math.max(GraphGenerations.FIRST_GENERATION, event.getGeneration() - generationsToKeep);
+            final long currentThreshold = shadowgraph.getEventWindow().getExpiredThreshold();
+            if (expiredThreshold > currentThreshold) {
+                shadowgraph.updateEventWindow(
+                        new EventWindow(0, expiredThreshold, expiredThreshold, GENERATION_THRESHOLD));
+            }
+        }
+    }
+
+    /**
+     * A sync thread: reserves the event window, reads tips, and looks up events by hash, like a sync with a peer.
+     */
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void sync(final Blackhole bh) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<Hash> toLookup = new ArrayList<>(hashesPerLookup);
+        for (int i = 0; i < hashesPerLookup; i++) {
+            toLookup.add(hashes.get(random.nextInt(hashes.size())));
+        }
+        final Shadowgraph shadowgraph = this.shadowgraph;
+        try (final ReservedEventWindow reservation = shadowgraph.reserve()) {
+            bh.consume(reservation.getEventWindow());
+            bh.consume(shadowgraph.getTips());
+            bh.consume(shadowgraph.shadows(toLookup));
+        }
+    }
+}
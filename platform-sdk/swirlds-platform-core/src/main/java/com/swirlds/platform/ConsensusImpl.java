@@ -161,6 +161,8 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
     private final Time time;
     /** the only address book currently, until address book changes are implemented */
     private final AddressBook addressBook;
+    /** weights of all members, indexed by member index in the address book */
+    private final long[] memberWeights;
     /** metrics related to consensus */
     private final ConsensusMetrics consensusMetrics;
     /** used for searching the hashgraph */
@@ -237,6 +239,10 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
 
         // until we implement address book changes, we will just use the use this address book
         this.addressBook = addressBook;
+        this.memberWeights = new long[addressBook.getSize()];
+        for (int i = 0; i < memberWeights.length; i++) {
+            memberWeights[i] = getWeight(addressBook.getNodeId(i));
+        }
 
         this.rounds = new ConsensusRounds(config, getStorage(), addressBook);
         this.ancientMode = platformContext
@@ -683,10 +689,13 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
     private List<EventImpl> getStronglySeenInPreviousRound(final EventImpl event) {
         final int numMembers = addressBook.getSize();
         final ArrayList<EventImpl> stronglySeen = new ArrayList<>(numMembers);
-        for (long m = 0; m < numMembers; m++) {
-            final EventImpl s = stronglySeeS1(event, m);
-            if (s != null) {
-                stronglySeen.add(s);
+        // the event by every m that the event strongly sees in the round before its created round
+        final EventImpl[] stronglySeeS1 = stronglySeePVector(firstWitnessS(event));
+        if (stronglySeeS1 != null) {
+            for (final EventImpl s : stronglySeeS1) {
+                if (s != null) {
+                    stronglySeen.add(s);
+                }
             }
         }
         return stronglySeen;
@@ -898,6 +907,39 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         return result;
     }
 
+    /**
+     * The memoized vector of stronglySeeP(x, m) for all members m. Calculates and memoizes the vector,
+     * if not memoized yet. This method is called recursively, so it isn't timed, the dot product time
+     * is measured by the top level {@link #timedStronglySeeP(EventImpl, long)} call.
+     *
+     * @param x the event being queried
+     * @return the stronglySeeP vector of x, indexed by member index, or null if x is null or not
+     *     relevant for consensus
+     */
+    private @Nullable EventImpl[] stronglySeePVector(@Nullable final EventImpl x) {
+        if (x == null || notRelevantForConsensus(x)) {
+            return null;
+        }
+        stronglySeeP(x, 0);
+        return x.getStronglySeeP();
+    }
+
+    /**
+     * The memoized vector of lastSee(x, m) for all members m. Calculates and memoizes the vector, if
+     * not memoized yet.
+     *
+     * @param x the event being queried
+     * @return the lastSee vector of x, indexed by member index, or null if lastSee(x, m) is null for
+     *     all m
+     */
+    private @Nullable EventImpl[] lastSeeVector(@Nullable final EventImpl x) {
+        if (x == null || notRelevantForConsensus(x)) {
+            return null;
+        }
+        lastSee(x, 0);
+        return x.getLastSee();
+    }
+
     /**
      * Check if this event is relevant for consensus calculation. If an event has a round of -infinity we don't care
      * about what it sees. This is a performance optimization, to stop traversing the part of the graph that has no
@@ -975,8 +1017,6 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
      */
     private @Nullable EventImpl lastSee(@Nullable final EventImpl x, final long m) {
         final int numMembers;
-        final EventImpl sp;
-        final EventImpl op;
 
         if (x == null) {
             return null;
@@ -991,20 +1031,24 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         numMembers = addressBook.getSize();
         x.initLastSee(numMembers);
 
-        op = otherParent(x);
-        sp = selfParent(x);
+        // lastSee vectors of the parents, null if the parent is missing, ancient, or not relevant
+        final EventImpl[] opLastSee = lastSeeVector(otherParent(x));
+        final EventImpl[] spLastSee = lastSeeVector(selfParent(x));
+        final int creatorIndex = creatorIndex(x);
 
         for (int mm = 0; mm < numMembers; mm++) {
-            if (creatorIndexEquals(x, mm)) {
+            if (mm == creatorIndex) {
                 x.setLastSee(mm, x);
-            } else if (sp == null && op == null) {
+            } else if (spLastSee == null && opLastSee == null) {
                 x.setLastSee(mm, null);
             } else {
-                final EventImpl lsop = lastSee(op, mm);
-                final EventImpl lssp = lastSee(sp, mm);
+                final EventImpl lsop = opLastSee == null ? null : opLastSee[mm];
+                final EventImpl lssp = spLastSee == null ? null : spLastSee[mm];
                 final long lsopGen = lsop == null ? 0 : lsop.getGeneration();
                 final long lsspGen = lssp == null ? 0 : lssp.getGeneration();
-                if ((round(lsop) > round(lssp)) || ((lsopGen > lsspGen) && (firstSee(op, mm) == firstSee(sp, mm)))) {
+                // firstSee(op, mm) == firstSee(sp, mm)
+                if ((round(lsop) > round(lssp))
+                        || ((lsopGen > lsspGen) && (firstSelfWitnessS(lsop) == firstSelfWitnessS(lssp)))) {
                     x.setLastSee(mm, lsop);
                 } else {
                     x.setLastSee(mm, lssp);
@@ -1068,34 +1112,66 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         final long prx = parentRound(x); // parent round of x
         final long prsp = parentRound(sp); // parent round of self parent of x
         final long prop = parentRound(op); // parent round of other parent of x
+        final EventImpl[] spStronglySeeP = stronglySeePVector(sp);
+        final EventImpl[] opStronglySeeP = stronglySeePVector(op);
 
         x.initStronglySeeP(numMembers);
+
+        // the canonical witness by mm that is seen by x thru someone else, for all mm that can't be
+        // copied from the parents and have the canonical witness in the parent round of x
+        final EventImpl[] canonical = new EventImpl[numMembers];
+        final int[] toCheck = new int[numMembers];
+        int numToCheck = 0;
         for (int mm = 0; mm < numMembers; mm++) {
-            if (stronglySeeP(sp, mm) != null && prx == prsp) {
-                x.setStronglySeeP(mm, stronglySeeP(sp, mm));
-            } else if (stronglySeeP(op, mm) != null && prx == prop) {
-                x.setStronglySeeP(mm, stronglySeeP(op, mm));
+            if (spStronglySeeP != null && spStronglySeeP[mm] != null && prx == prsp) {
+                x.setStronglySeeP(mm, spStronglySeeP[mm]);
+            } else if (opStronglySeeP != null && opStronglySeeP[mm] != null && prx == prop) {
+                x.setStronglySeeP(mm, opStronglySeeP[mm]);
             } else {
-                // the canonical witness by mm that is seen by x thru someone else
                 final EventImpl st = seeThru(x, mm, mm);
                 if (round(st) != prx) { // ignore if the canonical is in the wrong round, or doesn't exist
                     x.setStronglySeeP(mm, null);
                 } else {
-                    long weight = 0;
-                    for (int m3 = 0; m3 < numMembers; m3++) {
-                        if (seeThru(x, mm, m3) == st) { // only count intermediates that see the canonical witness
-                            weight += getWeight(m3);
-                        }
-                    }
-                    if (Threshold.SUPER_MAJORITY.isSatisfiedBy(weight, totalWeight)) { // strongly see supermajority of
-                        // intermediates
-                        x.setStronglySeeP(mm, st);
-                    } else {
-                        x.setStronglySeeP(mm, null);
-                    }
+                    canonical[mm] = st;
+                    toCheck[numToCheck++] = mm;
                 }
             }
         }
+        if (numToCheck == 0) {
+            return x.getStronglySeeP((int) m);
+        }
+
+        // weight of the intermediates that see the canonical witness, for every mm to check. This is
+        // the same as summing the weights of all m3 with seeThru(x, mm, m3) == canonical[mm], but the
+        // lastSee vector of every intermediate is only looked up once
+        final long[] weights = new long[numMembers];
+        final EventImpl[] xLastSee = lastSeeVector(x);
+        final int creatorIndex = creatorIndex(x);
+        for (int m3 = 0; m3 < numMembers; m3++) {
+            final EventImpl z = xLastSee == null ? null : xLastSee[m3];
+            final EventImpl[] zLastSee = lastSeeVector(z);
+            for (int i = 0; i < numToCheck; i++) {
+                final int mm = toCheck[i];
+                final EventImpl seen;
+                if (mm == m3 && m3 == creatorIndex) {
+                    seen = firstSelfWitnessS(selfParent(x));
+                } else {
+                    seen = firstSelfWitnessS(zLastSee == null ? null : zLastSee[mm]);
+                }
+                if (seen == canonical[mm]) { // only count intermediates that see the canonical witness
+                    weights[mm] += memberWeights[m3];
+                }
+            }
+        }
+        for (int i = 0; i < numToCheck; i++) {
+            final int mm = toCheck[i];
+            if (Threshold.SUPER_MAJORITY.isSatisfiedBy(weights[mm], totalWeight)) { // strongly see supermajority of
+                // intermediates
+                x.setStronglySeeP(mm, canonical[mm]);
+            } else {
+                x.setStronglySeeP(mm, null);
+            }
+        }
         return x.getStronglySeeP((int) m);
     }
 
@@ -1183,8 +1259,9 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         // sum of stake involved
         long weight = 0;
         int numStronglySeen = 0;
+        final EventImpl[] stronglySeeP = stronglySeePVector(x);
         for (int m = 0; m < numMembers; m++) {
-            if (timedStronglySeeP(x, m) != null) {
+            if (stronglySeeP != null && stronglySeeP[m] != null) {
                 weight += getWeight(m);
                 numStronglySeen++;
             }
@@ -1256,19 +1333,6 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
         return x.getFirstWitnessS();
     }
 
-    /**
-     * The event by m that x strongly sees in the round before the created round of x (function from
-     * SWIRLDS-TR-2020-01). This result is not memoized.
-     *
-     * @param x the event being queried
-     * @param m the member ID of the creator
-     * @return event by m that x strongly sees in the round before the created round of x, or null
-     *     if none
-     */
-    private @Nullable EventImpl stronglySeeS1(@Nullable final EventImpl x, final long m) {
-        return timedStronglySeeP(firstWitnessS(x), m);
-    }
-
     /**
      * The first witness in round r that is a self-ancestor of x, where r is the round of the last
      * event by m that is seen by x (function from SWIRLDS-TR-2020-01). This result is not memoized.
@@ -1301,7 +1365,7 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
      * @return the weight of the node
      */
     private long getWeight(final int nodeIndex) {
-        return getWeight(addressBook.getNodeId(nodeIndex));
+        return memberWeights[nodeIndex];
     }
 
     /**
@@ -1311,9 +1375,18 @@ public class ConsensusImpl extends ThreadSafeConsensusInfo implements Consensus
      * @return true if this creator is in the address book and has the given index
      */
     private boolean creatorIndexEquals(@NonNull final EventImpl e, final int index) {
+        return creatorIndex(e) == index;
+    }
+
+    /**
+     * Get the index in the address book of the creator of the event
+     * @param e the event whose creator to check
+     * @return the index of the creator, or -1 if the creator is not in the address book
+     */
+    private int creatorIndex(@NonNull final EventImpl e) {
         if (!addressBook.contains(e.getCreatorId())) {
-            return false;
+            return -1;
         }
-        return addressBook.getIndexOfNodeId(e.getCreatorId()) == index;
+        return addressBook.getIndexOfNodeId(e.getCreatorId());
     }
 }
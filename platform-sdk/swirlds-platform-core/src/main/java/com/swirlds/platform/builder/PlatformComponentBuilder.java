@@ -61,8 +61,10 @@ import com.swirlds.platform.event.stale.DefaultStaleEventDetector;
 import com.swirlds.platform.event.stale.StaleEventDetector;
 import com.swirlds.platform.event.stream.ConsensusEventStream;
 import com.swirlds.platform.event.stream.DefaultConsensusEventStream;
+import com.swirlds.platform.event.validation.DefaultEventSignatureBatcher;
 import com.swirlds.platform.event.validation.DefaultEventSignatureValidator;
 import com.swirlds.platform.event.validation.DefaultInternalEventValidator;
+import com.swirlds.platform.event.validation.EventSignatureBatcher;
 import com.swirlds.platform.event.validation.EventSignatureValidator;
 import com.swirlds.platform.event.validation.InternalEventValidator;
 import com.swirlds.platform.eventhandling.DefaultTransactionHandler;
@@ -128,6 +130,7 @@ public class PlatformComponentBuilder {
     private EventHasher eventHasher;
     private InternalEventValidator internalEventValidator;
     private EventDeduplicator eventDeduplicator;
+    private EventSignatureBatcher eventSignatureBatcher;
     private EventSignatureValidator eventSignatureValidator;
     private SelfEventSigner selfEventSigner;
     private StateGarbageCollector stateGarbageCollector;
@@ -329,6 +332,39 @@ public class PlatformComponentBuilder {
         return eventDeduplicator;
     }
 
+    /**
+     * Provide an event signature batcher in place of the platform's default event signature batcher.
+     *
+     * @param eventSignatureBatcher the event signature batcher to use
+     * @return this builder
+     */
+    @NonNull
+    public PlatformComponentBuilder withEventSignatureBatcher(
+            @NonNull final EventSignatureBatcher eventSignatureBatcher) {
+        throwIfAlreadyUsed();
+        if (this.eventSignatureBatcher != null) {
+            throw new IllegalStateException("Event signature batcher has already been set");
+        }
+        this.eventSignatureBatcher = Objects.requireNonNull(eventSignatureBatcher);
+        return this;
+    }
+
+    /**
+     * Build the event signature batcher if it has not yet been built. If one has been provided via
+     * {@link #withEventSignatureBatcher(EventSignatureBatcher)}, that batcher will be used. If this method is called
+     * more than once, only the first call will build the event signature batcher. Otherwise, the default batcher will
+     * be created and returned.
+     *
+     * @return the event signature batcher
+     */
+    @NonNull
+    public EventSignatureBatcher buildEventSignatureBatcher() {
+        if (eventSignatureBatcher == null) {
+            eventSignatureBatcher = new DefaultEventSignatureBatcher(blocks.platformContext());
+        }
+        return eventSignatureBatcher;
+    }
+
     /**
      * Provide an event signature validator in place of the platform's default event signature validator.
      *
@@ -359,6 +395,7 @@ public class PlatformComponentBuilder {
             eventSignatureValidator = new DefaultEventSignatureValidator(
                     blocks.platformContext(),
                     CryptoStatic::verifySignature,
+                    CryptoStatic::verifySignatures,
                     blocks.appVersion().getPbjSemanticVersion(),
                     blocks.initialState()
                             .get()
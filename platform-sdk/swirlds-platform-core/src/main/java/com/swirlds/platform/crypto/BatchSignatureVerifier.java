@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.crypto;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Verifies batches of signatures created with the same key. Implementations may use batch verification provided
+ * by the signature algorithm, or just amortize per-key setup costs over the batch. A batch verifier only tells if
+ * all signatures in the batch are valid. If the batch fails verification, the caller is expected to check the
+ * signatures individually with a {@link SignatureVerifier} to find the invalid ones.
+ */
+@FunctionalInterface
+public interface BatchSignatureVerifier {
+    /**
+     * Check whether all the given signatures are valid
+     *
+     * @param publicKey  the claimed public key used to generate all the signatures
+     * @param data       the data that was signed, one element per signature
+     * @param signatures the claimed signatures of the data
+     * @return true if all the signatures are valid, false if at least one of them is not valid
+     */
+    boolean verifySignatures(
+            @NonNull final PublicKey publicKey,
+            @NonNull final List<Bytes> data,
+            @NonNull final List<Bytes> signatures);
+}
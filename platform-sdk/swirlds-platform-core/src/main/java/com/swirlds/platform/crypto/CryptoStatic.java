@@ -273,6 +273,41 @@ public final class CryptoStatic {
         }
     }
 
+    /**
+     * See {@link BatchSignatureVerifier#verifySignatures(PublicKey, List, List)}. There is no batch verification for
+     * RSA signatures, so every signature is still verified individually, but a single signature object is created and
+     * initialized with the public key for the whole batch.
+     */
+    public static boolean verifySignatures(
+            @NonNull final PublicKey publicKey,
+            @NonNull final List<Bytes> data,
+            @NonNull final List<Bytes> signatures) {
+        Objects.requireNonNull(publicKey);
+        Objects.requireNonNull(data);
+        Objects.requireNonNull(signatures);
+        if (data.size() != signatures.size()) {
+            throw new IllegalArgumentException("Data and signatures must be of the same size");
+        }
+        try {
+            final Signature sig = Signature.getInstance(CryptoConstants.SIG_TYPE2, CryptoConstants.SIG_PROVIDER);
+            sig.initVerify(publicKey);
+            for (int i = 0; i < data.size(); i++) {
+                // verification resets the signature object to the state after initVerify(), so it can be reused
+                data.get(i).updateSignature(sig);
+                if (!signatures.get(i).verifySignature(sig)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (final NoSuchAlgorithmException | NoSuchProviderException e) {
+            // should never happen
+            throw new CryptographyException("Exception occurred while validating a signature:", e, LogMarker.EXCEPTION);
+        } catch (final InvalidKeyException | SignatureException e) {
+            logger.error(LogMarker.EXCEPTION.getMarker(), "Exception occurred while validating a signature:", e);
+            return false;
+        }
+    }
+
     /**
      * Loads all data from a .pfx file into a KeyStore
      *
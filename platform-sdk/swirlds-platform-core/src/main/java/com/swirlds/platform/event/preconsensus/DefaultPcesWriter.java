@@ -137,6 +137,11 @@ public class DefaultPcesWriter implements PcesWriter {
      */
     private final AncientMode fileType;
 
+    /**
+     * Preconsensus event storage configuration, used to decide how new files are written.
+     */
+    private final PcesConfig config;
+
     /**
      * A collection of outstanding flush requests
      * <p>
@@ -155,7 +160,7 @@ public class DefaultPcesWriter implements PcesWriter {
         Objects.requireNonNull(platformContext);
         Objects.requireNonNull(fileManager);
 
-        final PcesConfig config = platformContext.getConfiguration().getConfigData(PcesConfig.class);
+        config = platformContext.getConfiguration().getConfigData(PcesConfig.class);
 
         preferredFileSizeMegabytes = config.preferredFileSizeMegabytes();
         averageSpanUtilization = new LongRunningAverage(config.spanUtilizationRunningAverageLength());
@@ -200,6 +205,7 @@ public class DefaultPcesWriter implements PcesWriter {
             }
         }
 
+        // A single flush makes all events written so far durable, so it satisfies all pending requests at once
         if (flushRequired) {
             if (currentMutableFile == null) {
                 logger.error(EXCEPTION.getMarker(), "Flush required, but no file is open. This should never happen");
@@ -402,7 +408,7 @@ public class DefaultPcesWriter implements PcesWriter {
 
             currentMutableFile = fileManager
                     .getNextFileDescriptor(nonAncientBoundary, upperBound)
-                    .getMutableFile();
+                    .getMutableFile(config);
         }
 
         return fileClosed;
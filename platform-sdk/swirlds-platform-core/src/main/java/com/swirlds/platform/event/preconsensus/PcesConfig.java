@@ -87,6 +87,22 @@ import java.time.Duration;
  *                                             time, pause PCES replay until the system is able to catch up.
  * @param limitReplayFrequency                 if true, then directly limit the replay frequency of preconsensus events
  * @param maxEventReplayFrequency              the maximum number of events that can be replayed per second
+ * @param useFileChannelWriter                 if true, then preconsensus event files are written through a file
+ *                                             channel with a large direct buffer. If false, then they are written
+ *                                             through a buffered file stream.
+ * @param writeBufferSize                      the size of the direct buffer used by the file channel writer, in bytes.
+ *                                             Events are only written to the file when the buffer is full or when the
+ *                                             file is flushed.
+ * @param syncOnFlush                          if true, then every flush of the file channel writer forces written
+ *                                             events to the storage device. A flush is performed once for all
+ *                                             outstanding flush requests, so the cost of the sync is shared by all
+ *                                             rounds that become durable. Ignored if the file channel writer isn't
+ *                                             used.
+ * @param preallocateFiles                     if true, then the file channel writer fills new files with zeros up to
+ *                                             the preferred file size, so syncs don't have to update file metadata.
+ *                                             Files are truncated when closed. Files are filled synchronously, so the
+ *                                             writer stalls on every new file until its zeros are on disk. Ignored if
+ *                                             the file channel writer isn't used.
  */
 @ConfigData("event.preconsensus")
 public record PcesConfig(
@@ -109,4 +125,8 @@ public record PcesConfig(
         @ConfigProperty(defaultValue = "1m") Duration suspiciousRoundDurabilityDuration,
         @ConfigProperty(defaultValue = "1ms") Duration replayHealthThreshold,
         @ConfigProperty(defaultValue = "true") boolean limitReplayFrequency,
-        @ConfigProperty(defaultValue = "5000") int maxEventReplayFrequency) {}
+        @ConfigProperty(defaultValue = "5000") int maxEventReplayFrequency,
+        @ConfigProperty(defaultValue = "false") boolean useFileChannelWriter,
+        @Min(1) @ConfigProperty(defaultValue = "1048576") int writeBufferSize,
+        @ConfigProperty(defaultValue = "true") boolean syncOnFlush,
+        @ConfigProperty(defaultValue = "false") boolean preallocateFiles) {}
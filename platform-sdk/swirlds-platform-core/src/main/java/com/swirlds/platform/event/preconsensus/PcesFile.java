@@ -403,6 +403,18 @@ public final class PcesFile implements Comparable<PcesFile> {
         return new PcesMutableFile(this);
     }
 
+    /**
+     * Get an object that can be used to write events to this file, as configured. Throws if there already exists a
+     * file on disk with the same path.
+     *
+     * @param config the preconsensus event storage configuration
+     * @return a writer for this file
+     */
+    @NonNull
+    public PcesMutableFile getMutableFile(@NonNull final PcesConfig config) throws IOException {
+        return new PcesMutableFile(this, Objects.requireNonNull(config));
+    }
+
     /**
      * Delete a file (permanently). Automatically deletes parent directories if empty up until the root directory is
      * reached, which is never deleted.
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.preconsensus;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * An output stream that writes a preconsensus event file through a {@link FileChannel}. Written bytes are collected in
+ * a large direct buffer, and are only written to the channel when the buffer is full or when the stream is flushed, so
+ * the number of system calls is small. If requested, a flush also forces the written bytes to the storage device.
+ *
+ * <p>The file may be preallocated. A preallocated file is filled with zeros up to the preallocated size, so flushes
+ * don't have to update file size metadata. When the stream is closed, the file is truncated to the number of bytes
+ * written. If the node crashes before that, the file has a zero filled tail, which is recognized by
+ * {@link PcesFileIterator}. The last event before the tail may be torn, if the storage device only persisted a part of
+ * it. The iterator reports such an event as a partial event.
+ *
+ * <p>Preallocation is synchronous. Every new file is filled with zeros and forced to the storage device in the
+ * constructor, so the thread that rolls over to a new file stalls for as long as it takes to write the preferred file
+ * size (10 MiB by default) to disk.
+ */
+class PcesFileChannelOutputStream extends OutputStream {
+
+    /**
+     * The size of the buffer used to fill preallocated files with zeros.
+     */
+    private static final int PREALLOCATION_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * The channel to write to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Bytes written to this stream, but not to the channel yet.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * If true, then the file was preallocated, and must be truncated when the stream is closed.
+     */
+    private final boolean preallocated;
+
+    /**
+     * If true, then written bytes are forced to the storage device on every flush.
+     */
+    private final boolean syncOnFlush;
+
+    /**
+     * Create a new file channel output stream. Throws if the file already exists.
+     *
+     * @param path            the path of the file to create
+     * @param bufferSize      the size of the direct buffer, in bytes
+     * @param preallocateSize the number of bytes to preallocate the file to, or 0 if the file shouldn't be
+     *                        preallocated
+     * @param syncOnFlush     if true, then written bytes are forced to the storage device on every flush
+     */
+    PcesFileChannelOutputStream(
+            @NonNull final Path path, final int bufferSize, final long preallocateSize, final boolean syncOnFlush)
+            throws IOException {
+        Objects.requireNonNull(path);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+        preallocated = preallocateSize > 0;
+        this.syncOnFlush = syncOnFlush;
+        if (preallocated) {
+            try {
+                preallocate(preallocateSize);
+            } catch (final IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Fill the file with zeros up to the given size. Positional writes are used, so the channel position stays at the
+     * beginning of the file.
+     *
+     * @param size the number of bytes to preallocate
+     */
+    private void preallocate(final long size) throws IOException {
+        final ByteBuffer zeros = ByteBuffer.allocateDirect((int) Math.min(size, PREALLOCATION_CHUNK_SIZE));
+        long position = 0;
+        while (position < size) {
+            zeros.clear();
+            zeros.limit((int) Math.min(zeros.capacity(), size - position));
+            while (zeros.hasRemaining()) {
+                position += channel.write(zeros, position);
+            }
+        }
+        // The file size and allocated blocks are made durable once, so flushes don't have to
+        channel.force(true);
+    }
+
+    /**
+     * Make sure that the next given number of bytes are written to the channel in a single write, if they fit the
+     * buffer. If the node process is killed, a preallocated file then never contains a partially written event
+     * followed by zeros. This doesn't hold if the whole machine crashes, since the storage device may persist a part
+     * of a write only.
+     *
+     * @param length the number of bytes that are about to be written
+     */
+    void keepTogether(final int length) throws IOException {
+        if (length > buffer.remaining()) {
+            drain();
+        }
+    }
+
+    /**
+     * Write all buffered bytes to the channel.
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(@NonNull final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len > buffer.remaining()) {
+            drain();
+        }
+        if (len > buffer.capacity()) {
+            // Too large to be buffered, write it directly
+            final ByteBuffer wrapped = ByteBuffer.wrap(b, off, len);
+            while (wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+            return;
+        }
+        buffer.put(b, off, len);
+    }
+
+    /**
+     * Write all buffered bytes to the channel. If this stream is configured to sync on flush, then the written bytes
+     * are also forced to the storage device. Only metadata needed to read the file back is forced, e.g. the file size,
+     * which doesn't change for a preallocated file.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (syncOnFlush) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            drain();
+            if (preallocated && channel.position() < channel.size()) {
+                channel.truncate(channel.position());
+            }
+            if (syncOnFlush) {
+                channel.force(true);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
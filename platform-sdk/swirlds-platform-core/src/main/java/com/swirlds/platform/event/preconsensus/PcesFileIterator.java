@@ -68,6 +68,12 @@ public class PcesFileIterator implements IOIterator<PlatformEvent> {
 
         try {
             final int fileVersionNumber = stream.readInt();
+            if (fileVersionNumber == 0) {
+                // A preallocated file, which is empty. Possible if the node crashed before the file was flushed.
+                stream.close();
+                streamClosed = true;
+                return;
+            }
             fileVersion = PcesFileVersion.fromVersionNumber(fileVersionNumber);
             if (fileVersion == null) {
                 throw new IOException("unsupported file version: " + fileVersionNumber);
@@ -92,15 +98,38 @@ public class PcesFileIterator implements IOIterator<PlatformEvent> {
                         switch (fileVersion) {
                             case ORIGINAL -> EventSerializationUtils.deserializePlatformEvent(stream, true);
                             case PROTOBUF_EVENTS -> {
-                                final GossipEvent gossipEvent = stream.readPbjRecord(GossipEvent.PROTOBUF);
+                                final int size = stream.readInt();
+                                if (size == 0) {
+                                    // Events are never empty. This is the zero filled tail of a preallocated
+                                    // file, which wasn't truncated, because the node was shut down abruptly.
+                                    stream.close();
+                                    streamClosed = true;
+                                    yield null;
+                                }
+                                // A torn event is only possible in a preallocated file, there must be zeros after it
+                                final long eventEnd = initialCount + Integer.BYTES + size;
+                                final GossipEvent gossipEvent;
+                                try {
+                                    gossipEvent = stream.readPbjRecord(GossipEvent.PROTOBUF, size);
+                                } catch (final EOFException e) {
+                                    throw e;
+                                } catch (final IOException e) {
+                                    if (closeIfTornEvent(eventEnd)) {
+                                        yield null;
+                                    }
+                                    throw e;
+                                }
                                 try {
                                     yield new PlatformEvent(gossipEvent);
                                 } catch (final NullPointerException e) {
+                                    if (closeIfTornEvent(eventEnd)) {
+                                        yield null;
+                                    }
                                     throw new IOException("GossipEvent read from the file is malformed", e);
                                 }
                             }
                         };
-                if (candidate.getAncientIndicator(fileType) >= lowerBound) {
+                if (candidate != null && candidate.getAncientIndicator(fileType) >= lowerBound) {
                     next = candidate;
                 }
             } catch (final EOFException e) {
@@ -115,6 +144,35 @@ public class PcesFileIterator implements IOIterator<PlatformEvent> {
         }
     }
 
+    /**
+     * Called when an event can't be parsed. If all bytes remaining in the file are zeros, and there is at least one
+     * zero byte after the event, then the event is the torn last event of a preallocated file: its size was written to
+     * the storage device, but (some of) its bytes weren't, because the node was shut down abruptly. Such an event is
+     * treated as a partial event, and the stream is closed. Files that aren't preallocated have no bytes after the last
+     * event, so a malformed last event in such a file is still reported as corrupted.
+     *
+     * @param eventEnd the position in the file right after the event
+     * @return true if the event was torn, false if the file is corrupted
+     */
+    private boolean closeIfTornEvent(final long eventEnd) throws IOException {
+        final byte[] bytes = new byte[4096];
+        int read;
+        while ((read = stream.read(bytes)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] != 0) {
+                    return false;
+                }
+            }
+        }
+        if (counter.getCount() <= eventEnd) {
+            return false;
+        }
+        hasPartialEvent = true;
+        stream.close();
+        streamClosed = true;
+        return true;
+    }
+
     /**
      * If true then this file contained a partial event. If false then the last event in the file was fully written when
      * the file was closed.
@@ -22,9 +22,11 @@ import com.swirlds.common.io.extendable.extensions.CountingStreamExtension;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import com.swirlds.platform.event.PlatformEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
@@ -54,11 +56,27 @@ public class PcesMutableFile {
     private final SerializableDataOutputStream out;
 
     /**
-     * Create a new preconsensus event file that can be written to.
+     * The file channel stream under {@link #out}, or null if the file is written through a buffered file stream.
+     */
+    private final PcesFileChannelOutputStream channelOut;
+
+    /**
+     * Create a new preconsensus event file that can be written to through a buffered file stream.
      *
      * @param descriptor a description of the file
      */
     PcesMutableFile(@NonNull final PcesFile descriptor) throws IOException {
+        this(descriptor, null);
+    }
+
+    /**
+     * Create a new preconsensus event file that can be written to.
+     *
+     * @param descriptor a description of the file
+     * @param config     the preconsensus event storage configuration, or null to write the file through a buffered
+     *                   file stream
+     */
+    PcesMutableFile(@NonNull final PcesFile descriptor, @Nullable final PcesConfig config) throws IOException {
         if (Files.exists(descriptor.getPath())) {
             throw new IOException("File " + descriptor.getPath() + " already exists");
         }
@@ -67,10 +85,18 @@ public class PcesMutableFile {
 
         this.descriptor = descriptor;
         counter = new CountingStreamExtension(false);
-        out = new SerializableDataOutputStream(new ExtendableOutputStream(
-                new BufferedOutputStream(
-                        new FileOutputStream(descriptor.getPath().toFile())),
-                counter));
+        final OutputStream fileOut;
+        if (config != null && config.useFileChannelWriter()) {
+            final long preallocateSize =
+                    config.preallocateFiles() ? config.preferredFileSizeMegabytes() * 1024L * 1024L : 0;
+            channelOut = new PcesFileChannelOutputStream(
+                    descriptor.getPath(), config.writeBufferSize(), preallocateSize, config.syncOnFlush());
+            fileOut = channelOut;
+        } else {
+            channelOut = null;
+            fileOut = new BufferedOutputStream(new FileOutputStream(descriptor.getPath().toFile()));
+        }
+        out = new SerializableDataOutputStream(new ExtendableOutputStream(fileOut, counter));
         out.writeInt(PcesFileVersion.currentVersionNumber());
         highestAncientIdentifierInFile = descriptor.getLowerBound();
     }
@@ -95,7 +121,11 @@ public class PcesMutableFile {
             throw new IllegalStateException("Cannot write event " + event.getHash() + " with ancient indicator "
                     + event.getAncientIndicator(descriptor.getFileType()) + " to file " + descriptor);
         }
-        out.writePbjRecord(event.getGossipEvent(), GossipEvent.PROTOBUF);
+        final GossipEvent gossipEvent = event.getGossipEvent();
+        if (channelOut != null) {
+            channelOut.keepTogether(Integer.BYTES + GossipEvent.PROTOBUF.measureRecord(gossipEvent));
+        }
+        out.writePbjRecord(gossipEvent, GossipEvent.PROTOBUF);
         highestAncientIdentifierInFile =
                 Math.max(highestAncientIdentifierInFile, event.getAncientIndicator(descriptor.getFileType()));
     }
@@ -127,7 +157,8 @@ public class PcesMutableFile {
     }
 
     /**
-     * Flush the file.
+     * Flush the file. If the file is written through a file channel, and sync on flush is enabled, then all events
+     * written so far are durable once this method returns.
      */
     public void flush() throws IOException {
         out.flush();
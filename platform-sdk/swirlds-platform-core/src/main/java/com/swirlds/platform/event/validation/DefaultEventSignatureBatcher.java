@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.validation;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.eventhandling.EventConfig;
+import com.swirlds.platform.wiring.NoInput;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A standard implementation of {@link EventSignatureBatcher}.
+ */
+public class DefaultEventSignatureBatcher implements EventSignatureBatcher {
+
+    /**
+     * The max number of events in a batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The current batch. Null if there are no events in it.
+     */
+    private List<PlatformEvent> batch;
+
+    /**
+     * Constructor
+     *
+     * @param platformContext the platform context
+     */
+    public DefaultEventSignatureBatcher(@NonNull final PlatformContext platformContext) {
+        this.maxBatchSize = platformContext
+                .getConfiguration()
+                .getConfigData(EventConfig.class)
+                .signatureBatchSize();
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Signature batch size must be positive");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public List<PlatformEvent> addEvent(@NonNull final PlatformEvent event) {
+        Objects.requireNonNull(event);
+        if (batch == null) {
+            batch = new ArrayList<>(maxBatchSize);
+        }
+        batch.add(event);
+        return (batch.size() >= maxBatchSize) ? releaseBatch() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public List<PlatformEvent> heartbeat(@NonNull final Instant now) {
+        return releaseBatch();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable
+    public List<PlatformEvent> flushBatch(@NonNull final NoInput ignored) {
+        return releaseBatch();
+    }
+
+    /**
+     * Release the current batch and start a new one.
+     *
+     * @return the current batch, or null if there are no events in it
+     */
+    @Nullable
+    private List<PlatformEvent> releaseBatch() {
+        final List<PlatformEvent> released = batch;
+        batch = null;
+        return released;
+    }
+}
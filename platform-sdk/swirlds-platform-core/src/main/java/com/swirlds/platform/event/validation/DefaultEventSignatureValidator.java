@@ -20,11 +20,13 @@ import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
 import static com.swirlds.metrics.api.Metrics.PLATFORM_CATEGORY;
 
 import com.hedera.hapi.node.base.SemanticVersion;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.common.utility.throttle.RateLimitedLogger;
 import com.swirlds.metrics.api.LongAccumulator;
 import com.swirlds.platform.consensus.EventWindow;
+import com.swirlds.platform.crypto.BatchSignatureVerifier;
 import com.swirlds.platform.crypto.SignatureVerifier;
 import com.swirlds.platform.event.PlatformEvent;
 import com.swirlds.platform.eventhandling.EventConfig;
@@ -35,6 +37,10 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.security.PublicKey;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -55,6 +61,11 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
      */
     private final SignatureVerifier signatureVerifier;
 
+    /**
+     * A verifier for checking batches of event signatures created by the same node.
+     */
+    private final BatchSignatureVerifier batchSignatureVerifier;
+
     /**
      * The previous address book. May be null.
      */
@@ -91,11 +102,46 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
             .withUnit("events");
     private final LongAccumulator validationFailedAccumulator;
 
+    /**
+     * Constructor. Batches of event signatures are verified one by one with the given signature verifier.
+     *
+     * @param platformContext        the platform context
+     * @param signatureVerifier      a verifier for checking event signatures
+     * @param currentSoftwareVersion the current software version
+     * @param previousAddressBook    the previous address book
+     * @param currentAddressBook     the current address book
+     * @param intakeEventCounter     keeps track of the number of events in the intake pipeline from each peer
+     */
+    public DefaultEventSignatureValidator(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final SignatureVerifier signatureVerifier,
+            @NonNull final SemanticVersion currentSoftwareVersion,
+            @Nullable final AddressBook previousAddressBook,
+            @NonNull final AddressBook currentAddressBook,
+            @NonNull final IntakeEventCounter intakeEventCounter) {
+        this(
+                platformContext,
+                signatureVerifier,
+                (publicKey, data, signatures) -> {
+                    for (int i = 0; i < data.size(); i++) {
+                        if (!signatureVerifier.verifySignature(data.get(i), signatures.get(i), publicKey)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                },
+                currentSoftwareVersion,
+                previousAddressBook,
+                currentAddressBook,
+                intakeEventCounter);
+    }
+
     /**
      * Constructor
      *
      * @param platformContext        the platform context
      * @param signatureVerifier      a verifier for checking event signatures
+     * @param batchSignatureVerifier a verifier for checking batches of event signatures
      * @param currentSoftwareVersion the current software version
      * @param previousAddressBook    the previous address book
      * @param currentAddressBook     the current address book
@@ -104,12 +150,14 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
     public DefaultEventSignatureValidator(
             @NonNull final PlatformContext platformContext,
             @NonNull final SignatureVerifier signatureVerifier,
+            @NonNull final BatchSignatureVerifier batchSignatureVerifier,
             @NonNull final SemanticVersion currentSoftwareVersion,
             @Nullable final AddressBook previousAddressBook,
             @NonNull final AddressBook currentAddressBook,
             @NonNull final IntakeEventCounter intakeEventCounter) {
 
         this.signatureVerifier = Objects.requireNonNull(signatureVerifier);
+        this.batchSignatureVerifier = Objects.requireNonNull(batchSignatureVerifier);
         this.currentSoftwareVersion = Objects.requireNonNull(currentSoftwareVersion);
         this.previousAddressBook = previousAddressBook;
         this.currentAddressBook = Objects.requireNonNull(currentAddressBook);
@@ -166,16 +214,19 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
     }
 
     /**
-     * Determine whether a given event has a valid signature.
+     * Get the public key to verify the signature of a given event with.
+     * <p>
+     * Logs an error and returns null if the public key cannot be found
      *
      * @param event the event to be validated
-     * @return true if the event has a valid signature, otherwise false
+     * @return the public key of the event creator, or null if the public key cannot be found
      */
-    private boolean isSignatureValid(@NonNull final PlatformEvent event) {
+    @Nullable
+    private PublicKey getPublicKey(@NonNull final PlatformEvent event) {
         final AddressBook applicableAddressBook = determineApplicableAddressBook(event);
         if (applicableAddressBook == null) {
             // this occurrence was already logged while attempting to determine the applicable address book
-            return false;
+            return null;
         }
 
         final NodeId eventCreatorId = event.getCreatorId();
@@ -186,7 +237,7 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
                     "Node {} doesn't exist in applicable address book. Event: {}",
                     eventCreatorId,
                     event);
-            return false;
+            return null;
         }
 
         final PublicKey publicKey =
@@ -194,9 +245,18 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
         if (publicKey == null) {
             rateLimitedLogger.error(
                     EXCEPTION.getMarker(), "Cannot find publicKey for creator with ID: {}", eventCreatorId);
-            return false;
         }
+        return publicKey;
+    }
 
+    /**
+     * Determine whether a given event has a valid signature.
+     *
+     * @param event     the event to be validated
+     * @param publicKey the public key of the event creator
+     * @return true if the event has a valid signature, otherwise false
+     */
+    private boolean isSignatureValid(@NonNull final PlatformEvent event, @NonNull final PublicKey publicKey) {
         final boolean isSignatureValid =
                 signatureVerifier.verifySignature(event.getHash().getBytes(), event.getSignature(), publicKey);
 
@@ -212,6 +272,16 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
         return isSignatureValid;
     }
 
+    /**
+     * Discard an event, which failed validation.
+     *
+     * @param event the event to discard
+     */
+    private void discardInvalidEvent(@NonNull final PlatformEvent event) {
+        intakeEventCounter.eventExitedIntakePipeline(event.getSenderId());
+        validationFailedAccumulator.update(1);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -224,16 +294,91 @@ public class DefaultEventSignatureValidator implements EventSignatureValidator {
             return null;
         }
 
-        if (isSignatureValid(event)) {
+        final PublicKey publicKey = getPublicKey(event);
+        if ((publicKey != null) && isSignatureValid(event, publicKey)) {
             return event;
         } else {
-            intakeEventCounter.eventExitedIntakePipeline(event.getSenderId());
-            validationFailedAccumulator.update(1);
+            discardInvalidEvent(event);
 
             return null;
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @NonNull
+    public List<PlatformEvent> validateSignatures(@NonNull final List<PlatformEvent> events) {
+        final boolean[] valid = new boolean[events.size()];
+
+        // Indices of events to verify, grouped by public keys. Keys are taken from address books, and every
+        // creator has a single key instance, so keys are compared by identity
+        final Map<PublicKey, List<Integer>> eventsByKey = new IdentityHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            final PlatformEvent event = events.get(i);
+            if (eventWindow.isAncient(event)) {
+                // ancient events can be safely ignored
+                intakeEventCounter.eventExitedIntakePipeline(event.getSenderId());
+                continue;
+            }
+            final PublicKey publicKey = getPublicKey(event);
+            if (publicKey == null) {
+                discardInvalidEvent(event);
+                continue;
+            }
+            eventsByKey.computeIfAbsent(publicKey, k -> new ArrayList<>()).add(i);
+        }
+
+        for (final Map.Entry<PublicKey, List<Integer>> entry : eventsByKey.entrySet()) {
+            final PublicKey publicKey = entry.getKey();
+            final List<Integer> indices = entry.getValue();
+            if ((indices.size() > 1) && isBatchValid(events, indices, publicKey)) {
+                indices.forEach(i -> valid[i] = true);
+                continue;
+            }
+            // a single event, or at least one event in the batch has an invalid signature, check them one by one
+            for (final int i : indices) {
+                final PlatformEvent event = events.get(i);
+                if (isSignatureValid(event, publicKey)) {
+                    valid[i] = true;
+                } else {
+                    discardInvalidEvent(event);
+                }
+            }
+        }
+
+        final List<PlatformEvent> validEvents = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (valid[i]) {
+                validEvents.add(events.get(i));
+            }
+        }
+        return validEvents;
+    }
+
+    /**
+     * Determine whether all events in a batch, created by the same node, have valid signatures.
+     *
+     * @param events    all events being validated
+     * @param indices   indices of the events in the batch
+     * @param publicKey the public key of the events creator
+     * @return true if all events in the batch have valid signatures, false if at least one of them doesn't
+     */
+    private boolean isBatchValid(
+            @NonNull final List<PlatformEvent> events,
+            @NonNull final List<Integer> indices,
+            @NonNull final PublicKey publicKey) {
+        final List<Bytes> data = new ArrayList<>(indices.size());
+        final List<Bytes> signatures = new ArrayList<>(indices.size());
+        for (final int i : indices) {
+            final PlatformEvent event = events.get(i);
+            data.add(event.getHash().getBytes());
+            signatures.add(event.getSignature());
+        }
+        return batchSignatureVerifier.verifySignatures(publicKey, data, signatures);
+    }
+
     /**
      * {@inheritDoc}
      */
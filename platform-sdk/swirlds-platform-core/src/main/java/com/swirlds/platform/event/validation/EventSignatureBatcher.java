@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.validation;
+
+import com.swirlds.common.wiring.component.InputWireLabel;
+import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.wiring.NoInput;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Collects events into batches for the {@link EventSignatureValidator}, so event signatures can be verified in batches.
+ * A batch is released as soon as it is full, or when a heartbeat is received, so no event waits for more than a single
+ * heartbeat period.
+ */
+public interface EventSignatureBatcher {
+
+    /**
+     * Add an event to the current batch
+     *
+     * @param event the event to add
+     * @return the batch, if it is full after adding the event, otherwise null
+     */
+    @InputWireLabel("PlatformEvent")
+    @Nullable
+    List<PlatformEvent> addEvent(@NonNull PlatformEvent event);
+
+    /**
+     * Release the current batch, even if it isn't full. Called periodically, to limit the time events spend waiting for
+     * their batch to fill up.
+     *
+     * @param now the current time
+     * @return the batch, or null if there are no events in it
+     */
+    @InputWireLabel("heartbeat")
+    @Nullable
+    List<PlatformEvent> heartbeat(@NonNull Instant now);
+
+    /**
+     * Release the current batch, even if it isn't full. Called when the intake pipeline is flushed.
+     *
+     * @param ignored ignored trigger object
+     * @return the batch, or null if there are no events in it
+     */
+    @Nullable
+    List<PlatformEvent> flushBatch(@NonNull NoInput ignored);
+}
@@ -21,6 +21,7 @@ import com.swirlds.platform.consensus.EventWindow;
 import com.swirlds.platform.event.PlatformEvent;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
 
 /**
  * Verifies event signatures
@@ -37,6 +38,16 @@ public interface EventSignatureValidator {
     @Nullable
     PlatformEvent validateSignature(@NonNull final PlatformEvent event);
 
+    /**
+     * Validate signatures of a batch of events
+     *
+     * @param events the events to verify the signatures of
+     * @return the events with valid signatures, in the same order as they are in the batch
+     */
+    @InputWireLabel("PlatformEvent batch")
+    @NonNull
+    List<PlatformEvent> validateSignatures(@NonNull final List<PlatformEvent> events);
+
     /**
      * Set the event window that defines the minimum threshold required for an event to be non-ancient
      *
@@ -34,6 +34,11 @@ import edu.umd.cs.findbugs.annotations.NonNull;
  *                                          ancient or not. Once this setting has been enabled on a network, it can
  *                                          never be disabled again (migration pathway is one-way).
  * @param useOldStyleIntakeQueue            if true then use an old style queue between gossip and the intake queue
+ * @param enableSignatureBatching           if true then signatures of gossiped events are verified in batches. The
+ *                                          default verifier still checks RSA signatures one by one, so batching only
+ *                                          adds latency until a batch verifier is available
+ * @param signatureBatchSize                max number of events, which signatures are verified in a single batch, if
+ *                                          batching is enabled
  */
 @ConfigData("event")
 public record EventConfig(
@@ -43,7 +48,9 @@ public record EventConfig(
         @ConfigProperty(defaultValue = "/opt/hgcapp/eventsStreams") String eventsLogDir,
         @ConfigProperty(defaultValue = "true") boolean enableEventStreaming,
         @ConfigProperty(defaultValue = "false") boolean useBirthRoundAncientThreshold,
-        @ConfigProperty(defaultValue = "false") boolean useOldStyleIntakeQueue) {
+        @ConfigProperty(defaultValue = "false") boolean useOldStyleIntakeQueue,
+        @ConfigProperty(defaultValue = "false") boolean enableSignatureBatching,
+        @ConfigProperty(defaultValue = "64") int signatureBatchSize) {
 
     /**
      * @return the {@link AncientMode} based on useBirthRoundAncientThreshold
@@ -54,8 +54,10 @@ import com.swirlds.platform.network.NetworkMetrics;
 import com.swirlds.platform.network.NetworkPeerIdentifier;
 import com.swirlds.platform.network.NetworkUtils;
 import com.swirlds.platform.network.PeerInfo;
+import com.swirlds.platform.network.SocketConfig;
 import com.swirlds.platform.network.communication.NegotiationProtocols;
 import com.swirlds.platform.network.communication.ProtocolNegotiatorThread;
+import com.swirlds.platform.network.communication.handshake.CompressionHandshake;
 import com.swirlds.platform.network.communication.handshake.VersionCompareHandshake;
 import com.swirlds.platform.network.connectivity.ConnectionServer;
 import com.swirlds.platform.network.connectivity.InboundConnectionHandler;
@@ -366,7 +368,12 @@ public class SyncGossip implements ConnectionTracker, Gossip {
                 Duration.ofMillis(syncConfig.syncProtocolHeartbeatPeriod()), networkMetrics, platformContext.getTime());
         final VersionCompareHandshake versionCompareHandshake =
                 new VersionCompareHandshake(appVersion, !protocolConfig.tolerateMismatchedVersion());
-        final List<ProtocolRunnable> handshakeProtocols = List.of(versionCompareHandshake);
+        // compression is negotiated after the versions are known to match. If it's disabled, there is no handshake,
+        // and the wire format is unchanged
+        final SocketConfig socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        final List<ProtocolRunnable> handshakeProtocols = socketConfig.negotiateCompression()
+                ? List.of(versionCompareHandshake, new CompressionHandshake())
+                : List.of(versionCompareHandshake);
         for (final NodeId otherId : topology.getNeighbors()) {
             syncProtocolThreads.add(new StoppableThreadConfiguration<>(threadManager)
                     .setPriority(Thread.NORM_PRIORITY)
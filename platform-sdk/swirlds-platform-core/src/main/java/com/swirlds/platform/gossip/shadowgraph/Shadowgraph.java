@@ -45,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -53,6 +54,16 @@ import org.apache.logging.log4j.Logger;
 /**
  * The primary purpose of the shadowgraph is to unlink events when it is safe to do so. In order to decide when it is
  * safe to unlink an event, it allows for batches of events (by ancient indicator) to be reserved.
+ *
+ * <p>The shadowgraph is written by a single intake thread and read by many sync threads, one per peer. Methods that
+ * modify the graph ({@link #addEvent(PlatformEvent)}, {@link #updateEventWindow(EventWindow)}, {@link #clear()}) are
+ * synchronized. Methods used by sync threads don't block on them:</p>
+ * <ul>
+ *     <li>events are looked up by hash in a concurrent map</li>
+ *     <li>tips are read from an immutable snapshot, which is replaced every time the tip set changes</li>
+ *     <li>the event window and the oldest unexpired ancient indicator are volatile</li>
+ *     <li>reservations are guarded by a separate lock, which is only held for short periods</li>
+ * </ul>
  */
 public class Shadowgraph implements Clearable {
 
@@ -64,9 +75,10 @@ public class Shadowgraph implements Clearable {
     public static final int NO_RESERVATION = -1;
 
     /**
-     * The shadowgraph represented in a map from has to shadow event.
+     * The shadowgraph represented in a map from has to shadow event. Modified by the intake thread only, but read by
+     * sync threads without locking.
      */
-    private final HashMap<Hash, ShadowEvent> hashToShadowEvent;
+    private final Map<Hash, ShadowEvent> hashToShadowEvent;
 
     /**
      * Map from ancient indicator to all shadow events with that ancient indicator.
@@ -78,16 +90,29 @@ public class Shadowgraph implements Clearable {
      */
     private final HashSet<ShadowEvent> tips;
 
+    /**
+     * An immutable copy of {@link #tips}, which is replaced every time the tip set is changed. Sync threads read tips
+     * from this snapshot without locking.
+     */
+    private volatile List<ShadowEvent> tipsSnapshot = List.of();
+
     /**
      * The oldest ancient indicator that has not yet been expired
      */
-    private long oldestUnexpiredIndicator;
+    private volatile long oldestUnexpiredIndicator;
 
     /**
-     * The list of all currently reserved indicators and their number of reservations.
+     * The list of all currently reserved indicators and their number of reservations. Guarded by
+     * {@link #reservationLock}.
      */
     private final LinkedList<ShadowgraphReservation> reservationList;
 
+    /**
+     * Guards {@link #reservationList}. The event window is also updated under this lock, so every new reservation is
+     * either made against the current event window, or is visible to expiration on the next event window update.
+     */
+    private final Object reservationLock = new Object();
+
     /**
      * Encapsulates metrics for the shadowgraph.
      */
@@ -106,7 +131,7 @@ public class Shadowgraph implements Clearable {
     /**
      * The most recent event window we know about.
      */
-    private EventWindow eventWindow;
+    private volatile EventWindow eventWindow;
 
     /**
      * For each peer, track the number of events in the intake pipeline prior to the shadowgraph.
@@ -134,7 +159,7 @@ public class Shadowgraph implements Clearable {
         this.numberOfNodes = addressBook.getSize();
         this.intakeEventCounter = Objects.requireNonNull(intakeEventCounter);
         tips = new HashSet<>();
-        hashToShadowEvent = new HashMap<>();
+        hashToShadowEvent = new ConcurrentHashMap<>();
         indicatorToShadowEvent = new HashMap<>();
         reservationList = new LinkedList<>();
     }
@@ -145,8 +170,10 @@ public class Shadowgraph implements Clearable {
      * @param eventWindow the starting event window
      */
     private void startWithEventWindow(@NonNull final EventWindow eventWindow) {
-        this.eventWindow = eventWindow;
         oldestUnexpiredIndicator = eventWindow.getExpiredThreshold();
+        synchronized (reservationLock) {
+            this.eventWindow = eventWindow;
+        }
         logger.info(
                 STARTUP.getMarker(),
                 "Shadowgraph starting from expiration threshold {}",
@@ -157,13 +184,16 @@ public class Shadowgraph implements Clearable {
      * Reset the shadowgraph manager to its constructed state.
      */
     public synchronized void clear() {
-        eventWindow = null;
+        synchronized (reservationLock) {
+            eventWindow = null;
+            reservationList.clear();
+        }
         oldestUnexpiredIndicator = ancientMode.getGenesisIndicator();
         disconnectShadowEvents();
         tips.clear();
+        publishTips();
         hashToShadowEvent.clear();
         indicatorToShadowEvent.clear();
-        reservationList.clear();
     }
 
     /**
@@ -182,33 +212,36 @@ public class Shadowgraph implements Clearable {
      * @return the reservation instance, must be closed when the reservation is no longer needed
      */
     @NonNull
-    public synchronized ReservedEventWindow reserve() {
-        if (reservationList.isEmpty()) {
-            // If we are not currently holding any reservations, we need to create a new one.
-            return new ReservedEventWindow(eventWindow, newReservation());
-        }
+    public ReservedEventWindow reserve() {
+        synchronized (reservationLock) {
+            final EventWindow eventWindow = this.eventWindow;
+            if (reservationList.isEmpty()) {
+                // If we are not currently holding any reservations, we need to create a new one.
+                return new ReservedEventWindow(eventWindow, newReservation(eventWindow));
+            }
 
-        // Check to see if an existing reservation is good enough.
+            // Check to see if an existing reservation is good enough.
 
-        final ShadowgraphReservation lastReservation = reservationList.getLast();
+            final ShadowgraphReservation lastReservation = reservationList.getLast();
 
-        final long previouslyReservedThreshold = lastReservation.getReservedThreshold();
-        final long thresholdWeWantToReserve = eventWindow.getExpiredThreshold();
+            final long previouslyReservedThreshold = lastReservation.getReservedThreshold();
+            final long thresholdWeWantToReserve = eventWindow.getExpiredThreshold();
 
-        if (previouslyReservedThreshold == thresholdWeWantToReserve) {
+            if (previouslyReservedThreshold == thresholdWeWantToReserve) {
 
-            // The latest reservation is against the same expired threshold that we currently want to reserve.
-            // We can reuse that reservation instead of creating a new one. We still need to package that
-            // reservation with the most recent eventWindow we know about.
+                // The latest reservation is against the same expired threshold that we currently want to reserve.
+                // We can reuse that reservation instead of creating a new one. We still need to package that
+                // reservation with the most recent eventWindow we know about.
 
-            lastReservation.incrementReservations();
-            return new ReservedEventWindow(eventWindow, lastReservation);
-        } else {
+                lastReservation.incrementReservations();
+                return new ReservedEventWindow(eventWindow, lastReservation);
+            } else {
 
-            // We want a reservation on an expired threshold that isn't currently reserved.
-            // Create a new reservation.
+                // We want a reservation on an expired threshold that isn't currently reserved.
+                // Create a new reservation.
 
-            return new ReservedEventWindow(eventWindow, newReservation());
+                return new ReservedEventWindow(eventWindow, newReservation(eventWindow));
+            }
         }
     }
 
@@ -216,7 +249,7 @@ public class Shadowgraph implements Clearable {
      * Get the latest event window known to the shadowgraph.
      */
     @NonNull
-    public synchronized EventWindow getEventWindow() {
+    public EventWindow getEventWindow() {
         return eventWindow;
     }
 
@@ -228,8 +261,8 @@ public class Shadowgraph implements Clearable {
      * @deprecated still used by tests, planned for removal. Do not add new uses.
      */
     @Deprecated(forRemoval = true)
-    public synchronized boolean isHashInGraph(final Hash hash) {
-        return hashToShadowEvent.containsKey(hash);
+    public boolean isHashInGraph(final Hash hash) {
+        return shadow(hash) != null;
     }
 
     /**
@@ -243,9 +276,10 @@ public class Shadowgraph implements Clearable {
      *     <li>adding events to the the graph does not affect ancestors</li>
      *     <li>checks for expired parent events are atomic</li>
      * </ol>
-     * <p>Note: This method is always accessed after a call to a synchronized {@link Shadowgraph} method, like
-     * {@link #getTips()}, which acts as a memory gate and causes the calling thread to read the latest values for all
-     * variables from memory, including {@link ShadowEvent} links.</p>
+     * <p>Note: This method is always accessed with shadow events obtained from {@link Shadowgraph} methods, like
+     * {@link #getTips()} or {@link #shadows(List)}. Shadow events are published to other threads via a concurrent map
+     * or a volatile tips snapshot, which causes the calling thread to read the latest values for all variables set
+     * before the events were published, including {@link ShadowEvent} links.</p>
      *
      * @param events    the event to find ancestors of
      * @param predicate determines whether or not to add the ancestor to the return list
@@ -371,11 +405,14 @@ public class Shadowgraph implements Clearable {
             // The value of expireBelow must never decrease, so if we receive an invalid request like this, ignore it
             return;
         }
-        this.eventWindow = eventWindow;
+        long oldestReservedIndicator;
+        synchronized (reservationLock) {
+            this.eventWindow = eventWindow;
 
-        // Remove reservations for events that can and should be expired, and
-        // keep track of the oldest threshold that can be expired
-        long oldestReservedIndicator = pruneReservationList();
+            // Remove reservations for events that can and should be expired, and
+            // keep track of the oldest threshold that can be expired
+            oldestReservedIndicator = pruneReservationList();
+        }
 
         if (oldestReservedIndicator == NO_RESERVATION) {
             oldestReservedIndicator = eventWindow.getExpiredThreshold();
@@ -391,23 +428,30 @@ public class Shadowgraph implements Clearable {
 
         final long minimumIndicatorToKeep = Math.min(eventWindow.getExpiredThreshold(), oldestReservedIndicator);
 
-        while (oldestUnexpiredIndicator < minimumIndicatorToKeep) {
-            final Set<ShadowEvent> shadowsToExpire = indicatorToShadowEvent.remove(oldestUnexpiredIndicator);
+        if (oldestUnexpiredIndicator >= minimumIndicatorToKeep) {
+            return;
+        }
+        // Expired events are removed from the graph a whole ancient indicator at a time. The oldest unexpired
+        // indicator is moved before events are disconnected, so sync threads that are concurrently walking the
+        // graph treat these events as expired
+        final long firstIndicatorToExpire = oldestUnexpiredIndicator;
+        oldestUnexpiredIndicator = minimumIndicatorToKeep;
+        for (long indicator = firstIndicatorToExpire; indicator < minimumIndicatorToKeep; indicator++) {
+            final Set<ShadowEvent> shadowsToExpire = indicatorToShadowEvent.remove(indicator);
             // shadowsToExpire should never be null, but check just in case.
             if (shadowsToExpire == null) {
                 logger.error(
-                        EXCEPTION.getMarker(),
-                        "There were no events with ancient indicator {} to expire.",
-                        oldestUnexpiredIndicator);
+                        EXCEPTION.getMarker(), "There were no events with ancient indicator {} to expire.", indicator);
             } else {
                 shadowsToExpire.forEach(this::expire);
             }
-            oldestUnexpiredIndicator++;
         }
+        publishTips();
     }
 
     /**
      * Removes reservations that can and should be expired, starting with the oldest ancient indicator reservation.
+     * Must be called under {@link #reservationLock}.
      *
      * @return the oldest ancient indicator with at least one reservation, or {@code -1} if there are no reservations
      */
@@ -459,7 +503,7 @@ public class Shadowgraph implements Clearable {
      * @throws IllegalArgumentException if {@code otherParentsDescriptors} contains more than one event descriptor
      */
     @Nullable
-    private synchronized ShadowEvent shadow(@NonNull final List<EventDescriptorWrapper> otherParentsDescriptors) {
+    private ShadowEvent shadow(@NonNull final List<EventDescriptorWrapper> otherParentsDescriptors) {
         if (otherParentsDescriptors.isEmpty()) {
             return null;
         }
@@ -468,7 +512,7 @@ public class Shadowgraph implements Clearable {
             throw new IllegalArgumentException("Only one otherParent descriptor is supported");
         }
 
-        return hashToShadowEvent.get(otherParentsDescriptors.getFirst().hash());
+        return shadow(otherParentsDescriptors.getFirst().hash());
     }
 
     /**
@@ -478,12 +522,12 @@ public class Shadowgraph implements Clearable {
      * @return the shadow event that references an event, or null is {@code e} is null
      */
     @Nullable
-    public synchronized ShadowEvent shadow(@Nullable final EventDescriptorWrapper e) {
+    public ShadowEvent shadow(@Nullable final EventDescriptorWrapper e) {
         if (e == null) {
             return null;
         }
 
-        return hashToShadowEvent.get(e.hash());
+        return shadow(e.hash());
     }
 
     /**
@@ -492,7 +536,7 @@ public class Shadowgraph implements Clearable {
      * @param hashes The event hashes to get shadow events for
      * @return the shadow events that reference the events with the given hashes
      */
-    public synchronized List<ShadowEvent> shadows(final List<Hash> hashes) {
+    public List<ShadowEvent> shadows(final List<Hash> hashes) {
         Objects.requireNonNull(hashes);
         final List<ShadowEvent> shadows = new ArrayList<>(hashes.size());
         for (final Hash hash : hashes) {
@@ -508,7 +552,7 @@ public class Shadowgraph implements Clearable {
      * @return the hashgraph event, if there is one in {@code this} shadowgraph, else `null`
      */
     @Nullable
-    public synchronized PlatformEvent hashgraphEvent(@Nullable final Hash h) {
+    public PlatformEvent hashgraphEvent(@Nullable final Hash h) {
         final ShadowEvent shadow = shadow(h);
         if (shadow == null) {
             return null;
@@ -524,8 +568,16 @@ public class Shadowgraph implements Clearable {
      * @return an unmodifiable copy of the tips
      */
     @NonNull
-    public synchronized List<ShadowEvent> getTips() {
-        return new ArrayList<>(tips);
+    public List<ShadowEvent> getTips() {
+        return new ArrayList<>(tipsSnapshot);
+    }
+
+    /**
+     * Replace the tips snapshot read by sync threads with a copy of the current tip set. Must be called by the intake
+     * thread every time the tip set is changed.
+     */
+    private void publishTips() {
+        tipsSnapshot = List.copyOf(tips);
     }
 
     /**
@@ -548,6 +600,7 @@ public class Shadowgraph implements Clearable {
                 final ShadowEvent s = insert(event);
                 tips.add(s);
                 tips.remove(s.getSelfParent());
+                publishTips();
 
                 if (numberOfNodes > 0 && tips.size() > numberOfNodes && tips.size() > tipsBefore) {
                     // It is possible that we have more tips than nodes even if there is no fork.
@@ -594,14 +647,21 @@ public class Shadowgraph implements Clearable {
         }
     }
 
-    private ShadowgraphReservation newReservation() {
+    /**
+     * Create a new reservation against the given event window. Must be called under {@link #reservationLock}.
+     *
+     * @param eventWindow the event window to reserve
+     * @return the new reservation
+     */
+    private ShadowgraphReservation newReservation(@NonNull final EventWindow eventWindow) {
         final ShadowgraphReservation reservation = new ShadowgraphReservation(eventWindow.getExpiredThreshold());
         reservationList.addLast(reservation);
         return reservation;
     }
 
-    private ShadowEvent shadow(final Hash h) {
-        return hashToShadowEvent.get(h);
+    private ShadowEvent shadow(@Nullable final Hash h) {
+        // concurrent maps don't support null keys
+        return h == null ? null : hashToShadowEvent.get(h);
     }
 
     /**
@@ -609,8 +669,8 @@ public class Shadowgraph implements Clearable {
      * @return the event that has the hash provided, or null if none exists
      */
     @Nullable
-    public synchronized PlatformEvent getEvent(@Nullable final Hash hash) {
-        final ShadowEvent shadowEvent = hashToShadowEvent.get(hash);
+    public PlatformEvent getEvent(@Nullable final Hash hash) {
+        final ShadowEvent shadowEvent = shadow(hash);
         return shadowEvent == null ? null : shadowEvent.getEvent();
     }
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import com.swirlds.platform.metrics.GossipCompressionMetrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream that passes data through unchanged, until compression is negotiated with the peer. From then on,
+ * all data is compressed with a single {@link Deflater} for the lifetime of the connection, so the compression window
+ * carries over between syncs, and acts as a dictionary learned from the traffic to this peer. Every flush is a deflate
+ * sync flush, so the peer can decompress all data written before it.
+ *
+ * <p>Uncompressed data is buffered, so small writes of serialized fields don't call the deflater one by one.
+ */
+public class NegotiatedDeflaterOutputStream extends OutputStream {
+    private final OutputStream out;
+    private final GossipCompressionMetrics metrics;
+    private final int bufferSize;
+    /** uncompressed data, not passed to the deflater yet, allocated once compression is started */
+    private byte[] buffer;
+    /** compressed data, produced by the deflater, allocated once compression is started */
+    private byte[] compressed;
+
+    private int count = 0;
+    /** true if data was passed to the deflater since the last sync flush */
+    private boolean unflushed = false;
+    private Deflater deflater;
+
+    /**
+     * @param out        the stream to write to
+     * @param bufferSize the size of the buffers of uncompressed and compressed data
+     * @param metrics    compression metrics
+     */
+    public NegotiatedDeflaterOutputStream(
+            @NonNull final OutputStream out, final int bufferSize, @NonNull final GossipCompressionMetrics metrics) {
+        this.out = Objects.requireNonNull(out);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Compress all data written from now on. All data written before must be flushed.
+     */
+    public void startCompression() {
+        if (deflater != null) {
+            throw new IllegalStateException("Compression is already started");
+        }
+        buffer = new byte[bufferSize];
+        compressed = new byte[bufferSize];
+        deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    }
+
+    /**
+     * @return true if data written to this stream is compressed
+     */
+    public boolean isCompressing() {
+        return deflater != null;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        if (deflater == null) {
+            out.write(b);
+            return;
+        }
+        if (count == buffer.length) {
+            deflateBuffer(Deflater.NO_FLUSH);
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(@NonNull final byte[] b, final int off, final int len) throws IOException {
+        if (deflater == null) {
+            out.write(b, off, len);
+            return;
+        }
+        Objects.checkFromIndexSize(off, len, b.length);
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (count == buffer.length) {
+                deflateBuffer(Deflater.NO_FLUSH);
+            }
+            final int n = Math.min(remaining, buffer.length - count);
+            System.arraycopy(b, offset, buffer, count, n);
+            count += n;
+            offset += n;
+            remaining -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (deflater != null && (count > 0 || unflushed)) {
+            deflateBuffer(Deflater.SYNC_FLUSH);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Pass all buffered data to the deflater, and write the compressed output
+     *
+     * @param flushMode the deflater flush mode
+     */
+    private void deflateBuffer(final int flushMode) throws IOException {
+        final int uncompressedBytes = count;
+        deflater.setInput(buffer, 0, count);
+        count = 0;
+        long compressedBytes = 0;
+        long nanos = 0;
+        int n;
+        do {
+            final long start = System.nanoTime();
+            n = deflater.deflate(compressed, 0, compressed.length, flushMode);
+            nanos += System.nanoTime() - start;
+            if (n > 0) {
+                out.write(compressed, 0, n);
+                compressedBytes += n;
+            }
+        } while (n == compressed.length || !deflater.needsInput());
+        unflushed = flushMode == Deflater.NO_FLUSH;
+        metrics.compressed(uncompressedBytes, compressedBytes, nanos);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.gossip.sync;
+
+import com.swirlds.platform.metrics.GossipCompressionMetrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * The reading side of {@link NegotiatedDeflaterOutputStream}. Data is passed through unchanged, until compression is
+ * negotiated with the peer. From then on, all data is decompressed with a single {@link Inflater}.
+ *
+ * <p>Nothing is read ahead before compression is started, so the negotiation message and all data before it can be
+ * read uncompressed. Decompressed data is buffered, so small reads of serialized fields don't call the inflater one
+ * by one.
+ */
+public class NegotiatedInflaterInputStream extends InputStream {
+    private final InputStream in;
+    private final GossipCompressionMetrics metrics;
+    private final int bufferSize;
+    /** compressed data read from the underlying stream, allocated once compression is started */
+    private byte[] compressed;
+    /** decompressed data, not read yet, allocated once compression is started */
+    private byte[] buffer;
+
+    private int position = 0;
+    private int limit = 0;
+    private Inflater inflater;
+
+    /**
+     * @param in         the stream to read from
+     * @param bufferSize the size of the buffers of compressed and decompressed data
+     * @param metrics    compression metrics
+     */
+    public NegotiatedInflaterInputStream(
+            @NonNull final InputStream in, final int bufferSize, @NonNull final GossipCompressionMetrics metrics) {
+        this.in = Objects.requireNonNull(in);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Decompress all data read from now on
+     */
+    public void startCompression() {
+        if (inflater != null) {
+            throw new IllegalStateException("Compression is already started");
+        }
+        compressed = new byte[bufferSize];
+        buffer = new byte[bufferSize];
+        inflater = new Inflater(true);
+    }
+
+    /**
+     * @return true if data read from this stream is decompressed
+     */
+    public boolean isCompressing() {
+        return inflater != null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (inflater == null) {
+            return in.read();
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(@NonNull final byte[] b, final int off, final int len) throws IOException {
+        if (inflater == null) {
+            return in.read(b, off, len);
+        }
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        final int n = Math.min(len, limit - position);
+        System.arraycopy(buffer, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return inflater == null ? in.available() : limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            in.close();
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Decompress more data into the buffer, reading compressed data from the underlying stream as needed
+     *
+     * @return false if the end of the underlying stream is reached
+     */
+    private boolean fill() throws IOException {
+        while (true) {
+            if (inflater.needsInput()) {
+                final int read = in.read(compressed, 0, compressed.length);
+                if (read < 0) {
+                    return false;
+                }
+                inflater.setInput(compressed, 0, read);
+            }
+            final int n;
+            final long start = System.nanoTime();
+            try {
+                n = inflater.inflate(buffer, 0, buffer.length);
+            } catch (final DataFormatException e) {
+                throw new ZipException(e.getMessage());
+            } finally {
+                metrics.decompressed(System.nanoTime() - start);
+            }
+            if (n > 0) {
+                position = 0;
+                limit = n;
+                return true;
+            }
+            if (inflater.finished() || inflater.needsDictionary()) {
+                // the peer never ends the compressed stream, it's sync flushed
+                throw new EOFException("Unexpected end of the compressed stream");
+            }
+        }
+    }
+}
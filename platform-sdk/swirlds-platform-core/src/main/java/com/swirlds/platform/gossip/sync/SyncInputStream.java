@@ -22,8 +22,10 @@ import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.extendable.extensions.CountingStreamExtension;
 import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.platform.metrics.GossipCompressionMetrics;
 import com.swirlds.platform.network.SocketConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,14 +39,38 @@ public class SyncInputStream extends SerializableDataInputStream {
     private static final int MAX_TIPS_PER_NODE = 1000;
 
     private final CountingStreamExtension syncByteCounter;
+    /** the stream decompressing data once compression is negotiated with the peer, null if not supported */
+    private final NegotiatedInflaterInputStream negotiatedCompression;
 
-    private SyncInputStream(InputStream in, CountingStreamExtension syncByteCounter) {
+    private SyncInputStream(
+            @NonNull final InputStream in,
+            @NonNull final CountingStreamExtension syncByteCounter,
+            @Nullable final NegotiatedInflaterInputStream negotiatedCompression) {
         super(in);
         this.syncByteCounter = syncByteCounter;
+        this.negotiatedCompression = negotiatedCompression;
     }
 
     public static SyncInputStream createSyncInputStream(
             @NonNull final PlatformContext platformContext, @NonNull final InputStream in, final int bufferSize) {
+        return createSyncInputStream(platformContext, in, bufferSize, null);
+    }
+
+    /**
+     * Create a stream that reads sync data
+     *
+     * @param platformContext    the platform context
+     * @param in                 the stream to read from
+     * @param bufferSize         the size of the read buffer
+     * @param compressionMetrics the metrics of negotiated compression, shared by all connections, or null if
+     *                           compression is not negotiated with peers
+     * @return the sync input stream
+     */
+    public static SyncInputStream createSyncInputStream(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final InputStream in,
+            final int bufferSize,
+            @Nullable final GossipCompressionMetrics compressionMetrics) {
 
         final CountingStreamExtension syncCounter = new CountingStreamExtension();
 
@@ -55,14 +81,40 @@ public class SyncInputStream extends SerializableDataInputStream {
 
         final InputStream meteredStream = extendInputStream(in, syncCounter);
 
-        final InputStream wrappedStream;
         if (compress) {
-            wrappedStream = new InflaterInputStream(meteredStream, new Inflater(true), bufferSize);
-        } else {
-            wrappedStream = new BufferedInputStream(meteredStream, bufferSize);
+            final InputStream wrappedStream = new InflaterInputStream(meteredStream, new Inflater(true), bufferSize);
+            return new SyncInputStream(wrappedStream, syncCounter, null);
+        }
+
+        final InputStream bufferedStream = new BufferedInputStream(meteredStream, bufferSize);
+        if (compressionMetrics == null) {
+            return new SyncInputStream(bufferedStream, syncCounter, null);
         }
 
-        return new SyncInputStream(wrappedStream, syncCounter);
+        // compression may be negotiated later
+        final NegotiatedInflaterInputStream negotiatedCompression =
+                new NegotiatedInflaterInputStream(bufferedStream, bufferSize, compressionMetrics);
+        return new SyncInputStream(negotiatedCompression, syncCounter, negotiatedCompression);
+    }
+
+    /**
+     * @return true if compression can be negotiated with the peer, and is not started yet
+     */
+    public boolean supportsNegotiatedCompression() {
+        return negotiatedCompression != null && !negotiatedCompression.isCompressing();
+    }
+
+    /**
+     * Decompress all data read from now on, once compression is negotiated with the peer. Must be called right after
+     * the negotiation message is read, before the peer's compressed data.
+     *
+     * @throws IllegalStateException if negotiated compression is not supported, or already started
+     */
+    public void startNegotiatedCompression() {
+        if (negotiatedCompression == null) {
+            throw new IllegalStateException("Negotiated compression is not supported by this stream");
+        }
+        negotiatedCompression.startCompression();
     }
 
     public CountingStreamExtension getSyncByteCounter() {
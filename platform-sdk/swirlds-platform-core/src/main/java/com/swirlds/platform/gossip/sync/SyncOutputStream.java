@@ -22,8 +22,10 @@ import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.extendable.extensions.CountingStreamExtension;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import com.swirlds.platform.metrics.GossipCompressionMetrics;
 import com.swirlds.platform.network.SocketConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -37,17 +39,46 @@ public class SyncOutputStream extends SerializableDataOutputStream {
     private final CountingStreamExtension syncByteCounter;
     private final CountingStreamExtension connectionByteCounter;
     private final AtomicReference<Instant> requestSent;
+    /** the stream compressing data once compression is negotiated with the peer, null if not supported */
+    private final NegotiatedDeflaterOutputStream negotiatedCompression;
 
     protected SyncOutputStream(
             OutputStream out, CountingStreamExtension syncByteCounter, CountingStreamExtension connectionByteCounter) {
+        this(out, syncByteCounter, connectionByteCounter, null);
+    }
+
+    private SyncOutputStream(
+            @NonNull final OutputStream out,
+            @NonNull final CountingStreamExtension syncByteCounter,
+            @NonNull final CountingStreamExtension connectionByteCounter,
+            @Nullable final NegotiatedDeflaterOutputStream negotiatedCompression) {
         super(out);
         this.syncByteCounter = syncByteCounter;
         this.connectionByteCounter = connectionByteCounter;
         this.requestSent = new AtomicReference<>(null);
+        this.negotiatedCompression = negotiatedCompression;
     }
 
     public static SyncOutputStream createSyncOutputStream(
             @NonNull final PlatformContext platformContext, @NonNull final OutputStream out, final int bufferSize) {
+        return createSyncOutputStream(platformContext, out, bufferSize, null);
+    }
+
+    /**
+     * Create a stream that writes sync data
+     *
+     * @param platformContext    the platform context
+     * @param out                the stream to write to
+     * @param bufferSize         the size of the write buffer
+     * @param compressionMetrics the metrics of negotiated compression, shared by all connections, or null if
+     *                           compression is not negotiated with peers
+     * @return the sync output stream
+     */
+    public static SyncOutputStream createSyncOutputStream(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final OutputStream out,
+            final int bufferSize,
+            @Nullable final GossipCompressionMetrics compressionMetrics) {
         CountingStreamExtension syncByteCounter = new CountingStreamExtension();
         CountingStreamExtension connectionByteCounter = new CountingStreamExtension();
 
@@ -58,16 +89,43 @@ public class SyncOutputStream extends SerializableDataOutputStream {
 
         final OutputStream meteredStream = extendOutputStream(out, connectionByteCounter);
 
-        final OutputStream wrappedStream;
         if (compress) {
-            wrappedStream = new DeflaterOutputStream(
+            final OutputStream wrappedStream = new DeflaterOutputStream(
                     meteredStream, new Deflater(Deflater.DEFAULT_COMPRESSION, true), bufferSize, true);
-        } else {
-            wrappedStream = new BufferedOutputStream(meteredStream, bufferSize);
+            return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter);
         }
 
         // we write the data to the buffer first, for efficiency
-        return new SyncOutputStream(wrappedStream, syncByteCounter, connectionByteCounter);
+        final OutputStream bufferedStream = new BufferedOutputStream(meteredStream, bufferSize);
+        if (compressionMetrics == null) {
+            return new SyncOutputStream(bufferedStream, syncByteCounter, connectionByteCounter);
+        }
+
+        // compression may be negotiated later
+        final NegotiatedDeflaterOutputStream negotiatedCompression =
+                new NegotiatedDeflaterOutputStream(bufferedStream, bufferSize, compressionMetrics);
+        return new SyncOutputStream(
+                negotiatedCompression, syncByteCounter, connectionByteCounter, negotiatedCompression);
+    }
+
+    /**
+     * @return true if compression can be negotiated with the peer, and is not started yet
+     */
+    public boolean supportsNegotiatedCompression() {
+        return negotiatedCompression != null && !negotiatedCompression.isCompressing();
+    }
+
+    /**
+     * Compress all data written from now on, once compression is negotiated with the peer. All data written before
+     * must be flushed.
+     *
+     * @throws IllegalStateException if negotiated compression is not supported, or already started
+     */
+    public void startNegotiatedCompression() {
+        if (negotiatedCompression == null) {
+            throw new IllegalStateException("Negotiated compression is not supported by this stream");
+        }
+        negotiatedCompression.startCompression();
     }
 
     public CountingStreamExtension getSyncByteCounter() {
@@ -243,6 +243,14 @@ public class EventImpl implements Clearable {
         return lastSee[m];
     }
 
+    /**
+     * @return last ancestors created by every member, indexed by member index (memoizes lastSee
+     *     function from Swirlds-TR-2020-01)
+     */
+    public EventImpl[] getLastSee() {
+        return lastSee;
+    }
+
     /**
      * remember event, the last ancestor created by m (memoizes lastSee function from
      * Swirlds-TR-2020-01)
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.metrics;
+
+import static com.swirlds.metrics.api.Metrics.PLATFORM_CATEGORY;
+
+import com.swirlds.metrics.api.Counter;
+import com.swirlds.metrics.api.LongAccumulator;
+import com.swirlds.metrics.api.Metrics;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+
+/**
+ * Metrics of compression of gossip streams, aggregated over all connections of this node
+ */
+public class GossipCompressionMetrics {
+
+    private static final Counter.Config BYTES_BEFORE_COMPRESSION_CONFIG = new Counter.Config(
+                    PLATFORM_CATEGORY, "gossipBytesBeforeCompression")
+            .withDescription("number of bytes sent over compressed gossip streams, before compression");
+    private final Counter bytesBeforeCompression;
+
+    private static final Counter.Config BYTES_AFTER_COMPRESSION_CONFIG = new Counter.Config(
+                    PLATFORM_CATEGORY, "gossipBytesAfterCompression")
+            .withDescription("number of bytes sent over compressed gossip streams, after compression");
+    private final Counter bytesAfterCompression;
+
+    private static final LongAccumulator.Config BYTES_SAVED_CONFIG = new LongAccumulator.Config(
+                    PLATFORM_CATEGORY, "gossipBytesSavedByCompression")
+            .withInitialValue(0)
+            .withAccumulator(Long::sum)
+            .withDescription("number of bytes saved by compression of gossip streams");
+    private final LongAccumulator bytesSaved;
+
+    private static final Counter.Config COMPRESSION_NANOS_CONFIG = new Counter.Config(
+                    PLATFORM_CATEGORY, "gossipCompressionNanos")
+            .withDescription("CPU time spent compressing gossip streams, in nanoseconds");
+    private final Counter compressionNanos;
+
+    private static final Counter.Config DECOMPRESSION_NANOS_CONFIG = new Counter.Config(
+                    PLATFORM_CATEGORY, "gossipDecompressionNanos")
+            .withDescription("CPU time spent decompressing gossip streams, in nanoseconds");
+    private final Counter decompressionNanos;
+
+    /**
+     * Constructor of {@code GossipCompressionMetrics}
+     *
+     * @param metrics reference to the metrics-system
+     */
+    public GossipCompressionMetrics(@NonNull final Metrics metrics) {
+        Objects.requireNonNull(metrics, "metrics");
+        bytesBeforeCompression = metrics.getOrCreate(BYTES_BEFORE_COMPRESSION_CONFIG);
+        bytesAfterCompression = metrics.getOrCreate(BYTES_AFTER_COMPRESSION_CONFIG);
+        bytesSaved = metrics.getOrCreate(BYTES_SAVED_CONFIG);
+        compressionNanos = metrics.getOrCreate(COMPRESSION_NANOS_CONFIG);
+        decompressionNanos = metrics.getOrCreate(DECOMPRESSION_NANOS_CONFIG);
+    }
+
+    /**
+     * Record a chunk of data compressed by a gossip stream
+     *
+     * @param uncompressedBytes the number of bytes before compression
+     * @param compressedBytes   the number of bytes after compression
+     * @param nanos             the time spent compressing
+     */
+    public void compressed(final long uncompressedBytes, final long compressedBytes, final long nanos) {
+        addIfPositive(bytesBeforeCompression, uncompressedBytes);
+        addIfPositive(bytesAfterCompression, compressedBytes);
+        bytesSaved.update(uncompressedBytes - compressedBytes);
+        addIfPositive(compressionNanos, nanos);
+    }
+
+    /**
+     * Record a chunk of data decompressed by a gossip stream
+     *
+     * @param nanos the time spent decompressing
+     */
+    public void decompressed(final long nanos) {
+        addIfPositive(decompressionNanos, nanos);
+    }
+
+    /**
+     * Counters only accept positive values
+     */
+    private static void addIfPositive(@NonNull final Counter counter, final long value) {
+        if (value > 0) {
+            counter.add(value);
+        }
+    }
+}
@@ -35,6 +35,11 @@ import com.swirlds.config.api.ConfigProperty;
  * @param tcpNoDelay                 if true, then Nagel's algorithm is disabled, which helps latency, hurts bandwidth
  *                                   usage
  * @param gzipCompression            whether to use gzip compression over the network
+ * @param negotiateCompression       whether to run a handshake, which negotiates compression with peers, when a
+ *                                   connection is established. The connection is compressed only if the peer offers
+ *                                   it, too. The handshake changes the wire format, so this setting must be the same
+ *                                   on all nodes. If gzipCompression is set, the handshake runs, but doesn't offer
+ *                                   compression
  */
 @ConfigData("socket")
 public record SocketConfig(
@@ -45,4 +50,5 @@ public record SocketConfig(
         @ConfigProperty(defaultValue = "5000") int timeoutServerAcceptConnect,
         @ConfigProperty(defaultValue = "false") boolean useLoopbackIp,
         @ConfigProperty(defaultValue = "true") boolean tcpNoDelay,
-        @ConfigProperty(defaultValue = "false") boolean gzipCompression) {}
+        @ConfigProperty(defaultValue = "false") boolean gzipCompression,
+        @ConfigProperty(defaultValue = "false") boolean negotiateCompression) {}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.network.communication.handshake;
+
+import com.swirlds.platform.gossip.sync.SyncInputStream;
+import com.swirlds.platform.gossip.sync.SyncOutputStream;
+import com.swirlds.platform.network.Connection;
+import com.swirlds.platform.network.protocol.ProtocolRunnable;
+import java.io.IOException;
+
+/**
+ * Negotiates compression of the connection streams with the peer. Each side sends the set of compression algorithms
+ * it supports. If both sides support deflate, both streams of the connection are compressed from then on, otherwise
+ * the connection stays uncompressed.
+ *
+ * <p>The handshake is only run if compression negotiation is enabled. Without it, nothing is exchanged, so the wire
+ * format is unchanged. Nodes with negotiation disabled and enabled can't connect to each other, the setting must be
+ * the same on all nodes in the network.
+ */
+public class CompressionHandshake implements ProtocolRunnable {
+    /** no compression algorithms are supported */
+    public static final byte NO_COMPRESSION = 0;
+    /** deflate is supported, see {@link com.swirlds.platform.gossip.sync.NegotiatedDeflaterOutputStream} */
+    public static final byte DEFLATE = 1;
+
+    @Override
+    public void runProtocol(final Connection connection) throws IOException {
+        final SyncOutputStream dos = connection.getDos();
+        final SyncInputStream dis = connection.getDis();
+        final boolean supported = dos.supportsNegotiatedCompression() && dis.supportsNegotiatedCompression();
+        final byte selfAlgorithms = supported ? DEFLATE : NO_COMPRESSION;
+
+        dos.writeByte(selfAlgorithms);
+        dos.flush();
+        final byte peerAlgorithms = dis.readByte();
+
+        if ((selfAlgorithms & peerAlgorithms & DEFLATE) != 0) {
+            dos.startNegotiatedCompression();
+            dis.startNegotiatedCompression();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.swirlds.common.threading.interrupt.InterruptableConsumer;
 import com.swirlds.common.utility.throttle.RateLimitedLogger;
 import com.swirlds.platform.gossip.sync.SyncInputStream;
 import com.swirlds.platform.gossip.sync.SyncOutputStream;
+import com.swirlds.platform.metrics.GossipCompressionMetrics;
 import com.swirlds.platform.network.Connection;
 import com.swirlds.platform.network.ConnectionTracker;
 import com.swirlds.platform.network.NetworkPeerIdentifier;
@@ -51,6 +52,8 @@ public class InboundConnectionHandler {
     private final NodeId selfId;
     private final InterruptableConsumer<Connection> newConnectionConsumer;
     private final SocketConfig socketConfig;
+    /** metrics of negotiated compression, shared by all connections, null if compression is not negotiated */
+    private final GossipCompressionMetrics compressionMetrics;
     /** Rate Limited Logger for SocketExceptions */
     private final RateLimitedLogger socketExceptionLogger;
 
@@ -82,6 +85,9 @@ public class InboundConnectionHandler {
         this.time = Objects.requireNonNull(time);
         this.socketExceptionLogger = new RateLimitedLogger(logger, time, Duration.ofMinutes(1));
         this.socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        this.compressionMetrics = socketConfig.negotiateCompression()
+                ? new GossipCompressionMetrics(platformContext.getMetrics())
+                : null;
         this.networkPeerIdentifier = networkPeerIdentifier;
     }
 
@@ -107,9 +113,9 @@ public class InboundConnectionHandler {
             final NodeId otherId = connectedPeer.nodeId();
 
             final SyncInputStream sis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize(), compressionMetrics);
             final SyncOutputStream sos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize(), compressionMetrics);
 
             final SocketConnection sc = SocketConnection.create(
                     selfId,
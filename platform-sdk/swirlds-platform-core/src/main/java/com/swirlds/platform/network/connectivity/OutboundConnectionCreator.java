@@ -25,6 +25,7 @@ import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.platform.NodeId;
 import com.swirlds.platform.gossip.sync.SyncInputStream;
 import com.swirlds.platform.gossip.sync.SyncOutputStream;
+import com.swirlds.platform.metrics.GossipCompressionMetrics;
 import com.swirlds.platform.network.Connection;
 import com.swirlds.platform.network.ConnectionTracker;
 import com.swirlds.platform.network.NetworkUtils;
@@ -55,6 +56,8 @@ public class OutboundConnectionCreator {
     private final SocketFactory socketFactory;
     private final AddressBook addressBook;
     private final PlatformContext platformContext;
+    /** metrics of negotiated compression, shared by all connections, null if compression is not negotiated */
+    private final GossipCompressionMetrics compressionMetrics;
 
     public OutboundConnectionCreator(
             @NonNull final PlatformContext platformContext,
@@ -68,6 +71,9 @@ public class OutboundConnectionCreator {
         this.socketFactory = Objects.requireNonNull(socketFactory);
         this.addressBook = Objects.requireNonNull(addressBook);
         this.socketConfig = platformContext.getConfiguration().getConfigData(SocketConfig.class);
+        this.compressionMetrics = socketConfig.negotiateCompression()
+                ? new GossipCompressionMetrics(platformContext.getMetrics())
+                : null;
     }
 
     /**
@@ -91,9 +97,9 @@ public class OutboundConnectionCreator {
             clientSocket = socketFactory.createClientSocket(hostname, port);
 
             dos = SyncOutputStream.createSyncOutputStream(
-                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getOutputStream(), socketConfig.bufferSize(), compressionMetrics);
             dis = SyncInputStream.createSyncInputStream(
-                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize());
+                    platformContext, clientSocket.getInputStream(), socketConfig.bufferSize(), compressionMetrics);
 
             logger.debug(NETWORK.getMarker(), "`connect` : finished, {} connected to {}", selfId, otherId);
 
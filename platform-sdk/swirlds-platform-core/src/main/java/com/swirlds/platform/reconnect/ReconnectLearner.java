@@ -23,6 +23,7 @@ import com.swirlds.common.context.PlatformContext;
 import com.swirlds.common.io.streams.MerkleDataInputStream;
 import com.swirlds.common.io.streams.MerkleDataOutputStream;
 import com.swirlds.common.merkle.synchronization.LearningSynchronizer;
+import com.swirlds.common.merkle.synchronization.ReconnectCheckpoint;
 import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
 import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.logging.legacy.payload.ReconnectDataUsagePayload;
@@ -38,6 +39,7 @@ import com.swirlds.platform.state.signed.SignedStateValidationData;
 import com.swirlds.platform.state.signed.SignedStateValidator;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.net.SocketException;
 import java.time.Duration;
@@ -62,6 +64,10 @@ public class ReconnectLearner {
     private final SignedStateValidationData stateValidationData;
     private SigSet sigSet;
     private final PlatformContext platformContext;
+    /**
+     * Virtual maps fully received in the previous failed reconnect attempt, or null if disabled in config.
+     */
+    private final ReconnectCheckpoint checkpoint;
     /**
      * After reconnect is finished, restore the socket timeout to the original value.
      */
@@ -91,6 +97,42 @@ public class ReconnectLearner {
             @NonNull final MerkleRoot currentState,
             @NonNull final Duration reconnectSocketTimeout,
             @NonNull final ReconnectMetrics statistics) {
+        this(
+                platformContext,
+                threadManager,
+                connection,
+                addressBook,
+                currentState,
+                reconnectSocketTimeout,
+                statistics,
+                null);
+    }
+
+    /**
+     * @param threadManager
+     * 		responsible for managing thread lifecycles
+     * @param connection
+     * 		the connection to use for the reconnect
+     * @param addressBook
+     * 		the current address book
+     * @param currentState
+     * 		the most recent state from the learner
+     * @param reconnectSocketTimeout
+     * 		the amount of time that should be used for the socket timeout
+     * @param statistics
+     * 		reconnect metrics
+     * @param checkpoint
+     * 		subtrees fully received in the previous failed attempt, cleared once reconnect succeeds. May be null
+     */
+    public ReconnectLearner(
+            @NonNull final PlatformContext platformContext,
+            @NonNull final ThreadManager threadManager,
+            @NonNull final Connection connection,
+            @NonNull final AddressBook addressBook,
+            @NonNull final MerkleRoot currentState,
+            @NonNull final Duration reconnectSocketTimeout,
+            @NonNull final ReconnectMetrics statistics,
+            @Nullable final ReconnectCheckpoint checkpoint) {
 
         currentState.throwIfImmutable("Can not perform reconnect with immutable state");
         currentState.throwIfDestroyed("Can not perform reconnect with destroyed state");
@@ -102,6 +144,7 @@ public class ReconnectLearner {
         this.currentState = Objects.requireNonNull(currentState);
         this.reconnectSocketTimeout = Objects.requireNonNull(reconnectSocketTimeout);
         this.statistics = Objects.requireNonNull(statistics);
+        this.checkpoint = checkpoint;
 
         // Save some of the current state data for validation
         this.stateValidationData = new SignedStateValidationData(currentState.getReadablePlatformState(), addressBook);
@@ -153,11 +196,17 @@ public class ReconnectLearner {
     public ReservedSignedState execute(@NonNull final SignedStateValidator validator) throws ReconnectException {
         increaseSocketTimeout();
         ReservedSignedState reservedSignedState = null;
+        boolean succeeded = false;
         try {
             receiveSignatures();
             reservedSignedState = reconnect();
             validator.validate(reservedSignedState.get(), addressBook, stateValidationData);
             ReconnectUtils.endReconnectHandshake(connection);
+            if (checkpoint != null) {
+                // Checkpointed subtrees are either in the new state already, or not needed
+                checkpoint.clear();
+            }
+            succeeded = true;
             return reservedSignedState;
         } catch (final IOException | SignedStateInvalidException e) {
             if (reservedSignedState != null) {
@@ -170,6 +219,10 @@ public class ReconnectLearner {
             Thread.currentThread().interrupt();
             throw new ReconnectException("interrupted while attempting to reconnect", e);
         } finally {
+            if ((checkpoint != null) && !succeeded) {
+                // Only keep subtrees from this attempt, older ones are unlikely to match the next teacher
+                checkpoint.releaseUnused();
+            }
             resetSocketTimeout();
         }
     }
@@ -200,6 +253,7 @@ public class ReconnectLearner {
                 connection::disconnect,
                 reconnectConfig,
                 platformContext.getMetrics());
+        synchronizer.setCheckpoint(checkpoint);
         synchronizer.synchronize();
 
         final MerkleRoot state = (MerkleRoot) synchronizer.getRoot();
@@ -17,6 +17,8 @@
 package com.swirlds.platform.reconnect;
 
 import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.merkle.synchronization.ReconnectCheckpoint;
+import com.swirlds.common.merkle.synchronization.config.ReconnectConfig;
 import com.swirlds.common.threading.manager.ThreadManager;
 import com.swirlds.platform.metrics.ReconnectMetrics;
 import com.swirlds.platform.network.Connection;
@@ -35,6 +37,10 @@ public class ReconnectLearnerFactory {
     private final ReconnectMetrics statistics;
     private final ThreadManager threadManager;
     private final PlatformContext platformContext;
+    /**
+     * Virtual maps fully received in the previous failed reconnect attempt, or null if disabled in config.
+     */
+    private final ReconnectCheckpoint checkpoint;
 
     /**
      * @param platformContext the platform context
@@ -54,6 +60,9 @@ public class ReconnectLearnerFactory {
         this.addressBook = Objects.requireNonNull(addressBook);
         this.reconnectSocketTimeout = Objects.requireNonNull(reconnectSocketTimeout);
         this.statistics = Objects.requireNonNull(statistics);
+        final ReconnectConfig reconnectConfig =
+                platformContext.getConfiguration().getConfigData(ReconnectConfig.class);
+        this.checkpoint = reconnectConfig.learnerCheckpointEnabled() ? new ReconnectCheckpoint() : null;
     }
 
     /**
@@ -65,6 +74,13 @@ public class ReconnectLearnerFactory {
      */
     public ReconnectLearner create(final Connection conn, final MerkleRoot workingState) {
         return new ReconnectLearner(
-                platformContext, threadManager, conn, addressBook, workingState, reconnectSocketTimeout, statistics);
+                platformContext,
+                threadManager,
+                conn,
+                addressBook,
+                workingState,
+                reconnectSocketTimeout,
+                statistics,
+                checkpoint);
     }
 }
@@ -28,6 +28,7 @@ import com.swirlds.platform.event.orphan.OrphanBuffer;
 import com.swirlds.platform.event.preconsensus.durability.RoundDurabilityBuffer;
 import com.swirlds.platform.event.stale.StaleEventDetector;
 import com.swirlds.platform.event.stale.StaleEventDetectorOutput;
+import com.swirlds.platform.event.validation.EventSignatureBatcher;
 import com.swirlds.platform.event.validation.EventSignatureValidator;
 import com.swirlds.platform.event.validation.InternalEventValidator;
 import com.swirlds.platform.eventhandling.TransactionHandler;
@@ -43,6 +44,7 @@ import com.swirlds.platform.system.status.StatusStateMachine;
 import com.swirlds.platform.wiring.components.GossipWiring;
 import com.swirlds.platform.wiring.components.StateAndRound;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import java.util.List;
 import java.util.Objects;
 
@@ -58,7 +60,8 @@ public class PlatformCoordinator {
 
     private final ComponentWiring<InternalEventValidator, PlatformEvent> internalEventValidatorWiring;
     private final ComponentWiring<EventDeduplicator, PlatformEvent> eventDeduplicatorWiring;
-    private final ComponentWiring<EventSignatureValidator, PlatformEvent> eventSignatureValidatorWiring;
+    private final ComponentWiring<EventSignatureBatcher, List<PlatformEvent>> eventSignatureBatcherWiring;
+    private final ComponentWiring<EventSignatureValidator, ?> eventSignatureValidatorWiring;
     private final ComponentWiring<OrphanBuffer, List<PlatformEvent>> orphanBufferWiring;
     private final GossipWiring gossipWiring;
     private final ComponentWiring<ConsensusEngine, List<ConsensusRound>> consensusEngineWiring;
@@ -81,6 +84,8 @@ public class PlatformCoordinator {
      * @param flushTheEventHasher                    a lambda that flushes the event hasher
      * @param internalEventValidatorWiring           the internal event validator wiring
      * @param eventDeduplicatorWiring                the event deduplicator wiring
+     * @param eventSignatureBatcherWiring            the event signature batcher wiring, null if signatures are not
+     *                                               verified in batches
      * @param eventSignatureValidatorWiring          the event signature validator wiring
      * @param orphanBufferWiring                     the orphan buffer wiring
      * @param gossipWiring                           gossip wiring
@@ -101,7 +106,8 @@ public class PlatformCoordinator {
             @NonNull final Runnable flushTheEventHasher,
             @NonNull final ComponentWiring<InternalEventValidator, PlatformEvent> internalEventValidatorWiring,
             @NonNull final ComponentWiring<EventDeduplicator, PlatformEvent> eventDeduplicatorWiring,
-            @NonNull final ComponentWiring<EventSignatureValidator, PlatformEvent> eventSignatureValidatorWiring,
+            @Nullable final ComponentWiring<EventSignatureBatcher, List<PlatformEvent>> eventSignatureBatcherWiring,
+            @NonNull final ComponentWiring<EventSignatureValidator, ?> eventSignatureValidatorWiring,
             @NonNull final ComponentWiring<OrphanBuffer, List<PlatformEvent>> orphanBufferWiring,
             @NonNull final GossipWiring gossipWiring,
             @NonNull final ComponentWiring<ConsensusEngine, List<ConsensusRound>> consensusEngineWiring,
@@ -124,6 +130,7 @@ public class PlatformCoordinator {
         this.flushTheEventHasher = Objects.requireNonNull(flushTheEventHasher);
         this.internalEventValidatorWiring = Objects.requireNonNull(internalEventValidatorWiring);
         this.eventDeduplicatorWiring = Objects.requireNonNull(eventDeduplicatorWiring);
+        this.eventSignatureBatcherWiring = eventSignatureBatcherWiring;
         this.eventSignatureValidatorWiring = Objects.requireNonNull(eventSignatureValidatorWiring);
         this.orphanBufferWiring = Objects.requireNonNull(orphanBufferWiring);
         this.gossipWiring = Objects.requireNonNull(gossipWiring);
@@ -155,6 +162,11 @@ public class PlatformCoordinator {
         flushTheEventHasher.run();
         internalEventValidatorWiring.flush();
         eventDeduplicatorWiring.flush();
+        if (eventSignatureBatcherWiring != null) {
+            // events waiting for their batch to fill up must be released, or they would stay in the pipeline
+            eventSignatureBatcherWiring.getInputWire(EventSignatureBatcher::flushBatch).inject(NoInput.getInstance());
+            eventSignatureBatcherWiring.flush();
+        }
         eventSignatureValidatorWiring.flush();
         orphanBufferWiring.flush();
         gossipWiring.flush();
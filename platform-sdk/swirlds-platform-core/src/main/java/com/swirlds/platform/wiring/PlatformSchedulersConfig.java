@@ -27,6 +27,10 @@ import java.time.Duration;
  * @param eventHasherUnhandledCapacity         number of unhandled tasks allowed in the event hasher scheduler
  * @param internalEventValidator               configuration for the internal event validator scheduler
  * @param eventDeduplicator                    configuration for the event deduplicator scheduler
+ * @param eventSignatureBatcher                configuration for the event signature batcher scheduler, only used if
+ *                                             event.enableSignatureBatching is set
+ * @param eventSignatureBatcherHeartbeatPeriod the frequency that heartbeats should be sent to the event signature
+ *                                             batcher, the max time an event waits for its signature batch to fill up
  * @param eventSignatureValidator              configuration for the event signature validator scheduler
  * @param orphanBuffer                         configuration for the orphan buffer scheduler
  * @param consensusEngine                      configuration for the consensus engine scheduler
@@ -69,6 +73,9 @@ public record PlatformSchedulersConfig(
                 TaskSchedulerConfiguration internalEventValidator,
         @ConfigProperty(defaultValue = "SEQUENTIAL CAPACITY(5000) FLUSHABLE UNHANDLED_TASK_METRIC")
                 TaskSchedulerConfiguration eventDeduplicator,
+        @ConfigProperty(defaultValue = "SEQUENTIAL CAPACITY(5000) FLUSHABLE UNHANDLED_TASK_METRIC")
+                TaskSchedulerConfiguration eventSignatureBatcher,
+        @ConfigProperty(defaultValue = "5ms") Duration eventSignatureBatcherHeartbeatPeriod,
         @ConfigProperty(defaultValue = "CONCURRENT CAPACITY(500) FLUSHABLE UNHANDLED_TASK_METRIC")
                 TaskSchedulerConfiguration eventSignatureValidator,
         @ConfigProperty(defaultValue = "SEQUENTIAL CAPACITY(500) FLUSHABLE UNHANDLED_TASK_METRIC")
@@ -73,6 +73,7 @@ import com.swirlds.platform.event.stale.StaleEventDetector;
 import com.swirlds.platform.event.stale.StaleEventDetectorOutput;
 import com.swirlds.platform.event.stream.ConsensusEventStream;
 import com.swirlds.platform.event.validation.AddressBookUpdate;
+import com.swirlds.platform.event.validation.EventSignatureBatcher;
 import com.swirlds.platform.event.validation.EventSignatureValidator;
 import com.swirlds.platform.event.validation.InternalEventValidator;
 import com.swirlds.platform.eventhandling.EventConfig;
@@ -131,7 +132,10 @@ public class PlatformWiring {
     private final PassThroughWiring<PlatformEvent> postHashCollectorWiring;
     private final ComponentWiring<InternalEventValidator, PlatformEvent> internalEventValidatorWiring;
     private final ComponentWiring<EventDeduplicator, PlatformEvent> eventDeduplicatorWiring;
+    // if signatures are verified in batches, the batcher and batch validator wirings are used, otherwise the other one
     private final ComponentWiring<EventSignatureValidator, PlatformEvent> eventSignatureValidatorWiring;
+    private final ComponentWiring<EventSignatureBatcher, List<PlatformEvent>> eventSignatureBatcherWiring;
+    private final ComponentWiring<EventSignatureValidator, List<PlatformEvent>> eventSignatureBatchValidatorWiring;
     private final ComponentWiring<OrphanBuffer, List<PlatformEvent>> orphanBufferWiring;
     private final ComponentWiring<ConsensusEngine, List<ConsensusRound>> consensusEngineWiring;
     private final ComponentWiring<EventCreationManager, UnsignedEvent> eventCreationManagerWiring;
@@ -196,10 +200,8 @@ public class PlatformWiring {
         config = platformContext.getConfiguration().getConfigData(PlatformSchedulersConfig.class);
         hashCollectorEnabled = config.hashCollectorEnabled();
 
-        final AncientMode ancientMode = platformContext
-                .getConfiguration()
-                .getConfigData(EventConfig.class)
-                .getAncientMode();
+        final EventConfig eventConfig = platformContext.getConfiguration().getConfigData(EventConfig.class);
+        final AncientMode ancientMode = eventConfig.getAncientMode();
         if (ancientMode == AncientMode.BIRTH_ROUND_THRESHOLD) {
             birthRoundMigrationShimWiring =
                     new ComponentWiring<>(model, BirthRoundMigrationShim.class, DIRECT_THREADSAFE_CONFIGURATION);
@@ -234,8 +236,18 @@ public class PlatformWiring {
         internalEventValidatorWiring =
                 new ComponentWiring<>(model, InternalEventValidator.class, config.internalEventValidator());
         eventDeduplicatorWiring = new ComponentWiring<>(model, EventDeduplicator.class, config.eventDeduplicator());
-        eventSignatureValidatorWiring =
-                new ComponentWiring<>(model, EventSignatureValidator.class, config.eventSignatureValidator());
+        if (eventConfig.enableSignatureBatching()) {
+            eventSignatureValidatorWiring = null;
+            eventSignatureBatcherWiring =
+                    new ComponentWiring<>(model, EventSignatureBatcher.class, config.eventSignatureBatcher());
+            eventSignatureBatchValidatorWiring =
+                    new ComponentWiring<>(model, EventSignatureValidator.class, config.eventSignatureValidator());
+        } else {
+            eventSignatureValidatorWiring =
+                    new ComponentWiring<>(model, EventSignatureValidator.class, config.eventSignatureValidator());
+            eventSignatureBatcherWiring = null;
+            eventSignatureBatchValidatorWiring = null;
+        }
         orphanBufferWiring = new ComponentWiring<>(model, OrphanBuffer.class, config.orphanBuffer());
         consensusEngineWiring = new ComponentWiring<>(model, ConsensusEngine.class, config.consensusEngine());
 
@@ -320,7 +332,8 @@ public class PlatformWiring {
                 },
                 internalEventValidatorWiring,
                 eventDeduplicatorWiring,
-                eventSignatureValidatorWiring,
+                eventSignatureBatcherWiring,
+                getEventSignatureValidatorWiring(),
                 orphanBufferWiring,
                 gossipWiring,
                 consensusEngineWiring,
@@ -404,7 +417,7 @@ public class PlatformWiring {
 
         eventWindowOutputWire.solderTo(eventDeduplicatorWiring.getInputWire(EventDeduplicator::setEventWindow), INJECT);
         eventWindowOutputWire.solderTo(
-                eventSignatureValidatorWiring.getInputWire(EventSignatureValidator::setEventWindow), INJECT);
+                getEventSignatureValidatorWiring().getInputWire(EventSignatureValidator::setEventWindow), INJECT);
         eventWindowOutputWire.solderTo(orphanBufferWiring.getInputWire(OrphanBuffer::setEventWindow), INJECT);
         eventWindowOutputWire.solderTo(gossipWiring.getEventWindowInput(), INJECT);
         eventWindowOutputWire.solderTo(
@@ -466,12 +479,27 @@ public class PlatformWiring {
         internalEventValidatorWiring
                 .getOutputWire()
                 .solderTo(eventDeduplicatorWiring.getInputWire(EventDeduplicator::handleEvent));
-        eventDeduplicatorWiring
-                .getOutputWire()
-                .solderTo(eventSignatureValidatorWiring.getInputWire(EventSignatureValidator::validateSignature));
-        eventSignatureValidatorWiring
-                .getOutputWire()
-                .solderTo(orphanBufferWiring.getInputWire(OrphanBuffer::handleEvent));
+        if (eventSignatureBatcherWiring != null) {
+            eventDeduplicatorWiring
+                    .getOutputWire()
+                    .solderTo(eventSignatureBatcherWiring.getInputWire(EventSignatureBatcher::addEvent));
+            model.buildHeartbeatWire(config.eventSignatureBatcherHeartbeatPeriod())
+                    .solderTo(eventSignatureBatcherWiring.getInputWire(EventSignatureBatcher::heartbeat), OFFER);
+            eventSignatureBatcherWiring
+                    .getOutputWire()
+                    .solderTo(eventSignatureBatchValidatorWiring.getInputWire(
+                            EventSignatureValidator::validateSignatures));
+            final OutputWire<PlatformEvent> splitEventSignatureValidatorOutput =
+                    eventSignatureBatchValidatorWiring.getSplitOutput();
+            splitEventSignatureValidatorOutput.solderTo(orphanBufferWiring.getInputWire(OrphanBuffer::handleEvent));
+        } else {
+            eventDeduplicatorWiring
+                    .getOutputWire()
+                    .solderTo(eventSignatureValidatorWiring.getInputWire(EventSignatureValidator::validateSignature));
+            eventSignatureValidatorWiring
+                    .getOutputWire()
+                    .solderTo(orphanBufferWiring.getInputWire(OrphanBuffer::handleEvent));
+        }
         final OutputWire<PlatformEvent> splitOrphanBufferOutput = orphanBufferWiring.getSplitOutput();
         splitOrphanBufferOutput.solderTo(pcesSequencerWiring.getInputWire(PcesSequencer::assignStreamSequenceNumber));
         pcesSequencerWiring.getOutputWire().solderTo(pcesWriterWiring.getInputWire(PcesWriter::writeEvent));
@@ -756,6 +784,9 @@ public class PlatformWiring {
      */
     private void buildUnsolderedWires() {
         eventDeduplicatorWiring.getInputWire(EventDeduplicator::clear);
+        if (eventSignatureBatcherWiring != null) {
+            eventSignatureBatcherWiring.getInputWire(EventSignatureBatcher::flushBatch);
+        }
         consensusEngineWiring.getInputWire(ConsensusEngine::outOfBandSnapshotUpdate);
         if (publishSnapshotOverrides) {
             platformPublisherWiring.getInputWire(PlatformPublisher::publishSnapshotOverride);
@@ -763,7 +794,7 @@ public class PlatformWiring {
         eventCreationManagerWiring.getInputWire(EventCreationManager::clear);
         notifierWiring.getInputWire(AppNotifier::sendReconnectCompleteNotification);
         notifierWiring.getInputWire(AppNotifier::sendPlatformStatusChangeNotification);
-        eventSignatureValidatorWiring.getInputWire(EventSignatureValidator::updateAddressBooks);
+        getEventSignatureValidatorWiring().getInputWire(EventSignatureValidator::updateAddressBooks);
         eventWindowManagerWiring.getInputWire(EventWindowManager::updateEventWindow);
         orphanBufferWiring.getInputWire(OrphanBuffer::clear);
         roundDurabilityBufferWiring.getInputWire(RoundDurabilityBuffer::clear);
@@ -809,7 +840,10 @@ public class PlatformWiring {
         eventHasherWiring.bind(builder::buildEventHasher);
         internalEventValidatorWiring.bind(builder::buildInternalEventValidator);
         eventDeduplicatorWiring.bind(builder::buildEventDeduplicator);
-        eventSignatureValidatorWiring.bind(builder::buildEventSignatureValidator);
+        if (eventSignatureBatcherWiring != null) {
+            eventSignatureBatcherWiring.bind(builder::buildEventSignatureBatcher);
+        }
+        getEventSignatureValidatorWiring().bind(builder::buildEventSignatureValidator);
         orphanBufferWiring.bind(builder::buildOrphanBuffer);
         consensusEngineWiring.bind(builder::buildConsensusEngine);
         stateSnapshotManagerWiring.bind(builder::buildStateSnapshotManager);
@@ -865,7 +899,19 @@ public class PlatformWiring {
      */
     @NonNull
     public InputWire<AddressBookUpdate> getAddressBookUpdateInput() {
-        return eventSignatureValidatorWiring.getInputWire(EventSignatureValidator::updateAddressBooks);
+        return getEventSignatureValidatorWiring().getInputWire(EventSignatureValidator::updateAddressBooks);
+    }
+
+    /**
+     * Get the wiring of the event signature validator, whether it verifies events one by one or in batches.
+     *
+     * @return the event signature validator wiring
+     */
+    @NonNull
+    private ComponentWiring<EventSignatureValidator, ?> getEventSignatureValidatorWiring() {
+        return eventSignatureBatchValidatorWiring != null
+                ? eventSignatureBatchValidatorWiring
+                : eventSignatureValidatorWiring;
     }
 
     /**
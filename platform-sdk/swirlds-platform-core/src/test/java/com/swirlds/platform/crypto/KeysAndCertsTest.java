@@ -27,6 +27,7 @@ import com.swirlds.common.test.fixtures.crypto.PreGeneratedPublicKeys;
 import com.swirlds.platform.system.address.AddressBook;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.security.PublicKey;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
@@ -36,6 +37,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 class KeysAndCertsTest {
     private static final byte[] DATA_ARRAY = {1, 2, 3};
     private static final Bytes DATA_BYTES = Bytes.wrap(DATA_ARRAY);
+    private static final byte[] OTHER_DATA_ARRAY = {4, 5, 6};
+    private static final Bytes OTHER_DATA_BYTES = Bytes.wrap(OTHER_DATA_ARRAY);
     private static final PublicKey WRONG_KEY =
             PreGeneratedPublicKeys.getPublicKey(KeyType.RSA, 0).getPublicKey();
 
@@ -48,6 +51,21 @@ class KeysAndCertsTest {
         assertFalse(
                 CryptoStatic.verifySignature(DATA_BYTES, signature.getBytes(), WRONG_KEY),
                 "verify should be false when using the incorrect public key");
+
+        final Signature otherSignature = signer.sign(OTHER_DATA_ARRAY);
+        final List<Bytes> data = List.of(DATA_BYTES, OTHER_DATA_BYTES);
+        assertTrue(
+                CryptoStatic.verifySignatures(
+                        publicKey, data, List.of(signature.getBytes(), otherSignature.getBytes())),
+                "batch verify should be true when all signatures are valid");
+        assertFalse(
+                CryptoStatic.verifySignatures(
+                        publicKey, data, List.of(otherSignature.getBytes(), signature.getBytes())),
+                "batch verify should be false when a signature doesn't match the data");
+        assertFalse(
+                CryptoStatic.verifySignatures(
+                        WRONG_KEY, data, List.of(signature.getBytes(), otherSignature.getBytes())),
+                "batch verify should be false when using the incorrect public key");
     }
 
     /**
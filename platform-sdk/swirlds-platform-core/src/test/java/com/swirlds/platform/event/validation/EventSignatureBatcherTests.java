@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.event.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.Randotron;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.eventhandling.EventConfig_;
+import com.swirlds.platform.test.fixtures.event.TestingEventBuilder;
+import com.swirlds.platform.wiring.NoInput;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EventSignatureBatcherTests {
+
+    private static EventSignatureBatcher createBatcher(final int batchSize) {
+        final PlatformContext platformContext = TestPlatformContextBuilder.create()
+                .withConfiguration(new TestConfigBuilder()
+                        .withValue(EventConfig_.SIGNATURE_BATCH_SIZE, batchSize)
+                        .getOrCreateConfig())
+                .build();
+        return new DefaultEventSignatureBatcher(platformContext);
+    }
+
+    @Test
+    @DisplayName("Full batches are released")
+    void fullBatches() {
+        final Randotron random = Randotron.create();
+        final EventSignatureBatcher batcher = createBatcher(3);
+
+        final List<PlatformEvent> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            events.add(new TestingEventBuilder(random).build());
+        }
+
+        assertNull(batcher.addEvent(events.get(0)));
+        assertNull(batcher.addEvent(events.get(1)));
+        assertEquals(events.subList(0, 3), batcher.addEvent(events.get(2)));
+        assertNull(batcher.addEvent(events.get(3)));
+        assertNull(batcher.addEvent(events.get(4)));
+        assertEquals(events.subList(3, 6), batcher.addEvent(events.get(5)));
+        assertNull(batcher.flushBatch(NoInput.getInstance()), "There should be no events left");
+    }
+
+    @Test
+    @DisplayName("Partial batches are released on heartbeats and flushes")
+    void partialBatches() {
+        final Randotron random = Randotron.create();
+        final EventSignatureBatcher batcher = createBatcher(10);
+
+        assertNull(batcher.heartbeat(Instant.now()), "Empty batches should not be released");
+
+        final PlatformEvent event1 = new TestingEventBuilder(random).build();
+        assertNull(batcher.addEvent(event1));
+        assertEquals(List.of(event1), batcher.heartbeat(Instant.now()));
+        assertNull(batcher.heartbeat(Instant.now()), "A batch should only be released once");
+
+        final PlatformEvent event2 = new TestingEventBuilder(random).build();
+        final PlatformEvent event3 = new TestingEventBuilder(random).build();
+        assertNull(batcher.addEvent(event2));
+        assertNull(batcher.addEvent(event3));
+        assertEquals(List.of(event2, event3), batcher.flushBatch(NoInput.getInstance()));
+        assertNull(batcher.flushBatch(NoInput.getInstance()), "A batch should only be released once");
+    }
+}
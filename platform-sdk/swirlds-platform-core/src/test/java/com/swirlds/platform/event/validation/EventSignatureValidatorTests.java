@@ -32,6 +32,7 @@ import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
 import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.platform.consensus.ConsensusConstants;
 import com.swirlds.platform.consensus.EventWindow;
+import com.swirlds.platform.crypto.BatchSignatureVerifier;
 import com.swirlds.platform.crypto.SignatureVerifier;
 import com.swirlds.platform.event.PlatformEvent;
 import com.swirlds.platform.eventhandling.EventConfig;
@@ -43,6 +44,7 @@ import com.swirlds.platform.system.events.EventConstants;
 import com.swirlds.platform.test.fixtures.crypto.PreGeneratedX509Certs;
 import com.swirlds.platform.test.fixtures.event.TestingEventBuilder;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
@@ -271,4 +273,71 @@ class EventSignatureValidatorTests {
         assertNull(validatorWithTrueVerifier.validateSignature(event));
         assertEquals(1, exitedIntakePipelineCount.get());
     }
+
+    @Test
+    @DisplayName("Batch passes validation if all signatures verify")
+    void validBatch() {
+        final List<PlatformEvent> events = List.of(
+                new TestingEventBuilder(random)
+                        .setCreatorId(currentNodeAddress.getNodeId())
+                        .setSoftwareVersion(defaultVersion)
+                        .build(),
+                new TestingEventBuilder(random)
+                        .setCreatorId(previousNodeAddress.getNodeId())
+                        .setSoftwareVersion(SemanticVersion.newBuilder().major(1).build())
+                        .build(),
+                new TestingEventBuilder(random)
+                        .setCreatorId(currentNodeAddress.getNodeId())
+                        .setSoftwareVersion(defaultVersion)
+                        .build());
+
+        assertEquals(events, validatorWithTrueVerifier.validateSignatures(events));
+        assertEquals(0, exitedIntakePipelineCount.get());
+
+        assertEquals(List.of(), validatorWithFalseVerifier.validateSignatures(events));
+        assertEquals(3, exitedIntakePipelineCount.get());
+    }
+
+    @Test
+    @DisplayName("Events with invalid signatures are removed from a batch")
+    void invalidEventInBatch() {
+        final List<PlatformEvent> events = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            events.add(new TestingEventBuilder(random)
+                    .setCreatorId(currentNodeAddress.getNodeId())
+                    .setSoftwareVersion(defaultVersion)
+                    .build());
+        }
+        final PlatformEvent invalidEvent = events.get(2);
+
+        final SignatureVerifier verifier =
+                (data, signature, publicKey) -> !signature.equals(invalidEvent.getSignature());
+        final AtomicLong batchCount = new AtomicLong(0);
+        final BatchSignatureVerifier batchVerifier = (publicKey, data, signatures) -> {
+            batchCount.incrementAndGet();
+            return !signatures.contains(invalidEvent.getSignature());
+        };
+        final EventSignatureValidator validator = new DefaultEventSignatureValidator(
+                platformContext,
+                verifier,
+                batchVerifier,
+                defaultVersion,
+                null,
+                currentAddressBook,
+                intakeEventCounter);
+
+        assertEquals(
+                List.of(events.get(0), events.get(1), events.get(3)),
+                validator.validateSignatures(events),
+                "Only the event with invalid signature should be removed");
+        assertEquals(1, batchCount.get(), "All events should be verified in a single batch");
+        assertEquals(1, exitedIntakePipelineCount.get());
+
+        assertEquals(
+                List.of(events.get(0), events.get(1)),
+                validator.validateSignatures(events.subList(0, 2)),
+                "Events with valid signatures should pass validation");
+        assertEquals(2, batchCount.get(), "All events should be verified in a single batch");
+        assertEquals(1, exitedIntakePipelineCount.get());
+    }
 }
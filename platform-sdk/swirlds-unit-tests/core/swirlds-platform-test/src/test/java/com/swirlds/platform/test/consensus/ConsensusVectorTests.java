@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.test.consensus;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.context.PlatformContext;
+import com.swirlds.common.test.fixtures.WeightGenerators;
+import com.swirlds.common.test.fixtures.platform.TestPlatformContextBuilder;
+import com.swirlds.common.utility.Threshold;
+import com.swirlds.platform.ConsensusImpl;
+import com.swirlds.platform.consensus.ConsensusConstants;
+import com.swirlds.platform.internal.EventImpl;
+import com.swirlds.platform.metrics.NoOpConsensusMetrics;
+import com.swirlds.platform.system.address.AddressBook;
+import com.swirlds.platform.test.event.emitter.StandardEventEmitter;
+import com.swirlds.platform.test.event.source.EventSourceFactory;
+import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks the lastSee and stronglySeeP vectors memoized by {@link ConsensusImpl} against the per member definitions
+ * from SWIRLDS-TR-2020-01. Every event is checked right after it is added. The definitions are evaluated against the
+ * vectors memoized for the parents of the event, the same way the per member implementation used them.
+ */
+@DisplayName("Consensus Vector Tests")
+class ConsensusVectorTests {
+
+    private AddressBook addressBook;
+    private ConsensusImpl consensus;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("Vectors match per member definitions")
+    void vectorsMatchPerMemberDefinitions(final boolean balancedWeights) {
+        final int numNodes = 10;
+        final long seed = 0;
+        final List<Long> weights = balancedWeights
+                ? WeightGenerators.balancedNodeWeights(numNodes)
+                : WeightGenerators.randomNodeWeights(seed, numNodes);
+        final PlatformContext platformContext = TestPlatformContextBuilder.create().build();
+        final StandardGraphGenerator generator = new StandardGraphGenerator(
+                platformContext, seed, EventSourceFactory.newStandardEventSources(weights));
+        final StandardEventEmitter emitter = new StandardEventEmitter(generator);
+        final List<EventImpl> events = emitter.emitEvents(5_000);
+        addressBook = emitter.getGraphGenerator().getAddressBook();
+        consensus = new ConsensusImpl(platformContext, new NoOpConsensusMetrics(), addressBook);
+
+        int checked = 0;
+        for (final EventImpl event : events) {
+            if (!consensus.addEvent(event).isEmpty()) {
+                // Metadata of all events is recalculated when a round is decided, skip this event
+                continue;
+            }
+            if (!relevant(event) || event.sizeStronglySeeP() == 0) {
+                continue;
+            }
+            for (int m = 0; m < numNodes; m++) {
+                assertSame(lastSee(event, m), event.getLastSee(m), "Wrong lastSee for member " + m);
+            }
+            for (int m = 0; m < numNodes; m++) {
+                assertSame(stronglySeeP(event, m), event.getStronglySeeP(m), "Wrong stronglySeeP for member " + m);
+            }
+            checked++;
+        }
+        assertTrue(checked > events.size() / 2, "Too few events were checked");
+    }
+
+    /**
+     * lastSee(x, m), computed from the memoized lastSee vectors of the parents of x.
+     */
+    private @Nullable EventImpl lastSee(@NonNull final EventImpl x, final int m) {
+        final EventImpl sp = selfParent(x);
+        final EventImpl op = otherParent(x);
+        if (creatorIndex(x) == m) {
+            return x;
+        }
+        if (sp == null && op == null) {
+            return null;
+        }
+        final EventImpl lsop = memoizedLastSee(op, m);
+        final EventImpl lssp = memoizedLastSee(sp, m);
+        final long lsopGen = lsop == null ? 0 : lsop.getGeneration();
+        final long lsspGen = lssp == null ? 0 : lssp.getGeneration();
+        if ((round(lsop) > round(lssp)) || ((lsopGen > lsspGen) && (firstSee(op, m) == firstSee(sp, m)))) {
+            return lsop;
+        }
+        return lssp;
+    }
+
+    /**
+     * stronglySeeP(x, m), computed per member from the memoized stronglySeeP vectors of the parents of x.
+     */
+    private @Nullable EventImpl stronglySeeP(@NonNull final EventImpl x, final int m) {
+        final EventImpl sp = selfParent(x);
+        final EventImpl op = otherParent(x);
+        final long prx = parentRound(x);
+        if (memoizedStronglySeeP(sp, m) != null && prx == parentRound(sp)) {
+            return memoizedStronglySeeP(sp, m);
+        }
+        if (memoizedStronglySeeP(op, m) != null && prx == parentRound(op)) {
+            return memoizedStronglySeeP(op, m);
+        }
+        final EventImpl st = seeThru(x, m, m);
+        if (round(st) != prx) {
+            return null;
+        }
+        long weight = 0;
+        for (int m3 = 0; m3 < addressBook.getSize(); m3++) {
+            if (seeThru(x, m, m3) == st) {
+                weight += addressBook.getAddress(addressBook.getNodeId(m3)).getWeight();
+            }
+        }
+        return Threshold.SUPER_MAJORITY.isSatisfiedBy(weight, addressBook.getTotalWeight()) ? st : null;
+    }
+
+    private @Nullable EventImpl seeThru(@NonNull final EventImpl x, final int m, final int m2) {
+        if (m == m2 && creatorIndex(x) == m2) {
+            return firstSelfWitnessS(selfParent(x));
+        }
+        return firstSee(memoizedLastSee(x, m2), m);
+    }
+
+    private @Nullable EventImpl firstSee(@Nullable final EventImpl x, final int m) {
+        return firstSelfWitnessS(memoizedLastSee(x, m));
+    }
+
+    private static @Nullable EventImpl firstSelfWitnessS(@Nullable final EventImpl x) {
+        return relevant(x) ? x.getFirstSelfWitnessS() : null;
+    }
+
+    private static @Nullable EventImpl memoizedLastSee(@Nullable final EventImpl x, final int m) {
+        return relevant(x) && x.sizeLastSee() != 0 ? x.getLastSee(m) : null;
+    }
+
+    private static @Nullable EventImpl memoizedStronglySeeP(@Nullable final EventImpl x, final int m) {
+        return relevant(x) && x.sizeStronglySeeP() != 0 ? x.getStronglySeeP(m) : null;
+    }
+
+    private @Nullable EventImpl selfParent(@NonNull final EventImpl x) {
+        return ancient(x.getSelfParent()) ? null : x.getSelfParent();
+    }
+
+    private @Nullable EventImpl otherParent(@NonNull final EventImpl x) {
+        return ancient(x.getOtherParent()) ? null : x.getOtherParent();
+    }
+
+    private boolean ancient(@Nullable final EventImpl x) {
+        return x == null || x.getGeneration() < consensus.getMinGenerationNonAncient();
+    }
+
+    private long parentRound(@Nullable final EventImpl x) {
+        if (x == null) {
+            return ConsensusConstants.ROUND_NEGATIVE_INFINITY;
+        }
+        return Math.max(round(selfParent(x)), round(otherParent(x)));
+    }
+
+    private static long round(@Nullable final EventImpl x) {
+        return x == null ? ConsensusConstants.ROUND_NEGATIVE_INFINITY : x.getRoundCreated();
+    }
+
+    private static boolean relevant(@Nullable final EventImpl x) {
+        return x != null && x.getRoundCreated() != ConsensusConstants.ROUND_NEGATIVE_INFINITY;
+    }
+
+    private int creatorIndex(@NonNull final EventImpl x) {
+        return addressBook.contains(x.getCreatorId()) ? addressBook.getIndexOfNodeId(x.getCreatorId()) : -1;
+    }
+}
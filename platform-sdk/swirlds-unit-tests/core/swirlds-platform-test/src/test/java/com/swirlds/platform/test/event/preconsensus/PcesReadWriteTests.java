@@ -33,8 +33,11 @@ import com.swirlds.common.constructable.ConstructableRegistryException;
 import com.swirlds.common.io.IOIterator;
 import com.swirlds.common.io.utility.FileUtils;
 import com.swirlds.common.test.fixtures.RandomUtils;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.platform.event.AncientMode;
 import com.swirlds.platform.event.PlatformEvent;
+import com.swirlds.platform.event.preconsensus.PcesConfig;
+import com.swirlds.platform.event.preconsensus.PcesConfig_;
 import com.swirlds.platform.event.preconsensus.PcesFile;
 import com.swirlds.platform.event.preconsensus.PcesFileIterator;
 import com.swirlds.platform.event.preconsensus.PcesMutableFile;
@@ -44,8 +47,11 @@ import com.swirlds.platform.test.fixtures.event.generator.StandardGraphGenerator
 import com.swirlds.platform.test.fixtures.event.source.StandardEventSource;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -588,4 +594,231 @@ class PcesReadWriteTests {
         assertFalse(iterator.hasNext());
         assertThrows(NoSuchElementException.class, iterator::next);
     }
+
+    /**
+     * Build a configuration that writes files through a file channel.
+     *
+     * @param preallocateFiles if true, then files are preallocated
+     * @return the preconsensus event storage configuration
+     */
+    @NonNull
+    private static PcesConfig buildFileChannelConfig(final boolean preallocateFiles) {
+        return new TestConfigBuilder()
+                .withValue(PcesConfig_.USE_FILE_CHANNEL_WRITER, true)
+                // Small enough to be filled by a few events
+                .withValue(PcesConfig_.WRITE_BUFFER_SIZE, 1024)
+                .withValue(PcesConfig_.PREFERRED_FILE_SIZE_MEGABYTES, 1)
+                .withValue(PcesConfig_.PREALLOCATE_FILES, preallocateFiles)
+                .getOrCreateConfig()
+                .getConfigData(PcesConfig.class);
+    }
+
+    /**
+     * Generate events to write.
+     *
+     * @param random      the random number generator
+     * @param ancientMode the ancient mode
+     * @param numEvents   the number of events to generate
+     * @return the generated events
+     */
+    @NonNull
+    private static List<PlatformEvent> generateEvents(
+            @NonNull final Random random, @NonNull final AncientMode ancientMode, final int numEvents) {
+        final StandardGraphGenerator generator = new StandardGraphGenerator(
+                ancientMode == GENERATION_THRESHOLD ? DEFAULT_PLATFORM_CONTEXT : BIRTH_ROUND_PLATFORM_CONTEXT,
+                random.nextLong(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource(),
+                new StandardEventSource());
+
+        final List<PlatformEvent> events = new ArrayList<>();
+        for (int i = 0; i < numEvents; i++) {
+            events.add(generator.generateEvent().getBaseEvent());
+        }
+        return events;
+    }
+
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("File Channel Write Then Read Test")
+    void fileChannelWriteThenReadTest(@NonNull final AncientMode ancientMode) throws IOException {
+        for (final boolean preallocateFiles : List.of(true, false)) {
+            final Random random = RandomUtils.getRandomPrintSeed();
+
+            final List<PlatformEvent> events = generateEvents(random, ancientMode, 100);
+
+            long upperBound = Long.MIN_VALUE;
+            for (final PlatformEvent event : events) {
+                upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+            }
+
+            final PcesFile file = PcesFile.of(
+                    ancientMode,
+                    RandomUtils.randomInstant(random),
+                    random.nextInt(0, 100),
+                    0,
+                    upperBound,
+                    0,
+                    testDirectory);
+
+            final PcesMutableFile mutableFile = file.getMutableFile(buildFileChannelConfig(preallocateFiles));
+            for (int i = 0; i < events.size(); i++) {
+                mutableFile.writeEvent(events.get(i));
+                if (i % 10 == 0) {
+                    mutableFile.flush();
+                }
+            }
+
+            mutableFile.close();
+
+            // Preallocated files are truncated when closed
+            assertEquals(mutableFile.fileSize(), Files.size(file.getPath()));
+
+            final PcesFileIterator iterator = file.iterator(Long.MIN_VALUE);
+            final List<PlatformEvent> deserializedEvents = new ArrayList<>();
+            iterator.forEachRemaining(deserializedEvents::add);
+            assertFalse(iterator.hasPartialEvent());
+            assertEquals(events, deserializedEvents);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("Preallocated File Zero Tail Test")
+    void preallocatedFileZeroTailTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final List<PlatformEvent> events = generateEvents(random, ancientMode, 100);
+
+        long upperBound = Long.MIN_VALUE;
+        for (final PlatformEvent event : events) {
+            upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+        }
+
+        final PcesFile file = PcesFile.of(
+                ancientMode,
+                RandomUtils.randomInstant(random),
+                random.nextInt(0, 100),
+                0,
+                upperBound,
+                0,
+                testDirectory);
+
+        final PcesMutableFile mutableFile = file.getMutableFile(buildFileChannelConfig(true));
+        assertEquals(1024 * 1024, Files.size(file.getPath()));
+
+        // Nothing is flushed yet, the file only contains zeros, as if the node crashed right after creating it
+        final PcesFileIterator emptyIterator = file.iterator(Long.MIN_VALUE);
+        assertFalse(emptyIterator.hasNext());
+        assertFalse(emptyIterator.hasPartialEvent());
+
+        for (final PlatformEvent event : events) {
+            mutableFile.writeEvent(event);
+        }
+        mutableFile.flush();
+
+        // The file is not closed, so it isn't truncated, as if the node crashed after the flush
+        assertTrue(Files.size(file.getPath()) > mutableFile.fileSize());
+
+        final PcesFileIterator iterator = file.iterator(Long.MIN_VALUE);
+        final List<PlatformEvent> deserializedEvents = new ArrayList<>();
+        iterator.forEachRemaining(deserializedEvents::add);
+        assertFalse(iterator.hasPartialEvent());
+        assertEquals(events, deserializedEvents);
+
+        mutableFile.close();
+        assertEquals(mutableFile.fileSize(), Files.size(file.getPath()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("Preallocated File Torn Event Test")
+    void preallocatedFileTornEventTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final List<PlatformEvent> events = generateEvents(random, ancientMode, 100);
+
+        long upperBound = Long.MIN_VALUE;
+        for (final PlatformEvent event : events) {
+            upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+        }
+
+        final PcesFile file = PcesFile.of(
+                ancientMode,
+                RandomUtils.randomInstant(random),
+                random.nextInt(0, 100),
+                0,
+                upperBound,
+                0,
+                testDirectory);
+
+        final PcesMutableFile mutableFile = file.getMutableFile(buildFileChannelConfig(true));
+        for (int i = 0; i < events.size() - 1; i++) {
+            mutableFile.writeEvent(events.get(i));
+        }
+        mutableFile.flush();
+        final long lastEventStart = mutableFile.fileSize();
+        mutableFile.writeEvent(events.getLast());
+        mutableFile.flush();
+        final long lastEventEnd = mutableFile.fileSize();
+
+        // The size of the last event is on disk, but its bytes are not, as if the machine crashed during the write
+        try (final FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.WRITE)) {
+            final long bodyStart = lastEventStart + Integer.BYTES;
+            channel.write(ByteBuffer.allocate((int) (lastEventEnd - bodyStart)), bodyStart);
+        }
+
+        final PcesFileIterator iterator = file.iterator(Long.MIN_VALUE);
+        final List<PlatformEvent> deserializedEvents = new ArrayList<>();
+        iterator.forEachRemaining(deserializedEvents::add);
+        assertTrue(iterator.hasPartialEvent());
+        assertEquals(events.subList(0, events.size() - 1), deserializedEvents);
+
+        mutableFile.close();
+    }
+
+    @ParameterizedTest
+    @MethodSource("buildArguments")
+    @DisplayName("Zeroed Last Event Test")
+    void zeroedLastEventTest(@NonNull final AncientMode ancientMode) throws IOException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+
+        final List<PlatformEvent> events = generateEvents(random, ancientMode, 100);
+
+        long upperBound = Long.MIN_VALUE;
+        for (final PlatformEvent event : events) {
+            upperBound = Math.max(upperBound, event.getAncientIndicator(ancientMode));
+        }
+
+        final PcesFile file = PcesFile.of(
+                ancientMode,
+                RandomUtils.randomInstant(random),
+                random.nextInt(0, 100),
+                0,
+                upperBound,
+                0,
+                testDirectory);
+
+        final PcesMutableFile mutableFile = file.getMutableFile();
+        for (int i = 0; i < events.size() - 1; i++) {
+            mutableFile.writeEvent(events.get(i));
+        }
+        final long lastEventStart = mutableFile.fileSize();
+        mutableFile.writeEvent(events.getLast());
+        mutableFile.close();
+        final long lastEventEnd = mutableFile.fileSize();
+
+        // The file isn't preallocated, there are no zeros after the last event, so it's corrupted, not torn
+        try (final FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.WRITE)) {
+            final long bodyStart = lastEventStart + Integer.BYTES;
+            channel.write(ByteBuffer.allocate((int) (lastEventEnd - bodyStart)), bodyStart);
+        }
+
+        final PcesFileIterator iterator = file.iterator(Long.MIN_VALUE);
+        for (int i = 0; i < events.size() - 1; i++) {
+            assertEquals(events.get(i), iterator.next());
+        }
+        assertThrows(IOException.class, iterator::next);
+    }
 }
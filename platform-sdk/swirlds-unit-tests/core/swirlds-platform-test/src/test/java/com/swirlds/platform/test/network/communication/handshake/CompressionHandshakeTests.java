@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.platform.test.network.communication.handshake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.base.utility.Pair;
+import com.swirlds.common.platform.NodeId;
+import com.swirlds.platform.network.Connection;
+import com.swirlds.platform.network.communication.handshake.CompressionHandshake;
+import com.swirlds.platform.test.sync.ConnectionFactory;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CompressionHandshake}
+ */
+class CompressionHandshakeTests {
+    private Connection theirConnection;
+    private Connection myConnection;
+
+    /**
+     * Create the connections, and run the handshake on both sides at the same time
+     *
+     * @param myCompression    if true, then my streams support negotiated compression
+     * @param theirCompression if true, then the peer's streams support negotiated compression
+     */
+    private void runHandshakes(final boolean myCompression, final boolean theirCompression) throws Exception {
+        final Pair<Connection, Connection> connections = ConnectionFactory.createLocalConnections(
+                new NodeId(0L), new NodeId(1), myCompression, theirCompression);
+        myConnection = connections.left();
+        theirConnection = connections.right();
+
+        final CompletableFuture<Void> theirs = CompletableFuture.runAsync(() -> {
+            try {
+                new CompressionHandshake().runProtocol(theirConnection);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        new CompressionHandshake().runProtocol(myConnection);
+        theirs.get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Send data in both directions, and check that it's received unchanged. The data fits in the pipe buffers
+     */
+    private static void assertDataExchange(@NonNull final Connection a, @NonNull final Connection b)
+            throws IOException {
+        for (int i = 0; i < 50; i++) {
+            a.getDos().writeLong(i);
+            a.getDos().writeUTF("data" + i);
+        }
+        a.getDos().flush();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, b.getDis().readLong(), "data should be received unchanged");
+            assertEquals("data" + i, b.getDis().readUTF(), "data should be received unchanged");
+        }
+        b.getDos().writeInt(42);
+        b.getDos().flush();
+        assertEquals(42, a.getDis().readInt(), "data should be received unchanged");
+    }
+
+    @Test
+    @DisplayName("Both sides support compression")
+    void bothSupported() throws Exception {
+        runHandshakes(true, true);
+        assertFalse(myConnection.getDos().supportsNegotiatedCompression(), "compression should be started");
+        assertFalse(myConnection.getDis().supportsNegotiatedCompression(), "compression should be started");
+        assertFalse(theirConnection.getDos().supportsNegotiatedCompression(), "compression should be started");
+        assertFalse(theirConnection.getDis().supportsNegotiatedCompression(), "compression should be started");
+        assertDataExchange(myConnection, theirConnection);
+    }
+
+    @Test
+    @DisplayName("The peer doesn't support compression")
+    void peerUnsupported() throws Exception {
+        runHandshakes(true, false);
+        assertTrue(myConnection.getDos().supportsNegotiatedCompression(), "compression should not be started");
+        assertTrue(myConnection.getDis().supportsNegotiatedCompression(), "compression should not be started");
+        assertFalse(theirConnection.getDos().supportsNegotiatedCompression(), "compression should not be supported");
+        assertFalse(theirConnection.getDis().supportsNegotiatedCompression(), "compression should not be supported");
+        assertDataExchange(myConnection, theirConnection);
+    }
+
+    @Test
+    @DisplayName("Neither side supports compression")
+    void neitherSupported() throws Exception {
+        runHandshakes(false, false);
+        assertFalse(myConnection.getDos().supportsNegotiatedCompression(), "compression should not be supported");
+        assertFalse(myConnection.getDis().supportsNegotiatedCompression(), "compression should not be supported");
+        assertFalse(theirConnection.getDos().supportsNegotiatedCompression(), "compression should not be supported");
+        assertFalse(theirConnection.getDis().supportsNegotiatedCompression(), "compression should not be supported");
+        assertDataExchange(myConnection, theirConnection);
+    }
+}
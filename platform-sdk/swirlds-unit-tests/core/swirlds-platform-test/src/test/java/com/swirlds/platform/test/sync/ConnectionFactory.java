@@ -36,6 +36,18 @@ public interface ConnectionFactory {
      */
     static Pair<Connection, Connection> createLocalConnections(final NodeId nodeA, final NodeId nodeB)
             throws IOException {
+        return createLocalConnections(nodeA, nodeB, false, false);
+    }
+
+    /**
+     * Creates a new pair of {@link Connection} instances.
+     *
+     * @param compressionA if true, then the streams of the first connection support negotiated compression
+     * @param compressionB if true, then the streams of the second connection support negotiated compression
+     */
+    static Pair<Connection, Connection> createLocalConnections(
+            final NodeId nodeA, final NodeId nodeB, final boolean compressionA, final boolean compressionB)
+            throws IOException {
         final PipedInputStream inputStreamA = new PipedInputStream();
         // Bob sends information on outputStreamB which Alice receives on inputStreamA
         final PipedOutputStream outputStreamB = new PipedOutputStream(inputStreamA);
@@ -44,10 +56,10 @@ public interface ConnectionFactory {
         // Alice sends information on outputStreamA which Bob receives on inputStreamB
         final PipedOutputStream outputStreamA = new PipedOutputStream(inputStreamB);
 
-        final LocalConnection callerConnection =
-                new LocalConnection(nodeA, nodeB, inputStreamA, outputStreamA, DEFAULT_CONNECTION_BUFFER_SIZE, true);
-        final LocalConnection listenerConnection =
-                new LocalConnection(nodeB, nodeA, inputStreamB, outputStreamB, DEFAULT_CONNECTION_BUFFER_SIZE, false);
+        final LocalConnection callerConnection = new LocalConnection(
+                nodeA, nodeB, inputStreamA, outputStreamA, DEFAULT_CONNECTION_BUFFER_SIZE, true, compressionA);
+        final LocalConnection listenerConnection = new LocalConnection(
+                nodeB, nodeA, inputStreamB, outputStreamB, DEFAULT_CONNECTION_BUFFER_SIZE, false, compressionB);
         return Pair.of(callerConnection, listenerConnection);
     }
 
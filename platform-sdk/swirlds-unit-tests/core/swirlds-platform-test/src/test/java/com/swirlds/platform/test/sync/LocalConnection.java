@@ -23,6 +23,7 @@ import com.swirlds.config.api.Configuration;
 import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
 import com.swirlds.platform.gossip.sync.SyncInputStream;
 import com.swirlds.platform.gossip.sync.SyncOutputStream;
+import com.swirlds.platform.metrics.GossipCompressionMetrics;
 import com.swirlds.platform.network.Connection;
 import com.swirlds.platform.network.NetworkUtils;
 import java.io.InputStream;
@@ -53,10 +54,26 @@ public class LocalConnection implements Connection {
             final OutputStream out,
             final int bufferSize,
             final boolean outbound) {
+        this(selfId, otherId, in, out, bufferSize, outbound, false);
+    }
+
+    /**
+     * @param negotiateCompression if true, then the streams of this connection support negotiated compression
+     */
+    public LocalConnection(
+            final NodeId selfId,
+            final NodeId otherId,
+            final InputStream in,
+            final OutputStream out,
+            final int bufferSize,
+            final boolean outbound,
+            final boolean negotiateCompression) {
         this.selfId = selfId;
         this.otherId = otherId;
-        dis = SyncInputStream.createSyncInputStream(platformContext, in, bufferSize);
-        dos = SyncOutputStream.createSyncOutputStream(platformContext, out, bufferSize);
+        final GossipCompressionMetrics compressionMetrics =
+                negotiateCompression ? new GossipCompressionMetrics(platformContext.getMetrics()) : null;
+        dis = SyncInputStream.createSyncInputStream(platformContext, in, bufferSize, compressionMetrics);
+        dos = SyncOutputStream.createSyncOutputStream(platformContext, out, bufferSize, compressionMetrics);
         this.outbound = outbound;
     }
 
@@ -55,6 +55,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -706,6 +708,63 @@ class ShadowgraphTest {
                 "Shadow graph tips should be included in expiry.");
     }
 
+    @Test
+    @DisplayName("Sync threads read the shadow graph while events are added and expired")
+    void testConcurrentReadsDuringIntake() throws InterruptedException {
+        final Random random = RandomUtils.getRandomPrintSeed();
+        initShadowgraph(random, 100, 4);
+
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        try (final ReservedEventWindow reservation = shadowgraph.reserve()) {
+                            final long expiredThreshold = reservation.getEventWindow().getExpiredThreshold();
+                            final List<ShadowEvent> tips = shadowgraph.getTips();
+                            for (final ShadowEvent ancestor : shadowgraph.findAncestors(tips, e -> true)) {
+                                // Reserved events must not be expired while the reservation is held
+                                if (ancestor.getEvent().getGeneration() >= expiredThreshold) {
+                                    assertEquals(
+                                            ancestor,
+                                            shadowgraph.shadow(ancestor.getEvent().getDescriptor()),
+                                            "Reserved events should be in the shadow graph");
+                                }
+                            }
+                        }
+                    }
+                } catch (final Throwable t) {
+                    error.compareAndSet(null, t);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            final EventImpl event = emitter.emitEvent();
+            assertDoesNotThrow(() -> shadowgraph.addEvent(event.getBaseEvent()), "Unable to add event");
+            assertEquals(
+                    event.getBaseEvent(),
+                    shadowgraph.hashgraphEvent(event.getBaseHash()),
+                    "Added event should be found by hash");
+            if (i % 20 == 0) {
+                final long expiredThreshold = Math.max(FIRST_GENERATION, event.getGeneration() - 5);
+                if (expiredThreshold > shadowgraph.getEventWindow().getExpiredThreshold()) {
+                    shadowgraph.updateEventWindow(
+                            new EventWindow(0, expiredThreshold, expiredThreshold, GENERATION_THRESHOLD));
+                }
+            }
+        }
+        done.set(true);
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(error.get(), "Sync threads should not fail");
+    }
+
     @Test
     @Disabled("It does not make sense to run this test in CCI since the outcome can vary depending on the load."
             + "The purpose of this test is to tune the performance of this method by running the test locally.")
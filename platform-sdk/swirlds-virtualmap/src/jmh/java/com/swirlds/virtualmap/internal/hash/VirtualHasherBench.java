@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.hash; // NOSONAR: Needed to benchmark internal classes
+
+import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hashes randomly distributed dirty leaves in a large virtual tree. Clean node hashes are not
+ * stored anywhere, a single random hash is returned for every clean node, so the benchmark
+ * measures hashing itself rather than hash lookups.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx16g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualHasherBench {
+
+    @Param({"100000000"})
+    public long leafCount;
+
+    @Param({"1000000"})
+    public int dirtyLeafCount;
+
+    // If true, the hasher is given the number of dirty leaves, and chunk heights are adaptive
+    @Param({"true", "false"})
+    public boolean adaptiveChunkHeight;
+
+    private long firstLeafPath;
+
+    private long lastLeafPath;
+
+    private List<VirtualLeafRecord<TestKey, TestValue>> dirtyLeaves;
+
+    private VirtualHasher<TestKey, TestValue> hasher;
+
+    private VirtualHashReader cleanHashReader;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        firstLeafPath = leafCount - 1;
+        lastLeafPath = leafCount * 2 - 2;
+        final Random random = new Random(42);
+        final long[] dirtyPaths = random.longs(firstLeafPath, lastLeafPath + 1)
+                .distinct()
+                .limit(dirtyLeafCount)
+                .sorted()
+                .toArray();
+        dirtyLeaves = new ArrayList<>(dirtyPaths.length);
+        for (final long path : dirtyPaths) {
+            dirtyLeaves.add(new VirtualLeafRecord<>(path, new TestKey(path), new TestValue(path)));
+        }
+        final byte[] cleanHash = new byte[Cryptography.DEFAULT_DIGEST_TYPE.digestLength()];
+        random.nextBytes(cleanHash);
+        cleanHashReader = (path, dst) -> {
+            dst.put(cleanHash);
+            return true;
+        };
+        hasher = new VirtualHasher<>();
+    }
+
+    @Benchmark
+    public Hash hashDirtyLeaves() {
+        return hasher.hash(
+                cleanHashReader,
+                dirtyLeaves.iterator(),
+                firstLeafPath,
+                lastLeafPath,
+                null,
+                adaptiveChunkHeight ? dirtyLeafCount : -1);
+    }
+}
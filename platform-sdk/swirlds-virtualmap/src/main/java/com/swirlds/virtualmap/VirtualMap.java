@@ -39,14 +39,17 @@ import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
 import com.swirlds.virtualmap.internal.merkle.VirtualStateAccessorImpl;
 import com.swirlds.virtualmap.serialize.KeySerializer;
 import com.swirlds.virtualmap.serialize.ValueSerializer;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A {@link MerkleInternal} node that virtualizes all of its children, such that the child nodes
@@ -352,6 +355,7 @@ public final class VirtualMap<K extends VirtualKey, V extends VirtualValue> exte
         if (version < ClassVersion.REHASH_LEAVES) {
             root.fullLeafRehashIfNecessary();
         }
+        root.startBackgroundHashVerification();
     }
 
     /**
@@ -516,4 +520,18 @@ public final class VirtualMap<K extends VirtualKey, V extends VirtualValue> exte
     public void warm(final K key) {
         root.warm(key);
     }
+
+    /**
+     * Asynchronously loads leaves for the given keys into a bounded prefetch tier shared by all copies
+     * of this map. Lookups of these keys, which miss the in-memory node cache, are then served from the
+     * prefetch tier instead of the data source. Unlike {@link #warm(VirtualKey)}, this method doesn't
+     * block, so it can be called for all keys a round is going to touch while the round is still
+     * being ordered. Prefetched leaves are discarded when the next copy is flushed to disk.
+     *
+     * @param keys keys of the leaves to prefetch
+     * @return a future completed when all leaves are loaded
+     */
+    public CompletableFuture<Void> prefetch(@NonNull final Collection<K> keys) {
+        return root.prefetch(keys);
+    }
 }
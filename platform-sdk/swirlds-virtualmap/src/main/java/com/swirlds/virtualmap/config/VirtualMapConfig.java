@@ -87,6 +87,27 @@ import java.time.Duration;
  * 		increase the amount of time required to make a fast copy by this amount of time.
  * @param maximumFlushThrottlePeriod
  * 		The maximum amount of time that any virtual map fast copy will be delayed due to a flush backlog.
+ * @param adaptiveFlushThrottleEnabled
+ *      If true, family size backpressure is based on measured flush throughput rather than on static step
+ *      sizes. New copies are slowed down just enough to keep the total size of all copies below {@link
+ *      #familyThrottleThreshold}. Until the first flush is measured, static backpressure is used.
+ * @param adaptiveFlushThrottleStartPercent
+ *      Percent of {@link #familyThrottleThreshold} at which adaptive backpressure starts to apply.
+ * @param prefetchCacheSize
+ *      Max number of leaves in the prefetch tier of a virtual map family, see {@link VirtualMap#prefetch}. Leaves
+ *      prefetched when the tier is full are dropped. If set to zero, prefetching is disabled.
+ * @param virtualHasherSparseChunkHeight
+ *      The height of virtual hasher tasks in ranks close to leaves, where dirty nodes are sparse. The number of
+ *      sparse ranks is estimated from the number of dirty leaves. If zero, or not less than
+ *      {@link #virtualHasherChunkHeight}, all tasks are of {@link #virtualHasherChunkHeight}.
+ * @param backgroundHashVerificationEnabled
+ *      If true, hashes of a virtual map loaded from a saved state are verified in background. Hashes are not
+ *      recalculated on load in either case, the map uses hashes loaded from the snapshot.
+ * @param backgroundHashVerificationDelay
+ *      Delay after a virtual map is loaded before background hash verification is started
+ * @param backgroundHashVerificationRate
+ *      Max number of virtual nodes to verify per second during background hash verification. If zero, the
+ *      verification is not rate limited.
  */
 @ConfigData("virtualMap")
 public record VirtualMapConfig(
@@ -109,7 +130,14 @@ public record VirtualMapConfig(
         @ConfigProperty(defaultValue = "2000000000") long familyThrottleThreshold,
         @ConfigProperty(defaultValue = "10000") int preferredFlushQueueSize,
         @ConfigProperty(defaultValue = "200ms") Duration flushThrottleStepSize,
-        @ConfigProperty(defaultValue = "5s") Duration maximumFlushThrottlePeriod) {
+        @ConfigProperty(defaultValue = "5s") Duration maximumFlushThrottlePeriod,
+        @ConfigProperty(defaultValue = "false") boolean adaptiveFlushThrottleEnabled,
+        @Min(0) @Max(100) @ConfigProperty(defaultValue = "50.0") double adaptiveFlushThrottleStartPercent,
+        @Min(0) @ConfigProperty(defaultValue = "100000") int prefetchCacheSize,
+        @Min(0) @Max(64) @ConfigProperty(defaultValue = "2") int virtualHasherSparseChunkHeight,
+        @ConfigProperty(defaultValue = "false") boolean backgroundHashVerificationEnabled,
+        @ConfigProperty(defaultValue = "60s") Duration backgroundHashVerificationDelay,
+        @Min(0) @ConfigProperty(defaultValue = "100000") int backgroundHashVerificationRate) {
 
     private static final double UNIT_FRACTION_PERCENT = 100.0;
 
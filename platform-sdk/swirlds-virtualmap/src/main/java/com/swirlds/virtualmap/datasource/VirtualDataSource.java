@@ -25,7 +25,11 @@ import com.swirlds.virtualmap.serialize.ValueSerializer;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -200,6 +204,109 @@ public interface VirtualDataSource {
         return true;
     }
 
+    /**
+     * Load a virtual node hash by path and, if found, copy its digest bytes to the specified buffer,
+     * starting at the buffer's current position. This method helps avoid creating {@link Hash}
+     * objects on hot paths like virtual tree hashing, where hash bytes are only fed to a message
+     * digest and then discarded.
+     *
+     * <p>Written bytes must be 100% identical to {@link Hash#getBytes()} of the hash returned by
+     * {@link #loadHash(long)} for the same path.
+     *
+     * @param path Virtual node path
+     * @param dst Buffer to copy the hash bytes to, must have enough bytes remaining to fit the hash
+     * @return If the hash was found and copied to the buffer
+     * @throws IOException If an I/O error occurred
+     */
+    default boolean loadAndWriteHash(final long path, final ByteBuffer dst) throws IOException {
+        final Hash hash = loadHash(path);
+        if (hash == null) {
+            return false;
+        }
+        hash.getBytes().writeTo(dst);
+        return true;
+    }
+
+    /**
+     * Load virtual record bytes for multiple leaf nodes by path. The returned future is completed
+     * with a list of leaf records in the same order as the paths. List elements are {@code null}
+     * for paths, which aren't found in the data source, see {@link #loadLeafRecord(long)}.
+     *
+     * <p>Implementations may read leaves asynchronously and in a different order, for example,
+     * to coalesce adjacent disk reads. This default implementation loads leaves one by one on
+     * the calling thread.
+     *
+     * @param paths the paths for leaves
+     * @return a future completed with leaf records, or with an exception if leaves couldn't be read
+     */
+    @NonNull
+    default CompletableFuture<List<VirtualLeafBytes>> loadLeafRecordsAsync(@NonNull final long[] paths) {
+        final List<VirtualLeafBytes> leaves = new ArrayList<>(paths.length);
+        try {
+            for (final long path : paths) {
+                leaves.add(loadLeafRecord(path));
+            }
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.completedFuture(leaves);
+    }
+
+    /**
+     * Load virtual record bytes for multiple leaf nodes by key. The returned future is completed
+     * with a list of leaf records in the same order as the keys. List elements are {@code null}
+     * for keys, which aren't found in the data source, see {@link #loadLeafRecord(Bytes, int)}.
+     *
+     * <p>Implementations may read leaves asynchronously and in a different order, for example,
+     * to coalesce adjacent disk reads. This default implementation loads leaves one by one on
+     * the calling thread.
+     *
+     * @param keys the key bytes for leaves
+     * @param keyHashCodes the key hash codes, in the same order as the keys
+     * @return a future completed with leaf records, or with an exception if leaves couldn't be read
+     */
+    @NonNull
+    default CompletableFuture<List<VirtualLeafBytes>> loadLeafRecordsAsync(
+            @NonNull final List<Bytes> keys, @NonNull final int[] keyHashCodes) {
+        if (keys.size() != keyHashCodes.length) {
+            throw new IllegalArgumentException("Keys and key hash codes must be of the same size");
+        }
+        final List<VirtualLeafBytes> leaves = new ArrayList<>(keys.size());
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                leaves.add(loadLeafRecord(keys.get(i), keyHashCodes[i]));
+            }
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.completedFuture(leaves);
+    }
+
+    /**
+     * Load virtual node hashes for multiple paths. The returned future is completed with a list
+     * of hashes in the same order as the paths. List elements are {@code null} for paths, which
+     * aren't found in the data source, see {@link #loadHash(long)}.
+     *
+     * <p>Implementations may read hashes asynchronously and in a different order, for example,
+     * to coalesce adjacent disk reads. This default implementation loads hashes one by one on
+     * the calling thread.
+     *
+     * @param paths virtual node paths
+     * @return a future completed with hashes, or with an exception if hashes couldn't be read
+     */
+    @NonNull
+    default CompletableFuture<List<Hash>> loadHashesAsync(@NonNull final long[] paths) {
+        final List<Hash> hashes = new ArrayList<>(paths.length);
+        try {
+            for (final long path : paths) {
+                hashes.add(loadHash(path));
+            }
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.completedFuture(hashes);
+    }
+
     /**
      * Write a snapshot of the current state of the database at this moment in time. This will need to be called between
      * calls to saveRecords to have a reliable state. This will block till the snapshot is completely created.
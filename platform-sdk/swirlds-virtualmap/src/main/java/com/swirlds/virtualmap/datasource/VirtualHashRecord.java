@@ -30,6 +30,7 @@ import com.swirlds.common.crypto.DigestType;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.streams.SerializableDataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A record that contains a path and a hash. It serves for both node types, internal and leaf.
@@ -154,4 +155,37 @@ public record VirtualHashRecord(long path, Hash hash) {
             }
         }
     }
+
+    /**
+     * Extracts hash bytes from a virtual hash record in protobuf format and copies them to the given
+     * buffer, starting at its current position. No {@link Hash} objects or byte arrays are created.
+     *
+     * @param in virtual hash record bytes in protobuf format
+     * @param dst the buffer to copy hash bytes to
+     * @return true if the hash bytes were copied, false if the record has no hash
+     */
+    public static boolean extractHashBytes(final ReadableSequentialData in, final ByteBuffer dst) {
+        while (in.hasRemaining()) {
+            final int tag = in.readVarInt(false);
+            final int fieldNum = tag >> TAG_FIELD_OFFSET;
+            if (fieldNum == FIELD_HASHRECORD_PATH.number()) {
+                in.skip(Long.BYTES);
+            } else if (fieldNum == FIELD_HASHRECORD_HASH.number()) {
+                final int hashSize = in.readVarInt(false);
+                final int oldLimit = dst.limit();
+                dst.limit(dst.position() + hashSize);
+                try {
+                    if (in.readBytes(dst) != hashSize) {
+                        throw new IllegalArgumentException("Failed to read hash bytes");
+                    }
+                } finally {
+                    dst.limit(oldLimit);
+                }
+                return true;
+            } else {
+                throw new IllegalArgumentException("Unknown virtual hash record field: " + fieldNum);
+            }
+        }
+        return false;
+    }
 }
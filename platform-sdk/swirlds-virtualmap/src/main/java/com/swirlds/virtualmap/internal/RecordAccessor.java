@@ -25,6 +25,7 @@ import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
 import com.swirlds.virtualmap.internal.cache.VirtualNodeCache;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 
 /**
  * Provides access to all records.
@@ -63,6 +64,21 @@ public interface RecordAccessor<K extends VirtualKey, V extends VirtualValue> {
      */
     boolean findAndWriteHash(long path, SerializableDataOutputStream out) throws IOException;
 
+    /**
+     * Looks up a virtual node hash for a given path. If the hash is found, copies its digest
+     * bytes to a specified buffer, starting at the buffer's current position. Unlike {@link
+     * #findHash(long)}, this method doesn't create new {@link Hash} objects when hashes are
+     * loaded from the data source.
+     *
+     * @param path Virtual node path
+     * @param dst Buffer to copy the hash bytes to
+     * @return If the hash is found and copied to the buffer
+     * @throws UncheckedIOException
+     * 		If we fail to access the data store, then a catastrophic error occurred and
+     * 		an UncheckedIOException is thrown.
+     */
+    boolean findAndWriteHash(long path, ByteBuffer dst);
+
     /**
      * Locates and returns a leaf node based on the given key. If the leaf
      * node already exists in memory, then the same instance is returned each time.
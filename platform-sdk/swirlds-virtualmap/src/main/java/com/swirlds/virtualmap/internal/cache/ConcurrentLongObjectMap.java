@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A concurrent map from primitive {@code long} keys to object values, optimized for use by the
+ * {@link VirtualNodeCache} path indices.
+ * <p>
+ * A {@link java.util.concurrent.ConcurrentHashMap} keyed by {@link Long} allocates a boxed key
+ * and a node object for every entry, and every lookup has to box the key and chase pointers.
+ * Path indices in the node cache are hit on every leaf and hash read and update, so this class
+ * stores keys in a plain {@code long[]} and values in a parallel {@code Object[]}, using open
+ * addressing with linear probing. The map is split into a fixed number of segments, each with
+ * its own table and {@link StampedLock}. Writes to a segment are exclusive, reads are optimistic
+ * and only fall back to a read lock if the segment is modified concurrently.
+ * <p>
+ * Removed entries are compacted right away using backward shift deletion, so there are no
+ * tombstones, and tables never degrade after many purges. Tables grow, but never shrink.
+ * <p>
+ * Null values are not supported: a null value returned from a remapping function removes the
+ * entry, the same way as in {@link java.util.Map#compute}.
+ *
+ * @param <V>
+ * 		the value type
+ */
+final class ConcurrentLongObjectMap<V> {
+
+    /**
+     * A function to compute a new value for a key given its current value.
+     *
+     * @param <V>
+     * 		the value type
+     */
+    @FunctionalInterface
+    interface LongObjectFunction<V> {
+        /**
+         * Computes a new value for the key.
+         *
+         * @param key
+         * 		the key
+         * @param value
+         * 		the current value, or null if there is no value for the key
+         * @return the new value, or null to remove the entry
+         */
+        V apply(long key, V value);
+    }
+
+    /**
+     * An action to perform on every entry of the map.
+     *
+     * @param <V>
+     * 		the value type
+     */
+    @FunctionalInterface
+    interface LongObjectConsumer<V> {
+        /**
+         * Performs this action on a map entry.
+         *
+         * @param key
+         * 		the key
+         * @param value
+         * 		the value, never null
+         */
+        void accept(long key, V value);
+    }
+
+    /**
+     * The default number of segments. Must be a power of two.
+     */
+    private static final int DEFAULT_SEGMENT_COUNT = 64;
+
+    /**
+     * The initial number of slots in every segment table. Must be a power of two.
+     */
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+    /**
+     * Segments, each covering a subset of key hashes.
+     */
+    private final Segment<V>[] segments;
+
+    /**
+     * The mask to apply to the upper half of a key hash to get a segment index. The lower half
+     * is used to find a slot in the segment table.
+     */
+    private final int segmentMask;
+
+    /**
+     * Create a new map with the default number of segments.
+     */
+    ConcurrentLongObjectMap() {
+        this(DEFAULT_SEGMENT_COUNT);
+    }
+
+    /**
+     * Create a new map.
+     *
+     * @param segmentCount
+     * 		the number of segments, a positive power of two. The number of segments limits how
+     * 		many threads can update the map concurrently
+     */
+    @SuppressWarnings("unchecked")
+    ConcurrentLongObjectMap(final int segmentCount) {
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("Segment count must be a positive power of two: " + segmentCount);
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>();
+        }
+        segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * Gets the value for the given key.
+     *
+     * @param key
+     * 		the key
+     * @return the value, or null if the map contains no value for the key
+     */
+    V get(final long key) {
+        final long hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Associates the value with the given key.
+     *
+     * @param key
+     * 		the key
+     * @param value
+     * 		the value. Cannot be null
+     * @return the previous value, or null if there was no value for the key
+     */
+    V put(final long key, final V value) {
+        Objects.requireNonNull(value, "value must not be null");
+        final long hash = hash(key);
+        return segmentFor(hash).put(key, hash, value);
+    }
+
+    /**
+     * Computes a new value for the given key. The function is called exactly once, while the
+     * segment that contains the key is locked for writes, so it should be short and must not
+     * update this map.
+     *
+     * @param key
+     * 		the key
+     * @param function
+     * 		the function to compute the new value. Cannot be null
+     * @return the new value, or null if the entry was removed
+     */
+    V compute(final long key, final LongObjectFunction<V> function) {
+        Objects.requireNonNull(function, "function must not be null");
+        final long hash = hash(key);
+        return segmentFor(hash).compute(key, hash, function);
+    }
+
+    /**
+     * Gets the number of entries in this map. If the map is modified concurrently, the result
+     * may be inaccurate.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        int size = 0;
+        for (final Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Performs the action on every entry of this map. Every segment is locked for reads while
+     * its entries are processed, so the action must not update this map. Entries added to or
+     * removed from other segments concurrently may or may not be processed.
+     *
+     * @param action
+     * 		the action to perform. Cannot be null
+     */
+    void forEach(final LongObjectConsumer<V> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        for (final Segment<V> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    /**
+     * Removes all entries from this map.
+     */
+    void clear() {
+        for (final Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment<V> segmentFor(final long hash) {
+        return segments[(int) (hash >>> Integer.SIZE) & segmentMask];
+    }
+
+    /**
+     * Paths are dense sequential numbers, spread them across segments and table slots. This is
+     * the finalization step of the 64-bit MurmurHash3.
+     */
+    private static long hash(final long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A table of keys and values. Tables are replaced, not modified, when a segment grows, so
+     * optimistic readers always see arrays of the same length.
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+
+        Table(final int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    /**
+     * A single segment of the map. Empty slots are marked with null values.
+     */
+    private static final class Segment<V> {
+
+        private final StampedLock lock = new StampedLock();
+
+        private Table table = new Table(INITIAL_SEGMENT_CAPACITY);
+
+        private int count = 0;
+
+        V get(final long key, final long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                final V value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        V put(final long key, final long hash, final V value) {
+            final long stamp = lock.writeLock();
+            try {
+                final int slot = slotOf(table, key, hash);
+                @SuppressWarnings("unchecked")
+                final V old = (V) table.values[slot];
+                store(slot, key, hash, value);
+                return old;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        V compute(final long key, final long hash, final LongObjectFunction<V> function) {
+            final long stamp = lock.writeLock();
+            try {
+                final int slot = slotOf(table, key, hash);
+                @SuppressWarnings("unchecked")
+                final V old = (V) table.values[slot];
+                final V value = function.apply(key, old);
+                if (value != null) {
+                    store(slot, key, hash, value);
+                } else if (old != null) {
+                    delete(slot);
+                }
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            final long stamp = lock.readLock();
+            try {
+                return count;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(final LongObjectConsumer<V> action) {
+            final long stamp = lock.readLock();
+            try {
+                final Table t = table;
+                for (int i = 0; i < t.values.length; i++) {
+                    final Object value = t.values[i];
+                    if (value != null) {
+                        action.accept(t.keys[i], (V) value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void clear() {
+            final long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_SEGMENT_CAPACITY);
+                count = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Looks up a key. May be called without a lock, in this case the result must be
+         * validated. The loop is bounded by the table length, so it terminates even if
+         * the table is modified concurrently.
+         */
+        @SuppressWarnings("unchecked")
+        private static <V> V find(final Table t, final long key, final long hash) {
+            final int mask = t.values.length - 1;
+            int slot = (int) hash & mask;
+            for (int i = 0; i <= mask; i++) {
+                final Object value = t.values[slot];
+                if (value == null) {
+                    return null;
+                }
+                if (t.keys[slot] == key) {
+                    return (V) value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        /**
+         * Gets the slot that contains the key, or the empty slot where the key should be
+         * inserted. Must be called under the write lock.
+         */
+        private static int slotOf(final Table t, final long key, final long hash) {
+            final int mask = t.values.length - 1;
+            int slot = (int) hash & mask;
+            while (t.values[slot] != null && t.keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void store(final int slot, final long key, final long hash, final V value) {
+            Table t = table;
+            if (t.values[slot] != null) {
+                t.values[slot] = value;
+                return;
+            }
+            // Keep the load factor at or below 3/4, so lookups are short and there is always an empty slot
+            if ((count + 1) * 4 > t.values.length * 3) {
+                t = resize(t);
+                final int newSlot = slotOf(t, key, hash);
+                t.keys[newSlot] = key;
+                t.values[newSlot] = value;
+            } else {
+                t.keys[slot] = key;
+                t.values[slot] = value;
+            }
+            count++;
+        }
+
+        private Table resize(final Table old) {
+            final Table t = new Table(old.values.length * 2);
+            for (int i = 0; i < old.values.length; i++) {
+                final Object value = old.values[i];
+                if (value != null) {
+                    final long key = old.keys[i];
+                    final int slot = slotOf(t, key, hash(key));
+                    t.keys[slot] = key;
+                    t.values[slot] = value;
+                }
+            }
+            table = t;
+            return t;
+        }
+
+        /**
+         * Removes the entry at the slot and shifts entries from the same probe sequence back,
+         * so no tombstones are needed.
+         */
+        private void delete(final int slot) {
+            final Table t = table;
+            final int mask = t.values.length - 1;
+            int hole = slot;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                if (t.values[next] == null) {
+                    break;
+                }
+                final int home = (int) hash(t.keys[next]) & mask;
+                // The entry at "next" can be moved to the hole unless its home slot is cyclically
+                // in (hole, next]
+                final boolean stays = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+                if (!stays) {
+                    t.keys[hole] = t.keys[next];
+                    t.values[hole] = t.values[next];
+                    hole = next;
+                }
+            }
+            t.values[hole] = null;
+            count--;
+        }
+    }
+}
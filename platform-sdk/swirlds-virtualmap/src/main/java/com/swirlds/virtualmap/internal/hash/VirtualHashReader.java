@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.hash;
+
+import com.swirlds.common.crypto.Hash;
+import java.nio.ByteBuffer;
+
+/**
+ * Looks up clean node hashes by path during hashing. Unlike a function that returns {@link Hash}
+ * objects, this reader copies hash bytes to a caller-supplied buffer, so no garbage is created
+ * for every clean node hash read by the hasher.
+ */
+@FunctionalInterface
+public interface VirtualHashReader {
+
+    /**
+     * Copy the digest bytes of the node hash at the given path to the given buffer, starting at
+     * its current position. The position is advanced by the number of bytes copied.
+     *
+     * @param path
+     * 		Node path
+     * @param dst
+     * 		The buffer to copy hash bytes to
+     * @return true if the hash was found and copied, false otherwise
+     */
+    boolean readHash(long path, ByteBuffer dst);
+}
@@ -22,6 +22,7 @@ import static com.swirlds.virtualmap.internal.Path.ROOT_PATH;
 
 import com.swirlds.common.config.singleton.ConfigurationHolder;
 import com.swirlds.common.crypto.Cryptography;
+import com.swirlds.common.crypto.CryptographyException;
 import com.swirlds.common.crypto.CryptographyHolder;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.crypto.HashBuilder;
@@ -34,6 +35,10 @@ import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
 import com.swirlds.virtualmap.internal.Path;
 import com.swirlds.virtualmap.internal.merkle.VirtualInternalNode;
 import com.swirlds.virtualmap.internal.merkle.VirtualRootNode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -68,11 +73,17 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
     private static final ThreadLocal<HashBuilder> HASH_BUILDER_THREAD_LOCAL =
             ThreadLocal.withInitial(() -> new HashBuilder(Cryptography.DEFAULT_DIGEST_TYPE));
 
+    /**
+     * This thread-local gets a buffer to hash chunks of internal nodes into, so intermediate
+     * node hashes and clean node hashes don't need {@link Hash} objects.
+     */
+    private static final ThreadLocal<ChunkBuffer> CHUNK_BUFFER_THREAD_LOCAL = ThreadLocal.withInitial(ChunkBuffer::new);
+
     /**
      * A function to look up clean hashes by path during hashing. This function is stored in
      * a class field to avoid passing it as an arg to every hashing task.
      */
-    private LongFunction<Hash> hashReader;
+    private VirtualHashReader hashReader;
 
     /**
      * A listener to notify about hashing events. This listener is stored in a class field to
@@ -85,8 +96,8 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
      * field, but it doesn't work very well as platform configs aren't loaded at the time when
      * this class is initialized. It would result in a cryptography instance with default (and
      * possibly wrong) configs be used by the hasher. Instead, this field is initialized in
-     * the {@link #hash(LongFunction, Iterator, long, long)} method and used by all hashing
-     * tasks.
+     * the {@link #hash(VirtualHashReader, Iterator, long, long, VirtualHashListener)} method and
+     * used by all hashing tasks.
      */
     private Cryptography cryptography;
 
@@ -149,6 +160,30 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         return hash(hashReader, sortedDirtyLeaves, firstLeafPath, lastLeafPath, null);
     }
 
+    /**
+     * Hash the given dirty leaves and the minimal subset of the tree necessary to produce a single root hash.
+     * This method is the same as {@link #hash(LongFunction, Iterator, long, long, VirtualHashListener)},
+     * but clean node hashes are looked up using a {@link VirtualHashReader}, which copies hash bytes
+     * to a buffer rather than creates {@link Hash} objects.
+     *
+     * @param hashReader
+     * 		Copies hash bytes by path. Used when this method needs to look up clean nodes.
+     * @param sortedDirtyLeaves
+     * 		A stream of dirty leaves sorted in <strong>ASCENDING PATH ORDER</strong>
+     * @param firstLeafPath
+     * 		The firstLeafPath of the tree that is being hashed
+     * @param lastLeafPath
+     * 		The lastLeafPath of the tree that is being hashed
+     * @return The hash of the root of the tree
+     */
+    public Hash hash(
+            final VirtualHashReader hashReader,
+            Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
+            final long firstLeafPath,
+            final long lastLeafPath) {
+        return hash(hashReader, sortedDirtyLeaves, firstLeafPath, lastLeafPath, null);
+    }
+
     class HashHoldingTask extends AbstractTask {
 
         // Input hashes. Some hashes may be null, which indicates they should be loaded from disk
@@ -220,30 +255,28 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
                     listener.onLeafHashed(leaf);
                     listener.onNodeHashed(path, hash);
                 } else {
+                    // All ranks of the chunk are hashed in place in a single buffer. Hash objects
+                    // are only created for nodes published to the listener
+                    final ChunkBuffer buffer = CHUNK_BUFFER_THREAD_LOCAL.get();
                     int len = 1 << height;
+                    buffer.reset(len);
+                    for (int i = 0; i < len; i++) {
+                        buffer.setInput(i, ins[i]);
+                    }
                     long rankPath = Path.getLeftGrandChildPath(path, height);
+                    Hash chunkHash = null;
                     while (len > 1) {
                         for (int i = 0; i < len / 2; i++) {
                             final long hashedPath = Path.getParentPath(rankPath + i * 2);
-                            Hash left = ins[i * 2];
-                            Hash right = ins[i * 2 + 1];
-                            if ((left == null) && (right == null)) {
-                                ins[i] = null;
-                            } else {
-                                if (left == null) {
-                                    left = hashReader.apply(rankPath + i * 2);
-                                }
-                                if (right == null) {
-                                    right = hashReader.apply(rankPath + i * 2 + 1);
-                                }
-                                ins[i] = hash(hashedPath, left, right);
-                                listener.onNodeHashed(hashedPath, ins[i]);
+                            if (buffer.hashChildren(i, hashedPath, rankPath + i * 2, hashReader)) {
+                                chunkHash = buffer.toHash(i);
+                                listener.onNodeHashed(hashedPath, chunkHash);
                             }
                         }
                         rankPath = Path.getParentPath(rankPath);
                         len = len >> 1;
                     }
-                    hash = ins[0];
+                    hash = buffer.isPresent(0) ? chunkHash : null;
                 }
                 out.setHash(getIndexInOut(), hash);
                 return true;
@@ -254,6 +287,13 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         }
 
         static Hash hash(final long path, final Hash left, final Hash right) {
+            final HashBuilder builder = startHash(path);
+            builder.update(left);
+            builder.update(right);
+            return builder.build();
+        }
+
+        static HashBuilder startHash(final long path) {
             final long classId = path == ROOT_PATH ? VirtualRootNode.CLASS_ID : VirtualInternalNode.CLASS_ID;
             final int serId = path == ROOT_PATH
                     ? VirtualRootNode.ClassVersion.CURRENT_VERSION
@@ -262,9 +302,7 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
             builder.reset();
             builder.update(classId);
             builder.update(serId);
-            builder.update(left);
-            builder.update(right);
-            return builder.build();
+            return builder;
         }
 
         private int getIndexInOut() {
@@ -282,7 +320,70 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
             final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
             final long firstLeafPath,
             final long lastLeafPath,
-            VirtualHashListener<K, V> listener) {
+            final VirtualHashListener<K, V> listener) {
+        final VirtualHashReader hashBytesReader = (path, dst) -> {
+            final Hash hash = hashReader.apply(path);
+            if (hash == null) {
+                return false;
+            }
+            hash.getBytes().writeTo(dst);
+            return true;
+        };
+        return hash(hashBytesReader, sortedDirtyLeaves, firstLeafPath, lastLeafPath, listener);
+    }
+
+    /**
+     * Hash the given dirty leaves and the minimal subset of the tree necessary to produce a single root hash.
+     * Clean node hashes are looked up using the given {@link VirtualHashReader}, no {@link Hash} objects
+     * are created for them.
+     *
+     * @param hashReader
+     * 		Copies hash bytes by path. Used when this method needs to look up clean nodes.
+     * @param sortedDirtyLeaves
+     * 		A stream of dirty leaves sorted in <strong>ASCENDING PATH ORDER</strong>
+     * @param firstLeafPath
+     * 		The firstLeafPath of the tree that is being hashed
+     * @param lastLeafPath
+     * 		The lastLeafPath of the tree that is being hashed
+     * @param listener
+     * 		Hashing listener, may be null
+     * @return The hash of the root of the tree
+     */
+    public Hash hash(
+            final VirtualHashReader hashReader,
+            final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
+            final long firstLeafPath,
+            final long lastLeafPath,
+            final VirtualHashListener<K, V> listener) {
+        return hash(hashReader, sortedDirtyLeaves, firstLeafPath, lastLeafPath, listener, -1);
+    }
+
+    /**
+     * Hash the given dirty leaves and the minimal subset of the tree necessary to produce a single root hash.
+     * This method is the same as {@link #hash(VirtualHashReader, Iterator, long, long, VirtualHashListener)},
+     * but also takes an estimated number of dirty leaves, which is used to pick hashing chunk heights.
+     *
+     * @param hashReader
+     * 		Copies hash bytes by path. Used when this method needs to look up clean nodes.
+     * @param sortedDirtyLeaves
+     * 		A stream of dirty leaves sorted in <strong>ASCENDING PATH ORDER</strong>
+     * @param firstLeafPath
+     * 		The firstLeafPath of the tree that is being hashed
+     * @param lastLeafPath
+     * 		The lastLeafPath of the tree that is being hashed
+     * @param listener
+     * 		Hashing listener, may be null
+     * @param dirtyLeafCount
+     * 		Estimated number of dirty leaves, or a negative value if unknown
+     * @return The hash of the root of the tree
+     */
+    public Hash hash(
+            final VirtualHashReader hashReader,
+            final Iterator<VirtualLeafRecord<K, V>> sortedDirtyLeaves,
+            final long firstLeafPath,
+            final long lastLeafPath,
+            VirtualHashListener<K, V> listener,
+            final long dirtyLeafCount) {
 
         // If the first or last leaf path are invalid, then there is nothing to hash.
         if (firstLeafPath < 1 || lastLeafPath < 1) {
@@ -332,8 +433,10 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         // Default chunk height, from config
         final VirtualMapConfig vmConfig = ConfigurationHolder.getConfigData(VirtualMapConfig.class);
         final int chunkHeight = vmConfig.virtualHasherChunkHeight();
+        final int sparseChunkHeight = vmConfig.virtualHasherSparseChunkHeight();
         int firstLeafRank = Path.getRank(firstLeafPath);
         int lastLeafRank = Path.getRank(lastLeafPath);
+        final int sparseRanks = getSparseRanks(firstLeafPath, lastLeafPath, dirtyLeafCount);
 
         // Let the listener know we have started hashing.
         listener.onHashingStarted();
@@ -345,7 +448,16 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         // a root hash, this hash is set as an input dependency for this result task, where
         // it's read and returned in the end of this method
         final HashHoldingTask resultTask = new HashHoldingTask(getHashingPool(), 1, 1);
-        final int rootTaskHeight = Math.min(firstLeafRank, chunkHeight);
+
+        // Tasks may have different heights. The root task has a default height. If the whole
+        // virtual tree has fewer ranks than the default height, the root task will cover all
+        // the tree (almost all, see comments below about leaf task heights)
+        final int[] parentRankHeights =
+                getParentRankHeights(firstLeafRank, lastLeafRank, chunkHeight, sparseChunkHeight, sparseRanks);
+        int rootTaskHeight = 1;
+        while ((rootTaskHeight < firstLeafRank) && (parentRankHeights[rootTaskHeight + 1] == rootTaskHeight + 1)) {
+            rootTaskHeight++;
+        }
         final ChunkHashTask rootTask = new ChunkHashTask(getHashingPool(), ROOT_PATH, rootTaskHeight);
         rootTask.setOut(resultTask);
         map.put(ROOT_PATH, rootTask);
@@ -354,23 +466,6 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         final long[] stack = new long[lastLeafRank + 1];
         Arrays.fill(stack, INVALID_PATH);
 
-        // Tasks may have different heights. The root task has a default height. If the whole
-        // virtual tree has fewer ranks than the default height, the root task will cover all
-        // the tree (almost all, see comments below about leaf task heights)
-        final int[] parentRankHeights = new int[lastLeafRank + 1];
-        parentRankHeights[0] = 1;
-        for (int i = 1; i <= firstLeafRank; i++) {
-            parentRankHeights[i] = Math.min((i - 1) % chunkHeight + 1, i);
-        }
-        // Leaf tasks are different. All of them are of height 1, which means 3 dependencies:
-        // output (parent task to set the leaf hash to) and two inputs (both are null, both are
-        // met when a task is given a leaf). Besides that, if last leaf rank is not the same as
-        // the first leaf rank, then all parent tasks for last leaf rank leaf tasks also are
-        // of height 1
-        if (firstLeafRank != lastLeafRank) {
-            parentRankHeights[lastLeafRank] = 1;
-        }
-
         // Iterate over all dirty leaves one by one. For every leaf, create a new task, if not
         // created. Then look up for a parent task. If it's created, it must not be executed yet,
         // as one of the inputs is this dirty leaf task. If the parent task is not created,
@@ -516,8 +611,204 @@ public final class VirtualHasher<K extends VirtualKey, V extends VirtualValue> {
         return resultTask.ins[0];
     }
 
+    /**
+     * Estimates how many ranks above the first leaf rank are sparse, i.e. have fewer dirty nodes
+     * than clean nodes. If N out of M leaves are dirty, and dirty leaves are spread evenly, about
+     * log2(M/N) ranks above the leaves are sparse.
+     *
+     * @param firstLeafPath
+     * 		The first leaf path
+     * @param lastLeafPath
+     * 		The last leaf path
+     * @param dirtyLeafCount
+     * 		Estimated number of dirty leaves, or a negative value if unknown
+     * @return the number of sparse ranks, or zero if the number of dirty leaves is unknown
+     */
+    static int getSparseRanks(final long firstLeafPath, final long lastLeafPath, final long dirtyLeafCount) {
+        if (dirtyLeafCount <= 0) {
+            return 0;
+        }
+        final long leafCount = lastLeafPath - firstLeafPath + 1;
+        final long ratio = leafCount / dirtyLeafCount;
+        return (ratio < 2) ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(ratio));
+    }
+
+    /**
+     * Splits the tree into chunk ranks. For every rank, the returned array contains the height of
+     * the tasks, which nodes at the rank are inputs for. In other words, the parent task of a node
+     * at rank R is at rank {@code R - heights[R]}.
+     *
+     * <p>Tasks in dense ranks close to the root are of the default chunk height. When a chunk task
+     * is created for a dirty node, tasks for all the node's siblings in the chunk are created, too,
+     * even if they are clean. In sparse ranks, where most of these tasks would only be created to
+     * be discarded, tasks are of the sparse chunk height, which is expected to be smaller.
+     *
+     * @param firstLeafRank
+     * 		The first leaf rank
+     * @param lastLeafRank
+     * 		The last leaf rank
+     * @param chunkHeight
+     * 		Default chunk height
+     * @param sparseChunkHeight
+     * 		Chunk height in sparse ranks, or zero to use the default chunk height everywhere
+     * @param sparseRanks
+     * 		The number of sparse ranks above the first leaf rank
+     * @return parent task heights, by rank
+     */
+    static int[] getParentRankHeights(
+            final int firstLeafRank,
+            final int lastLeafRank,
+            final int chunkHeight,
+            final int sparseChunkHeight,
+            final int sparseRanks) {
+        final int[] heights = new int[lastLeafRank + 1];
+        heights[0] = 1;
+        final boolean adaptive = (sparseRanks > 0) && (sparseChunkHeight > 0) && (sparseChunkHeight < chunkHeight);
+        final int denseRanks = firstLeafRank - sparseRanks;
+        int chunkRank = 0;
+        while (chunkRank < firstLeafRank) {
+            final int height = (!adaptive || (chunkRank + chunkHeight <= denseRanks)) ? chunkHeight : sparseChunkHeight;
+            final int nextChunkRank = Math.min(chunkRank + height, firstLeafRank);
+            for (int i = chunkRank + 1; i <= nextChunkRank; i++) {
+                heights[i] = i - chunkRank;
+            }
+            chunkRank = nextChunkRank;
+        }
+        // Leaf tasks are different. All of them are of height 1, which means 3 dependencies:
+        // output (parent task to set the leaf hash to) and two inputs (both are null, both are
+        // met when a task is given a leaf). Besides that, if last leaf rank is not the same as
+        // the first leaf rank, then all parent tasks for last leaf rank leaf tasks also are
+        // of height 1
+        if (firstLeafRank != lastLeafRank) {
+            heights[lastLeafRank] = 1;
+        }
+        return heights;
+    }
+
+    /**
+     * Hashes an internal node from the hashes of its children, the same way internal nodes are
+     * hashed when a virtual tree is hashed.
+     *
+     * @param path
+     * 		The internal node path
+     * @param left
+     * 		The left child hash
+     * @param right
+     * 		The right child hash
+     * @return The internal node hash
+     */
+    public Hash hashInternal(final long path, final Hash left, final Hash right) {
+        return ChunkHashTask.hash(path, left, right);
+    }
+
     public Hash emptyRootHash() {
         final Hash NULL_HASH = CryptographyHolder.get().getNullHash();
         return ChunkHashTask.hash(ROOT_PATH, NULL_HASH, NULL_HASH);
     }
+
+    /**
+     * A per-thread buffer to hash chunks of internal nodes into. All node hashes at a single rank
+     * of a chunk are stored in one contiguous byte array, one slot per node. Ranks are hashed in
+     * place: the parent of the nodes in slots {@code 2i} and {@code 2i+1} is written to slot
+     * {@code i}. Children are adjacent in the array, so they are passed to the digest in one call.
+     * {@link Hash} objects are only created for hashes published to the hashing listener.
+     */
+    private static final class ChunkBuffer {
+
+        private static final int HASH_LENGTH = Cryptography.DEFAULT_DIGEST_TYPE.digestLength();
+
+        // Class ID and version of a node, as they are hashed by HashBuilder
+        private static final byte[] ROOT_PREFIX =
+                nodeHashPrefix(VirtualRootNode.CLASS_ID, VirtualRootNode.ClassVersion.CURRENT_VERSION);
+        private static final byte[] INTERNAL_PREFIX =
+                nodeHashPrefix(VirtualInternalNode.CLASS_ID, VirtualInternalNode.SERIALIZATION_VERSION);
+
+        private final MessageDigest digest = Cryptography.DEFAULT_DIGEST_TYPE.buildDigest();
+
+        private byte[] hashes = new byte[0];
+
+        private ByteBuffer hashesBuffer = ByteBuffer.wrap(hashes);
+
+        // Slots that contain a hash. Other slots are clean nodes, which hashes aren't read yet
+        private boolean[] present = new boolean[0];
+
+        private static byte[] nodeHashPrefix(final long classId, final int version) {
+            return ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .putLong(classId)
+                    .putInt(version)
+                    .array();
+        }
+
+        void reset(final int width) {
+            if (present.length < width) {
+                hashes = new byte[width * HASH_LENGTH];
+                hashesBuffer = ByteBuffer.wrap(hashes);
+                present = new boolean[width];
+            }
+        }
+
+        void setInput(final int slot, final Hash hash) {
+            present[slot] = hash != null;
+            if (hash != null) {
+                hash.getBytes().writeTo(slot(slot));
+            }
+        }
+
+        boolean isPresent(final int slot) {
+            return present[slot];
+        }
+
+        /**
+         * Hashes the nodes in slots {@code 2 * slot} and {@code 2 * slot + 1} and stores the hash
+         * in the given slot. If neither child is present, nothing is hashed, and the slot is marked
+         * as not present. If one child is present, the other one is read using the hash reader.
+         *
+         * @return whether the hash has been calculated
+         */
+        boolean hashChildren(
+                final int slot, final long path, final long leftPath, final VirtualHashReader hashReader) {
+            final int left = slot * 2;
+            final int right = left + 1;
+            if (!present[left] && !present[right]) {
+                present[slot] = false;
+                return false;
+            }
+            if (!present[left]) {
+                readHash(left, leftPath, hashReader);
+            }
+            if (!present[right]) {
+                readHash(right, leftPath + 1, hashReader);
+            }
+            digest.update(path == ROOT_PATH ? ROOT_PREFIX : INTERNAL_PREFIX);
+            digest.update(hashes, left * HASH_LENGTH, 2 * HASH_LENGTH);
+            try {
+                digest.digest(hashes, slot * HASH_LENGTH, HASH_LENGTH);
+            } catch (final DigestException e) {
+                throw new CryptographyException(e, EXCEPTION);
+            }
+            present[slot] = true;
+            return true;
+        }
+
+        Hash toHash(final int slot) {
+            final int offset = slot * HASH_LENGTH;
+            return new Hash(
+                    Arrays.copyOfRange(hashes, offset, offset + HASH_LENGTH), Cryptography.DEFAULT_DIGEST_TYPE);
+        }
+
+        private void readHash(final int slot, final long path, final VirtualHashReader hashReader) {
+            if (!hashReader.readHash(path, slot(slot))) {
+                throw new IllegalArgumentException("hash");
+            }
+        }
+
+        private ByteBuffer slot(final int slot) {
+            final int offset = slot * HASH_LENGTH;
+            hashesBuffer.clear();
+            hashesBuffer.position(offset);
+            hashesBuffer.limit(offset + HASH_LENGTH);
+            return hashesBuffer;
+        }
+    }
 }
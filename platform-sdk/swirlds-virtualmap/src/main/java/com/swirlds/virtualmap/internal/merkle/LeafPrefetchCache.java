@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.merkle;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.datasource.VirtualDataSource;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import com.swirlds.virtualmap.serialize.KeySerializer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded tier of leaves prefetched from a {@link VirtualDataSource}, shared by all copies of
+ * a virtual map. When a leaf is looked up by key and isn't found in the virtual node cache, this
+ * tier is checked before the data source is queried.
+ *
+ * <p>Prefetched leaves are exactly what the data source contained at the time they were read.
+ * They stay valid until the next flush, which may write newer versions of the leaves to the data
+ * source. Once a flush completes, and before the flushed node cache is released, {@link
+ * #invalidate()} must be called. Every entry is tagged with a generation, which is incremented
+ * on every invalidation, so leaves read before a flush, but stored after it, are never returned.
+ *
+ * <p>The tier stores leaf bytes rather than leaf records, so callers always get their own record
+ * instances, which can be modified. Keys, which are not found in the data source, are prefetched,
+ * too, and are reported as found with a null leaf.
+ *
+ * <p>When the tier is full, newly prefetched leaves are dropped.
+ *
+ * @param <K> the type of keys
+ */
+public final class LeafPrefetchCache<K extends VirtualKey> {
+
+    /**
+     * A prefetched leaf.
+     *
+     * @param generation cache generation, when the leaf was read from the data source
+     * @param leaf leaf bytes, or null if the key wasn't found in the data source
+     */
+    private record Entry(long generation, @Nullable VirtualLeafBytes leaf) {}
+
+    /** The result of a lookup for a key, which is in this tier */
+    public record Prefetched(@Nullable VirtualLeafBytes leaf) {}
+
+    private static final Prefetched NOT_FOUND = new Prefetched(null);
+
+    /** Max number of entries in this tier */
+    private final int maxSize;
+
+    /** Virtual map statistics to report hits and misses to */
+    private final VirtualMapStatistics statistics;
+
+    /** Prefetched entries */
+    private final Map<K, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Current generation, incremented on every invalidation */
+    private final AtomicLong generation = new AtomicLong(0);
+
+    /**
+     * Create a new prefetch tier.
+     *
+     * @param maxSize max number of prefetched leaves
+     * @param statistics virtual map statistics
+     */
+    public LeafPrefetchCache(final int maxSize, @NonNull final VirtualMapStatistics statistics) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.statistics = Objects.requireNonNull(statistics);
+    }
+
+    /**
+     * Asynchronously load leaves for the given keys from the data source to this tier. Keys,
+     * which are already prefetched, are skipped. Callers are expected to skip keys, which are
+     * in the virtual node cache, too.
+     *
+     * @param keys the keys to prefetch
+     * @param keySerializer key serializer
+     * @param dataSource the data source to load leaves from
+     * @return a future completed when all leaves are loaded
+     */
+    @NonNull
+    public CompletableFuture<Void> prefetch(
+            @NonNull final List<K> keys,
+            @NonNull final KeySerializer<K> keySerializer,
+            @NonNull final VirtualDataSource dataSource) {
+        final long gen = generation.get();
+        final List<K> keysToLoad = new ArrayList<>(keys.size());
+        final List<Bytes> keyBytes = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            final Entry entry = entries.get(key);
+            if ((entry == null) || (entry.generation() != gen)) {
+                keysToLoad.add(key);
+                keyBytes.add(keySerializer.toBytes(key));
+            }
+        }
+        if (keysToLoad.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final int[] keyHashCodes = new int[keysToLoad.size()];
+        for (int i = 0; i < keyHashCodes.length; i++) {
+            keyHashCodes[i] = keysToLoad.get(i).hashCode();
+        }
+        return dataSource.loadLeafRecordsAsync(keyBytes, keyHashCodes).thenAccept(leaves -> {
+            for (int i = 0; i < keysToLoad.size(); i++) {
+                store(keysToLoad.get(i), gen, leaves.get(i));
+            }
+            statistics.countPrefetchedLeaves(keysToLoad.size());
+        });
+    }
+
+    /**
+     * Look up a prefetched leaf by key. Updates prefetch hit / miss statistics.
+     *
+     * @param key the key
+     * @return the prefetched leaf, or null if the key isn't in this tier
+     */
+    @Nullable
+    public Prefetched get(@NonNull final K key) {
+        final Entry entry = entries.get(key);
+        if ((entry == null) || (entry.generation() != generation.get())) {
+            statistics.countPrefetchMisses();
+            return null;
+        }
+        statistics.countPrefetchHits();
+        return (entry.leaf() == null) ? NOT_FOUND : new Prefetched(entry.leaf());
+    }
+
+    /**
+     * Invalidate all prefetched leaves. Must be called after new data is written to the data
+     * source, but before the written data is removed from the virtual node cache.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of leaves in this tier. Some of them may be invalidated.
+     *
+     * @return the number of leaves
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void store(final K key, final long gen, final VirtualLeafBytes leaf) {
+        if ((generation.get() != gen) || (entries.size() >= maxSize)) {
+            return;
+        }
+        // Stale entries, if stored concurrently with invalidation, are filtered out in get()
+        entries.put(key, new Entry(gen, leaf));
+    }
+}
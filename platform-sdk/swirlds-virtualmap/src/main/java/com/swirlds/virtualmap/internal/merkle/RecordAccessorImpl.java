@@ -34,6 +34,7 @@ import com.swirlds.virtualmap.serialize.KeySerializer;
 import com.swirlds.virtualmap.serialize.ValueSerializer;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 /**
@@ -52,6 +53,7 @@ public class RecordAccessorImpl<K extends VirtualKey, V extends VirtualValue> im
     private final KeySerializer<K> keySerializer;
     private final ValueSerializer<V> valueSerializer;
     private final VirtualDataSource dataSource;
+    private final LeafPrefetchCache<K> prefetchCache;
 
     /**
      * Create a new {@link RecordAccessorImpl}.
@@ -73,11 +75,38 @@ public class RecordAccessorImpl<K extends VirtualKey, V extends VirtualValue> im
             final KeySerializer<K> keySerializer,
             final ValueSerializer<V> valueSerializer,
             final VirtualDataSource dataSource) {
+        this(state, cache, keySerializer, valueSerializer, dataSource, null);
+    }
+
+    /**
+     * Create a new {@link RecordAccessorImpl} with a prefetch tier.
+     *
+     * @param state
+     * 		The state. Cannot be null.
+     * @param cache
+     * 		The cache. Cannot be null.
+     * @param keySerializer
+     *      The key serializer. Can be null.
+     * @param valueSerializer
+     *      The value serializer. Can be null.
+     * @param dataSource
+     * 		The data source. Can be null.
+     * @param prefetchCache
+     *      The prefetch tier, checked before the data source on lookups by key. Can be null.
+     */
+    public RecordAccessorImpl(
+            final VirtualStateAccessor state,
+            final VirtualNodeCache<K, V> cache,
+            final KeySerializer<K> keySerializer,
+            final ValueSerializer<V> valueSerializer,
+            final VirtualDataSource dataSource,
+            final LeafPrefetchCache<K> prefetchCache) {
         this.state = Objects.requireNonNull(state);
         this.cache = Objects.requireNonNull(cache);
         this.keySerializer = keySerializer;
         this.valueSerializer = valueSerializer;
         this.dataSource = dataSource;
+        this.prefetchCache = prefetchCache;
     }
 
     /**
@@ -141,6 +170,27 @@ public class RecordAccessorImpl<K extends VirtualKey, V extends VirtualValue> im
         return dataSource.loadAndWriteHash(path, out);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean findAndWriteHash(final long path, final ByteBuffer dst) {
+        assert path >= 0;
+        final Hash hash = cache.lookupHashByPath(path, false);
+        if (hash == VirtualNodeCache.DELETED_HASH) {
+            return false;
+        }
+        if (hash != null) {
+            hash.getBytes().writeTo(dst);
+            return true;
+        }
+        try {
+            return dataSource.loadAndWriteHash(path, dst);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read node hash from data source by path", e);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -149,8 +199,15 @@ public class RecordAccessorImpl<K extends VirtualKey, V extends VirtualValue> im
         VirtualLeafRecord<K, V> rec = cache.lookupLeafByKey(key, copy);
         if (rec == null) {
             try {
-                final Bytes keyBytes = keySerializer.toBytes(key);
-                final VirtualLeafBytes leafBytes = dataSource.loadLeafRecord(keyBytes, key.hashCode());
+                final LeafPrefetchCache.Prefetched prefetched =
+                        (prefetchCache != null) ? prefetchCache.get(key) : null;
+                final VirtualLeafBytes leafBytes;
+                if (prefetched != null) {
+                    leafBytes = prefetched.leaf();
+                } else {
+                    final Bytes keyBytes = keySerializer.toBytes(key);
+                    leafBytes = dataSource.loadLeafRecord(keyBytes, key.hashCode());
+                }
                 if (leafBytes != null) {
                     rec = leafBytes.toRecord(keySerializer, valueSerializer);
                     assert rec.getKey().equals(key)
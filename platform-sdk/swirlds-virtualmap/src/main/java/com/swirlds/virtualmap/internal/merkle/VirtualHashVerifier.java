@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.merkle;
+
+import static com.swirlds.common.threading.manager.AdHocThreadManager.getStaticThreadManager;
+import static com.swirlds.logging.legacy.LogMarker.EXCEPTION;
+import static com.swirlds.logging.legacy.LogMarker.STARTUP;
+
+import com.swirlds.common.crypto.CryptographyHolder;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.threading.framework.config.ThreadConfiguration;
+import com.swirlds.virtualmap.VirtualKey;
+import com.swirlds.virtualmap.VirtualValue;
+import com.swirlds.virtualmap.datasource.VirtualDataSource;
+import com.swirlds.virtualmap.datasource.VirtualLeafBytes;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.internal.Path;
+import com.swirlds.virtualmap.internal.hash.VirtualHasher;
+import com.swirlds.virtualmap.serialize.KeySerializer;
+import com.swirlds.virtualmap.serialize.ValueSerializer;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Verifies hashes stored in a virtual data source in background. When a virtual map is loaded
+ * from a saved state, all its hashes, including the ones kept in memory by the data source, are
+ * loaded from the snapshot, and the map doesn't need to be rehashed. This verifier recalculates
+ * every stored hash, leaf hashes from leaf data and internal hashes from child hashes, and
+ * compares them to the stored ones. It runs on its own thread, after a delay, and is rate
+ * limited, so it doesn't slow down the node after it becomes active.
+ *
+ * <p>The data source is updated on every flush. Nodes are verified in small batches. Flushes
+ * must be reported to the verifier using {@link #flushStarted()} and {@link #flushFinished()},
+ * and batches that run concurrently with a flush are verified again.
+ *
+ * <p>Mismatches are logged. Hash verification never changes the data source.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class VirtualHashVerifier<K extends VirtualKey, V extends VirtualValue> {
+
+    private static final Logger logger = LogManager.getLogger(VirtualHashVerifier.class);
+
+    /** Number of nodes to verify between checks for concurrent flushes */
+    private static final int BATCH_SIZE = 1000;
+
+    /** Max number of mismatches to log individually */
+    private static final int MAX_LOGGED_MISMATCHES = 10;
+
+    /** How long to wait for the verification thread to finish when the verifier is stopped */
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String label;
+
+    private final VirtualDataSource dataSource;
+
+    private final KeySerializer<K> keySerializer;
+
+    private final ValueSerializer<V> valueSerializer;
+
+    private final VirtualHasher<K, V> hasher;
+
+    /** Max number of nodes to verify per second. If not positive, verification is not rate limited */
+    private final int nodesPerSecond;
+
+    /**
+     * Incremented when a flush starts and when it's finished. The value is odd while a flush
+     * is in progress.
+     */
+    private final AtomicLong flushStamp = new AtomicLong(0);
+
+    private volatile boolean stopped = false;
+
+    /** The verification thread, or null if verification isn't started */
+    private volatile Thread thread;
+
+    /**
+     * Create a new verifier.
+     *
+     * @param label virtual map label, used for logging
+     * @param dataSource the data source to verify
+     * @param keySerializer key serializer
+     * @param valueSerializer value serializer
+     * @param hasher virtual hasher, used to hash internal nodes
+     * @param nodesPerSecond max number of nodes to verify per second, or zero to verify as fast as possible
+     */
+    VirtualHashVerifier(
+            @NonNull final String label,
+            @NonNull final VirtualDataSource dataSource,
+            @NonNull final KeySerializer<K> keySerializer,
+            @NonNull final ValueSerializer<V> valueSerializer,
+            @NonNull final VirtualHasher<K, V> hasher,
+            final int nodesPerSecond) {
+        this.label = Objects.requireNonNull(label);
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.keySerializer = Objects.requireNonNull(keySerializer);
+        this.valueSerializer = Objects.requireNonNull(valueSerializer);
+        this.hasher = Objects.requireNonNull(hasher);
+        this.nodesPerSecond = nodesPerSecond;
+    }
+
+    /**
+     * Start verification on a background thread.
+     *
+     * @param delay delay before verification is started
+     */
+    void start(@NonNull final Duration delay) {
+        thread = new ThreadConfiguration(getStaticThreadManager())
+                .setComponent("virtualmap")
+                .setThreadName("hashVerifier")
+                .setRunnable(() -> {
+                    try {
+                        Thread.sleep(delay.toMillis());
+                        verify();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .setExceptionHandler((thread, exception) -> {
+                    if (!stopped) {
+                        logger.error(EXCEPTION.getMarker(), "Hash verification failed for {}", label, exception);
+                    }
+                })
+                .build(true);
+    }
+
+    /**
+     * Stop verification and wait for the verification thread to finish. Must be called before
+     * the data source is closed. The thread is interrupted, and if it doesn't finish in {@link
+     * #STOP_TIMEOUT}, a warning is logged and this method returns anyway.
+     */
+    void stop() {
+        stopped = true;
+        final Thread t = thread;
+        if ((t == null) || (t == Thread.currentThread())) {
+            return;
+        }
+        t.interrupt();
+        try {
+            t.join(STOP_TIMEOUT.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (t.isAlive()) {
+            logger.warn(
+                    EXCEPTION.getMarker(),
+                    "Hash verification thread for {} didn't stop in {} ms, closing the data source anyway",
+                    label,
+                    STOP_TIMEOUT.toMillis());
+        }
+    }
+
+    /**
+     * Must be called before the data source is updated.
+     */
+    void flushStarted() {
+        flushStamp.incrementAndGet();
+    }
+
+    /**
+     * Must be called after the data source is updated.
+     */
+    void flushFinished() {
+        flushStamp.incrementAndGet();
+    }
+
+    /**
+     * Verify all hashes in the data source.
+     *
+     * @return the number of mismatched hashes, or -1 if verification was stopped
+     * @throws InterruptedException if interrupted while waiting for a flush or for rate limiting
+     */
+    long verify() throws InterruptedException {
+        logger.info(STARTUP.getMarker(), "Background hash verification started for {}", label);
+        final long start = System.nanoTime();
+        long verified = 0;
+        long mismatches = 0;
+        long path = 0;
+        final List<Long> batchMismatches = new ArrayList<>();
+        while (!stopped) {
+            final long stamp = flushStamp.get();
+            if ((stamp & 1) != 0) {
+                // Wait till the flush is finished
+                Thread.sleep(1);
+                continue;
+            }
+            final long firstLeafPath = dataSource.getFirstLeafPath();
+            final long lastLeafPath = dataSource.getLastLeafPath();
+            if ((firstLeafPath < 0) || (lastLeafPath < 0) || (path > lastLeafPath)) {
+                break;
+            }
+            final long batchEnd = Math.min(path + BATCH_SIZE, lastLeafPath + 1);
+            batchMismatches.clear();
+            try {
+                for (long p = path; p < batchEnd; p++) {
+                    if (!verifyNode(p, firstLeafPath, lastLeafPath)) {
+                        batchMismatches.add(p);
+                    }
+                }
+            } catch (final IOException e) {
+                if (flushStamp.get() != stamp) {
+                    // Leaves and hashes may be moved or deleted by a flush
+                    continue;
+                }
+                throw new IllegalStateException("Failed to verify hashes for " + label, e);
+            }
+            if (flushStamp.get() != stamp) {
+                // Verify the batch again, it may contain both flushed and not flushed nodes
+                continue;
+            }
+            for (final long mismatchPath : batchMismatches) {
+                if (mismatches++ < MAX_LOGGED_MISMATCHES) {
+                    logger.error(EXCEPTION.getMarker(), "Hash mismatch for {} at path {}", label, mismatchPath);
+                }
+            }
+            verified += batchEnd - path;
+            path = batchEnd;
+            if (nodesPerSecond > 0) {
+                final long expectedNanos = verified * 1_000_000_000L / nodesPerSecond;
+                final long sleepMillis = (expectedNanos - (System.nanoTime() - start)) / 1_000_000L;
+                if (sleepMillis > 0) {
+                    Thread.sleep(sleepMillis);
+                }
+            }
+        }
+        if (stopped) {
+            return -1;
+        }
+        logger.info(
+                STARTUP.getMarker(),
+                "Background hash verification finished for {} in {} ms: {} nodes verified, {} mismatches",
+                label,
+                (System.nanoTime() - start) / 1_000_000L,
+                verified,
+                mismatches);
+        return mismatches;
+    }
+
+    private boolean verifyNode(final long path, final long firstLeafPath, final long lastLeafPath)
+            throws IOException {
+        final Hash stored = dataSource.loadHash(path);
+        if (stored == null) {
+            return false;
+        }
+        final Hash expected;
+        if (path >= firstLeafPath) {
+            final VirtualLeafBytes leafBytes = dataSource.loadLeafRecord(path);
+            if (leafBytes == null) {
+                return false;
+            }
+            final VirtualLeafRecord<K, V> leaf = leafBytes.toRecord(keySerializer, valueSerializer);
+            expected = CryptographyHolder.get().digestSync(leaf);
+        } else {
+            final Hash left = dataSource.loadHash(Path.getLeftChildPath(path));
+            final long rightPath = Path.getRightChildPath(path);
+            // Special case for a tree with one leaf at path 1
+            final Hash right = (rightPath > lastLeafPath)
+                    ? CryptographyHolder.get().getNullHash()
+                    : dataSource.loadHash(rightPath);
+            if ((left == null) || (right == null)) {
+                return false;
+            }
+            expected = hasher.hashInternal(path, left, right);
+        }
+        return stored.equals(expected);
+    }
+}
@@ -52,6 +52,12 @@ public class VirtualMapStatistics {
     private LongAccumulator removedEntities;
     /** Virtual map entities - reads / s */
     private LongAccumulator readEntities;
+    /** Virtual map entities - leaves loaded to the prefetch tier / s */
+    private LongAccumulator prefetchedEntities;
+    /** Virtual map entities - lookups served from the prefetch tier / s */
+    private LongAccumulator prefetchHits;
+    /** Virtual map entities - lookups not found in the prefetch tier / s */
+    private LongAccumulator prefetchMisses;
 
     /** Estimated virtual node cache size, bytes*/
     private LongGauge nodeCacheSizeB;
@@ -63,6 +69,10 @@ public class VirtualMapStatistics {
     private IntegerAccumulator flushBackpressureMs;
     /** Family size backpressure duration, ms */
     private IntegerAccumulator familySizeBackpressureMs;
+    /** Estimated flush throughput used by adaptive flush throttling, bytes/s */
+    private LongGauge flushThroughputBps;
+    /** Adaptive flush throttle pressure, percent */
+    private IntegerGauge flushThrottlePressure;
     /** The average time to merge virtual map copy to the next copy, ms */
     private LongAccumulator mergeDurationMs;
     /** The average time to flush virtual map copy to disk (to data source), ms */
@@ -132,6 +142,18 @@ public class VirtualMapStatistics {
                 metrics,
                 VMAP_PREFIX + QUERIES_PREFIX + "readEntities_" + label,
                 "Read virtual map entities, " + label + ", per second");
+        prefetchedEntities = buildLongAccumulator(
+                metrics,
+                VMAP_PREFIX + QUERIES_PREFIX + "prefetchedEntities_" + label,
+                "Virtual map entities loaded to the prefetch tier, " + label + ", per second");
+        prefetchHits = buildLongAccumulator(
+                metrics,
+                VMAP_PREFIX + QUERIES_PREFIX + "prefetchHits_" + label,
+                "Virtual map entity lookups served from the prefetch tier, " + label + ", per second");
+        prefetchMisses = buildLongAccumulator(
+                metrics,
+                VMAP_PREFIX + QUERIES_PREFIX + "prefetchMisses_" + label,
+                "Virtual map entity lookups not found in the prefetch tier, " + label + ", per second");
 
         // Lifecycle
         nodeCacheSizeB = metrics.getOrCreate(
@@ -151,6 +173,12 @@ public class VirtualMapStatistics {
                 metrics,
                 VMAP_PREFIX + LIFECYCLE_PREFIX + "familySizeBackpressureMs_" + label,
                 "Virtual pipeline family size backpressure, " + label + ", ms");
+        flushThroughputBps = metrics.getOrCreate(new LongGauge.Config(
+                        STAT_CATEGORY, VMAP_PREFIX + LIFECYCLE_PREFIX + "flushThroughputBps_" + label)
+                .withDescription("Virtual pipeline estimated flush throughput, " + label + ", bytes/s"));
+        flushThrottlePressure = metrics.getOrCreate(new IntegerGauge.Config(
+                        STAT_CATEGORY, VMAP_PREFIX + LIFECYCLE_PREFIX + "flushThrottlePressure_" + label)
+                .withDescription("Virtual pipeline adaptive flush throttle pressure, " + label + ", percent"));
         mergeDurationMs = buildLongAccumulator(
                 metrics,
                 VMAP_PREFIX + LIFECYCLE_PREFIX + "mergeDurationMs_" + label,
@@ -215,6 +243,35 @@ public class VirtualMapStatistics {
         }
     }
 
+    /**
+     * Increments {@link #prefetchedEntities} stat by the given value.
+     *
+     * @param count the number of leaves loaded to the prefetch tier
+     */
+    public void countPrefetchedLeaves(final int count) {
+        if (prefetchedEntities != null) {
+            prefetchedEntities.update(count);
+        }
+    }
+
+    /**
+     * Increments {@link #prefetchHits} stat by 1.
+     */
+    public void countPrefetchHits() {
+        if (prefetchHits != null) {
+            prefetchHits.update(1);
+        }
+    }
+
+    /**
+     * Increments {@link #prefetchMisses} stat by 1.
+     */
+    public void countPrefetchMisses() {
+        if (prefetchMisses != null) {
+            prefetchMisses.update(1);
+        }
+    }
+
     /**
      * Updates {@link #nodeCacheSizeB} stat to the given value.
      *
@@ -270,6 +327,28 @@ public class VirtualMapStatistics {
         }
     }
 
+    /**
+     * Updates {@link #flushThroughputBps} stat.
+     *
+     * @param bytesPerSecond estimated flush throughput, bytes/s
+     */
+    public void setFlushThroughput(final long bytesPerSecond) {
+        if (flushThroughputBps != null) {
+            flushThroughputBps.set(bytesPerSecond);
+        }
+    }
+
+    /**
+     * Updates {@link #flushThrottlePressure} stat.
+     *
+     * @param percent adaptive flush throttle pressure, percent
+     */
+    public void setFlushThrottlePressure(final int percent) {
+        if (flushThrottlePressure != null) {
+            flushThrottlePressure.set(percent);
+        }
+    }
+
     /**
      * Record a virtual root copy is merged, and merge duration is as specified.
      *
@@ -95,6 +95,9 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -339,6 +342,19 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
 
     private VirtualMapStatistics statistics;
 
+    /**
+     * Leaves prefetched from the data source, see {@link #prefetch(Collection)}. All copies in the
+     * family share the same instance. Null, if prefetching is disabled.
+     */
+    private LeafPrefetchCache<K> prefetchCache;
+
+    /**
+     * Verifies data source hashes in background after the map is loaded from a saved state, see
+     * {@link #startBackgroundHashVerification()}. All copies in the family share the same instance.
+     * Null, if background hash verification is disabled or not started.
+     */
+    private VirtualHashVerifier<K, V> hashVerifier;
+
     /**
      * This reference is used to assert that there is only one thread modifying the VM at a time.
      * NOTE: This field is used *only* if assertions are enabled, otherwise it always has null value.
@@ -404,6 +420,8 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         this.pipeline = source.pipeline;
         this.flushThreshold.set(source.flushThreshold.get());
         this.statistics = source.statistics;
+        this.prefetchCache = source.prefetchCache;
+        this.hashVerifier = source.hashVerifier;
 
         if (this.pipeline.isTerminated()) {
             throw new IllegalStateException("A fast-copy was made of a VirtualRootNode with a terminated pipeline!");
@@ -436,12 +454,16 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         if (dataSource == null) {
             dataSource = dataSourceBuilder.build(state.getLabel(), true);
         }
-        this.records = new RecordAccessorImpl<>(this.state, cache, keySerializer, valueSerializer, dataSource);
         if (statistics == null) {
             // Only create statistics instance if we don't yet have statistics. During a reconnect operation.
             // it is necessary to use the statistics object from the previous instance of the state.
             statistics = new VirtualMapStatistics(state.getLabel());
         }
+        if ((prefetchCache == null) && (config.prefetchCacheSize() > 0)) {
+            prefetchCache = new LeafPrefetchCache<>(config.prefetchCacheSize(), statistics);
+        }
+        this.records =
+                new RecordAccessorImpl<>(this.state, cache, keySerializer, valueSerializer, dataSource, prefetchCache);
         // At this point in time the copy knows if it should be flushed or merged, and so it is safe
         // to register with the pipeline.
         if (pipeline == null) {
@@ -507,8 +529,8 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         new ThreadConfiguration(getStaticThreadManager())
                 .setComponent("virtualmap")
                 .setThreadName("leafRehasher")
-                .setRunnable(() -> fullRehashFuture.complete(
-                        hasher.hash(records::findHash, rehashIterator, firstLeafPath, lastLeafPath, hashListener)))
+                .setRunnable(() -> fullRehashFuture.complete(hasher.hash(
+                        records::findAndWriteHash, rehashIterator, firstLeafPath, lastLeafPath, hashListener)))
                 .setExceptionHandler((thread, exception) -> {
                     // Shut down the iterator.
                     rehashIterator.close();
@@ -595,6 +617,28 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         }
     }
 
+    /**
+     * Start background verification of all hashes stored in the data source, if enabled in
+     * {@link VirtualMapConfig#backgroundHashVerificationEnabled()}. This method is called after
+     * the map is loaded from a saved state. Hashes are not recalculated on load, the map uses
+     * hashes loaded from the snapshot right away, and verification runs after a delay on a
+     * background thread, see {@link VirtualHashVerifier}. Verification is only started for the
+     * first copy of the map, it must be called before the map is copied.
+     */
+    public void startBackgroundHashVerification() {
+        if (!config.backgroundHashVerificationEnabled() || (hashVerifier != null) || (dataSource == null)) {
+            return;
+        }
+        hashVerifier = new VirtualHashVerifier<>(
+                state.getLabel(),
+                dataSource,
+                keySerializer,
+                valueSerializer,
+                hasher,
+                config.backgroundHashVerificationRate());
+        hashVerifier.start(config.backgroundHashVerificationDelay());
+    }
+
     /**
      * Gets the {@link VirtualStateAccessor} containing state for this copy of {@link VirtualRootNode}.
      *
@@ -1034,6 +1078,10 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
     }
 
     private void closeDataSource() {
+        // The verifier reads from the data source, it must be stopped before the data source is closed
+        if (hashVerifier != null) {
+            hashVerifier.stop();
+        }
         // Shut down the data source. If this doesn't shut things down, then there isn't
         // much we can do aside from logging the fact. The node may well die before too long
         if (dataSource != null) {
@@ -1186,7 +1234,21 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         }
 
         final long start = System.currentTimeMillis();
-        flush(cache, state, dataSource);
+        if (hashVerifier != null) {
+            hashVerifier.flushStarted();
+        }
+        try {
+            flush(cache, state, dataSource);
+        } finally {
+            if (hashVerifier != null) {
+                hashVerifier.flushFinished();
+            }
+        }
+        if (prefetchCache != null) {
+            // Prefetched leaves may be older than just flushed leaves, which are about to be
+            // removed from the cache
+            prefetchCache.invalidate();
+        }
         cache.release();
         final long end = System.currentTimeMillis();
         flushed.set(true);
@@ -1363,12 +1425,13 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
             }
         };
         Hash virtualHash = hasher.hash(
-                records::findHash,
+                records::findAndWriteHash,
                 cache.dirtyLeavesForHash(state.getFirstLeafPath(), state.getLastLeafPath())
                         .iterator(),
                 state.getFirstLeafPath(),
                 state.getLastLeafPath(),
-                hashListener);
+                hashListener,
+                cache.estimatedDirtyLeavesCount(state.getFirstLeafPath(), state.getLastLeafPath()));
 
         if (virtualHash == null) {
             final Hash rootHash = (state.size() == 0) ? null : records.findHash(0);
@@ -1599,7 +1662,11 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
                 .setComponent("virtualmap")
                 .setThreadName("hasher")
                 .setRunnable(() -> reconnectHashingFuture.complete(hasher.hash(
-                        reconnectRecords::findHash, reconnectIterator, firstLeafPath, lastLeafPath, hashListener)))
+                        reconnectRecords::findAndWriteHash,
+                        reconnectIterator,
+                        firstLeafPath,
+                        lastLeafPath,
+                        hashListener)))
                 .setExceptionHandler((thread, exception) -> {
                     // Shut down the iterator. This will cause reconnect to terminate.
                     reconnectIterator.close();
@@ -1653,6 +1720,29 @@ public final class VirtualRootNode<K extends VirtualKey, V extends VirtualValue>
         records.findLeafRecord(key, false);
     }
 
+    /**
+     * Asynchronously loads leaves for the given keys from the data source into the prefetch tier
+     * shared by all copies of this map. Subsequent lookups of these keys, which are not found in
+     * the node cache, are served from the prefetch tier rather than from the data source. Keys
+     * found in the node cache are not prefetched.
+     *
+     * @param keys keys of the leaves to prefetch
+     * @return a future completed when all leaves are loaded, or immediately if prefetching is disabled
+     */
+    public CompletableFuture<Void> prefetch(@NonNull final Collection<K> keys) {
+        Objects.requireNonNull(keys);
+        if ((prefetchCache == null) || (dataSource == null)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final List<K> keysToLoad = new ArrayList<>(keys.size());
+        for (final K key : keys) {
+            if (cache.lookupLeafByKey(key, false) == null) {
+                keysToLoad.add(key);
+            }
+        }
+        return prefetchCache.prefetch(keysToLoad, keySerializer, dataSource);
+    }
+
     ////////////////////////
 
     /**
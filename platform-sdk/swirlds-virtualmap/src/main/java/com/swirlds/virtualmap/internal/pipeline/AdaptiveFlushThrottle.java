@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.pipeline;
+
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+
+/**
+ * A feedback controller for virtual pipeline family size backpressure. Instead of sleeping a
+ * fixed, quadratically growing amount of time when the total size of all copies in the pipeline
+ * exceeds {@link VirtualMapConfig#familyThrottleThreshold()}, this controller observes how fast
+ * copies are actually flushed to disk, and slows down copy creation just enough to keep the
+ * total size bounded.
+ *
+ * <p>Pressure is zero, while the total size of all copies is below the start threshold, which is
+ * {@link VirtualMapConfig#adaptiveFlushThrottleStartPercent()} percent of the family throttle
+ * threshold. Between the start threshold and the family throttle threshold, pressure grows
+ * linearly from 0 to 1. When a new copy is created, the mutating thread sleeps for the time
+ * it would take to flush the previous copy, multiplied by the square of the pressure. At full
+ * pressure, copies are not created faster than they are flushed. Above the family throttle
+ * threshold, the thread also sleeps for the time needed to flush the excess.
+ *
+ * <p>Flush throughput is an exponentially weighted moving average of bytes flushed per
+ * millisecond. Until the first flush is observed, throughput is unknown, and the pipeline
+ * falls back to static backpressure.
+ *
+ * <p>This class is thread safe. Flushes are recorded on the pipeline lifecycle thread, while
+ * pauses are calculated on threads that create map copies.
+ */
+final class AdaptiveFlushThrottle {
+
+    /** Weight of the most recent flush in the flush throughput moving average */
+    private static final double THROUGHPUT_SMOOTHING = 0.3;
+
+    /** Total size of all copies, in bytes, at which pressure starts to grow */
+    private final long startSize;
+
+    /** Total size of all copies, in bytes, at which pressure reaches 1 */
+    private final long maxSize;
+
+    /** Max pause, ms */
+    private final long maxPauseMillis;
+
+    /** Estimated flush throughput, bytes per ms. Zero if unknown */
+    private volatile double flushBytesPerMs = 0;
+
+    /** Pressure, as of the last pause calculation */
+    private volatile double pressure = 0;
+
+    /**
+     * Creates a new throttle.
+     *
+     * @param config virtual map config
+     */
+    AdaptiveFlushThrottle(final VirtualMapConfig config) {
+        maxSize = config.familyThrottleThreshold();
+        startSize = (long) (maxSize * config.adaptiveFlushThrottleStartPercent() / 100.0);
+        maxPauseMillis = config.maximumFlushThrottlePeriod().toMillis();
+    }
+
+    /**
+     * Records a flush, and updates flush throughput estimation.
+     *
+     * @param flushedBytes estimated size of the flushed copy, bytes
+     * @param durationNanos flush duration, ns
+     */
+    synchronized void recordFlush(final long flushedBytes, final long durationNanos) {
+        if (flushedBytes <= 0) {
+            // Nothing to learn from
+            return;
+        }
+        final double durationMs = Math.max(durationNanos, 1) / 1_000_000.0;
+        final double bytesPerMs = flushedBytes / durationMs;
+        final double current = flushBytesPerMs;
+        flushBytesPerMs = (current == 0)
+                ? bytesPerMs
+                : THROUGHPUT_SMOOTHING * bytesPerMs + (1 - THROUGHPUT_SMOOTHING) * current;
+    }
+
+    /**
+     * Checks if flush throughput is known, i.e. at least one flush has been recorded.
+     *
+     * @return whether flush throughput is known
+     */
+    boolean hasFlushThroughput() {
+        return flushBytesPerMs > 0;
+    }
+
+    /**
+     * Calculates how long a thread creating a new map copy should sleep.
+     *
+     * @param totalSize estimated total size of all copies in the pipeline, bytes
+     * @param lastCopySize estimated size of the newest immutable copy, bytes
+     * @return pause duration, ms
+     */
+    long calculatePause(final long totalSize, final long lastCopySize) {
+        final double bytesPerMs = flushBytesPerMs;
+        if ((maxSize <= 0) || (bytesPerMs <= 0) || (totalSize <= startSize)) {
+            pressure = 0;
+            return 0;
+        }
+        final double p = (double) (totalSize - startSize) / Math.max(maxSize - startSize, 1);
+        pressure = p;
+        final double copyFlushMs = Math.max(lastCopySize, 0) / bytesPerMs;
+        double pauseMs = copyFlushMs * Math.min(p, 1.0) * Math.min(p, 1.0);
+        if (totalSize > maxSize) {
+            // Make sure the excess is flushed before copies are created again
+            pauseMs += (totalSize - maxSize) / bytesPerMs;
+        }
+        return Math.min(Math.round(pauseMs), maxPauseMillis);
+    }
+
+    /**
+     * Gets estimated flush throughput.
+     *
+     * @return flush throughput, bytes per second, or 0 if unknown
+     */
+    long getFlushThroughput() {
+        return Math.round(flushBytesPerMs * 1000);
+    }
+
+    /**
+     * Gets pressure as of the last pause calculation. Values greater than 1 mean the total size
+     * of all copies exceeds the family throttle threshold.
+     *
+     * @return the current pressure
+     */
+    double getPressure() {
+        return pressure;
+    }
+}
@@ -171,6 +171,12 @@ public class VirtualPipeline {
 
     private final VirtualMapStatistics statistics;
 
+    /**
+     * Family size backpressure controller based on measured flush throughput. Null, if adaptive
+     * flush throttling is disabled.
+     */
+    private final AdaptiveFlushThrottle adaptiveThrottle;
+
     /**
      * Create a new pipeline for a family of fast copies on a virtual root.
      */
@@ -187,6 +193,7 @@ public class VirtualPipeline {
                 .buildFactory());
 
         statistics = new VirtualMapStatistics(label);
+        adaptiveThrottle = config.adaptiveFlushThrottleEnabled() ? new AdaptiveFlushThrottle(config) : null;
     }
 
     /**
@@ -261,7 +268,8 @@ public class VirtualPipeline {
 
     /**
      * Slow down the fast copy operation if total size of all (unreleased) virtual root copies
-     * in this pipeline exceeds {@link VirtualMapConfig#familyThrottleThreshold()}.
+     * in this pipeline exceeds {@link VirtualMapConfig#familyThrottleThreshold()}. If adaptive
+     * flush throttling is enabled, the pause is calculated by {@link AdaptiveFlushThrottle}.
      */
     private void applyFamilySizeBackpressure() {
         final long sleepTimeMillis = calculateFamilySizeBackpressurePause();
@@ -299,6 +307,11 @@ public class VirtualPipeline {
             return 0;
         }
         final long totalSize = currentTotalSize();
+        if ((adaptiveThrottle != null) && adaptiveThrottle.hasFlushThroughput()) {
+            final long pause = adaptiveThrottle.calculatePause(totalSize, newestImmutableCopySize());
+            statistics.setFlushThrottlePressure((int) Math.round(adaptiveThrottle.getPressure() * 100));
+            return pause;
+        }
         final double ratio = (double) totalSize / sizeThreshold;
         final int over100percentExcess = (int) Math.round((ratio - 1.0) * 100);
         if (over100percentExcess <= 0) {
@@ -511,6 +524,24 @@ public class VirtualPipeline {
         return totalEstimatedSize;
     }
 
+    /**
+     * Estimated size of the newest immutable copy in this pipeline, that is the copy, which was
+     * the mutable copy before the most recent copy was registered.
+     *
+     * @return Estimated size of the newest immutable copy, or 0 if there are no immutable copies
+     */
+    private long newestImmutableCopySize() {
+        VirtualRoot newestImmutable = null;
+        for (PipelineListNode<VirtualRoot> node = copies.getFirst(); node != null; node = node.getNext()) {
+            final VirtualRoot copy = node.getValue();
+            if (!copy.isImmutable()) {
+                break;
+            }
+            newestImmutable = copy;
+        }
+        return (newestImmutable == null) ? 0 : newestImmutable.estimatedSize();
+    }
+
     /**
      * Flush a copy. Hash it if necessary.
      *
@@ -524,7 +555,13 @@ public class VirtualPipeline {
         if (!copy.isHashed()) {
             hashCopy(copy);
         }
+        final long flushedSize = (adaptiveThrottle != null) ? copy.estimatedSize() : 0;
+        final long flushStart = System.nanoTime();
         copy.flush();
+        if (adaptiveThrottle != null) {
+            adaptiveThrottle.recordFlush(flushedSize, System.nanoTime() - flushStart);
+            statistics.setFlushThroughput(adaptiveThrottle.getFlushThroughput());
+        }
         flushBacklog.remove(copy);
 
         final int flushBacklogSize = flushBacklog.size();
@@ -22,6 +22,7 @@ import com.swirlds.common.io.streams.SerializableDataInputStream;
 import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationException;
 import com.swirlds.common.threading.pool.StandardWorkGroup;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.LogManager;
@@ -35,6 +36,10 @@ import org.apache.logging.log4j.Logger;
  *
  * <p>For every response from the teacher, the learner view is notified, which in turn notifies
  * the current traversal order, so it can recalculate the next virtual path to request.
+ *
+ * <p>Responses are received in {@link PullVirtualTreeResponseBatch batches}, one batch for every
+ * request batch sent by {@link LearnerPullVirtualTreeSendTask}. Once a batch is received, a permit
+ * for the next request batch is released.
  */
 public class LearnerPullVirtualTreeReceiveTask {
 
@@ -56,6 +61,9 @@ public class LearnerPullVirtualTreeReceiveTask {
     // Indicates if a response for path 0 (virtual root node) has been received
     private final CountDownLatch rootResponseReceived;
 
+    // Permits for request batches in flight. Acquired in the sending task, released in this task
+    private final Semaphore batchesInFlight;
+
     /**
      * Create a thread for receiving responses to queries from the teacher.
      *
@@ -67,6 +75,8 @@ public class LearnerPullVirtualTreeReceiveTask {
      * 		the view to be used when touching the merkle tree
      * @param senderIsFinished
      * 		becomes true once the sending thread has finished
+     * @param batchesInFlight
+     * 		permits for request batches in flight, one permit is released for every response batch
      */
     public LearnerPullVirtualTreeReceiveTask(
             final StandardWorkGroup workGroup,
@@ -74,13 +84,15 @@ public class LearnerPullVirtualTreeReceiveTask {
             final LearnerPullVirtualTreeView view,
             final AtomicBoolean senderIsFinished,
             final AtomicLong expectedResponses,
-            final CountDownLatch rootResponseReceived) {
+            final CountDownLatch rootResponseReceived,
+            final Semaphore batchesInFlight) {
         this.workGroup = workGroup;
         this.in = in;
         this.view = view;
         this.senderIsFinished = senderIsFinished;
         this.expectedResponses = expectedResponses;
         this.rootResponseReceived = rootResponseReceived;
+        this.batchesInFlight = batchesInFlight;
     }
 
     public void exec() {
@@ -94,15 +106,18 @@ public class LearnerPullVirtualTreeReceiveTask {
 
             while (!finished || responseExpected) {
                 if (responseExpected) {
-                    final PullVirtualTreeResponse response = new PullVirtualTreeResponse(view);
-                    // the learner tree is notified about the new response in deserialize() method below
-                    response.deserialize(in, 0);
+                    final PullVirtualTreeResponseBatch batch = new PullVirtualTreeResponseBatch(view);
+                    // the learner tree is notified about new responses in deserialize() method below
+                    batch.deserialize(in, 0);
                     view.getMapStats().incrementTransfersFromTeacher();
-                    logger.debug(RECONNECT.getMarker(), "Learner receive path: " + response.getPath());
-                    if (response.getPath() == 0) {
-                        rootResponseReceived.countDown();
+                    for (final PullVirtualTreeResponse response : batch.getResponses()) {
+                        logger.debug(RECONNECT.getMarker(), "Learner receive path: " + response.getPath());
+                        if (response.getPath() == 0) {
+                            rootResponseReceived.countDown();
+                        }
                     }
-                    expectedResponses.decrementAndGet();
+                    expectedResponses.addAndGet(-batch.getResponses().size());
+                    batchesInFlight.release();
                 } else {
                     Thread.onSpinWait();
                 }
@@ -25,7 +25,10 @@ import com.swirlds.common.merkle.synchronization.utility.MerkleSynchronizationEx
 import com.swirlds.common.threading.pool.StandardWorkGroup;
 import com.swirlds.virtualmap.internal.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -43,6 +46,11 @@ import org.apache.logging.log4j.Logger;
  * the provided {@link NodeTraversalOrder}. After the next path to request is {@link
  * Path#INVALID_PATH}, this request is sent to indicate that there will be no more requests from
  * the learner, and this task is finished.
+ *
+ * <p>Requests are sent in {@link PullVirtualTreeRequestBatch batches}. A batch is sent, when it's
+ * full, or when the traversal order has no path to send right now. The number of batches sent to
+ * the teacher, but not responded yet, is limited. It lets the learner keep enough requests in
+ * flight to hide network round trip time, while not flooding the teacher.
  */
 public class LearnerPullVirtualTreeSendTask {
 
@@ -51,7 +59,7 @@ public class LearnerPullVirtualTreeSendTask {
     private static final String NAME = "reconnect-learner-sender";
 
     private final StandardWorkGroup workGroup;
-    private final AsyncOutputStream<PullVirtualTreeRequest> out;
+    private final AsyncOutputStream<PullVirtualTreeRequestBatch> out;
     private final LearnerPullVirtualTreeView view;
     private final NodeTraversalOrder traversalOrder;
 
@@ -68,6 +76,12 @@ public class LearnerPullVirtualTreeSendTask {
     // this task, decreased in the receiving task
     private final AtomicLong responsesExpected;
 
+    // Max number of requests in a single batch
+    private final int batchSize;
+
+    // Permits for request batches in flight. Acquired in this task, released in the receiving task
+    private final Semaphore batchesInFlight;
+
     /**
      * Create a thread for sending node requests to the teacher.
      *
@@ -84,16 +98,19 @@ public class LearnerPullVirtualTreeSendTask {
      * @param responsesExpected
      *      number of responses expected from the teacher, increased by one every time a request
      *      is sent
+     * @param batchesInFlight
+     *      permits for request batches in flight, one permit is acquired every time a batch is sent
      */
     public LearnerPullVirtualTreeSendTask(
             final ReconnectConfig reconnectConfig,
             final StandardWorkGroup workGroup,
-            final AsyncOutputStream<PullVirtualTreeRequest> out,
+            final AsyncOutputStream<PullVirtualTreeRequestBatch> out,
             final LearnerPullVirtualTreeView view,
             final NodeTraversalOrder traversalOrder,
             final AtomicBoolean senderIsFinished,
             final CountDownLatch rootResponseReceived,
-            final AtomicLong responsesExpected) {
+            final AtomicLong responsesExpected,
+            final Semaphore batchesInFlight) {
         this.workGroup = workGroup;
         this.out = out;
         this.view = view;
@@ -101,8 +118,10 @@ public class LearnerPullVirtualTreeSendTask {
         this.senderIsFinished = senderIsFinished;
         this.rootResponseReceived = rootResponseReceived;
         this.responsesExpected = responsesExpected;
+        this.batchesInFlight = batchesInFlight;
 
         this.rootResponseTimeout = reconnectConfig.pullLearnerRootResponseTimeout();
+        this.batchSize = reconnectConfig.pullBatchSize();
     }
 
     void exec() {
@@ -112,27 +131,35 @@ public class LearnerPullVirtualTreeSendTask {
     private void run() {
         try (out) {
             // Send a request for the root node first. The response will contain virtual tree path range
-            out.sendAsync(new PullVirtualTreeRequest(Path.ROOT_PATH, new Hash()));
-            view.getMapStats().incrementTransfersFromLearner();
-            responsesExpected.incrementAndGet();
+            sendBatch(List.of(new PullVirtualTreeRequest(Path.ROOT_PATH, new Hash())));
             if (!rootResponseReceived.await(rootResponseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
                 throw new MerkleSynchronizationException("Timed out waiting for root node response from the teacher");
             }
 
+            List<PullVirtualTreeRequest> batch = new ArrayList<>(batchSize);
             while (true) {
                 final long path = traversalOrder.getNextPathToSend();
                 logger.debug(RECONNECT.getMarker(), "Learner send path: " + path);
                 if (path < Path.INVALID_PATH) {
+                    // Nothing to send right now. Don't hold the requests collected so far, responses
+                    // to them may be needed by the traversal order to provide more paths
+                    if (!batch.isEmpty()) {
+                        sendBatch(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
                     Thread.onSpinWait();
                     continue;
                 }
                 final Hash hash = path == Path.INVALID_PATH ? null : view.getNodeHash(path);
-                out.sendAsync(new PullVirtualTreeRequest(path, hash));
-                view.getMapStats().incrementTransfersFromLearner();
+                batch.add(new PullVirtualTreeRequest(path, hash));
                 if (path == Path.INVALID_PATH) {
+                    sendBatch(batch);
                     break;
                 }
-                responsesExpected.incrementAndGet();
+                if (batch.size() == batchSize) {
+                    sendBatch(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
             }
             logger.debug(RECONNECT.getMarker(), "Learner send done");
         } catch (final InterruptedException ex) {
@@ -144,4 +171,23 @@ public class LearnerPullVirtualTreeSendTask {
             senderIsFinished.set(true);
         }
     }
+
+    /**
+     * Sends a batch of requests to the teacher. If the batch contains requests, which are expected
+     * to be responded, waits till the number of batches in flight is below the limit.
+     *
+     * @param batch the requests to send
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    private void sendBatch(final List<PullVirtualTreeRequest> batch) throws InterruptedException {
+        // The terminating request, if present, is always the last one, and it's not responded
+        final boolean terminated = batch.get(batch.size() - 1).getPath() == Path.INVALID_PATH;
+        final int toRespond = terminated ? batch.size() - 1 : batch.size();
+        if (toRespond > 0) {
+            batchesInFlight.acquire();
+            responsesExpected.addAndGet(toRespond);
+        }
+        out.sendAsync(new PullVirtualTreeRequestBatch(batch));
+        view.getMapStats().incrementTransfersFromLearner();
+    }
 }
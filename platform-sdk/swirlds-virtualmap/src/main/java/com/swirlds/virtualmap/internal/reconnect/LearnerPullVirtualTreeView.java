@@ -46,6 +46,7 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -151,16 +152,23 @@ public final class LearnerPullVirtualTreeView<K extends VirtualKey, V extends Vi
             final AtomicReference<Long> reconstructedRoot) {
         this.nodeCount = learningSynchronizer;
 
-        final AsyncOutputStream<PullVirtualTreeRequest> out =
+        final AsyncOutputStream<PullVirtualTreeRequestBatch> out =
                 learningSynchronizer.buildOutputStream(workGroup, outputStream);
         out.start();
 
         final AtomicBoolean senderIsFinished = new AtomicBoolean();
         final CountDownLatch rootResponseReceived = new CountDownLatch(1);
         final AtomicLong expectedResponses = new AtomicLong(0);
+        final Semaphore batchesInFlight = new Semaphore(reconnectConfig.pullMaxBatchesInFlight());
 
         final LearnerPullVirtualTreeReceiveTask learnerReceiveTask = new LearnerPullVirtualTreeReceiveTask(
-                workGroup, inputStream, this, senderIsFinished, expectedResponses, rootResponseReceived);
+                workGroup,
+                inputStream,
+                this,
+                senderIsFinished,
+                expectedResponses,
+                rootResponseReceived,
+                batchesInFlight);
         learnerReceiveTask.exec();
         reconstructedRoot.set(0L);
         assert traversalOrder != null;
@@ -172,7 +180,8 @@ public final class LearnerPullVirtualTreeView<K extends VirtualKey, V extends Vi
                 traversalOrder,
                 senderIsFinished,
                 rootResponseReceived,
-                expectedResponses);
+                expectedResponses,
+                batchesInFlight);
         learnerSendTask.exec();
     }
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.virtualmap.internal.reconnect.VirtualReconnectUtils.readVarLong;
+import static com.swirlds.virtualmap.internal.reconnect.VirtualReconnectUtils.writeVarLong;
+
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.io.SelfSerializable;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import com.swirlds.virtualmap.internal.Path;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of {@link PullVirtualTreeRequest}s sent from the learner to the teacher in a single
+ * frame. Requests are sent in batches to reduce per-message overhead and to allow many requests to
+ * be in flight at the same time, when network round trip time is high.
+ *
+ * <p>Batch format:
+ * <ul>
+ *     <li>number of requests, variable length</li>
+ *     <li>for every request, node path as a variable length delta from the previous path in the
+ *     batch (or from zero for the first request)</li>
+ *     <li>for every request with a valid path, hash reference, variable length: zero if the hash
+ *     bytes follow, or an index (starting from one) of an earlier hash in the batch with the same
+ *     bytes. Many requests in a batch usually contain the same hash, for example, the null hash for
+ *     paths outside the learner tree, so every distinct hash is only sent once</li>
+ * </ul>
+ *
+ * <p>A request with {@link Path#INVALID_PATH} path, if present, is always the last in the batch.
+ */
+public class PullVirtualTreeRequestBatch implements SelfSerializable {
+
+    private static final long CLASS_ID = 0x1384a2efb33c56ffL;
+
+    private static class ClassVersion {
+        public static final int ORIGINAL = 1;
+    }
+
+    private final List<PullVirtualTreeRequest> requests;
+
+    /**
+     * This constructor is used by the teacher to deserialize the batch from the stream.
+     */
+    public PullVirtualTreeRequestBatch() {
+        this.requests = new ArrayList<>();
+    }
+
+    /**
+     * This constructor is used by the learner to send request batches to the teacher.
+     *
+     * @param requests the requests, the list is not copied
+     */
+    public PullVirtualTreeRequestBatch(final List<PullVirtualTreeRequest> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void serialize(final SerializableDataOutputStream out) throws IOException {
+        writeVarLong(out, requests.size());
+        final Map<Hash, Integer> hashRefs = new HashMap<>();
+        long lastPath = 0;
+        for (final PullVirtualTreeRequest request : requests) {
+            final long path = request.getPath();
+            writeVarLong(out, path - lastPath);
+            lastPath = path;
+            if (path == Path.INVALID_PATH) {
+                continue;
+            }
+            final Hash hash = request.getHash();
+            final Integer ref = hashRefs.get(hash);
+            if (ref != null) {
+                writeVarLong(out, ref);
+            } else {
+                writeVarLong(out, 0);
+                hash.getBytes().writeTo(out);
+                hashRefs.put(hash, hashRefs.size() + 1);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deserialize(final SerializableDataInputStream in, final int version) throws IOException {
+        final long count = readVarLong(in);
+        if (count < 0) {
+            throw new IOException("Wrong number of requests in a batch: " + count);
+        }
+        final List<Hash> hashes = new ArrayList<>();
+        long lastPath = 0;
+        for (long i = 0; i < count; i++) {
+            final long path = lastPath + readVarLong(in);
+            lastPath = path;
+            if (path == Path.INVALID_PATH) {
+                requests.add(new PullVirtualTreeRequest(path, null));
+                continue;
+            }
+            if (path < 0) {
+                throw new IOException("Wrong request path: " + path);
+            }
+            final long ref = readVarLong(in);
+            final Hash hash;
+            if (ref == 0) {
+                final byte[] hashBytes = new byte[DigestType.SHA_384.digestLength()];
+                if (VirtualReconnectUtils.completelyRead(in, hashBytes) != DigestType.SHA_384.digestLength()) {
+                    throw new IOException("Failed to read node hash from the learner");
+                }
+                hash = new Hash(hashBytes, DigestType.SHA_384);
+                hashes.add(hash);
+            } else if ((ref > 0) && (ref <= hashes.size())) {
+                hash = hashes.get((int) ref - 1);
+            } else {
+                throw new IOException("Wrong hash reference in a request batch: " + ref);
+            }
+            requests.add(new PullVirtualTreeRequest(path, hash));
+        }
+    }
+
+    public List<PullVirtualTreeRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getClassId() {
+        return CLASS_ID;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getVersion() {
+        return ClassVersion.ORIGINAL;
+    }
+}
@@ -97,8 +97,19 @@ public class PullVirtualTreeResponse implements SelfSerializable {
      */
     @Override
     public void serialize(final SerializableDataOutputStream out) throws IOException {
-        assert teacherView != null;
         out.writeLong(path);
+        serializeNode(out);
+    }
+
+    /**
+     * Writes everything but the node path to the stream: whether the node is clean and node data.
+     * Used by {@link PullVirtualTreeResponseBatch}, which writes node paths in its own format.
+     *
+     * @param out the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    void serializeNode(final SerializableDataOutputStream out) throws IOException {
+        assert teacherView != null;
         final boolean isClean = (teacherHash == null) || teacherHash.equals(learnerHash);
         out.write(isClean ? 0 : 1);
         teacherView.writeNode(out, path, isClean);
@@ -109,8 +120,20 @@ public class PullVirtualTreeResponse implements SelfSerializable {
      */
     @Override
     public void deserialize(final SerializableDataInputStream in, final int version) throws IOException {
+        deserializeNode(in, in.readLong());
+    }
+
+    /**
+     * Reads a node written by {@link #serializeNode(SerializableDataOutputStream)} from the stream,
+     * and notifies the learner view about it.
+     *
+     * @param in the input stream
+     * @param path the node path
+     * @throws IOException if an I/O error occurs
+     */
+    void deserializeNode(final SerializableDataInputStream in, final long path) throws IOException {
         assert learnerView != null;
-        path = in.readLong();
+        this.path = path;
         final boolean isClean = in.read() == 0;
         learnerView.readNode(in, path, isClean);
         if (learnerView.isLeaf(path)) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static com.swirlds.virtualmap.internal.reconnect.VirtualReconnectUtils.readVarLong;
+import static com.swirlds.virtualmap.internal.reconnect.VirtualReconnectUtils.writeVarLong;
+
+import com.swirlds.common.io.SelfSerializable;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of {@link PullVirtualTreeResponse}s sent from the teacher to the learner in a single
+ * frame. The teacher sends one response batch for every {@link PullVirtualTreeRequestBatch}
+ * received from the learner, responses are in the same order as requests in the request batch.
+ *
+ * <p>Batch format: number of responses, variable length, followed by responses. Every response
+ * is a node path as a variable length delta from the previous path in the batch (or from zero for
+ * the first response), followed by node data as written by {@link
+ * PullVirtualTreeResponse#serializeNode(SerializableDataOutputStream)}.
+ */
+@SuppressWarnings("rawtypes")
+public class PullVirtualTreeResponseBatch implements SelfSerializable {
+
+    private static final long CLASS_ID = 0x696d7f8553e792f3L;
+
+    private static class ClassVersion {
+        public static final int ORIGINAL = 1;
+    }
+
+    // Only used on the learner side
+    private final LearnerPullVirtualTreeView learnerView;
+
+    private final List<PullVirtualTreeResponse> responses;
+
+    /**
+     * Zero-arg constructor for constructable registry.
+     */
+    public PullVirtualTreeResponseBatch() {
+        this.learnerView = null;
+        this.responses = new ArrayList<>();
+    }
+
+    /**
+     * This constructor is used by the teacher to send response batches to the learner.
+     *
+     * @param responses the responses, the list is not copied
+     */
+    public PullVirtualTreeResponseBatch(final List<PullVirtualTreeResponse> responses) {
+        this.learnerView = null;
+        this.responses = responses;
+    }
+
+    /**
+     * This constructor is used by the learner when deserializing response batches.
+     *
+     * @param learnerTreeView
+     * 		the learner's view
+     */
+    public PullVirtualTreeResponseBatch(final LearnerPullVirtualTreeView learnerTreeView) {
+        this.learnerView = learnerTreeView;
+        this.responses = new ArrayList<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void serialize(final SerializableDataOutputStream out) throws IOException {
+        writeVarLong(out, responses.size());
+        long lastPath = 0;
+        for (final PullVirtualTreeResponse response : responses) {
+            final long path = response.getPath();
+            writeVarLong(out, path - lastPath);
+            lastPath = path;
+            response.serializeNode(out);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deserialize(final SerializableDataInputStream in, final int version) throws IOException {
+        assert learnerView != null;
+        final long count = readVarLong(in);
+        if (count < 0) {
+            throw new IOException("Wrong number of responses in a batch: " + count);
+        }
+        long lastPath = 0;
+        for (long i = 0; i < count; i++) {
+            final long path = lastPath + readVarLong(in);
+            lastPath = path;
+            final PullVirtualTreeResponse response = new PullVirtualTreeResponse(learnerView);
+            // the learner tree is notified about the new response in deserializeNode() method below
+            response.deserializeNode(in, path);
+            responses.add(response);
+        }
+    }
+
+    public List<PullVirtualTreeResponse> getResponses() {
+        return responses;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getClassId() {
+        return CLASS_ID;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getVersion() {
+        return ClassVersion.ORIGINAL;
+    }
+}
@@ -30,6 +30,8 @@ import com.swirlds.common.threading.pool.StandardWorkGroup;
 import com.swirlds.common.utility.throttle.RateLimiter;
 import com.swirlds.virtualmap.internal.Path;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -39,6 +41,10 @@ import org.apache.logging.log4j.Logger;
  * streams serialize objects to the underlying output streams in a separate thread. This is
  * where the provided hash from the learner is compared with the corresponding hash on the
  * teacher.
+ *
+ * <p>Requests are received in {@link PullVirtualTreeRequestBatch batches}. For every request
+ * batch, a single {@link PullVirtualTreeResponseBatch} is sent, with responses in the same order
+ * as requests in the batch.
  */
 public class TeacherPullVirtualTreeReceiveTask {
 
@@ -48,7 +54,7 @@ public class TeacherPullVirtualTreeReceiveTask {
 
     private final StandardWorkGroup workGroup;
     private final SerializableDataInputStream in;
-    private final AsyncOutputStream<PullVirtualTreeResponse> out;
+    private final AsyncOutputStream<PullVirtualTreeResponseBatch> out;
     private final TeacherPullVirtualTreeView view;
 
     private final RateLimiter rateLimiter;
@@ -69,7 +75,7 @@ public class TeacherPullVirtualTreeReceiveTask {
             @NonNull final ReconnectConfig reconnectConfig,
             final StandardWorkGroup workGroup,
             final SerializableDataInputStream in,
-            final AsyncOutputStream<PullVirtualTreeResponse> out,
+            final AsyncOutputStream<PullVirtualTreeResponseBatch> out,
             final TeacherPullVirtualTreeView view) {
         this.workGroup = workGroup;
         this.in = in;
@@ -111,28 +117,34 @@ public class TeacherPullVirtualTreeReceiveTask {
      */
     private void run() {
         try (out) {
-            while (true) {
-                rateLimit();
-                final PullVirtualTreeRequest request = new PullVirtualTreeRequest();
-                request.deserialize(in, 0);
-                logger.debug(RECONNECT.getMarker(), "Teacher receive path: " + request.getPath());
-                if (request.getPath() == Path.INVALID_PATH) {
-                    logger.info(RECONNECT.getMarker(), "Teacher receiver is complete as requested by the learner");
-                    break;
+            boolean finished = false;
+            while (!finished) {
+                final PullVirtualTreeRequestBatch requests = new PullVirtualTreeRequestBatch();
+                requests.deserialize(in, 0);
+                final List<PullVirtualTreeResponse> responses = new ArrayList<>(requests.getRequests().size());
+                for (final PullVirtualTreeRequest request : requests.getRequests()) {
+                    logger.debug(RECONNECT.getMarker(), "Teacher receive path: " + request.getPath());
+                    if (request.getPath() == Path.INVALID_PATH) {
+                        logger.info(RECONNECT.getMarker(), "Teacher receiver is complete as requested by the learner");
+                        finished = true;
+                        break;
+                    }
+                    rateLimit();
+                    final long path = request.getPath();
+                    final Hash learnerHash = request.getHash();
+                    final Hash teacherHash = view.loadHash(path);
+                    // The only valid scenario, when teacherHash may be null, is the empty tree
+                    if ((teacherHash == null) && (path != 0)) {
+                        throw new MerkleSerializationException(
+                                "Cannot load node hash (bad request from learner?), path = " + path);
+                    }
+                    responses.add(new PullVirtualTreeResponse(view, path, learnerHash, teacherHash));
                 }
-                final long path = request.getPath();
-                final Hash learnerHash = request.getHash();
-                final Hash teacherHash = view.loadHash(path);
-                // The only valid scenario, when teacherHash may be null, is the empty tree
-                if ((teacherHash == null) && (path != 0)) {
-                    throw new MerkleSerializationException(
-                            "Cannot load node hash (bad request from learner?), path = " + path);
+                if (!responses.isEmpty()) {
+                    // All real work is done in the async output thread. This call just registers a
+                    // response batch and returns immediately
+                    out.sendAsync(new PullVirtualTreeResponseBatch(responses));
                 }
-                final PullVirtualTreeResponse response =
-                        new PullVirtualTreeResponse(view, path, learnerHash, teacherHash);
-                // All real work is done in the async output thread. This call just registers a response
-                // and returns immediately
-                out.sendAsync(response);
             }
             logger.debug(RECONNECT.getMarker(), "Teacher receive done");
         } catch (final InterruptedException ex) {
@@ -117,7 +117,7 @@ public final class TeacherPullVirtualTreeView<K extends VirtualKey, V extends Vi
             final MerkleDataInputStream inputStream,
             final MerkleDataOutputStream outputStream,
             final Queue<TeacherSubtree> subtrees) {
-        final AsyncOutputStream<PullVirtualTreeResponse> out =
+        final AsyncOutputStream<PullVirtualTreeResponseBatch> out =
                 teachingSynchronizer.buildOutputStream(workGroup, outputStream);
         out.start();
 
@@ -16,8 +16,10 @@
 
 package com.swirlds.virtualmap.internal.reconnect;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * A class with a set of utility methods used during virtual map reconnects.
@@ -45,4 +47,44 @@ public class VirtualReconnectUtils {
         }
         return totalBytesRead;
     }
+
+    /**
+     * Writes a long value to an output stream in a variable length format. The value is zigzag
+     * encoded first, so small negative values take as few bytes as small positive values. Values
+     * in -64..63 range take a single byte.
+     *
+     * @param out the output stream to write to
+     * @param value the value to write
+     * @throws IOException if an exception occurs while writing
+     */
+    public static void writeVarLong(final OutputStream out, final long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /**
+     * Reads a long value written by {@link #writeVarLong(OutputStream, long)} from an input stream.
+     *
+     * @param in the input stream to read from
+     * @return the value
+     * @throws IOException if an exception occurs while reading, or EOF is encountered
+     */
+    public static long readVarLong(final InputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Failed to read a variable length value");
+            }
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new IOException("Malformed variable length value");
+    }
 }
@@ -17,13 +17,18 @@
 package com.swirlds.virtualmap.datasource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.CryptographyHolder;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.test.fixtures.junit.tags.TestComponentTags;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -59,4 +64,25 @@ class VirtualHashRecordTest {
         final String str = rec.toString();
         assertNotNull(str, "value should not be null");
     }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Hash bytes extracted from a serialized record match the hash")
+    void extractHashBytes() {
+        final Hash hash = CRYPTO.digestSync("Fake Hash".getBytes(StandardCharsets.UTF_8));
+        final VirtualHashRecord rec = new VirtualHashRecord(104, hash);
+        final BufferedData recBytes = BufferedData.allocate(rec.getSizeInBytes());
+        rec.writeTo(recBytes);
+        recBytes.flip();
+        final ByteBuffer dst = ByteBuffer.allocate(Cryptography.DEFAULT_DIGEST_TYPE.digestLength());
+        assertTrue(VirtualHashRecord.extractHashBytes(recBytes, dst), "Hash bytes should be found");
+        assertFalse(dst.hasRemaining(), "All hash bytes should be extracted");
+        assertEquals(hash.getBytes(), Bytes.wrap(dst.array()), "Hash bytes should match");
+
+        final VirtualHashRecord noHashRec = new VirtualHashRecord(105);
+        final BufferedData noHashRecBytes = BufferedData.allocate(noHashRec.getSizeInBytes());
+        noHashRec.writeTo(noHashRecBytes);
+        noHashRecBytes.flip();
+        assertFalse(VirtualHashRecord.extractHashBytes(noHashRecBytes, dst.clear()), "No hash bytes expected");
+    }
 }
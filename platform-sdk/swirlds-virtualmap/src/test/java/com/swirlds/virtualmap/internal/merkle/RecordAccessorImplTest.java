@@ -48,6 +48,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -303,6 +304,42 @@ public class RecordAccessorImplTest {
         assertEquals(key, record.getKey());
     }
 
+    @Test
+    @DisplayName("findLeafRecord by key uses prefetched leaves until invalidated")
+    void findLeafRecordByKeyPrefetched() throws Exception {
+        final LeafPrefetchCache<TestKey> prefetchCache = new LeafPrefetchCache<>(10, new VirtualMapStatistics("test"));
+        final RecordAccessorImpl<TestKey, TestValue> prefetchRecords = new RecordAccessorImpl<>(
+                new DummyVirtualStateAccessor(),
+                new VirtualNodeCache<>(),
+                TestKeySerializer.INSTANCE,
+                TestValueSerializer.INSTANCE,
+                dataSource,
+                prefetchCache);
+        final TestKey key = new TestKey(UNCHANGED_LEAF_PATH);
+        final TestKey missingKey = new TestKey(BOGUS_LEAF_PATH);
+        prefetchCache
+                .prefetch(List.of(key, missingKey), TestKeySerializer.INSTANCE, dataSource)
+                .get();
+        assertEquals(2, prefetchCache.size(), "Both keys should be prefetched");
+
+        // The data source must not be queried for prefetched keys
+        dataSource.throwExceptionOnLoadLeafRecordByKey = true;
+        final VirtualLeafRecord<TestKey, TestValue> record = prefetchRecords.findLeafRecord(key, false);
+        assertNotNull(record, "Should have been prefetched");
+        assertEquals(key, record.getKey(), "Wrong key");
+        assertEquals(new TestValue(UNCHANGED_LEAF_PATH), record.getValue(), "Wrong value");
+        assertNotSame(record, prefetchRecords.findLeafRecord(key, false), "Every lookup should get a new record");
+        assertNull(prefetchRecords.findLeafRecord(missingKey, false), "Missing keys should be prefetched, too");
+
+        // After invalidation, the data source is queried again
+        prefetchCache.invalidate();
+        assertEquals(0, prefetchCache.size(), "Prefetch tier should be empty");
+        assertThrows(
+                UncheckedIOException.class,
+                () -> prefetchRecords.findLeafRecord(key, false),
+                "Should have thrown UncheckedIOException");
+    }
+
     private static final class BreakableDataSource implements VirtualDataSource {
 
         private final InMemoryDataSource delegate = new InMemoryBuilder().build("delegate", true);
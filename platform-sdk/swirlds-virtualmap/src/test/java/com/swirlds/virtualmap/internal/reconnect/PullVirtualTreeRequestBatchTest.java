@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.reconnect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.io.streams.SerializableDataInputStream;
+import com.swirlds.common.io.streams.SerializableDataOutputStream;
+import com.swirlds.virtualmap.internal.Path;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+
+class PullVirtualTreeRequestBatchTest {
+
+    private static Hash hash(final int value) {
+        final byte[] bytes = new byte[DigestType.SHA_384.digestLength()];
+        Arrays.fill(bytes, (byte) value);
+        return new Hash(bytes, DigestType.SHA_384);
+    }
+
+    @Test
+    @Tags({@Tag("Reconnect")})
+    @DisplayName("Variable length values are read as written")
+    void varLongs() throws IOException {
+        final long[] values = {0, 1, -1, 63, -64, 64, -65, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE};
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (final long value : values) {
+            VirtualReconnectUtils.writeVarLong(bytes, value);
+        }
+        final ByteArrayInputStream in = new ByteArrayInputStream(bytes.toByteArray());
+        for (final long value : values) {
+            assertEquals(value, VirtualReconnectUtils.readVarLong(in), "Wrong value read");
+        }
+        assertEquals(-1, in.read(), "All bytes should be read");
+    }
+
+    @Test
+    @Tags({@Tag("Reconnect")})
+    @DisplayName("Request batches are read as written, equal hashes are written once")
+    void requestBatch() throws IOException {
+        final List<PullVirtualTreeRequest> requests = new ArrayList<>();
+        requests.add(new PullVirtualTreeRequest(5, hash(1)));
+        requests.add(new PullVirtualTreeRequest(3, hash(2)));
+        for (long path = 100; path < 200; path++) {
+            requests.add(new PullVirtualTreeRequest(path, hash(3)));
+        }
+        requests.add(new PullVirtualTreeRequest(Path.INVALID_PATH, null));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final SerializableDataOutputStream out = new SerializableDataOutputStream(bytes);
+        new PullVirtualTreeRequestBatch(requests).serialize(out);
+        out.flush();
+        // Three distinct hashes, and a few bytes per request
+        assertTrue(
+                bytes.size() < 3 * DigestType.SHA_384.digestLength() + 3 * requests.size(),
+                "Every distinct hash should be written once");
+
+        final PullVirtualTreeRequestBatch batch = new PullVirtualTreeRequestBatch();
+        batch.deserialize(new SerializableDataInputStream(new ByteArrayInputStream(bytes.toByteArray())), 0);
+        assertEquals(requests.size(), batch.getRequests().size(), "Wrong number of requests");
+        for (int i = 0; i < requests.size(); i++) {
+            final PullVirtualTreeRequest expected = requests.get(i);
+            final PullVirtualTreeRequest actual = batch.getRequests().get(i);
+            assertEquals(expected.getPath(), actual.getPath(), "Wrong request path");
+            assertEquals(expected.getHash(), actual.getHash(), "Wrong request hash");
+        }
+        assertNull(batch.getRequests().get(requests.size() - 1).getHash(), "Terminating request has no hash");
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Tags;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ConcurrentLongObjectMapTest {
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("The segment count must be a positive power of two")
+    void badSegmentCountThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(0), "Expected IAE");
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(-4), "Expected IAE");
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongObjectMap<String>(3), "Expected IAE");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Null values cannot be put")
+    void putNullThrows() {
+        final ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        assertThrows(NullPointerException.class, () -> map.put(1, null), "Expected NPE");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Compute adds, updates, and removes entries")
+    void computeAddsUpdatesAndRemoves() {
+        final ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+        assertEquals("A", map.compute(7, (key, value) -> value == null ? "A" : value + "!"), "Should be added");
+        assertEquals("A!", map.compute(7, (key, value) -> value == null ? "A" : value + "!"), "Should be updated");
+        assertEquals("A!", map.get(7), "Wrong value");
+        assertEquals(1, map.size(), "Wrong size");
+        assertNull(map.compute(7, (key, value) -> null), "Should be removed");
+        assertNull(map.get(7), "Should be removed");
+        assertEquals(0, map.size(), "Wrong size");
+        assertNull(map.compute(8, (key, value) -> null), "Nothing should be added");
+        assertEquals(0, map.size(), "Wrong size");
+    }
+
+    /**
+     * Randomly puts, computes, removes, and reads keys, and checks the map against a {@link HashMap}.
+     * A small key range with many removals exercises probe sequences that wrap around table ends and
+     * backward shifts on removal.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 64})
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Random operations match a HashMap")
+    void randomOperationsMatchHashMap(final int segmentCount) {
+        final ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(segmentCount);
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(segmentCount);
+        for (int i = 0; i < 200_000; i++) {
+            final long key = random.nextInt(3_000);
+            final long value = i;
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.put(key, value), map.put(key, value), "Wrong previous value");
+                case 1 -> {
+                    expected.remove(key);
+                    assertNull(map.compute(key, (k, v) -> null), "Should be removed");
+                }
+                case 2 -> {
+                    final Long old = expected.get(key);
+                    final long newValue = old == null ? value : old + 1;
+                    expected.put(key, newValue);
+                    assertEquals(newValue, map.compute(key, (k, v) -> v == null ? value : v + 1), "Wrong value");
+                }
+                default -> assertEquals(expected.get(key), map.get(key), "Wrong value");
+            }
+        }
+        assertEquals(expected.size(), map.size(), "Wrong size");
+        final Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual, "forEach should visit all entries");
+
+        map.clear();
+        assertEquals(0, map.size(), "Map should be empty");
+        assertNull(map.get(expected.keySet().iterator().next()), "Map should be empty");
+    }
+
+    @Test
+    @Tags({@Tag("VirtualMerkle"), @Tag("VirtualNodeCache")})
+    @DisplayName("Concurrent updates and reads")
+    void concurrentUpdatesAndReads() throws Exception {
+        final int threadCount = 8;
+        final long keyCount = 400_000;
+        final ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final long first = t;
+                futures.add(executor.submit(() -> {
+                    for (long key = first; key < keyCount; key += threadCount) {
+                        map.compute(key, (k, v) -> k);
+                        assertEquals(key, map.get(key), "Value should be visible to the same thread");
+                        if (key % 2 == 0) {
+                            map.compute(key, (k, v) -> null);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(keyCount / 2, map.size(), "Only odd keys should remain");
+        map.forEach((key, value) -> assertEquals(key, value, "Wrong value"));
+    }
+}
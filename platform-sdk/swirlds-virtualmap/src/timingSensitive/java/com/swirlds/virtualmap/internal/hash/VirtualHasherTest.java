@@ -16,6 +16,7 @@
 
 package com.swirlds.virtualmap.internal.hash;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -48,6 +49,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 /**
  * Tests for the {@link VirtualHasher}.
@@ -345,6 +347,66 @@ class VirtualHasherTest extends VirtualHasherTestBase {
                 "Hashing should not throw an exception");
     }
 
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Sparse ranks are estimated from the number of dirty leaves")
+    void sparseRanks() {
+        assertEquals(0, VirtualHasher.getSparseRanks(1023, 2046, -1), "Unknown dirty leaf count");
+        assertEquals(0, VirtualHasher.getSparseRanks(1023, 2046, 1024), "All leaves are dirty");
+        assertEquals(0, VirtualHasher.getSparseRanks(1023, 2046, 600), "Most leaves are dirty");
+        assertEquals(6, VirtualHasher.getSparseRanks(1023, 2046, 16), "1 of 64 leaves are dirty");
+        assertEquals(10, VirtualHasher.getSparseRanks(1023, 2046, 1), "A single dirty leaf");
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Chunk heights are smaller in sparse ranks")
+    void parentRankHeights() {
+        // No sparse ranks, all chunks are of default height, except the lowest one
+        assertArrayEquals(
+                new int[] {1, 1, 2, 3, 1, 2, 3, 1, 2, 3, 1},
+                VirtualHasher.getParentRankHeights(10, 10, 3, 2, 0),
+                "Wrong heights");
+        // Adaptive heights are disabled
+        assertArrayEquals(
+                new int[] {1, 1, 2, 3, 1, 2, 3, 1, 2, 3, 1, 1},
+                VirtualHasher.getParentRankHeights(10, 11, 3, 0, 4),
+                "Wrong heights");
+        // Four sparse ranks, chunks at ranks 6 and 8 are of sparse height
+        assertArrayEquals(
+                new int[] {1, 1, 2, 3, 1, 2, 3, 1, 2, 1, 2, 1},
+                VirtualHasher.getParentRankHeights(10, 11, 3, 2, 4),
+                "Wrong heights");
+        // Sparse ranks start in the middle of a default chunk
+        assertArrayEquals(
+                new int[] {1, 1, 2, 3, 1, 2, 1, 2, 1, 2, 1},
+                VirtualHasher.getParentRankHeights(10, 10, 3, 2, 5),
+                "Wrong heights");
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 4, 19, 53})
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Dirty leaf count estimation doesn't affect hashes")
+    void dirtyLeafCountDoesNotAffectHashes(final long dirtyLeafCount) {
+        final TestDataSource ds = new TestDataSource(52L, 104L);
+        final VirtualHasher<TestKey, TestValue> hasher = new VirtualHasher<>();
+        final Hash expected = hashTree(ds);
+        final List<Long> dirtyLeafPaths = List.of(
+                53L, 56L, 59L, 63L, 66L, 72L, 76L, 77L, 80L, 81L, 82L, 83L, 85L, 87L, 88L, 94L, 96L, 100L, 104L);
+        final VirtualHashReader hashReader = (path, dst) -> {
+            final Hash hash = ds.loadHash(path);
+            if (hash == null) {
+                return false;
+            }
+            hash.getBytes().writeTo(dst);
+            return true;
+        };
+        final List<VirtualLeafRecord<TestKey, TestValue>> leaves = invalidateNodes(ds, dirtyLeafPaths.stream());
+        final Hash rootHash = hasher.hash(hashReader, leaves.iterator(), 52L, 104L, null, dirtyLeafCount);
+        assertEquals(expected, rootHash, "Hash value does not match expected");
+    }
+
     @SuppressWarnings("SpellCheckingInspection")
     private static void assertCallsAreBalanced(final HashingListener listener) {
         // Check the call order was correct. Something like:
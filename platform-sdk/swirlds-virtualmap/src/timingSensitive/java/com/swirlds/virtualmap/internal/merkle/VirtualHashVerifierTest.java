@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.merkle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.swirlds.common.crypto.DigestType;
+import com.swirlds.common.crypto.Hash;
+import com.swirlds.common.test.fixtures.junit.tags.TestComponentTags;
+import com.swirlds.virtualmap.datasource.VirtualHashRecord;
+import com.swirlds.virtualmap.datasource.VirtualLeafRecord;
+import com.swirlds.virtualmap.internal.hash.VirtualHashListener;
+import com.swirlds.virtualmap.internal.hash.VirtualHasher;
+import com.swirlds.virtualmap.test.fixtures.InMemoryBuilder;
+import com.swirlds.virtualmap.test.fixtures.InMemoryDataSource;
+import com.swirlds.virtualmap.test.fixtures.TestKey;
+import com.swirlds.virtualmap.test.fixtures.TestKeySerializer;
+import com.swirlds.virtualmap.test.fixtures.TestValue;
+import com.swirlds.virtualmap.test.fixtures.TestValueSerializer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class VirtualHashVerifierTest {
+
+    private final VirtualHasher<TestKey, TestValue> hasher = new VirtualHasher<>();
+
+    /**
+     * Creates a data source with the given number of leaves, and stores all node hashes in it.
+     */
+    private InMemoryDataSource createDataSource(final long leafCount) throws IOException {
+        // A tree with a single leaf has it at path 1
+        final long firstLeafPath = Math.max(leafCount - 1, 1);
+        final long lastLeafPath = Math.max(leafCount * 2 - 2, 1);
+        final List<VirtualLeafRecord<TestKey, TestValue>> leaves = LongStream.rangeClosed(firstLeafPath, lastLeafPath)
+                .mapToObj(path -> new VirtualLeafRecord<>(path, new TestKey(path), new TestValue(path)))
+                .toList();
+        final Map<Long, Hash> hashes = new ConcurrentHashMap<>();
+        final Hash rootHash = hasher.hash(
+                path -> null,
+                leaves.iterator(),
+                firstLeafPath,
+                lastLeafPath,
+                new VirtualHashListener<>() {
+                    @Override
+                    public void onNodeHashed(final long path, final Hash hash) {
+                        hashes.put(path, hash);
+                    }
+                });
+        assertNotNull(rootHash, "Root hash should be calculated");
+        final InMemoryDataSource dataSource = new InMemoryBuilder().build("verifier", true);
+        dataSource.saveRecords(
+                firstLeafPath,
+                lastLeafPath,
+                hashes.entrySet().stream().map(e -> new VirtualHashRecord(e.getKey(), e.getValue())),
+                leaves.stream().map(r -> r.toBytes(TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE)),
+                Stream.empty());
+        return dataSource;
+    }
+
+    private VirtualHashVerifier<TestKey, TestValue> createVerifier(final InMemoryDataSource dataSource) {
+        return new VirtualHashVerifier<>(
+                "test", dataSource, TestKeySerializer.INSTANCE, TestValueSerializer.INSTANCE, hasher, 0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 1000, 2500})
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Valid hashes are verified")
+    void validHashes(final long leafCount) throws Exception {
+        final InMemoryDataSource dataSource = createDataSource(leafCount);
+        assertEquals(0, createVerifier(dataSource).verify(), "No mismatches expected");
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 5, 1999, 2998})
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Wrong hashes are detected")
+    void wrongHash(final long path) throws Exception {
+        final InMemoryDataSource dataSource = createDataSource(1500);
+        final Hash wrongHash = new Hash(new byte[DigestType.SHA_384.digestLength()]);
+        dataSource.saveRecords(
+                dataSource.getFirstLeafPath(),
+                dataSource.getLastLeafPath(),
+                Stream.of(new VirtualHashRecord(path, wrongHash)),
+                Stream.empty(),
+                Stream.empty());
+        // The node itself doesn't match, and neither does its parent, unless it's the root
+        assertEquals(path == 0 ? 1 : 2, createVerifier(dataSource).verify(), "Wrong number of mismatches");
+    }
+
+    @Test
+    @Tag(TestComponentTags.VMAP)
+    @DisplayName("Stop waits for the verification thread")
+    void stopWaitsForThread() throws Exception {
+        final InMemoryDataSource dataSource = createDataSource(1000);
+        final VirtualHashVerifier<TestKey, TestValue> verifier = createVerifier(dataSource);
+        // The thread sleeps for the whole delay, it must be interrupted to stop
+        verifier.start(Duration.ofHours(1));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), verifier::stop, "Stop must interrupt the thread");
+        assertFalse(
+                Thread.getAllStackTraces().keySet().stream().anyMatch(t -> t.getName().contains("hashVerifier")),
+                "Verification thread must be finished after stop");
+        dataSource.close();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.swirlds.virtualmap.internal.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.swirlds.config.extensions.sources.SimpleConfigSource;
+import com.swirlds.config.extensions.test.fixtures.TestConfigBuilder;
+import com.swirlds.virtualmap.config.VirtualMapConfig;
+import com.swirlds.virtualmap.config.VirtualMapConfig_;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlushThrottleTest {
+
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    private static AdaptiveFlushThrottle createThrottle() {
+        final VirtualMapConfig config = new TestConfigBuilder()
+                .withSource(new SimpleConfigSource()
+                        .withValue(VirtualMapConfig_.FAMILY_THROTTLE_THRESHOLD, "10000")
+                        .withValue(VirtualMapConfig_.ADAPTIVE_FLUSH_THROTTLE_START_PERCENT, "50.0")
+                        .withValue(VirtualMapConfig_.MAXIMUM_FLUSH_THROTTLE_PERIOD, "1s"))
+                .withConfigDataType(VirtualMapConfig.class)
+                .getOrCreateConfig()
+                .getConfigData(VirtualMapConfig.class);
+        return new AdaptiveFlushThrottle(config);
+    }
+
+    @Test
+    @DisplayName("No pause until flush throughput is known")
+    void noThroughputNoPause() {
+        final AdaptiveFlushThrottle throttle = createThrottle();
+        assertFalse(throttle.hasFlushThroughput());
+        assertEquals(0, throttle.calculatePause(20000, 1000));
+        // Empty flushes don't give any information about throughput
+        throttle.recordFlush(0, 10 * NANOS_PER_MS);
+        assertFalse(throttle.hasFlushThroughput());
+    }
+
+    @Test
+    @DisplayName("Pause grows with pressure")
+    void pauseGrowsWithPressure() {
+        final AdaptiveFlushThrottle throttle = createThrottle();
+        // 10 bytes per ms
+        throttle.recordFlush(1000, 100 * NANOS_PER_MS);
+        assertTrue(throttle.hasFlushThroughput());
+        assertEquals(10_000, throttle.getFlushThroughput());
+
+        // Below start threshold
+        assertEquals(0, throttle.calculatePause(5000, 1000));
+        assertEquals(0.0, throttle.getPressure());
+        // Half way between start threshold and family threshold: 100ms to flush a copy * 0.5^2
+        assertEquals(25, throttle.calculatePause(7500, 1000));
+        assertEquals(0.5, throttle.getPressure(), 1e-9);
+        // At family threshold, copies are created as fast as they are flushed
+        assertEquals(100, throttle.calculatePause(10000, 1000));
+        // Above family threshold, the excess must be flushed, too
+        assertEquals(200, throttle.calculatePause(11000, 1000));
+        // Pause is capped
+        assertEquals(1000, throttle.calculatePause(100000, 1000));
+    }
+
+    @Test
+    @DisplayName("Throughput follows measured flushes")
+    void throughputMovingAverage() {
+        final AdaptiveFlushThrottle throttle = createThrottle();
+        throttle.recordFlush(1000, 100 * NANOS_PER_MS);
+        final long initial = throttle.getFlushThroughput();
+        // Slower disk
+        for (int i = 0; i < 50; i++) {
+            throttle.recordFlush(1000, 1000 * NANOS_PER_MS);
+        }
+        final long slower = throttle.getFlushThroughput();
+        assertTrue(slower < initial, "Throughput should decrease");
+        assertEquals(1000, slower);
+        // Slower flushes result in longer pauses
+        assertEquals(1000, throttle.calculatePause(10000, 1000));
+    }
+}